@@ -14,16 +14,17 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import javax.validation.constraints.NotNull;
-import org.eclipse.che.api.core.rest.DefaultHttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.HttpJsonRequest;
+import org.eclipse.che.api.core.rest.KeepAliveHttpJsonRequestFactory;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 
 /**
  * Implementation of {@link org.eclipse.che.api.core.rest.HttpJsonRequestFactory} that add
- * ```user.token``` as authorization header. Used to make request from ws-agent to ws-master.
+ * ```user.token``` as authorization header. Used to make request from ws-agent to ws-master,
+ * connections to ws-master are kept alive between requests.
  */
 @Singleton
-public class AgentHttpJsonRequestFactory extends DefaultHttpJsonRequestFactory {
+public class AgentHttpJsonRequestFactory extends KeepAliveHttpJsonRequestFactory {
 
   private final String TOKEN;
 
@@ -16,6 +16,7 @@ import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
 import org.eclipse.che.api.core.websocket.impl.BasicWebSocketEndpoint;
 import org.eclipse.che.api.core.websocket.impl.GuiceInjectorEndpointConfigurator;
 import org.eclipse.che.api.core.websocket.impl.MessagesReSender;
+import org.eclipse.che.api.core.websocket.impl.WebSocketMessageEncoder;
 import org.eclipse.che.api.core.websocket.impl.WebSocketSessionRegistry;
 import org.eclipse.che.api.core.websocket.impl.WebsocketIdService;
 
@@ -30,8 +31,9 @@ public class CheWebSocketEndpoint extends BasicWebSocketEndpoint {
       WebSocketSessionRegistry registry,
       MessagesReSender reSender,
       WebSocketMessageReceiver receiver,
-      WebsocketIdService websocketIdService) {
-    super(registry, reSender, receiver, websocketIdService);
+      WebsocketIdService websocketIdService,
+      WebSocketMessageEncoder encoder) {
+    super(registry, reSender, receiver, websocketIdService, encoder);
   }
 
   @Override
@@ -184,6 +184,7 @@ public class WsMasterModule extends AbstractModule {
 
     install(new org.eclipse.che.api.core.rest.CoreRestModule());
     install(new org.eclipse.che.api.core.util.FileCleaner.FileCleanerModule());
+    install(new org.eclipse.che.api.core.metrics.MetricsModule());
     install(new org.eclipse.che.plugin.docker.machine.local.LocalDockerModule());
     install(new org.eclipse.che.api.machine.server.MachineModule());
     install(new org.eclipse.che.plugin.docker.machine.ext.DockerExtServerModule());
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Monotonically increasing counter. */
+public class Counter {
+  private final LongAdder count = new LongAdder();
+
+  /** Increments the counter by one. */
+  public void increment() {
+    count.increment();
+  }
+
+  /**
+   * Increments the counter by the given amount.
+   *
+   * @throws IllegalArgumentException when the amount is negative
+   */
+  public void increment(long amount) {
+    if (amount < 0) {
+      throw new IllegalArgumentException("Counter can't be decremented, amount: " + amount);
+    }
+    count.add(amount);
+  }
+
+  /** Returns the current value of the counter. */
+  public long getCount() {
+    return count.sum();
+  }
+}
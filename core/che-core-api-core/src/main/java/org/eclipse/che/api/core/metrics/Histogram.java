@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with fixed buckets. Each bucket counts the values which are less than or equal to its
+ * upper bound and greater than the bound of the previous bucket, the last bucket counts all the
+ * values greater than the highest bound.
+ */
+public class Histogram {
+  private final double[] bounds;
+  private final LongAdder[] counts;
+  private final DoubleAdder sum = new DoubleAdder();
+
+  /**
+   * Creates histogram with the given bounds of the buckets.
+   *
+   * @throws IllegalArgumentException when the bounds are empty or not strictly ascending
+   */
+  public Histogram(double[] bounds) {
+    if (bounds.length == 0) {
+      throw new IllegalArgumentException("Histogram must have at least one bucket bound");
+    }
+    for (int i = 1; i < bounds.length; i++) {
+      if (bounds[i] <= bounds[i - 1]) {
+        throw new IllegalArgumentException(
+            "Histogram bucket bounds must be ascending: " + Arrays.toString(bounds));
+      }
+    }
+    this.bounds = bounds.clone();
+    this.counts = new LongAdder[bounds.length + 1];
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = new LongAdder();
+    }
+  }
+
+  /** Records the value. */
+  public void observe(double value) {
+    final int bucket = Arrays.binarySearch(bounds, value);
+    counts[bucket >= 0 ? bucket : -bucket - 1].increment();
+    sum.add(value);
+  }
+
+  /** Returns upper bounds of the buckets, the last bucket is not bounded. */
+  public double[] getBounds() {
+    return bounds.clone();
+  }
+
+  /** Returns number of the recorded values per bucket. */
+  public long[] getCounts() {
+    final long[] result = new long[counts.length];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = counts[i].sum();
+    }
+    return result;
+  }
+
+  /** Returns number of all the recorded values. */
+  public long getCount() {
+    return Arrays.stream(getCounts()).sum();
+  }
+
+  /** Returns sum of all the recorded values. */
+  public double getSum() {
+    return sum.sum();
+  }
+}
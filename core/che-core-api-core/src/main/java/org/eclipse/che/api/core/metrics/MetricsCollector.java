@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+/**
+ * Collects metrics on each scrape. Allows to expose statistics which are already kept by a
+ * component or which can't be registered up front, e.g. when the set of labels changes over time.
+ *
+ * @see MetricsRegistry#register(MetricsCollector)
+ */
+@FunctionalInterface
+public interface MetricsCollector {
+
+  /** Writes the current values of the metrics to the given writer. */
+  void collect(MetricsWriter writer);
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import static com.google.inject.matcher.Matchers.annotatedWith;
+import static com.google.inject.matcher.Matchers.any;
+import static com.google.inject.matcher.Matchers.subclassesOf;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.matcher.AbstractMatcher;
+import com.google.inject.matcher.Matcher;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestDispatcher;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.rest.DefaultHttpJsonRequest;
+
+/**
+ * Binds the {@link MetricsRegistry}, the metrics scrape service and the interceptors which time
+ * the methods annotated with {@link Timed} and the core methods which can't be annotated as they
+ * are shared with the client side.
+ */
+public class MetricsModule extends AbstractModule {
+  @Override
+  protected void configure() {
+    bind(MetricsRegistry.class);
+    bind(MetricsService.class);
+
+    final TimedInterceptor timedInterceptor = new TimedInterceptor();
+    requestInjection(timedInterceptor);
+    bindInterceptor(any(), annotatedWith(Timed.class), timedInterceptor);
+    bindInterceptor(annotatedWith(Timed.class), new PublicNotAnnotated(), timedInterceptor);
+
+    bindTimer(
+        subclassesOf(RequestDispatcher.class),
+        "dispatch",
+        "che_jsonrpc_dispatch_seconds",
+        "Time of JSON-RPC requests handling");
+    bindTimer(
+        subclassesOf(EventService.class),
+        "publish",
+        "che_event_publish_seconds",
+        "Time of events publishing including synchronous subscribers");
+
+    requestStaticInjection(DefaultHttpJsonRequest.class);
+  }
+
+  private void bindTimer(
+      Matcher<? super Class<?>> classMatcher, String methodName, String name, String help) {
+    final TimedInterceptor interceptor = new TimedInterceptor(name, help);
+    requestInjection(interceptor);
+    bindInterceptor(classMatcher, new Named(methodName), interceptor);
+  }
+
+  /** Matches the public methods which are timed by the class level {@link Timed} annotation. */
+  private static class PublicNotAnnotated extends AbstractMatcher<Method> {
+    @Override
+    public boolean matches(Method method) {
+      return Modifier.isPublic(method.getModifiers())
+          && !method.isSynthetic()
+          && method.getDeclaringClass().isAnnotationPresent(Timed.class)
+          && !method.isAnnotationPresent(Timed.class)
+          && !method.isAnnotationPresent(NotTimed.class);
+    }
+  }
+
+  private static class Named extends AbstractMatcher<Method> {
+    private final String name;
+
+    Named(String name) {
+      this.name = name;
+    }
+
+    @Override
+    public boolean matches(Method method) {
+      return method.getName().equals(name) && !method.isSynthetic();
+    }
+  }
+}
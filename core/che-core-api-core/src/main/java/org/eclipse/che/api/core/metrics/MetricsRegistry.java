@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.DoubleSupplier;
+import java.util.function.Function;
+import javax.inject.Singleton;
+import org.slf4j.Logger;
+
+/**
+ * Registry of the application metrics.
+ *
+ * <p>Counters, timers, histograms and gauges are identified by the name and the labels, which are
+ * given as the sequence of name and value pairs, the same metric is returned for the same name and
+ * labels, so components may either keep the metric or look it up each time. Recording is lock free
+ * and cheap, the values are read only when the metrics are written.
+ *
+ * <p>Components which already keep statistics expose them by registering a {@link
+ * MetricsCollector}.
+ */
+@Singleton
+public class MetricsRegistry {
+  private static final Logger LOG = getLogger(MetricsRegistry.class);
+
+  private final ConcurrentMap<String, Family<?>> families = new ConcurrentSkipListMap<>();
+  private final List<MetricsCollector> collectors = new CopyOnWriteArrayList<>();
+
+  /** Returns the counter with the given name and labels, creates it if it doesn't exist. */
+  public Counter counter(String name, String help, String... labels) {
+    return family(name, help, Counter.class, labels, l -> new Counter());
+  }
+
+  /** Returns the timer with the given name and labels, creates it if it doesn't exist. */
+  public Timer timer(String name, String help, String... labels) {
+    return family(name, help, Timer.class, labels, l -> new Timer());
+  }
+
+  /**
+   * Returns the histogram with the given name and labels, creates it with the given bounds of the
+   * buckets if it doesn't exist.
+   */
+  public Histogram histogram(String name, String help, double[] bounds, String... labels) {
+    return family(name, help, Histogram.class, labels, l -> new Histogram(bounds));
+  }
+
+  /**
+   * Registers the gauge with the given name and labels, the value is read from the supplier on
+   * each scrape. The gauge registered before with the same name and labels is replaced.
+   */
+  public void gauge(String name, String help, DoubleSupplier value, String... labels) {
+    MetricsWriter.checkLabels(labels);
+    final Family<Gauge> family = family(name, help, Gauge.class);
+    family.metrics.put(Arrays.asList(labels), new Gauge(value));
+  }
+
+  /** Registers the collector which is called on each scrape. */
+  public void register(MetricsCollector collector) {
+    collectors.add(collector);
+  }
+
+  /** Unregisters the collector. */
+  public void unregister(MetricsCollector collector) {
+    collectors.remove(collector);
+  }
+
+  /** Writes all the metrics in the text format to the given output. */
+  public void write(Appendable out) throws IOException {
+    final MetricsWriter writer = new MetricsWriter();
+    for (Family<?> family : families.values()) {
+      try {
+        family.write(writer);
+      } catch (RuntimeException x) {
+        LOG.error("Failed to write metric '{}': {}", family.name, x.getMessage(), x);
+      }
+    }
+    for (MetricsCollector collector : collectors) {
+      try {
+        collector.collect(writer);
+      } catch (RuntimeException x) {
+        LOG.error("Metrics collector '{}' failed: {}", collector, x.getMessage(), x);
+      }
+    }
+    writer.writeTo(out);
+  }
+
+  private <T> T family(
+      String name,
+      String help,
+      Class<T> type,
+      String[] labels,
+      Function<List<String>, ? extends T> factory) {
+    MetricsWriter.checkLabels(labels);
+    return family(name, help, type).metrics.computeIfAbsent(Arrays.asList(labels), factory);
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> Family<T> family(String name, String help, Class<T> type) {
+    MetricsWriter.checkName(name);
+    final Family<?> family = families.computeIfAbsent(name, n -> new Family<>(n, help, type));
+    if (family.type != type) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Metric '%s' is already registered as %s, can't register it as %s",
+              name, family.type.getSimpleName(), type.getSimpleName()));
+    }
+    return (Family<T>) family;
+  }
+
+  /** The metrics of the same name and type which differ by labels. */
+  private static class Family<T> {
+    final String name;
+    final String help;
+    final Class<T> type;
+    final Map<List<String>, T> metrics = new ConcurrentHashMap<>();
+
+    Family(String name, String help, Class<T> type) {
+      this.name = name;
+      this.help = help;
+      this.type = type;
+    }
+
+    void write(MetricsWriter writer) {
+      for (Map.Entry<List<String>, T> entry : metrics.entrySet()) {
+        final String[] labels = entry.getKey().toArray(new String[0]);
+        final Object metric = entry.getValue();
+        if (metric instanceof Counter) {
+          writer.counter(name, help, ((Counter) metric).getCount(), labels);
+        } else if (metric instanceof Timer) {
+          writer.histogram(name, help, ((Timer) metric).getHistogram(), labels);
+        } else if (metric instanceof Histogram) {
+          writer.histogram(name, help, (Histogram) metric, labels);
+        } else {
+          writer.gauge(name, help, ((Gauge) metric).value.getAsDouble(), labels);
+        }
+      }
+    }
+  }
+
+  private static class Gauge {
+    final DoubleSupplier value;
+
+    Gauge(DoubleSupplier value) {
+      this.value = value;
+    }
+  }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import java.io.IOException;
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.rest.Service;
+
+/** Exposes the metrics of the {@link MetricsRegistry} in the Prometheus text format. */
+@Path("/metrics")
+public class MetricsService extends Service {
+
+  private final MetricsRegistry registry;
+
+  @Inject
+  public MetricsService(MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @GET
+  @Produces(MetricsWriter.CONTENT_TYPE)
+  public String getMetrics() throws ServerException {
+    final StringBuilder sb = new StringBuilder();
+    try {
+      registry.write(sb);
+    } catch (IOException x) {
+      throw new ServerException(x.getMessage(), x);
+    }
+    return sb.toString();
+  }
+}
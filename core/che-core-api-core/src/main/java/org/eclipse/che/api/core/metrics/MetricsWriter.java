@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Writes metrics in the Prometheus text exposition format (version 0.0.4).
+ *
+ * <p>Samples are grouped by the metric name, so the samples of the same metric may be written in
+ * any order, e.g. by different collectors. Labels are given as the sequence of name and value
+ * pairs.
+ */
+public class MetricsWriter {
+  public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+  private static final Pattern NAME = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+  private static final Pattern LABEL_NAME = Pattern.compile("[a-zA-Z_][a-zA-Z0-9_]*");
+
+  private final Map<String, Family> families = new LinkedHashMap<>();
+
+  /** Writes the value of the counter. */
+  public MetricsWriter counter(String name, String help, double value, String... labels) {
+    family(name, help, "counter").sample(name, labels, null, value);
+    return this;
+  }
+
+  /** Writes the value of the gauge. */
+  public MetricsWriter gauge(String name, String help, double value, String... labels) {
+    family(name, help, "gauge").sample(name, labels, null, value);
+    return this;
+  }
+
+  /**
+   * Writes the histogram.
+   *
+   * @param bounds upper bounds of the buckets
+   * @param counts number of the values per bucket, not cumulative, the last element is the number
+   *     of the values greater than the highest bound
+   * @param sum sum of all the values
+   * @throws IllegalArgumentException when the number of counts doesn't match the number of bounds
+   */
+  public MetricsWriter histogram(
+      String name, String help, double[] bounds, long[] counts, double sum, String... labels) {
+    if (counts.length != bounds.length + 1) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Histogram '%s' must have %d counts, but has %d",
+              name, bounds.length + 1, counts.length));
+    }
+    final Family family = family(name, help, "histogram");
+    long cumulative = 0;
+    for (int i = 0; i < bounds.length; i++) {
+      cumulative += counts[i];
+      family.sample(name + "_bucket", labels, format(bounds[i]), cumulative);
+    }
+    cumulative += counts[bounds.length];
+    family.sample(name + "_bucket", labels, "+Inf", cumulative);
+    family.sample(name + "_sum", labels, null, sum);
+    family.sample(name + "_count", labels, null, cumulative);
+    return this;
+  }
+
+  /** Writes the histogram. */
+  public MetricsWriter histogram(String name, String help, Histogram histogram, String... labels) {
+    return histogram(
+        name, help, histogram.getBounds(), histogram.getCounts(), histogram.getSum(), labels);
+  }
+
+  /** Writes all the samples to the given output. */
+  public void writeTo(Appendable out) throws IOException {
+    for (Map.Entry<String, Family> entry : families.entrySet()) {
+      final Family family = entry.getValue();
+      if (!family.help.isEmpty()) {
+        out.append("# HELP ")
+            .append(entry.getKey())
+            .append(' ')
+            .append(escapeHelp(family.help))
+            .append('\n');
+      }
+      out.append("# TYPE ").append(entry.getKey()).append(' ').append(family.type).append('\n');
+      out.append(family.samples);
+    }
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder sb = new StringBuilder();
+    try {
+      writeTo(sb);
+    } catch (IOException x) {
+      throw new IllegalStateException(x.getMessage(), x);
+    }
+    return sb.toString();
+  }
+
+  private Family family(String name, String help, String type) {
+    checkName(name);
+    final Family family = families.computeIfAbsent(name, n -> new Family(type, help));
+    if (!family.type.equals(type)) {
+      throw new IllegalArgumentException(
+          String.format(
+              "Metric '%s' is already written as %s, can't write it as %s",
+              name, family.type, type));
+    }
+    return family;
+  }
+
+  /** Checks that the name is a valid metric name. */
+  static void checkName(String name) {
+    if (name == null || !NAME.matcher(name).matches()) {
+      throw new IllegalArgumentException("Invalid metric name '" + name + "'");
+    }
+  }
+
+  /** Checks that the labels are pairs of valid names and not null values. */
+  static void checkLabels(String[] labels) {
+    if (labels.length % 2 != 0) {
+      throw new IllegalArgumentException("Labels must be pairs of names and values");
+    }
+    for (int i = 0; i < labels.length; i += 2) {
+      if (labels[i] == null || !LABEL_NAME.matcher(labels[i]).matches()) {
+        throw new IllegalArgumentException("Invalid label name '" + labels[i] + "'");
+      }
+      if (labels[i + 1] == null) {
+        throw new IllegalArgumentException("Value of the label '" + labels[i] + "' is null");
+      }
+    }
+  }
+
+  private static String format(double value) {
+    if (value == Double.POSITIVE_INFINITY) {
+      return "+Inf";
+    }
+    if (value == Double.NEGATIVE_INFINITY) {
+      return "-Inf";
+    }
+    if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+      return Long.toString((long) value);
+    }
+    return Double.toString(value);
+  }
+
+  private static String escapeHelp(String help) {
+    return help.replace("\\", "\\\\").replace("\n", "\\n");
+  }
+
+  private static String escapeLabelValue(String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static class Family {
+    final String type;
+    final String help;
+    final StringBuilder samples = new StringBuilder();
+
+    Family(String type, String help) {
+      this.type = type;
+      this.help = help == null ? "" : help;
+    }
+
+    void sample(String name, String[] labels, String le, double value) {
+      checkLabels(labels);
+      samples.append(name);
+      if (labels.length > 0 || le != null) {
+        samples.append('{');
+        for (int i = 0; i < labels.length; i += 2) {
+          if (i > 0) {
+            samples.append(',');
+          }
+          samples
+              .append(labels[i])
+              .append("=\"")
+              .append(escapeLabelValue(labels[i + 1]))
+              .append('"');
+        }
+        if (le != null) {
+          if (labels.length > 0) {
+            samples.append(',');
+          }
+          samples.append("le=\"").append(le).append('"');
+        }
+        samples.append('}');
+      }
+      samples.append(' ').append(format(value)).append('\n');
+    }
+  }
+}
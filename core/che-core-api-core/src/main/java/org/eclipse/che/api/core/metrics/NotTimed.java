@@ -0,0 +1,26 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Excludes the public method of the type annotated with {@link Timed} from timing. Used for the
+ * methods which duration doesn't describe the call, e.g. the ones which stream events or output
+ * until the caller stops them. Overriding methods must be annotated as well.
+ */
+@Retention(RUNTIME)
+@Target(METHOD)
+public @interface NotTimed {}
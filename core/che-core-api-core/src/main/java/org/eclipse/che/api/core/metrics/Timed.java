@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Marks methods which durations are recorded by the {@link TimedInterceptor}. When the type is
+ * annotated all its public methods are timed, except of the ones annotated with {@link NotTimed}.
+ * Durations are recorded to the timer with the given name labelled with the method and with the
+ * outcome of the invocation, either 'success' or 'failure'. If the method returns a {@link
+ * java.util.concurrent.CompletionStage} the duration is recorded when the stage completes.
+ *
+ * <p>Works only for the instances created by Guice when the {@link MetricsModule} is installed.
+ */
+@Inherited
+@Retention(RUNTIME)
+@Target({TYPE, METHOD})
+public @interface Timed {
+
+  /** The name of the timer. */
+  String value();
+
+  /** The description of the timer. */
+  String help() default "";
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import javax.inject.Inject;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Records durations of the intercepted methods. The timer is either taken from the {@link Timed}
+ * annotation of the method or of its class, or given explicitly when the interceptor is bound to
+ * methods which can't be annotated.
+ *
+ * <p>Nested invocations which are recorded to the same timer, e.g. an overloaded method which
+ * delegates to another overload, are recorded once as a part of the outermost invocation.
+ *
+ * @see MetricsModule
+ */
+public class TimedInterceptor implements MethodInterceptor {
+  private final String name;
+  private final String help;
+  private final ConcurrentMap<Method, MethodTimers> timers = new ConcurrentHashMap<>();
+  private final ThreadLocal<Timer> active = new ThreadLocal<>();
+
+  private volatile MetricsRegistry registry;
+
+  /** Creates interceptor which takes the timer from the {@link Timed} annotation. */
+  public TimedInterceptor() {
+    this(null, null);
+  }
+
+  /** Creates interceptor which records durations to the timer with the given name. */
+  public TimedInterceptor(String name, String help) {
+    this.name = name;
+    this.help = help;
+  }
+
+  @Inject
+  public void init(MetricsRegistry registry) {
+    this.registry = registry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    if (registry == null) {
+      return invocation.proceed();
+    }
+    final MethodTimers methodTimers = getTimers(invocation.getMethod());
+    final Timer outer = active.get();
+    if (outer == methodTimers.success) {
+      return invocation.proceed();
+    }
+    active.set(methodTimers.success);
+    final long start = System.nanoTime();
+    final Object result;
+    try {
+      result = invocation.proceed();
+    } catch (Throwable x) {
+      methodTimers.failure().recordSince(start);
+      throw x;
+    } finally {
+      active.set(outer);
+    }
+    if (result instanceof CompletionStage) {
+      ((CompletionStage<?>) result)
+          .whenComplete(
+              (r, x) -> {
+                final Timer timer = x == null ? methodTimers.success : methodTimers.failure();
+                timer.recordSince(start);
+              });
+    } else {
+      methodTimers.success.recordSince(start);
+    }
+    return result;
+  }
+
+  private MethodTimers getTimers(Method method) {
+    // avoid locking of computeIfAbsent as the timers are created only once per method
+    final MethodTimers methodTimers = timers.get(method);
+    return methodTimers != null ? methodTimers : timers.computeIfAbsent(method, this::newTimers);
+  }
+
+  private MethodTimers newTimers(Method method) {
+    String timerName = name;
+    String timerHelp = help;
+    if (timerName == null) {
+      Timed timed = method.getAnnotation(Timed.class);
+      if (timed == null) {
+        timed = method.getDeclaringClass().getAnnotation(Timed.class);
+      }
+      if (timed == null) {
+        throw new IllegalStateException("Method '" + method + "' is not annotated with @Timed");
+      }
+      timerName = timed.value();
+      timerHelp = timed.help();
+    }
+    return new MethodTimers(
+        timerName, timerHelp, method.getDeclaringClass().getSimpleName() + '.' + method.getName());
+  }
+
+  private class MethodTimers {
+    final String name;
+    final String help;
+    final String method;
+    final Timer success;
+
+    MethodTimers(String name, String help, String method) {
+      this.name = name;
+      this.help = help;
+      this.method = method;
+      this.success = registry.timer(name, help, "method", method, "outcome", "success");
+    }
+
+    /** The timer of failed invocations is looked up lazily as failures are rare. */
+    Timer failure() {
+      return registry.timer(name, help, "method", method, "outcome", "failure");
+    }
+  }
+}
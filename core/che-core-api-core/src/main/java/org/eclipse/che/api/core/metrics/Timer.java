@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/** Records durations of operations into a histogram of seconds. */
+public class Timer {
+  /** Default bounds of the buckets in seconds. */
+  public static final double[] DEFAULT_BOUNDS = {
+    0.001, 0.005, 0.01, 0.025, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300
+  };
+
+  private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+  private final Histogram histogram;
+
+  public Timer() {
+    this(DEFAULT_BOUNDS);
+  }
+
+  /** Creates timer with the given bounds of the buckets in seconds. */
+  public Timer(double[] bounds) {
+    this.histogram = new Histogram(bounds);
+  }
+
+  /** Records the duration. */
+  public void record(long duration, TimeUnit unit) {
+    histogram.observe(unit.toNanos(duration) / NANOS_PER_SECOND);
+  }
+
+  /** Records the time elapsed since the given {@link System#nanoTime()} value. */
+  public void recordSince(long startNanos) {
+    record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+  }
+
+  /** Returns the histogram of the recorded durations in seconds. */
+  public Histogram getHistogram() {
+    return histogram;
+  }
+}
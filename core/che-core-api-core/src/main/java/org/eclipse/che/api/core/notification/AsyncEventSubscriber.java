@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.notification;
+
+/**
+ * Receives notification events from EventService asynchronously, so the thread which publishes an
+ * event doesn't wait for the subscriber to process it.
+ *
+ * <p>Events are queued to the bounded queue of the subscriber. The queue is split into partitions
+ * by the {@link #getOrderingKey(Object) ordering key} of events, the events of one partition are
+ * delivered one by one in order of their publication, while the events of different partitions may
+ * be delivered concurrently. When the queue of a partition is full the event is either dropped or
+ * the publisher waits for the free space, see {@link OverflowPolicy}.
+ *
+ * <p>Subscribers which must be notified before the publisher continues, e.g. cascade removal
+ * subscribers which may prevent the operation, must not implement this interface.
+ *
+ * @see EventService
+ */
+public interface AsyncEventSubscriber<T> extends EventSubscriber<T> {
+
+  /** Defines what happens with an event when the queue of the subscriber is full. */
+  enum OverflowPolicy {
+    /** The event is dropped. */
+    DROP,
+    /** The publisher waits until the event is queued. */
+    BLOCK
+  }
+
+  /**
+   * Returns the key of the event, events with equal keys are delivered in order of their
+   * publication. Events with null key are delivered in order with each other.
+   */
+  default Object getOrderingKey(T event) {
+    return null;
+  }
+
+  /** Returns the number of partitions of the queue, i.e. max number of concurrent deliveries. */
+  default int getPartitions() {
+    return 4;
+  }
+
+  /** Returns the capacity of the queue of each partition. */
+  default int getQueueCapacity() {
+    return 1000;
+  }
+
+  /** Returns the policy which is applied when the queue of the partition is full. */
+  default OverflowPolicy getOverflowPolicy() {
+    return OverflowPolicy.BLOCK;
+  }
+}
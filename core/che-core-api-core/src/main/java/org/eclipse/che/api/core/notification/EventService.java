@@ -13,16 +13,34 @@ package org.eclipse.che.api.core.notification;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.metrics.MetricsWriter;
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber.OverflowPolicy;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -40,6 +58,10 @@ import org.slf4j.LoggerFactory;
  *     bus.publish(new MyEvent());
  * </pre>
  *
+ * <p>Events are delivered to subscribers synchronously, in the thread which publishes them, except
+ * of the {@link AsyncEventSubscriber asynchronous subscribers} which receive events through their
+ * own bounded queues.
+ *
  * @author andrew00x
  */
 @Singleton
@@ -49,13 +71,25 @@ public class EventService {
   private static final int CACHE_NUM = 1 << 2;
   private static final int CACHE_MASK = CACHE_NUM - 1;
   private static final int SEG_SIZE = 32;
+  /** Max number of events delivered by a partition before it gives the thread to others. */
+  private static final int ASYNC_BATCH_SIZE = 100;
 
   private final LoadingCache<Class<?>, Set<Class<?>>>[] typeCache;
   private final ConcurrentMap<Class<?>, Set<EventSubscriber>> subscribersByEventType;
+  private final ConcurrentMap<EventSubscriber<?>, AsyncDelivery> asyncDeliveries;
+  private final ExecutorService asyncExecutor;
 
   @SuppressWarnings("unchecked")
   public EventService() {
     subscribersByEventType = new ConcurrentHashMap<>();
+    asyncDeliveries = new ConcurrentHashMap<>();
+    asyncExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("EventServiceAsyncDelivery-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
     typeCache = new LoadingCache[CACHE_NUM];
     for (int i = 0; i < CACHE_NUM; i++) {
       typeCache[i] =
@@ -102,6 +136,11 @@ public class EventService {
       final Set<EventSubscriber> eventSubscribers = subscribersByEventType.get(clazz);
       if (eventSubscribers != null && !eventSubscribers.isEmpty()) {
         for (EventSubscriber eventSubscriber : eventSubscribers) {
+          final AsyncDelivery asyncDelivery = asyncDeliveries.get(eventSubscriber);
+          if (asyncDelivery != null) {
+            asyncDelivery.enqueue(event);
+            continue;
+          }
           try {
             LOG.debug("Publish event {} for {}", event, eventSubscriber);
             eventSubscriber.onEvent(event);
@@ -145,6 +184,10 @@ public class EventService {
         entries = newEntries;
       }
     }
+    if (subscriber instanceof AsyncEventSubscriber) {
+      asyncDeliveries.computeIfAbsent(
+          subscriber, s -> new AsyncDelivery((AsyncEventSubscriber<?>) subscriber));
+    }
     entries.add(subscriber);
   }
 
@@ -170,10 +213,77 @@ public class EventService {
         if (entries.isEmpty()) {
           subscribersByEventType.remove(eventType);
         }
+        if (subscriber instanceof AsyncEventSubscriber
+            && subscribersByEventType.values().stream().noneMatch(s -> s.contains(subscriber))) {
+          // already queued events are still delivered
+          asyncDeliveries.remove(subscriber);
+        }
       }
     }
   }
 
+  /** Returns statistics of the deliveries to the asynchronous subscribers. */
+  public List<AsyncDeliveryStatistics> getAsyncStatistics() {
+    final List<AsyncDeliveryStatistics> statistics = new ArrayList<>(asyncDeliveries.size());
+    for (AsyncDelivery asyncDelivery : asyncDeliveries.values()) {
+      statistics.add(asyncDelivery.statistics);
+    }
+    return statistics;
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.register(this::collectMetrics);
+  }
+
+  /** Writes the statistics of the asynchronous deliveries summed up per subscriber class. */
+  private void collectMetrics(MetricsWriter writer) {
+    final Map<String, long[]> bySubscriber = new TreeMap<>();
+    for (AsyncDeliveryStatistics statistics : getAsyncStatistics()) {
+      final long[] values =
+          bySubscriber.computeIfAbsent(statistics.getSubscriber(), s -> new long[4]);
+      values[0] += statistics.getQueueDepth();
+      values[1] += statistics.getDeliveredCount();
+      values[2] += statistics.getDroppedCount();
+      values[3] += statistics.getBlockedCount();
+    }
+    for (Map.Entry<String, long[]> entry : bySubscriber.entrySet()) {
+      final String subscriber = entry.getKey();
+      final long[] values = entry.getValue();
+      writer
+          .gauge(
+              "che_event_async_queue_depth",
+              "Events queued for the asynchronous subscribers",
+              values[0],
+              "subscriber",
+              subscriber)
+          .counter(
+              "che_event_async_delivered_total",
+              "Events delivered to the asynchronous subscribers",
+              values[1],
+              "subscriber",
+              subscriber)
+          .counter(
+              "che_event_async_dropped_total",
+              "Events dropped as the queues of the asynchronous subscribers were full",
+              values[2],
+              "subscriber",
+              subscriber)
+          .counter(
+              "che_event_async_blocked_total",
+              "Times publishers waited for the space in the queues of the asynchronous subscribers",
+              values[3],
+              "subscriber",
+              subscriber);
+    }
+  }
+
+  /** Stops the deliveries to the asynchronous subscribers, not yet delivered events are dropped. */
+  @PreDestroy
+  public void shutdown() {
+    asyncExecutor.shutdownNow();
+  }
+
   private Class<?> getEventType(EventSubscriber<?> subscriber) {
     Class<?> eventType = null;
     Class<?> clazz = subscriber.getClass();
@@ -182,7 +292,7 @@ public class EventService {
         if (type instanceof ParameterizedType) {
           final ParameterizedType parameterizedType = (ParameterizedType) type;
           final Type rawType = parameterizedType.getRawType();
-          if (EventSubscriber.class == rawType) {
+          if (EventSubscriber.class == rawType || AsyncEventSubscriber.class == rawType) {
             final Type[] typeArguments = parameterizedType.getActualTypeArguments();
             if (typeArguments.length == 1) {
               if (typeArguments[0] instanceof Class) {
@@ -200,4 +310,151 @@ public class EventService {
     }
     return eventType;
   }
+
+  /** Statistics of the deliveries to an asynchronous subscriber. */
+  public static class AsyncDeliveryStatistics {
+    private final String subscriber;
+    private final OverflowPolicy overflowPolicy;
+    private final Partition[] partitions;
+    private final LongAdder delivered = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder blocked = new LongAdder();
+
+    private AsyncDeliveryStatistics(
+        String subscriber, OverflowPolicy overflowPolicy, Partition[] partitions) {
+      this.subscriber = subscriber;
+      this.overflowPolicy = overflowPolicy;
+      this.partitions = partitions;
+    }
+
+    /** Returns the class name of the subscriber. */
+    public String getSubscriber() {
+      return subscriber;
+    }
+
+    /** Returns the policy applied when the queue of the subscriber is full. */
+    public OverflowPolicy getOverflowPolicy() {
+      return overflowPolicy;
+    }
+
+    /** Returns the number of events which are queued but not delivered yet. */
+    public int getQueueDepth() {
+      int depth = 0;
+      for (Partition partition : partitions) {
+        depth += partition.queue.size();
+      }
+      return depth;
+    }
+
+    /** Returns the number of delivered events. */
+    public long getDeliveredCount() {
+      return delivered.sum();
+    }
+
+    /** Returns the number of events dropped because the queue was full. */
+    public long getDroppedCount() {
+      return dropped.sum();
+    }
+
+    /** Returns how many times publishers waited for the free space in the queue. */
+    public long getBlockedCount() {
+      return blocked.sum();
+    }
+  }
+
+  /** Delivers events to an asynchronous subscriber through the partitions of its queue. */
+  private class AsyncDelivery {
+    private final AsyncEventSubscriber<Object> subscriber;
+    private final Partition[] partitions;
+    private final AsyncDeliveryStatistics statistics;
+
+    @SuppressWarnings("unchecked")
+    AsyncDelivery(AsyncEventSubscriber<?> subscriber) {
+      this.subscriber = (AsyncEventSubscriber<Object>) subscriber;
+      this.partitions = new Partition[Math.max(subscriber.getPartitions(), 1)];
+      this.statistics =
+          new AsyncDeliveryStatistics(
+              subscriber.getClass().getName(), subscriber.getOverflowPolicy(), partitions);
+      for (int i = 0; i < partitions.length; i++) {
+        partitions[i] = new Partition(this, Math.max(subscriber.getQueueCapacity(), 1));
+      }
+    }
+
+    void enqueue(Object event) {
+      final Object key = subscriber.getOrderingKey(event);
+      final int index = key == null ? 0 : (key.hashCode() & Integer.MAX_VALUE) % partitions.length;
+      final Partition partition = partitions[index];
+      if (!partition.queue.offer(event)) {
+        // waiting for the partition in its own delivery thread would never end
+        if (statistics.overflowPolicy == OverflowPolicy.DROP
+            || partition.deliveryThread == Thread.currentThread()) {
+          statistics.dropped.increment();
+          LOG.debug("Queue of subscriber {} is full, event {} is dropped", subscriber, event);
+          return;
+        }
+        statistics.blocked.increment();
+        try {
+          partition.queue.put(event);
+        } catch (InterruptedException x) {
+          Thread.currentThread().interrupt();
+          statistics.dropped.increment();
+          return;
+        }
+      }
+      partition.schedule();
+    }
+  }
+
+  /**
+   * Queue of the events with the same ordering key hash. Events are delivered by one task at a
+   * time, so they are delivered in order of their publication.
+   */
+  private class Partition implements Runnable {
+    private final AsyncDelivery delivery;
+    private final BlockingQueue<Object> queue;
+    private final AtomicBoolean scheduled;
+
+    private volatile Thread deliveryThread;
+
+    Partition(AsyncDelivery delivery, int capacity) {
+      this.delivery = delivery;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+      this.scheduled = new AtomicBoolean();
+    }
+
+    void schedule() {
+      if (scheduled.compareAndSet(false, true)) {
+        try {
+          asyncExecutor.execute(this);
+        } catch (RejectedExecutionException x) {
+          LOG.debug(
+              "Event service is stopped, events of {} are not delivered", delivery.subscriber);
+        }
+      }
+    }
+
+    @Override
+    public void run() {
+      deliveryThread = Thread.currentThread();
+      try {
+        Object event;
+        for (int i = 0; i < ASYNC_BATCH_SIZE && (event = queue.poll()) != null; i++) {
+          try {
+            LOG.debug("Publish event {} for {}", event, delivery.subscriber);
+            delivery.subscriber.onEvent(event);
+          } catch (RuntimeException e) {
+            LOG.error(e.getMessage(), e);
+          }
+          delivery.statistics.delivered.increment();
+        }
+      } finally {
+        deliveryThread = null;
+        scheduled.set(false);
+      }
+      // events queued while the flag was set must not wait for the next event
+      if (!queue.isEmpty()) {
+        schedule();
+      }
+    }
+  }
 }
@@ -13,6 +13,7 @@ package org.eclipse.che.api.core.rest;
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.io.ByteStreams;
 import com.google.common.io.CharStreams;
 import java.io.IOException;
 import java.io.InputStream;
@@ -24,6 +25,7 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import javax.inject.Inject;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import javax.ws.rs.core.HttpHeaders;
@@ -36,6 +38,8 @@ import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
+import org.eclipse.che.api.core.metrics.MetricsModule;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.eclipse.che.api.core.rest.shared.dto.Link;
 import org.eclipse.che.api.core.rest.shared.dto.ServiceError;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -61,6 +65,10 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
 
   private static final int DEFAULT_QUERY_PARAMS_LIST_SIZE = 5;
   private static final Object[] EMPTY_ARRAY = new Object[0];
+  private static final String REQUEST_TIMER = "che_http_json_request_seconds";
+
+  /** Injected statically by the {@link MetricsModule} as requests are not created by Guice. */
+  @Inject private static MetricsRegistry metricsRegistry;
 
   private final String url;
 
@@ -149,7 +157,22 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
     if (method == null) {
       throw new IllegalStateException("Could not perform request, request method wasn't set");
     }
-    return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue);
+    final MetricsRegistry registry = metricsRegistry;
+    if (registry == null) {
+      return doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue);
+    }
+    final long start = System.nanoTime();
+    String outcome = "failure";
+    try {
+      final HttpJsonResponse response =
+          doRequest(timeout, url, method, body, queryParams, authorizationHeaderValue);
+      outcome = "success";
+      return response;
+    } finally {
+      registry
+          .timer(REQUEST_TIMER, "Time of HTTP JSON requests", "method", method, "outcome", outcome)
+          .recordSince(start);
+    }
   }
 
   /**
@@ -199,9 +222,9 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       }
       url = ub.build().toString();
     }
-    final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
-    conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
-    conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+    final HttpURLConnection conn = openConnection(url, timeout);
+    // the connection may be released for reuse only when the response is fully consumed
+    boolean consumed = false;
     try {
       conn.setRequestMethod(method);
       //drop a hint for server side that we want to receive application/json
@@ -221,9 +244,7 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
           conn.setRequestProperty("X-HTTP-Method-Override", HttpMethod.DELETE);
         }
 
-        try (OutputStream output = conn.getOutputStream()) {
-          output.write(DtoFactory.getInstance().toJson(body).getBytes());
-        }
+        writeBody(conn, body);
       }
 
       final int responseCode = conn.getResponseCode();
@@ -233,9 +254,10 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
           in = conn.getInputStream();
         }
         final String str;
-        try (Reader reader = new InputStreamReader(in)) {
+        try (Reader reader = new InputStreamReader(getContentStream(conn, in))) {
           str = CharStreams.toString(reader);
         }
+        consumed = true;
         final String contentType = conn.getContentType();
         if (contentType != null && contentType.startsWith(MediaType.APPLICATION_JSON)) {
           final ServiceError serviceError =
@@ -267,17 +289,94 @@ public class DefaultHttpJsonRequest implements HttpJsonRequest {
       if (responseCode != HttpURLConnection.HTTP_NO_CONTENT
           && contentType != null
           && !contentType.startsWith(MediaType.APPLICATION_JSON)) {
+        try (InputStream in = conn.getInputStream()) {
+          ByteStreams.copy(in, ByteStreams.nullOutputStream());
+        }
+        consumed = true;
         throw new IOException(conn.getResponseMessage());
       }
 
-      try (Reader reader = new InputStreamReader(conn.getInputStream())) {
-        return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+      final DefaultHttpJsonResponse response;
+      try (InputStream in = getContentStream(conn, conn.getInputStream())) {
+        response = readResponse(in, responseCode);
       }
+      consumed = true;
+      return response;
     } finally {
-      conn.disconnect();
+      if (consumed) {
+        releaseConnection(conn);
+      } else {
+        conn.disconnect();
+      }
     }
   }
 
+  /**
+   * Opens a connection for the given {@code url} and applies the given timeout to it.
+   *
+   * @param url request url, already containing query parameters
+   * @param timeout request timeout, used only if it is greater than 0
+   * @return opened connection
+   * @throws IOException when any io error occurs
+   */
+  protected HttpURLConnection openConnection(String url, int timeout) throws IOException {
+    final HttpURLConnection conn = (HttpURLConnection) new URL(url).openConnection();
+    conn.setConnectTimeout(timeout > 0 ? timeout : 60000);
+    conn.setReadTimeout(timeout > 0 ? timeout : 60000);
+    return conn;
+  }
+
+  /**
+   * Writes serialized {@code body} to the connection output.
+   *
+   * @param conn connection to write to
+   * @param body request body, must be instance of {@link JsonSerializable}
+   * @throws IOException when any io error occurs
+   */
+  protected void writeBody(HttpURLConnection conn, Object body) throws IOException {
+    try (OutputStream output = conn.getOutputStream()) {
+      output.write(DtoFactory.getInstance().toJson(body).getBytes());
+    }
+  }
+
+  /**
+   * Returns the stream which provides decoded response content.
+   *
+   * @param conn connection the stream belongs to
+   * @param in either input or error stream of the connection
+   * @return stream of decoded response content
+   * @throws IOException when any io error occurs
+   */
+  protected InputStream getContentStream(HttpURLConnection conn, InputStream in)
+      throws IOException {
+    return in;
+  }
+
+  /**
+   * Reads successful response content.
+   *
+   * @param in response content stream
+   * @param responseCode response code
+   * @return response to the request
+   * @throws IOException when any io error occurs
+   */
+  protected DefaultHttpJsonResponse readResponse(InputStream in, int responseCode)
+      throws IOException {
+    try (Reader reader = new InputStreamReader(in)) {
+      return new DefaultHttpJsonResponse(CharStreams.toString(reader), responseCode);
+    }
+  }
+
+  /**
+   * Releases connection after the response is fully consumed, either successful or not.
+   * Connections which responses are not consumed, e.g. because of an i/o error, are disconnected.
+   *
+   * @param conn connection to release
+   */
+  protected void releaseConnection(HttpURLConnection conn) {
+    conn.disconnect();
+  }
+
   @Override
   public String toString() {
     return "DefaultHttpJsonRequest{"
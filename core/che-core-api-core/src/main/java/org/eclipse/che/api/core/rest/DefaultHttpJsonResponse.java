@@ -10,10 +10,14 @@
  */
 package org.eclipse.che.api.core.rest;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import com.google.gson.reflect.TypeToken;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
 import java.lang.reflect.Type;
 import java.util.List;
 import java.util.Map;
@@ -30,29 +34,58 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
 
   private static final Type STRING_MAP_TYPE = new TypeToken<Map<String, String>>() {}.getType();
 
-  private final String responseBody;
+  private final byte[] content;
   private final int responseCode;
 
+  private String responseBody;
+
   protected DefaultHttpJsonResponse(String response, int responseCode) {
+    this.content = null;
     this.responseBody = response;
     this.responseCode = responseCode;
   }
 
+  /**
+   * Creates response which keeps raw UTF-8 encoded content, the content is decoded into DTOs
+   * directly without an intermediate string copy.
+   */
+  protected DefaultHttpJsonResponse(byte[] content, int responseCode) {
+    this.content = requireNonNull(content, "Required non-null content");
+    this.responseCode = responseCode;
+  }
+
   @Override
   public String asString() {
+    if (responseBody == null && content != null) {
+      responseBody = new String(content, UTF_8);
+    }
     return responseBody;
   }
 
   @Override
   public <T> T asDto(Class<T> dtoInterface) {
     requireNonNull(dtoInterface, "Required non-null dto interface");
-    return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
+    if (content == null) {
+      return DtoFactory.getInstance().createDtoFromJson(responseBody, dtoInterface);
+    }
+    try (Reader reader = contentReader()) {
+      return DtoFactory.getInstance().createDtoFromJson(reader, dtoInterface);
+    } catch (IOException x) {
+      throw new RuntimeException(x); // won't happen
+    }
   }
 
   @Override
   public <T> List<T> asList(Class<T> dtoInterface) {
     requireNonNull(dtoInterface, "Required non-null dto interface");
-    return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
+    if (content == null) {
+      return DtoFactory.getInstance().createListDtoFromJson(responseBody, dtoInterface);
+    }
+    try (Reader reader = contentReader()) {
+      return DtoFactory.getInstance().createListDtoFromJson(reader, dtoInterface);
+    } catch (IOException x) {
+      throw new RuntimeException(x); // won't happen
+    }
   }
 
   @Override
@@ -65,7 +98,12 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
   public <T> T as(Class<T> clazz, Type genericType) throws IOException {
     requireNonNull(clazz, "Required non-null class");
     try {
-      return JsonHelper.fromJson(responseBody, clazz, genericType);
+      if (content == null) {
+        return JsonHelper.fromJson(responseBody, clazz, genericType);
+      }
+      try (Reader reader = contentReader()) {
+        return JsonHelper.fromJson(reader, clazz, genericType);
+      }
     } catch (JsonParseException jsonEx) {
       throw new IOException(jsonEx.getLocalizedMessage(), jsonEx);
     }
@@ -75,4 +113,8 @@ public class DefaultHttpJsonResponse implements HttpJsonResponse {
   public int getResponseCode() {
     return responseCode;
   }
+
+  private Reader contentReader() {
+    return new InputStreamReader(new ByteArrayInputStream(content), UTF_8);
+  }
 }
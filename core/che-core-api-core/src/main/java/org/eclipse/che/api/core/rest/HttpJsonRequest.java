@@ -15,6 +15,8 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import javax.validation.constraints.NotNull;
 import javax.ws.rs.HttpMethod;
 import org.eclipse.che.api.core.BadRequestException;
@@ -24,6 +26,7 @@ import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.UnauthorizedException;
 import org.eclipse.che.commons.env.EnvironmentContext;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.dto.server.JsonSerializable;
 
 /**
@@ -150,6 +153,33 @@ public interface HttpJsonRequest {
       throws IOException, ServerException, UnauthorizedException, ForbiddenException,
           NotFoundException, ConflictException, BadRequestException;
 
+  /**
+   * Makes the same request as {@link #request()} does but asynchronously using given {@code
+   * executor}, the current thread local context(e.g. {@link EnvironmentContext}) is propagated to
+   * the executing thread.
+   *
+   * <p>The returned future is completed exceptionally with the same exceptions {@link #request()}
+   * method throws.
+   *
+   * @param executor executor to perform request in
+   * @return future which is completed with the response to this request
+   * @throws NullPointerException when {@code executor} is null
+   */
+  default CompletableFuture<HttpJsonResponse> requestAsync(@NotNull Executor executor) {
+    Objects.requireNonNull(executor, "Required non-null executor");
+    final CompletableFuture<HttpJsonResponse> future = new CompletableFuture<>();
+    executor.execute(
+        ThreadLocalPropagateContext.wrap(
+            () -> {
+              try {
+                future.complete(request());
+              } catch (Exception x) {
+                future.completeExceptionally(x);
+              }
+            }));
+    return future;
+  }
+
   /**
    * Uses {@link HttpMethod#GET} as a request method.
    *
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.HttpURLConnection;
+import java.util.zip.GZIPInputStream;
+import javax.ws.rs.core.HttpHeaders;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.eclipse.che.dto.server.JsonSerializable;
+
+/**
+ * Implementation of {@link HttpJsonRequest} which keeps connections alive between requests.
+ *
+ * <p>Unlike {@link DefaultHttpJsonRequest} connections are never {@link
+ * HttpURLConnection#disconnect() disconnected}, response streams are fully consumed and closed
+ * instead, so the underlying socket is returned to the JDK keep-alive cache and reused by the
+ * following requests to the same host(the pool size is controlled by the {@code
+ * http.maxConnections} system property). Request body is streamed to the connection using chunked
+ * transfer encoding, responses are requested gzip encoded and kept as raw bytes which are decoded
+ * into DTOs without an intermediate string copy.
+ *
+ * @see KeepAliveHttpJsonRequestFactory
+ */
+public class KeepAliveHttpJsonRequest extends DefaultHttpJsonRequest {
+
+  private static final String GZIP_ENCODING = "gzip";
+  private static final int CHUNK_SIZE = 8 * 1024;
+
+  protected KeepAliveHttpJsonRequest(String url, String method) {
+    super(url, method);
+  }
+
+  protected KeepAliveHttpJsonRequest(String url) {
+    super(url);
+  }
+
+  protected KeepAliveHttpJsonRequest(Link link) {
+    super(link);
+  }
+
+  @Override
+  protected HttpURLConnection openConnection(String url, int timeout) throws IOException {
+    final HttpURLConnection conn = super.openConnection(url, timeout);
+    conn.setRequestProperty(HttpHeaders.ACCEPT_ENCODING, GZIP_ENCODING);
+    return conn;
+  }
+
+  @Override
+  protected void writeBody(HttpURLConnection conn, Object body) throws IOException {
+    if (!(body instanceof JsonSerializable)) {
+      throw new IllegalArgumentException("JsonSerializable instance required. ");
+    }
+    conn.setChunkedStreamingMode(CHUNK_SIZE);
+    try (Writer writer = new OutputStreamWriter(conn.getOutputStream(), UTF_8)) {
+      DtoFactory.getInstance()
+          .getGson()
+          .toJson(((JsonSerializable) body).toJsonElement(), writer);
+    }
+  }
+
+  @Override
+  protected InputStream getContentStream(HttpURLConnection conn, InputStream in)
+      throws IOException {
+    if (GZIP_ENCODING.equalsIgnoreCase(conn.getContentEncoding())) {
+      return new GZIPInputStream(in);
+    }
+    return in;
+  }
+
+  @Override
+  protected DefaultHttpJsonResponse readResponse(InputStream in, int responseCode)
+      throws IOException {
+    return new DefaultHttpJsonResponse(ByteStreams.toByteArray(in), responseCode);
+  }
+
+  @Override
+  protected void releaseConnection(HttpURLConnection conn) {
+    // streams are consumed and closed, the connection goes back to the keep-alive cache
+  }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import javax.inject.Singleton;
+import javax.validation.constraints.NotNull;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+
+/**
+ * Creates {@link KeepAliveHttpJsonRequest} instances.
+ *
+ * <p>Should be bound instead of {@link DefaultHttpJsonRequestFactory} by components which make a
+ * lot of requests to the same host, e.g. ws-agent to ws-master communication.
+ */
+@Singleton
+public class KeepAliveHttpJsonRequestFactory extends DefaultHttpJsonRequestFactory {
+
+  @Override
+  public HttpJsonRequest fromUrl(@NotNull String url) {
+    return new KeepAliveHttpJsonRequest(url);
+  }
+
+  @Override
+  public HttpJsonRequest fromLink(@NotNull Link link) {
+    return new KeepAliveHttpJsonRequest(link);
+  }
+}
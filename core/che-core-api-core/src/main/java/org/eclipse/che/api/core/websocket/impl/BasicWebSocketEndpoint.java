@@ -14,6 +14,8 @@ import static java.util.Collections.emptyMap;
 import static java.util.Collections.unmodifiableMap;
 import static org.eclipse.che.api.core.websocket.impl.WebsocketIdService.randomClientId;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
@@ -39,17 +41,20 @@ public abstract class BasicWebSocketEndpoint {
   private final MessagesReSender reSender;
   private final WebSocketMessageReceiver receiver;
   private final WebsocketIdService identificationService;
+  private final WebSocketMessageEncoder encoder;
 
   public BasicWebSocketEndpoint(
       WebSocketSessionRegistry registry,
       MessagesReSender reSender,
       WebSocketMessageReceiver receiver,
-      WebsocketIdService identificationService) {
+      WebsocketIdService identificationService,
+      WebSocketMessageEncoder encoder) {
 
     this.registry = registry;
     this.reSender = reSender;
     this.receiver = receiver;
     this.identificationService = identificationService;
+    this.encoder = encoder;
   }
 
   @OnOpen
@@ -60,6 +65,7 @@ public abstract class BasicWebSocketEndpoint {
     LOG.debug("Endpoint: {}", combinedEndpointId);
 
     session.setMaxIdleTimeout(0);
+    encoder.configure(session, getEndpointId(), getQueryParamsMap(session.getQueryString()));
 
     registry.add(combinedEndpointId, session);
     reSender.resend(combinedEndpointId);
@@ -85,6 +91,18 @@ public abstract class BasicWebSocketEndpoint {
     receiver.receive(combinedEndpointId, message);
   }
 
+  @OnMessage
+  public void onMessage(ByteBuffer message, Session session) {
+    final String decoded;
+    try {
+      decoded = encoder.decode(session, message);
+    } catch (IOException e) {
+      LOG.error("Error while trying to decode a binary web socket message", e);
+      return;
+    }
+    onMessage(decoded, session);
+  }
+
   @OnClose
   public void onClose(CloseReason closeReason, Session session) {
     Optional<String> endpointIdOptional = registry.get(session);
@@ -13,6 +13,7 @@ package org.eclipse.che.api.core.websocket.impl;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.Optional;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -25,6 +26,9 @@ import org.slf4j.Logger;
  * session is not opened adds messages to re-sender to try to send them when session will be opened
  * again.
  *
+ * <p>Messages are sent as text frames or as binary frames depending on the {@link
+ * WebSocketMessageEncoder}.
+ *
  * @author Dmitry Kuleshov
  */
 @Singleton
@@ -33,12 +37,16 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
 
   private final WebSocketSessionRegistry registry;
   private final MessagesReSender reSender;
+  private final WebSocketMessageEncoder encoder;
 
   @Inject
   public BasicWebSocketMessageTransmitter(
-      WebSocketSessionRegistry registry, MessagesReSender reSender) {
+      WebSocketSessionRegistry registry,
+      MessagesReSender reSender,
+      WebSocketMessageEncoder encoder) {
     this.registry = registry;
     this.reSender = reSender;
+    this.encoder = encoder;
   }
 
   @Override
@@ -52,8 +60,14 @@ public class BasicWebSocketMessageTransmitter implements WebSocketMessageTransmi
     } else {
       LOG.debug("Session registered and open, sending message");
 
+      final Session session = sessionOptional.get();
       try {
-        sessionOptional.get().getBasicRemote().sendText(message);
+        final ByteBuffer encoded = encoder.encode(session, message);
+        if (encoded == null) {
+          session.getBasicRemote().sendText(message);
+        } else {
+          session.getBasicRemote().sendBinary(encoded);
+        }
       } catch (IOException e) {
         LOG.error("Error while trying to send a message to a basic websocket remote endpoint", e);
       }
@@ -0,0 +1,342 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.websocket.Extension;
+import javax.websocket.Session;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.metrics.MetricsWriter;
+
+/**
+ * Encodes outgoing WEB SOCKET messages and decodes incoming ones.
+ *
+ * <p>Messages are sent as text frames unless the client asked for the deflate encoding by the
+ * {@value #ENCODING_PARAM}={@value #DEFLATE_ENCODING} connection query parameter, in this case
+ * messages which are not shorter than the threshold are sent as binary frames which contain raw
+ * deflated UTF-8 bytes of the message. Short messages stay plain as deflating them costs more than
+ * it saves. Binary frames received from such clients are inflated back to the text messages.
+ *
+ * <p>This is independent of the 'permessage-deflate' extension negotiated by the container, which
+ * compresses frames of the clients which offer it. Statistics of both are kept per endpoint.
+ */
+@Singleton
+public class WebSocketMessageEncoder {
+  public static final String ENCODING_PARAM = "encoding";
+  public static final String DEFLATE_ENCODING = "deflate";
+  public static final String PER_MESSAGE_DEFLATE = "permessage-deflate";
+
+  static final int DEFAULT_THRESHOLD = 1024;
+
+  private static final String DEFLATE_PROPERTY =
+      WebSocketMessageEncoder.class.getName() + ".deflate";
+  private static final String ENDPOINT_PROPERTY =
+      WebSocketMessageEncoder.class.getName() + ".endpoint";
+  private static final int BUFFER_SIZE = 4096;
+  /** Inflated messages larger than this are rejected to protect from decompression bombs. */
+  private static final int MAX_INFLATED_SIZE = 64 * 1024 * 1024;
+
+  private final Map<String, EncodingStatistics> statistics = new ConcurrentHashMap<>();
+  private final int threshold;
+
+  @Inject
+  public WebSocketMessageEncoder() {
+    this(DEFAULT_THRESHOLD);
+  }
+
+  WebSocketMessageEncoder(int threshold) {
+    this.threshold = threshold;
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.register(this::collectMetrics);
+  }
+
+  /**
+   * Remembers the encoding requested by the client of the given session and the endpoint the
+   * session belongs to, should be called when the session is opened.
+   *
+   * @param session opened session
+   * @param endpointId identifier of the endpoint which accepted the session
+   * @param queryParams query parameters of the connection request
+   */
+  public void configure(Session session, String endpointId, Map<String, String> queryParams) {
+    final Map<String, Object> properties = session.getUserProperties();
+    properties.put(ENDPOINT_PROPERTY, endpointId);
+    properties.put(DEFLATE_PROPERTY, DEFLATE_ENCODING.equals(queryParams.get(ENCODING_PARAM)));
+
+    final EncodingStatistics endpointStatistics = getStatistics(endpointId);
+    endpointStatistics.sessions.increment();
+    if (isPerMessageDeflateNegotiated(session)) {
+      endpointStatistics.perMessageDeflateSessions.increment();
+    }
+  }
+
+  /**
+   * Encodes the message for the given session.
+   *
+   * @return deflated message bytes which should be sent as a binary frame or null if the message
+   *     should be sent as a text frame
+   */
+  public ByteBuffer encode(Session session, String message) {
+    final EncodingStatistics endpointStatistics = getStatistics(session);
+    if (message.length() < threshold || !isDeflateRequested(session)) {
+      endpointStatistics.textMessages.increment();
+      return null;
+    }
+    final long start = System.nanoTime();
+    final byte[] raw = message.getBytes(UTF_8);
+    final byte[] deflated = deflate(raw);
+    endpointStatistics.encodingNanos.add(System.nanoTime() - start);
+    endpointStatistics.encodedMessages.increment();
+    endpointStatistics.rawBytes.add(raw.length);
+    endpointStatistics.encodedBytes.add(deflated.length);
+    return ByteBuffer.wrap(deflated);
+  }
+
+  /**
+   * Decodes the binary message received from the given session.
+   *
+   * @throws IOException when the message is not a valid deflated message
+   */
+  public String decode(Session session, ByteBuffer data) throws IOException {
+    final long start = System.nanoTime();
+    final byte[] deflated = new byte[data.remaining()];
+    data.get(deflated);
+    final String message = new String(inflate(deflated), UTF_8);
+    final EncodingStatistics endpointStatistics = getStatistics(session);
+    endpointStatistics.decodingNanos.add(System.nanoTime() - start);
+    endpointStatistics.decodedMessages.increment();
+    return message;
+  }
+
+  /** Returns the encoding statistics of each endpoint. */
+  public List<EncodingStatistics> getStatistics() {
+    return new ArrayList<>(statistics.values());
+  }
+
+  private void collectMetrics(MetricsWriter writer) {
+    for (EncodingStatistics endpoint : statistics.values()) {
+      final String id = endpoint.getEndpointId();
+      writer
+          .counter(
+              "che_websocket_sessions_total",
+              "WEB SOCKET sessions opened",
+              endpoint.getSessionsCount(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_permessage_deflate_sessions_total",
+              "WEB SOCKET sessions opened with 'permessage-deflate' negotiated",
+              endpoint.getPerMessageDeflateSessionsCount(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_text_messages_total",
+              "WEB SOCKET messages sent as text frames",
+              endpoint.getTextMessagesCount(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_encoded_messages_total",
+              "WEB SOCKET messages sent deflated as binary frames",
+              endpoint.getEncodedMessagesCount(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_decoded_messages_total",
+              "Deflated WEB SOCKET messages received as binary frames",
+              endpoint.getDecodedMessagesCount(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_raw_bytes_total",
+              "Size of the deflated WEB SOCKET messages before deflating",
+              endpoint.getRawBytes(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_encoded_bytes_total",
+              "Size of the deflated WEB SOCKET messages after deflating",
+              endpoint.getEncodedBytes(),
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_encoding_seconds_total",
+              "Time spent on deflating of the outgoing WEB SOCKET messages",
+              endpoint.getEncodingNanos() / 1e9,
+              "endpoint",
+              id)
+          .counter(
+              "che_websocket_decoding_seconds_total",
+              "Time spent on inflating of the incoming WEB SOCKET messages",
+              endpoint.getDecodingNanos() / 1e9,
+              "endpoint",
+              id);
+    }
+  }
+
+  private EncodingStatistics getStatistics(Session session) {
+    final Object endpointId = session.getUserProperties().get(ENDPOINT_PROPERTY);
+    return getStatistics(endpointId == null ? "unknown" : endpointId.toString());
+  }
+
+  private EncodingStatistics getStatistics(String endpointId) {
+    return statistics.computeIfAbsent(endpointId, EncodingStatistics::new);
+  }
+
+  private static boolean isDeflateRequested(Session session) {
+    return Boolean.TRUE.equals(session.getUserProperties().get(DEFLATE_PROPERTY));
+  }
+
+  private static boolean isPerMessageDeflateNegotiated(Session session) {
+    final List<Extension> extensions = session.getNegotiatedExtensions();
+    if (extensions != null) {
+      for (Extension extension : extensions) {
+        if (PER_MESSAGE_DEFLATE.equals(extension.getName())) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static byte[] deflate(byte[] raw) {
+    final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try {
+      deflater.setInput(raw);
+      deflater.finish();
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 16);
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      while (!deflater.finished()) {
+        out.write(buffer, 0, deflater.deflate(buffer));
+      }
+      return out.toByteArray();
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private static byte[] inflate(byte[] deflated) throws IOException {
+    final Inflater inflater = new Inflater(true);
+    try {
+      // raw inflater needs an extra dummy byte at the end of the input
+      inflater.setInput(Arrays.copyOf(deflated, deflated.length + 1));
+      final ByteArrayOutputStream out = new ByteArrayOutputStream(deflated.length * 4);
+      final byte[] buffer = new byte[BUFFER_SIZE];
+      while (!inflater.finished()) {
+        final int inflated = inflater.inflate(buffer);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          throw new IOException("Truncated deflated message");
+        }
+        if (out.size() + inflated > MAX_INFLATED_SIZE) {
+          throw new IOException("Inflated message exceeds " + MAX_INFLATED_SIZE + " bytes");
+        }
+        out.write(buffer, 0, inflated);
+      }
+      return out.toByteArray();
+    } catch (DataFormatException x) {
+      throw new IOException("Invalid deflated message: " + x.getMessage(), x);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  /** Statistics of the messages encoding of a WEB SOCKET endpoint. */
+  public static class EncodingStatistics {
+    private final String endpointId;
+    private final LongAdder sessions = new LongAdder();
+    private final LongAdder perMessageDeflateSessions = new LongAdder();
+    private final LongAdder textMessages = new LongAdder();
+    private final LongAdder encodedMessages = new LongAdder();
+    private final LongAdder decodedMessages = new LongAdder();
+    private final LongAdder rawBytes = new LongAdder();
+    private final LongAdder encodedBytes = new LongAdder();
+    private final LongAdder encodingNanos = new LongAdder();
+    private final LongAdder decodingNanos = new LongAdder();
+
+    private EncodingStatistics(String endpointId) {
+      this.endpointId = endpointId;
+    }
+
+    /** Returns the identifier of the endpoint. */
+    public String getEndpointId() {
+      return endpointId;
+    }
+
+    /** Returns the number of opened sessions. */
+    public long getSessionsCount() {
+      return sessions.sum();
+    }
+
+    /** Returns the number of sessions for which 'permessage-deflate' was negotiated. */
+    public long getPerMessageDeflateSessionsCount() {
+      return perMessageDeflateSessions.sum();
+    }
+
+    /** Returns the number of messages sent as text frames. */
+    public long getTextMessagesCount() {
+      return textMessages.sum();
+    }
+
+    /** Returns the number of messages sent deflated as binary frames. */
+    public long getEncodedMessagesCount() {
+      return encodedMessages.sum();
+    }
+
+    /** Returns the number of deflated messages received as binary frames. */
+    public long getDecodedMessagesCount() {
+      return decodedMessages.sum();
+    }
+
+    /** Returns the size in bytes of the deflated messages before deflating. */
+    public long getRawBytes() {
+      return rawBytes.sum();
+    }
+
+    /** Returns the size in bytes of the deflated messages after deflating. */
+    public long getEncodedBytes() {
+      return encodedBytes.sum();
+    }
+
+    /** Returns the ratio of the encoded bytes to the raw bytes, 1 if nothing was encoded. */
+    public double getCompressionRatio() {
+      final long raw = rawBytes.sum();
+      return raw == 0 ? 1 : (double) encodedBytes.sum() / raw;
+    }
+
+    /** Returns the time in nanoseconds spent on deflating of the outgoing messages. */
+    public long getEncodingNanos() {
+      return encodingNanos.sum();
+    }
+
+    /** Returns the time in nanoseconds spent on inflating of the incoming messages. */
+    public long getDecodingNanos() {
+      return decodingNanos.sum();
+    }
+  }
+}
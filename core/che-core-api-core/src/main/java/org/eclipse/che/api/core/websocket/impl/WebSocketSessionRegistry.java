@@ -18,8 +18,10 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.websocket.Session;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.slf4j.Logger;
 
 /**
@@ -33,6 +35,12 @@ public class WebSocketSessionRegistry {
 
   private final Map<String, Session> sessionsMap = new ConcurrentHashMap<>();
 
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.gauge(
+        "che_websocket_sessions", "Opened WEB SOCKET sessions", () -> sessionsMap.size());
+  }
+
   public void add(String endpointId, Session session) {
     LOG.debug("Registering session with endpoint {}", session.getId(), endpointId);
 
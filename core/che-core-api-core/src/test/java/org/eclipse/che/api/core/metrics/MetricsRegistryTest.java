@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link MetricsRegistry}. */
+public class MetricsRegistryTest {
+
+  private MetricsRegistry registry;
+
+  @BeforeMethod
+  public void setUp() {
+    registry = new MetricsRegistry();
+  }
+
+  @Test
+  public void writesCountersAndGauges() throws Exception {
+    registry.counter("test_requests_total", "Requests", "method", "get").increment(3);
+    registry.gauge("test_sessions", "", () -> 2);
+
+    assertEquals(
+        write(),
+        "# HELP test_requests_total Requests\n"
+            + "# TYPE test_requests_total counter\n"
+            + "test_requests_total{method=\"get\"} 3\n"
+            + "# TYPE test_sessions gauge\n"
+            + "test_sessions 2\n");
+  }
+
+  @Test
+  public void writesHistogramWithCumulativeBuckets() throws Exception {
+    final Histogram histogram =
+        registry.histogram("test_size", "Size", new double[] {1, 10}, "type", "file");
+    histogram.observe(0.5);
+    histogram.observe(5);
+    histogram.observe(7);
+    histogram.observe(20);
+
+    assertEquals(
+        write(),
+        "# HELP test_size Size\n"
+            + "# TYPE test_size histogram\n"
+            + "test_size_bucket{type=\"file\",le=\"1\"} 1\n"
+            + "test_size_bucket{type=\"file\",le=\"10\"} 3\n"
+            + "test_size_bucket{type=\"file\",le=\"+Inf\"} 4\n"
+            + "test_size_sum{type=\"file\"} 32.5\n"
+            + "test_size_count{type=\"file\"} 4\n");
+  }
+
+  @Test
+  public void recordsTimerDurationsInSeconds() throws Exception {
+    final Timer timer = registry.timer("test_seconds", "");
+    timer.record(1500, TimeUnit.MILLISECONDS);
+
+    final String metrics = write();
+
+    assertTrue(metrics.contains("test_seconds_bucket{le=\"1\"} 0\n"), metrics);
+    assertTrue(metrics.contains("test_seconds_bucket{le=\"2.5\"} 1\n"), metrics);
+    assertTrue(metrics.contains("test_seconds_sum 1.5\n"), metrics);
+  }
+
+  @Test
+  public void returnsSameMetricForSameNameAndLabels() {
+    assertSame(
+        registry.counter("test_total", "", "a", "1"), registry.counter("test_total", "", "a", "1"));
+  }
+
+  @Test
+  public void replacesGaugeWithSameNameAndLabels() throws Exception {
+    registry.gauge("test_gauge", "", () -> 1);
+    registry.gauge("test_gauge", "", () -> 2);
+
+    assertEquals(write(), "# TYPE test_gauge gauge\ntest_gauge 2\n");
+  }
+
+  @Test
+  public void escapesHelpAndLabelValues() throws Exception {
+    registry.counter("test_total", "Line\\1\nLine 2", "path", "C:\\\"x\"\n").increment();
+
+    assertEquals(
+        write(),
+        "# HELP test_total Line\\\\1\\nLine 2\n"
+            + "# TYPE test_total counter\n"
+            + "test_total{path=\"C:\\\\\\\"x\\\"\\n\"} 1\n");
+  }
+
+  @Test
+  public void writesMetricsOfCollectors() throws Exception {
+    final MetricsCollector collector = writer -> writer.gauge("test_queue", "", 5, "lane", "a");
+    registry.register(writer -> writer.gauge("test_queue", "", 7, "lane", "b"));
+    registry.register(collector);
+
+    assertEquals(
+        write(),
+        "# TYPE test_queue gauge\ntest_queue{lane=\"b\"} 7\ntest_queue{lane=\"a\"} 5\n");
+
+    registry.unregister(collector);
+
+    assertEquals(write(), "# TYPE test_queue gauge\ntest_queue{lane=\"b\"} 7\n");
+  }
+
+  @Test
+  public void failedCollectorDoesNotAffectOtherMetrics() throws Exception {
+    registry.register(
+        writer -> {
+          throw new IllegalStateException("test");
+        });
+    registry.counter("test_total", "").increment();
+
+    assertEquals(write(), "# TYPE test_total counter\ntest_total 1\n");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsMetricOfDifferentType() {
+    registry.counter("test_metric", "");
+    registry.timer("test_metric", "");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsInvalidName() {
+    registry.counter("test-metric", "");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsLabelWithoutValue() {
+    registry.counter("test_total", "", "method");
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsNotAscendingBounds() {
+    registry.histogram("test_size", "", new double[] {10, 1});
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void rejectsNegativeCounterIncrement() {
+    registry.counter("test_total", "").increment(-1);
+  }
+
+  private String write() throws Exception {
+    final StringBuilder sb = new StringBuilder();
+    registry.write(sb);
+    return sb.toString();
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.metrics;
+
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+import java.util.concurrent.CompletableFuture;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link TimedInterceptor} bound by {@link MetricsModule}. */
+public class TimedInterceptorTest {
+
+  private MetricsRegistry registry;
+  private TimedComponent component;
+  private TimedMethods methods;
+  private TimedComponentExtension extension;
+
+  @BeforeMethod
+  public void setUp() {
+    final Injector injector = Guice.createInjector(new MetricsModule());
+    registry = injector.getInstance(MetricsRegistry.class);
+    component = injector.getInstance(TimedComponent.class);
+    methods = injector.getInstance(TimedMethods.class);
+    extension = injector.getInstance(TimedComponentExtension.class);
+  }
+
+  @Test
+  public void recordsSuccessfulInvocationsOfPublicMethodsOfAnnotatedClass() throws Exception {
+    component.run();
+    component.run();
+
+    final String metrics = write();
+
+    assertTrue(
+        metrics.contains(
+            "test_component_seconds_count{method=\"TimedComponent.run\",outcome=\"success\"} 2\n"),
+        metrics);
+    assertFalse(metrics.contains("TimedComponent.hidden"), metrics);
+  }
+
+  @Test
+  public void recordsFailedInvocations() throws Exception {
+    try {
+      component.fail();
+    } catch (IllegalStateException ignored) {
+    }
+
+    final String metrics = write();
+
+    assertTrue(
+        metrics.contains(
+            "test_component_seconds_count{method=\"TimedComponent.fail\",outcome=\"failure\"} 1\n"),
+        metrics);
+  }
+
+  @Test
+  public void recordsAnnotatedMethods() throws Exception {
+    methods.timed();
+    methods.notTimed();
+
+    final String metrics = write();
+
+    assertTrue(metrics.contains("# HELP test_method_seconds Timed method\n"), metrics);
+    assertTrue(
+        metrics.contains(
+            "test_method_seconds_count{method=\"TimedMethods.timed\",outcome=\"success\"} 1\n"),
+        metrics);
+    assertFalse(metrics.contains("notTimed"), metrics);
+  }
+
+  @Test
+  public void recordsAsynchronousInvocationsWhenTheyComplete() throws Exception {
+    final CompletableFuture<String> future = new CompletableFuture<>();
+
+    component.async(future);
+
+    assertTrue(
+        write()
+            .contains(
+                "test_component_seconds_count{method=\"TimedComponent.async\","
+                    + "outcome=\"success\"} 0\n"));
+
+    future.completeExceptionally(new IllegalStateException("test"));
+
+    final String metrics = write();
+    assertTrue(
+        metrics.contains(
+            "test_component_seconds_count{method=\"TimedComponent.async\","
+                + "outcome=\"failure\"} 1\n"),
+        metrics);
+  }
+
+  @Test
+  public void recordsNestedInvocationsOfSameTimerOnce() throws Exception {
+    component.run("delegating");
+
+    final String metrics = write();
+
+    assertTrue(
+        metrics.contains(
+            "test_component_seconds_count{method=\"TimedComponent.run\",outcome=\"success\"} 1\n"),
+        metrics);
+  }
+
+  @Test
+  public void recordsMethodsOfSubclassesOfAnnotatedClass() throws Exception {
+    extension.extra();
+
+    final String metrics = write();
+
+    assertTrue(
+        metrics.contains(
+            "test_component_seconds_count{method=\"TimedComponentExtension.extra\","
+                + "outcome=\"success\"} 1\n"),
+        metrics);
+  }
+
+  @Test
+  public void doesNotRecordMethodsExcludedFromTiming() throws Exception {
+    component.stream();
+    extension.stream();
+
+    final String metrics = write();
+
+    assertFalse(metrics.contains(".stream\""), metrics);
+  }
+
+  private String write() throws Exception {
+    final StringBuilder sb = new StringBuilder();
+    registry.write(sb);
+    return sb.toString();
+  }
+
+  @Timed("test_component_seconds")
+  public static class TimedComponent {
+    public void run() {}
+
+    public void run(String arg) {
+      run();
+    }
+
+    public void fail() {
+      throw new IllegalStateException("test");
+    }
+
+    public CompletableFuture<String> async(CompletableFuture<String> future) {
+      return future;
+    }
+
+    @NotTimed
+    public void stream() {}
+
+    void hidden() {}
+  }
+
+  public static class TimedComponentExtension extends TimedComponent {
+    public void extra() {}
+
+    @Override
+    @NotTimed
+    public void stream() {}
+  }
+
+  public static class TimedMethods {
+    @Timed(value = "test_method_seconds", help = "Timed method")
+    public void timed() {}
+
+    public void notTimed() {}
+  }
+}
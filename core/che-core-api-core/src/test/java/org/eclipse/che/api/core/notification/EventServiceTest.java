@@ -10,10 +10,19 @@
  */
 package org.eclipse.che.api.core.notification;
 
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import org.eclipse.che.api.core.notification.EventService.AsyncDeliveryStatistics;
 import org.testng.Assert;
+import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 
@@ -26,6 +35,11 @@ public class EventServiceTest {
     bus = new EventService();
   }
 
+  @AfterMethod
+  public void tearDown() {
+    bus.shutdown();
+  }
+
   @Test
   public void testSimpleEvent() {
     final List<Object> events = new ArrayList<>();
@@ -219,4 +233,129 @@ public class EventServiceTest {
       super("message");
     }
   }
+
+  @Test
+  public void shouldDeliverEventsToAsyncSubscriberOutOfPublisherThread() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final KeyedAsyncSubscriber subscriber = new KeyedAsyncSubscriber(release, 200);
+    bus.subscribe(subscriber);
+
+    // publisher is not blocked by the subscriber which waits for the release
+    for (int i = 0; i < 100; i++) {
+      bus.publish("a:" + i);
+      bus.publish("b:" + i);
+    }
+    release.countDown();
+
+    Assert.assertTrue(subscriber.delivered.await(10, SECONDS));
+    Assert.assertNotEquals(subscriber.threads.get("a:0"), Thread.currentThread());
+    for (String key : asList("a", "b")) {
+      final List<String> events = subscriber.events.get(key);
+      Assert.assertEquals(events.size(), 100);
+      for (int i = 0; i < 100; i++) {
+        Assert.assertEquals(events.get(i), key + ":" + i);
+      }
+    }
+    final AsyncDeliveryStatistics statistics = bus.getAsyncStatistics().get(0);
+    Assert.assertEquals(statistics.getSubscriber(), KeyedAsyncSubscriber.class.getName());
+    Assert.assertEquals(statistics.getDeliveredCount(), 200);
+    Assert.assertEquals(statistics.getDroppedCount(), 0);
+  }
+
+  @Test
+  public void shouldDropEventsWhenQueueOfAsyncSubscriberIsFull() throws Exception {
+    final CountDownLatch release = new CountDownLatch(1);
+    final DroppingAsyncSubscriber subscriber = new DroppingAsyncSubscriber(release);
+    bus.subscribe(subscriber);
+
+    bus.publish(new Event("first"));
+    Assert.assertTrue(subscriber.started.await(10, SECONDS));
+    bus.publish(new Event("queued"));
+    bus.publish(new Event("dropped"));
+
+    final AsyncDeliveryStatistics statistics = bus.getAsyncStatistics().get(0);
+    Assert.assertEquals(statistics.getQueueDepth(), 1);
+    Assert.assertEquals(statistics.getDroppedCount(), 1);
+    Assert.assertEquals(statistics.getOverflowPolicy(), AsyncEventSubscriber.OverflowPolicy.DROP);
+
+    release.countDown();
+    Assert.assertTrue(subscriber.delivered.await(10, SECONDS));
+    Assert.assertEquals(subscriber.events, asList("first", "queued"));
+  }
+
+  @Test
+  public void shouldRemoveAsyncDeliveryOnUnsubscribe() {
+    final DroppingAsyncSubscriber subscriber = new DroppingAsyncSubscriber(new CountDownLatch(0));
+    bus.subscribe(subscriber);
+    bus.unsubscribe(subscriber);
+
+    Assert.assertTrue(bus.getAsyncStatistics().isEmpty());
+  }
+
+  static class KeyedAsyncSubscriber implements AsyncEventSubscriber<String> {
+    final Map<String, List<String>> events = new ConcurrentHashMap<>();
+    final Map<String, Thread> threads = new ConcurrentHashMap<>();
+    final CountDownLatch release;
+    final CountDownLatch delivered;
+
+    KeyedAsyncSubscriber(CountDownLatch release, int expected) {
+      this.release = release;
+      this.delivered = new CountDownLatch(expected);
+    }
+
+    @Override
+    public void onEvent(String event) {
+      try {
+        release.await();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+      }
+      threads.put(event, Thread.currentThread());
+      events.computeIfAbsent(getOrderingKey(event), k -> new CopyOnWriteArrayList<>()).add(event);
+      delivered.countDown();
+    }
+
+    @Override
+    public String getOrderingKey(String event) {
+      return event.substring(0, event.indexOf(':'));
+    }
+  }
+
+  static class DroppingAsyncSubscriber implements AsyncEventSubscriber<Event> {
+    final List<String> events = new CopyOnWriteArrayList<>();
+    final CountDownLatch started = new CountDownLatch(1);
+    final CountDownLatch delivered = new CountDownLatch(2);
+    final CountDownLatch release;
+
+    DroppingAsyncSubscriber(CountDownLatch release) {
+      this.release = release;
+    }
+
+    @Override
+    public void onEvent(Event event) {
+      started.countDown();
+      try {
+        release.await();
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+      }
+      events.add(event.data);
+      delivered.countDown();
+    }
+
+    @Override
+    public int getPartitions() {
+      return 1;
+    }
+
+    @Override
+    public int getQueueCapacity() {
+      return 1;
+    }
+
+    @Override
+    public OverflowPolicy getOverflowPolicy() {
+      return OverflowPolicy.DROP;
+    }
+  }
 }
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.api.core.rest;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -39,6 +40,34 @@ public class DefaultHttpJsonResponseTest {
     assertEquals(response.asString(), "string response");
   }
 
+  @Test
+  public void shouldDecodeRawContentAsString() throws Exception {
+    final DefaultHttpJsonResponse response =
+        new DefaultHttpJsonResponse("string response".getBytes(UTF_8), 200);
+
+    assertEquals(response.asString(), "string response");
+  }
+
+  @Test
+  public void shouldDecodeRawContentIntoJsonSerializableInstance() throws Exception {
+    final Link testLink = createLink("POST", "http://localhost:8080", "rel");
+    final DefaultHttpJsonResponse response =
+        new DefaultHttpJsonResponse(
+            DtoFactory.getInstance().toJson(testLink).getBytes(UTF_8), 200);
+
+    assertEquals(response.asDto(Link.class), testLink);
+  }
+
+  @Test
+  public void shouldDecodeRawContentIntoProperties() throws Exception {
+    final String responseBody =
+        DtoFactory.getInstance().toJson(new JsonStringMapImpl<>(singletonMap("key", "value")));
+    final DefaultHttpJsonResponse response =
+        new DefaultHttpJsonResponse(responseBody.getBytes(UTF_8), 200);
+
+    assertEquals(response.asProperties(), singletonMap("key", "value"));
+  }
+
   @Test
   public void shouldReturnJsonSerializableInstanceIfItWasRequested() throws Exception {
     final Link testLink = createLink("POST", "http://localhost:8080", "rel");
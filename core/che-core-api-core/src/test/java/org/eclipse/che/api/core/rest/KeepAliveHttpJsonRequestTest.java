@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.rest;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.core.util.LinksHelper;
+import org.everrest.assured.EverrestJetty;
+import org.testng.ITestContext;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests of {@link KeepAliveHttpJsonRequest}.
+ *
+ * @see DefaultHttpJsonRequestTest
+ */
+@Listeners(EverrestJetty.class)
+public class KeepAliveHttpJsonRequestTest {
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final ApiExceptionMapper EXCEPTION_MAPPER = new ApiExceptionMapper();
+
+  @SuppressWarnings("unused") // used by EverrestJetty
+  private static final TestService TEST_SERVICE = new TestService();
+
+  private ExecutorService executor;
+
+  @BeforeClass
+  public void setUp() {
+    executor = Executors.newSingleThreadExecutor();
+  }
+
+  @AfterClass
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    executor.awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  public void shouldReadJsonObjectBodyAsString(ITestContext ctx) throws Exception {
+    final HttpJsonResponse response =
+        new KeepAliveHttpJsonRequest(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldStreamJsonBodyAndDecodeResponseIntoDtos(ITestContext ctx) throws Exception {
+    final Link link = LinksHelper.createLink("GET", "localhost:8080/application-json", "rel");
+
+    final List<Link> links =
+        new KeepAliveHttpJsonRequest(getUrl(ctx) + "/application-json")
+            .usePostMethod()
+            .setBody(Collections.singletonList(link))
+            .request()
+            .asList(Link.class);
+
+    assertEquals(links, Collections.singletonList(link));
+  }
+
+  @Test
+  public void shouldBeAbleToRepeatRequestOverKeptAliveConnection(ITestContext ctx)
+      throws Exception {
+    final HttpJsonRequest request =
+        new KeepAliveHttpJsonRequest(getUrl(ctx) + "/application-json").useGetMethod();
+
+    for (int i = 0; i < 10; i++) {
+      assertEquals(request.request().asString(), TestService.JSON_OBJECT);
+    }
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldThrowNotFoundExceptionWhenResponseCodeIs404(ITestContext ctx) throws Exception {
+    new KeepAliveHttpJsonRequest(getUrl(ctx) + "/404/response-code-test").useGetMethod().request();
+  }
+
+  @Test
+  public void shouldReleaseConnectionWhenResponseIsNotJson(ITestContext ctx) throws Exception {
+    for (int i = 0; i < 10; i++) {
+      try {
+        new KeepAliveHttpJsonRequest(getUrl(ctx) + "/text-plain").useGetMethod().request();
+        fail("IOException expected");
+      } catch (IOException expected) {
+        // response is consumed and the connection is released
+      }
+    }
+
+    final HttpJsonResponse response =
+        new KeepAliveHttpJsonRequest(getUrl(ctx) + "/application-json").useGetMethod().request();
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test
+  public void shouldPerformRequestAsynchronously(ITestContext ctx) throws Exception {
+    final HttpJsonResponse response =
+        new KeepAliveHttpJsonRequest(getUrl(ctx) + "/application-json")
+            .useGetMethod()
+            .requestAsync(executor)
+            .get(10, TimeUnit.SECONDS);
+
+    assertEquals(response.asString(), TestService.JSON_OBJECT);
+  }
+
+  @Test(expectedExceptions = NotFoundException.class)
+  public void shouldCompleteAsyncRequestExceptionallyWhenRequestFails(ITestContext ctx)
+      throws Throwable {
+    try {
+      new KeepAliveHttpJsonRequest(getUrl(ctx) + "/404/response-code-test")
+          .useGetMethod()
+          .requestAsync(executor)
+          .get(10, TimeUnit.SECONDS);
+    } catch (ExecutionException x) {
+      throw x.getCause();
+    }
+  }
+
+  private String getUrl(ITestContext ctx) {
+    return "http://localhost:" + ctx.getAttribute(EverrestJetty.JETTY_PORT) + "/rest/test";
+  }
+}
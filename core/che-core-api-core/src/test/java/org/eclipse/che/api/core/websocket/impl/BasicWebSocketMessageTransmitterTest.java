@@ -40,6 +40,7 @@ public class BasicWebSocketMessageTransmitterTest {
 
   @Mock private WebSocketSessionRegistry registry;
   @Mock private MessagesReSender reSender;
+  @Mock private WebSocketMessageEncoder encoder;
   @InjectMocks private BasicWebSocketMessageTransmitter transmitter;
 
   @Mock private Session session;
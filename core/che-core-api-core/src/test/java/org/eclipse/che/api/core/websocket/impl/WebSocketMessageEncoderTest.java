@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.websocket.impl;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Optional;
+import javax.websocket.Extension;
+import javax.websocket.RemoteEndpoint;
+import javax.websocket.Session;
+import org.eclipse.che.api.core.websocket.commons.WebSocketMessageReceiver;
+import org.eclipse.che.api.core.websocket.impl.WebSocketMessageEncoder.EncodingStatistics;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link WebSocketMessageEncoder} by sending messages through the {@link
+ * BasicWebSocketMessageTransmitter} and receiving the sent frames back by the {@link
+ * BasicWebSocketEndpoint}.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class WebSocketMessageEncoderTest {
+  private static final String ENDPOINT_ID = "test-endpoint";
+  private static final String COMBINED_ID = "client<-:->test-endpoint";
+  private static final int THRESHOLD = 256;
+
+  @Mock private WebSocketSessionRegistry registry;
+  @Mock private MessagesReSender reSender;
+  @Mock private WebSocketMessageReceiver receiver;
+  @Mock private WebsocketIdService identificationService;
+  @Mock private Session session;
+  @Mock private RemoteEndpoint.Basic remote;
+
+  private WebSocketMessageEncoder encoder;
+  private BasicWebSocketMessageTransmitter transmitter;
+  private BasicWebSocketEndpoint endpoint;
+
+  @BeforeMethod
+  public void setUp() {
+    encoder = new WebSocketMessageEncoder(THRESHOLD);
+    transmitter = new BasicWebSocketMessageTransmitter(registry, reSender, encoder);
+    endpoint =
+        new BasicWebSocketEndpoint(registry, reSender, receiver, identificationService, encoder) {
+          @Override
+          protected String getEndpointId() {
+            return ENDPOINT_ID;
+          }
+        };
+
+    when(session.getUserProperties()).thenReturn(new HashMap<>());
+    when(session.getBasicRemote()).thenReturn(remote);
+    when(session.isOpen()).thenReturn(true);
+    when(registry.get(COMBINED_ID)).thenReturn(Optional.of(session));
+    when(registry.get(session)).thenReturn(Optional.of(COMBINED_ID));
+  }
+
+  @Test
+  public void shouldSendDeflatedBinaryFrameWhichIsReceivedAsOriginalMessage() throws Exception {
+    open("clientId=client&encoding=deflate");
+    final String message = completionList(200);
+
+    transmitter.transmit(COMBINED_ID, message);
+
+    final ArgumentCaptor<ByteBuffer> frame = ArgumentCaptor.forClass(ByteBuffer.class);
+    verify(remote).sendBinary(frame.capture());
+    verify(remote, never()).sendText(anyString());
+    final int sent = frame.getValue().remaining();
+    assertTrue(sent * 5 < message.length(), "Sent " + sent + " of " + message.length() + " bytes");
+
+    endpoint.onMessage(frame.getValue(), session);
+
+    verify(receiver).receive(COMBINED_ID, message);
+    final EncodingStatistics statistics = encoder.getStatistics().get(0);
+    assertEquals(statistics.getEndpointId(), ENDPOINT_ID);
+    assertEquals(statistics.getEncodedMessagesCount(), 1);
+    assertEquals(statistics.getDecodedMessagesCount(), 1);
+    assertEquals(statistics.getRawBytes(), message.length());
+    assertEquals(statistics.getEncodedBytes(), sent);
+    assertTrue(statistics.getCompressionRatio() < 0.2);
+  }
+
+  @Test
+  public void shouldSendMessageShorterThanThresholdAsText() throws Exception {
+    open("clientId=client&encoding=deflate");
+    final String message = completionList(1);
+
+    transmitter.transmit(COMBINED_ID, message);
+
+    verify(remote).sendText(message);
+    verify(remote, never()).sendBinary(any());
+    assertEquals(encoder.getStatistics().get(0).getTextMessagesCount(), 1);
+  }
+
+  @Test
+  public void shouldSendTextIfClientDidNotRequestDeflateEncoding() throws Exception {
+    open("clientId=client");
+    final String message = completionList(200);
+
+    transmitter.transmit(COMBINED_ID, message);
+
+    verify(remote).sendText(message);
+    verify(remote, never()).sendBinary(any());
+  }
+
+  @Test
+  public void shouldCountSessionsWithNegotiatedPerMessageDeflate() throws Exception {
+    final Extension extension = mock(Extension.class);
+    when(extension.getName()).thenReturn(WebSocketMessageEncoder.PER_MESSAGE_DEFLATE);
+    when(session.getNegotiatedExtensions()).thenReturn(singletonList(extension));
+
+    open("clientId=client");
+
+    final EncodingStatistics statistics = encoder.getStatistics().get(0);
+    assertEquals(statistics.getSessionsCount(), 1);
+    assertEquals(statistics.getPerMessageDeflateSessionsCount(), 1);
+  }
+
+  @Test
+  public void shouldNotPassInvalidBinaryFrameToReceiver() throws Exception {
+    open("clientId=client&encoding=deflate");
+
+    endpoint.onMessage(ByteBuffer.wrap(new byte[] {1, 2, 3}), session);
+
+    verify(receiver, never()).receive(anyString(), anyString());
+  }
+
+  private void open(String queryString) {
+    when(session.getQueryString()).thenReturn(queryString);
+    endpoint.onOpen(session);
+  }
+
+  private static String completionList(int size) {
+    final StringBuilder sb = new StringBuilder("{\"jsonrpc\":\"2.0\",\"id\":1,\"result\":[");
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        sb.append(',');
+      }
+      sb.append("{\"label\":\"getValue")
+          .append(i)
+          .append("()\",\"kind\":2,\"detail\":\"String - org.eclipse.che.Sample\",")
+          .append("\"insertText\":\"getValue")
+          .append(i)
+          .append("()\",\"sortText\":\"")
+          .append(String.format("%05d", i))
+          .append("\"}");
+    }
+    return sb.append("]}").toString();
+  }
+}
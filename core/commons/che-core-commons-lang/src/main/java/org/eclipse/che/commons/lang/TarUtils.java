@@ -18,6 +18,7 @@ import java.io.FileOutputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.LinkedList;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -54,20 +55,30 @@ public class TarUtils {
   public static void tarDir(
       String parentPath, File dir, File tar, long modTime, FilenameFilter filter)
       throws IOException {
-    if (!dir.isDirectory()) {
-      throw new IllegalArgumentException("Not a directory.");
-    }
-    if (!dir.getAbsolutePath().startsWith(parentPath)) {
-      throw new IllegalArgumentException("Invalid parent directory path " + parentPath);
+    checkDirectory(parentPath, dir);
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tar))) {
+      tarDir(parentPath, dir, out, modTime, filter);
     }
+  }
+
+  /**
+   * Writes tar archive with content of directory {@code dir} to the given output, so the archive
+   * may be streamed without being stored anywhere. The output is flushed but not closed.
+   *
+   * @see #tarDir(String, File, File, long, FilenameFilter)
+   */
+  public static void tarDir(
+      String parentPath, File dir, OutputStream out, long modTime, FilenameFilter filter)
+      throws IOException {
+    checkDirectory(parentPath, dir);
     if (filter == null) {
       filter = IoUtil.ANY_FILTER;
     }
-    try (TarArchiveOutputStream tarOut =
-        new TarArchiveOutputStream(new BufferedOutputStream(new FileOutputStream(tar)))) {
-      tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-      addDirectoryRecursively(tarOut, parentPath, dir, modTime, filter);
-    }
+    final TarArchiveOutputStream tarOut = new TarArchiveOutputStream(out);
+    tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+    addDirectoryRecursively(tarOut, parentPath, dir, modTime, filter);
+    tarOut.finish();
+    tarOut.flush();
   }
 
   public static void tarDir(String parentPath, File dir, File tar, FilenameFilter filter)
@@ -76,25 +87,44 @@ public class TarUtils {
   }
 
   public static void tarFiles(File tar, long modTime, File... files) throws IOException {
-    try (TarArchiveOutputStream tarOut =
-        new TarArchiveOutputStream(new BufferedOutputStream(new FileOutputStream(tar)))) {
-      tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
-      for (File f : files) {
-        if (f.isDirectory()) {
-          addDirectoryEntry(tarOut, f.getName(), f, modTime);
-          final String parentPath = f.getParentFile().getAbsolutePath();
-          addDirectoryRecursively(tarOut, parentPath, f, modTime, IoUtil.ANY_FILTER);
-        } else if (f.isFile()) {
-          addFileEntry(tarOut, f.getName(), f, modTime);
-        }
+    try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tar))) {
+      tarFiles(out, modTime, files);
+    }
+  }
+
+  /**
+   * Writes tar archive with the given files to the given output, so the archive may be streamed
+   * without being stored anywhere. The output is flushed but not closed.
+   */
+  public static void tarFiles(OutputStream out, long modTime, File... files) throws IOException {
+    final TarArchiveOutputStream tarOut = new TarArchiveOutputStream(out);
+    tarOut.setLongFileMode(TarArchiveOutputStream.LONGFILE_POSIX);
+    for (File f : files) {
+      if (f.isDirectory()) {
+        addDirectoryEntry(tarOut, f.getName(), f, modTime);
+        final String parentPath = f.getParentFile().getAbsolutePath();
+        addDirectoryRecursively(tarOut, parentPath, f, modTime, IoUtil.ANY_FILTER);
+      } else if (f.isFile()) {
+        addFileEntry(tarOut, f.getName(), f, modTime);
       }
     }
+    tarOut.finish();
+    tarOut.flush();
   }
 
   public static void tarFiles(File tar, File... files) throws IOException {
     tarFiles(tar, -1, files);
   }
 
+  private static void checkDirectory(String parentPath, File dir) {
+    if (!dir.isDirectory()) {
+      throw new IllegalArgumentException("Not a directory.");
+    }
+    if (!dir.getAbsolutePath().startsWith(parentPath)) {
+      throw new IllegalArgumentException("Invalid parent directory path " + parentPath);
+    }
+  }
+
   private static void addDirectoryRecursively(
       TarArchiveOutputStream tarOut,
       String parentPath,
@@ -24,6 +24,7 @@ import javax.persistence.NoResultException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.multiuser.api.permission.server.AbstractPermissionsDomain;
 import org.eclipse.che.multiuser.api.permission.server.jpa.AbstractJpaPermissionsDao;
 import org.eclipse.che.multiuser.organization.spi.MemberDao;
@@ -35,6 +36,7 @@ import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
  *
  * @author Sergii Leschenko
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaMemberDao extends AbstractJpaPermissionsDao<MemberImpl> implements MemberDao {
 
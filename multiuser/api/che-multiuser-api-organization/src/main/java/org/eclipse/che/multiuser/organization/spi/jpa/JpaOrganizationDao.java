@@ -25,6 +25,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 import org.eclipse.che.multiuser.organization.spi.OrganizationDao;
 import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
@@ -34,6 +35,7 @@ import org.eclipse.che.multiuser.organization.spi.impl.OrganizationImpl;
  *
  * @author Sergii Leschenko
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaOrganizationDao implements OrganizationDao {
 
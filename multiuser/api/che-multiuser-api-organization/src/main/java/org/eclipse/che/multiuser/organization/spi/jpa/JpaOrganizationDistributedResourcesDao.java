@@ -23,6 +23,7 @@ import javax.persistence.EntityManager;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.multiuser.organization.spi.OrganizationDistributedResourcesDao;
 import org.eclipse.che.multiuser.organization.spi.impl.OrganizationDistributedResourcesImpl;
 
@@ -31,6 +32,7 @@ import org.eclipse.che.multiuser.organization.spi.impl.OrganizationDistributedRe
  *
  * @author Sergii Leschenko
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaOrganizationDistributedResourcesDao implements OrganizationDistributedResourcesDao {
   @Inject private Provider<EntityManager> managerProvider;
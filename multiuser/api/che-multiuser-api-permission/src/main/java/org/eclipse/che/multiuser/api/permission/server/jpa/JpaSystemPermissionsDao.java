@@ -27,6 +27,7 @@ import javax.persistence.EntityManager;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
@@ -38,6 +39,7 @@ import org.eclipse.che.multiuser.api.permission.server.model.impl.SystemPermissi
  *
  * @author Max Shaposhnik
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaSystemPermissionsDao extends AbstractJpaPermissionsDao<SystemPermissionsImpl> {
 
@@ -27,6 +27,7 @@ import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.multiuser.resource.spi.FreeResourcesLimitDao;
@@ -39,6 +40,7 @@ import org.slf4j.LoggerFactory;
  *
  * @author Sergii Leschenko
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaFreeResourcesLimitDao implements FreeResourcesLimitDao {
   private static final Logger LOG = LoggerFactory.getLogger(JpaFreeResourcesLimitDao.class);
@@ -95,6 +95,16 @@ public class WorkspacePermissionsFilter extends CheMethodInvokerFilter {
           return;
         }
 
+      case "getSummaries":
+        {
+          final String namespace = (String) arguments[1];
+          if (namespace == null || superPrivilegesChecker.hasSuperPrivileges()) {
+            return;
+          }
+          checkAccountPermissions(namespace, AccountOperation.MANAGE_WORKSPACES);
+          return;
+        }
+
       case "create":
         {
           checkAccountPermissions((String) arguments[3], AccountOperation.CREATE_WORKSPACE);
@@ -27,6 +27,7 @@ import javax.persistence.NoResultException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeStackRemovedEvent;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -40,6 +41,7 @@ import org.eclipse.che.multiuser.permission.workspace.server.stack.StackPermissi
  *
  * @author Max Shaposhnik
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaStackPermissionsDao extends AbstractJpaPermissionsDao<StackPermissionsImpl> {
 
@@ -27,6 +27,7 @@ import javax.persistence.NoResultException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.user.server.event.BeforeUserRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
@@ -42,6 +43,7 @@ import org.eclipse.che.multiuser.permission.workspace.server.spi.WorkerDao;
  *
  * @author Max Shaposhnik
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaWorkerDao extends AbstractJpaPermissionsDao<WorkerImpl> implements WorkerDao {
 
@@ -16,8 +16,12 @@ import static java.util.Objects.requireNonNull;
 import static java.util.stream.Collectors.toList;
 
 import com.google.inject.persist.Transactional;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -26,6 +30,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
+import javax.persistence.TypedQuery;
 import org.eclipse.che.account.event.BeforeAccountRemovedEvent;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
@@ -36,7 +41,9 @@ import org.eclipse.che.api.workspace.server.event.BeforeWorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.WorkspaceRemovedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
+import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.core.db.cascade.CascadeEventSubscriber;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
@@ -195,6 +202,93 @@ public class MultiuserJpaWorkspaceDao implements WorkspaceDao {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   *
+   * <p>Summaries are selected with 2 queries: the page of summaries, joined with the workers of the
+   * user when namespace is not specified, and the attributes of the workspaces of the page,
+   * configurations of the workspaces are not loaded.
+   */
+  @Override
+  @Transactional
+  public List<WorkspaceSummaryImpl> getSummaries(
+      String userId,
+      @Nullable String namespace,
+      @Nullable String afterId,
+      int maxItems,
+      @Nullable Set<String> ids,
+      Set<String> excludedIds)
+      throws ServerException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    requireNonNull(excludedIds, "Required non-null excluded ids");
+    if (maxItems == 0 || ids != null && ids.isEmpty()) {
+      return new ArrayList<>();
+    }
+    final StringBuilder qlBuilder =
+        new StringBuilder(
+            "SELECT NEW org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl("
+                + "w.id, w.name, w.account.name, w.isTemporary) ");
+    if (namespace != null) {
+      qlBuilder.append("FROM Workspace w WHERE w.account.name = :namespace");
+    } else {
+      qlBuilder.append(
+          "FROM Worker worker JOIN worker.workspace w "
+              + "WHERE worker.userId = :userId AND 'read' MEMBER OF worker.actions");
+    }
+    if (afterId != null) {
+      qlBuilder.append(" AND w.id > :afterId");
+    }
+    if (ids != null) {
+      qlBuilder.append(" AND w.id IN :ids");
+    }
+    if (!excludedIds.isEmpty()) {
+      qlBuilder.append(" AND w.id NOT IN :excludedIds");
+    }
+    qlBuilder.append(" ORDER BY w.id");
+    try {
+      final EntityManager manager = managerProvider.get();
+      final TypedQuery<WorkspaceSummaryImpl> query =
+          manager.createQuery(qlBuilder.toString(), WorkspaceSummaryImpl.class);
+      if (namespace != null) {
+        query.setParameter("namespace", namespace);
+      } else {
+        query.setParameter("userId", userId);
+      }
+      if (afterId != null) {
+        query.setParameter("afterId", afterId);
+      }
+      if (ids != null) {
+        query.setParameter("ids", ids);
+      }
+      if (!excludedIds.isEmpty()) {
+        query.setParameter("excludedIds", excludedIds);
+      }
+      final List<WorkspaceSummaryImpl> summaries = query.setMaxResults(maxItems).getResultList();
+      if (summaries.isEmpty()) {
+        return summaries;
+      }
+
+      final Map<String, WorkspaceSummaryImpl> summariesById = new HashMap<>();
+      for (WorkspaceSummaryImpl summary : summaries) {
+        summariesById.put(summary.getId(), summary);
+      }
+      final List<Object[]> attributes =
+          manager
+              .createNamedQuery("Workspace.getAttributes", Object[].class)
+              .setParameter("ids", summariesById.keySet())
+              .getResultList();
+      for (Object[] attribute : attributes) {
+        summariesById
+            .get((String) attribute[0])
+            .getAttributes()
+            .put((String) attribute[1], (String) attribute[2]);
+      }
+      return summaries;
+    } catch (RuntimeException x) {
+      throw new ServerException(x.getLocalizedMessage(), x);
+    }
+  }
+
   @Transactional
   protected void doCreate(WorkspaceImpl workspace) {
     if (workspace.getConfig() != null) {
@@ -179,6 +179,41 @@ public class WorkspacePermissionsFilterTest {
     verifyZeroInteractions(subject);
   }
 
+  @Test
+  public void shouldCheckAccountPermissionsOnFetchingSummariesByNamespace() throws Exception {
+    doNothing().when(permissionsFilter).checkAccountPermissions(anyString(), any());
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?namespace=userok");
+
+    assertEquals(response.getStatusCode(), 200);
+    verify(workspaceService).getSummaries(any(), eq("userok"), any(), any());
+    verify(permissionsFilter).checkAccountPermissions("userok", AccountOperation.MANAGE_WORKSPACES);
+    verifyZeroInteractions(subject);
+  }
+
+  @Test
+  public void shouldNotCheckAccountPermissionsOnFetchingSummariesWithoutNamespace()
+      throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .contentType("application/json")
+            .when()
+            .get(SECURE_PATH + "/workspace/summary");
+
+    assertEquals(response.getStatusCode(), 200);
+    verify(workspaceService).getSummaries(any(), eq(null), any(), any());
+    verify(permissionsFilter, never()).checkAccountPermissions(anyString(), any());
+    verifyZeroInteractions(subject);
+  }
+
   @Test
   public void shouldCheckAccountPermissionsOnStartingWorkspaceFromConfig() throws Exception {
     doNothing().when(permissionsFilter).checkAccountPermissions(anyString(), any());
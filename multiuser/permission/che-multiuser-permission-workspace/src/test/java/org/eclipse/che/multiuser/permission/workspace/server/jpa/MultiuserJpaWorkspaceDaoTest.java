@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.multiuser.permission.workspace.server.jpa;
 
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertTrue;
 
@@ -22,6 +24,7 @@ import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.commons.test.db.H2TestHelper;
 import org.eclipse.che.multiuser.permission.workspace.server.model.impl.WorkerImpl;
 import org.eclipse.che.multiuser.permission.workspace.server.spi.jpa.MultiuserJpaWorkspaceDao;
@@ -132,4 +135,38 @@ public class MultiuserJpaWorkspaceDaoTest {
     assertTrue(results.contains(workspaces[0]));
     assertTrue(results.contains(workspaces[1]));
   }
+
+  @Test
+  public void shouldGetSummariesOfWorkspacesWhichUserCanRead() throws Exception {
+    List<WorkspaceSummaryImpl> firstPage =
+        dao.getSummaries(users[0].getId(), null, null, 1, null, emptySet());
+    List<WorkspaceSummaryImpl> secondPage =
+        dao.getSummaries(users[0].getId(), null, firstPage.get(0).getId(), 1, null, emptySet());
+    List<WorkspaceSummaryImpl> lastPage =
+        dao.getSummaries(users[0].getId(), null, secondPage.get(0).getId(), 1, null, emptySet());
+
+    assertEquals(firstPage.size(), 1);
+    assertEquals(firstPage.get(0).getId(), "ws1");
+    assertEquals(firstPage.get(0).getNamespace(), account.getName());
+    assertEquals(secondPage.size(), 1);
+    assertEquals(secondPage.get(0).getId(), "ws2");
+    assertTrue(lastPage.isEmpty());
+  }
+
+  @Test
+  public void shouldExcludeWorkspacesFromSummaries() throws Exception {
+    List<WorkspaceSummaryImpl> results =
+        dao.getSummaries(users[0].getId(), null, null, 30, null, singleton("ws1"));
+
+    assertEquals(results.size(), 1);
+    assertEquals(results.get(0).getId(), "ws2");
+  }
+
+  @Test
+  public void shouldGetSummariesOfNamespaceRegardlessOfWorkers() throws Exception {
+    List<WorkspaceSummaryImpl> results =
+        dao.getSummaries(users[1].getId(), account.getName(), null, 30, null, emptySet());
+
+    assertEquals(results.size(), 3);
+  }
 }
@@ -26,7 +26,6 @@ import com.google.gson.FieldNamingPolicy;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import com.google.gson.JsonParseException;
-import java.io.BufferedInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -36,8 +35,6 @@ import java.net.URI;
 import java.net.URLEncoder;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
 import java.util.List;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
@@ -46,8 +43,11 @@ import java.util.concurrent.Future;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import javax.ws.rs.core.MediaType;
+import org.eclipse.che.api.core.metrics.NotTimed;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.TarUtils;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
@@ -100,6 +100,7 @@ import org.eclipse.che.plugin.docker.client.params.PushParams;
 import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
+import org.eclipse.che.plugin.docker.client.params.RenameContainerParams;
 import org.eclipse.che.plugin.docker.client.params.StartContainerParams;
 import org.eclipse.che.plugin.docker.client.params.StartExecParams;
 import org.eclipse.che.plugin.docker.client.params.StopContainerParams;
@@ -125,6 +126,7 @@ import org.slf4j.LoggerFactory;
  * @author Alexander Andrienko
  */
 @Singleton
+@Timed(value = "che_docker_api_seconds", help = "Time of Docker API calls")
 public class DockerConnector {
   private static final Logger LOG = LoggerFactory.getLogger(DockerConnector.class);
   // Docker uses uppercase in first letter in names of json objects, e.g. {"Id":"123"} instead of {"id":"123"}
@@ -396,6 +398,7 @@ public class DockerConnector {
    * @return exit code
    * @throws IOException
    */
+  @NotTimed
   public int waitContainer(String container) throws IOException {
     return waitContainer(WaitContainerParams.create(container));
   }
@@ -406,6 +409,7 @@ public class DockerConnector {
    * @return exit code
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public int waitContainer(final WaitContainerParams params) throws IOException {
     try (DockerConnection connection =
         connectionFactory
@@ -467,6 +471,7 @@ public class DockerConnector {
    * @param containerLogsProcessor output for container logs
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public void attachContainer(
       final AttachContainerParams params, MessageProcessor<LogMessage> containerLogsProcessor)
       throws IOException {
@@ -498,6 +503,7 @@ public class DockerConnector {
    * @throws ContainerNotFoundException when container not found by docker (docker api returns 404)
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public void getContainerLogs(
       final GetContainerLogsParams params, MessageProcessor<LogMessage> containerLogsProcessor)
       throws IOException {
@@ -569,6 +575,7 @@ public class DockerConnector {
    * @throws ExecNotFoundException when exec not found by docker (docker api returns 404)
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public void startExec(
       final StartExecParams params, @Nullable MessageProcessor<LogMessage> execOutputProcessor)
       throws IOException {
@@ -705,36 +712,34 @@ public class DockerConnector {
    * @apiNote this method implements 1.20 docker API and requires docker not less than 1.8 version
    */
   public void putResource(final PutResourceParams params) throws IOException {
-    File tarFile;
-    long length;
-    try (InputStream sourceData = params.getSourceStream()) {
-      // TODO according to http spec http://www.w3.org/Protocols/rfc2616/rfc2616-sec4.html#sec4.4,
-      // it is possible to send request without specifying content length if chunked encoding header is set
-      // Investigate is it possible to write the stream to request directly
-
-      // we save stream to file, because we have to know its length
-      Path tarFilePath = Files.createTempFile("compressed-resources", ".tar");
-      tarFile = tarFilePath.toFile();
-      length = Files.copy(sourceData, tarFilePath, StandardCopyOption.REPLACE_EXISTING);
-    }
-
-    try (InputStream tarStream = new BufferedInputStream(new FileInputStream(tarFile));
+    // length of the archive is not known in advance, so it is streamed with the chunked transfer
+    // encoding instead of being stored to learn the length
+    try (InputStream sourceData = params.getSourceStream();
         DockerConnection connection =
             connectionFactory
                 .openConnection(dockerDaemonUri)
                 .method("PUT")
                 .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/archive")
                 .query("path", params.getTargetPath())
-                .header("Content-Type", ExtMediaType.APPLICATION_X_TAR)
-                .header("Content-Length", length)
-                .entity(tarStream)) {
+                .header("Content-Type", ExtMediaType.APPLICATION_X_TAR)) {
+      final File sourceDirectory = params.getSourceDirectory();
+      if (sourceDirectory != null) {
+        connection.entity(
+            output ->
+                TarUtils.tarDir(
+                    sourceDirectory.getAbsolutePath(),
+                    sourceDirectory,
+                    output,
+                    -1,
+                    IoUtil.ANY_FILTER));
+      } else {
+        connection.entity(sourceData);
+      }
       addQueryParamIfNotNull(connection, "noOverwriteDirNonDir", params.isNoOverwriteDirNonDir());
       final DockerResponse response = connection.request();
       if (response.getStatus() != OK.getStatusCode()) {
         throw getDockerException(response);
       }
-    } finally {
-      FileCleaner.addFile(tarFile);
     }
   }
 
@@ -753,6 +758,7 @@ public class DockerConnector {
    * @param messageProcessor processor of all found events that satisfy specified parameters
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public void getEvents(final GetEventsParams params, MessageProcessor<Event> messageProcessor)
       throws IOException {
     final Filters filters = params.getFilters();
@@ -786,6 +792,7 @@ public class DockerConnector {
    * @return image id
    * @throws IOException
    */
+  @NotTimed
   public String buildImage(final BuildImageParams params, final ProgressMonitor progressMonitor)
       throws IOException {
 
@@ -968,6 +975,7 @@ public class DockerConnector {
    * @return digest of just pushed image
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public String push(final PushParams params, final ProgressMonitor progressMonitor)
       throws IOException {
     final String fullRepo = params.getFullRepo();
@@ -1077,6 +1085,7 @@ public class DockerConnector {
    * @param progressMonitor ProgressMonitor for images creation process
    * @throws IOException when a problem occurs with docker api calls
    */
+  @NotTimed
   public void pull(final PullParams params, final ProgressMonitor progressMonitor)
       throws IOException {
     pull(params, progressMonitor, dockerDaemonUri);
@@ -1193,6 +1202,25 @@ public class DockerConnector {
     }
   }
 
+  /**
+   * Renames docker container.
+   *
+   * @throws IOException when a problem occurs with docker api calls
+   */
+  public void renameContainer(final RenameContainerParams params) throws IOException {
+    try (DockerConnection connection =
+        connectionFactory
+            .openConnection(dockerDaemonUri)
+            .method("POST")
+            .path(apiVersionPathPrefix + "/containers/" + params.getContainer() + "/rename")
+            .query("name", params.getName())) {
+      final DockerResponse response = connection.request();
+      if (NO_CONTENT.getStatusCode() != response.getStatus()) {
+        throw getDockerException(response);
+      }
+    }
+  }
+
   /**
    * Returns list of docker networks
    *
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes data to the underlying output with the HTTP chunked transfer encoding. Data is buffered
+ * up to the size of a chunk, so memory used doesn't depend on the size of the data.
+ *
+ * <p>The last chunk is written by {@link #finish()} or {@link #close()}, the underlying output is
+ * not closed as the response is read from the same connection.
+ */
+public class ChunkedOutputStream extends OutputStream {
+  static final int DEFAULT_CHUNK_SIZE = 32 * 1024;
+
+  private static final byte[] CRLF = {'\r', '\n'};
+  private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(US_ASCII);
+
+  private final OutputStream output;
+  private final byte[] buffer;
+  private int count;
+  private boolean finished;
+
+  ChunkedOutputStream(OutputStream output) {
+    this(output, DEFAULT_CHUNK_SIZE);
+  }
+
+  ChunkedOutputStream(OutputStream output, int chunkSize) {
+    this.output = output;
+    this.buffer = new byte[chunkSize];
+  }
+
+  @Override
+  public void write(int b) throws IOException {
+    checkNotFinished();
+    if (count == buffer.length) {
+      writeChunk();
+    }
+    buffer[count++] = (byte) b;
+  }
+
+  @Override
+  public void write(byte[] b, int off, int len) throws IOException {
+    if (off < 0 || len < 0 || len > b.length - off) {
+      throw new IndexOutOfBoundsException();
+    }
+    checkNotFinished();
+    while (len > 0) {
+      if (count == buffer.length) {
+        writeChunk();
+      }
+      final int n = Math.min(len, buffer.length - count);
+      System.arraycopy(b, off, buffer, count, n);
+      count += n;
+      off += n;
+      len -= n;
+    }
+  }
+
+  /** Writes the buffered data as a chunk and flushes the underlying output. */
+  @Override
+  public void flush() throws IOException {
+    if (!finished) {
+      writeChunk();
+    }
+    output.flush();
+  }
+
+  /** Writes the buffered data and the last chunk, nothing may be written after that. */
+  public void finish() throws IOException {
+    if (finished) {
+      return;
+    }
+    writeChunk();
+    output.write(LAST_CHUNK);
+    output.flush();
+    finished = true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    finish();
+  }
+
+  private void writeChunk() throws IOException {
+    if (count == 0) {
+      return;
+    }
+    output.write(Integer.toHexString(count).getBytes(US_ASCII));
+    output.write(CRLF);
+    output.write(buffer, 0, count);
+    output.write(CRLF);
+    count = 0;
+  }
+
+  private void checkNotFinished() throws IOException {
+    if (finished) {
+      throw new IOException("Chunked stream is already finished");
+    }
+  }
+}
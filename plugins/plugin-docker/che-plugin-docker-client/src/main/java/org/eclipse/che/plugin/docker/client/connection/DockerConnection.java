@@ -87,6 +87,16 @@ public abstract class DockerConnection implements Closeable {
     return this;
   }
 
+  /**
+   * Sets the entity which is written to the request by the given writer, e.g. when it is generated
+   * on the fly. As for a stream entity, the request is sent with the chunked transfer encoding
+   * unless the 'Content-Length' header is set.
+   */
+  public DockerConnection entity(EntityWriter entity) {
+    this.entity = new WriterEntity(entity);
+    return this;
+  }
+
   public DockerResponse request() throws IOException {
     return request(method, path, query.toString(), headers, entity);
   }
@@ -97,6 +107,24 @@ public abstract class DockerConnection implements Closeable {
 
   public abstract void close();
 
+  /**
+   * Returns the length of the request body, that is the value of the 'Content-Length' header if it
+   * is set or the length of the entity if it is known, otherwise -1.
+   */
+  static long getContentLength(List<Pair<String, ?>> headers, Entity<?> entity) {
+    for (Pair<String, ?> header : headers) {
+      if ("Content-Length".equalsIgnoreCase(header.first)) {
+        return Long.parseLong(String.valueOf(header.second));
+      }
+    }
+    return entity.length();
+  }
+
+  /** Writes the request entity which length is not known in advance. */
+  public interface EntityWriter {
+    void writeTo(OutputStream output) throws IOException;
+  }
+
   abstract static class Entity<T> {
     final T entity;
 
@@ -105,6 +133,11 @@ public abstract class DockerConnection implements Closeable {
     }
 
     abstract void writeTo(OutputStream output) throws IOException;
+
+    /** Returns the length of the entity in bytes or -1 if it is not known in advance. */
+    long length() {
+      return -1;
+    }
   }
 
   static class StreamEntity extends Entity<InputStream> {
@@ -133,6 +166,11 @@ public abstract class DockerConnection implements Closeable {
       output.write(entity.getBytes());
       output.flush();
     }
+
+    @Override
+    long length() {
+      return entity.getBytes().length;
+    }
   }
 
   static class BytesEntity extends Entity<byte[]> {
@@ -145,5 +183,22 @@ public abstract class DockerConnection implements Closeable {
       output.write(entity);
       output.flush();
     }
+
+    @Override
+    long length() {
+      return entity.length;
+    }
+  }
+
+  static class WriterEntity extends Entity<EntityWriter> {
+    WriterEntity(EntityWriter entity) {
+      super(entity);
+    }
+
+    @Override
+    public void writeTo(OutputStream output) throws IOException {
+      entity.writeTo(output);
+      output.flush();
+    }
   }
 }
@@ -77,6 +77,13 @@ public class TcpConnection extends DockerConnection {
     connection.setRequestProperty("Host", host);
     if (entity != null) {
       connection.setDoOutput(true);
+      // otherwise the whole entity is buffered in memory to compute its length
+      final long contentLength = getContentLength(headers, entity);
+      if (contentLength >= 0) {
+        connection.setFixedLengthStreamingMode(contentLength);
+      } else {
+        connection.setChunkedStreamingMode(ChunkedOutputStream.DEFAULT_CHUNK_SIZE);
+      }
       try (OutputStream output = connection.getOutputStream()) {
         entity.writeTo(output);
       }
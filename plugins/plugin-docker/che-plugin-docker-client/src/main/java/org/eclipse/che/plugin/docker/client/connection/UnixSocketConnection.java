@@ -15,6 +15,7 @@ import static org.eclipse.che.plugin.docker.client.CLibrary.SOCK_STREAM;
 import static org.eclipse.che.plugin.docker.client.CLibrary.SockAddrUn;
 import static org.eclipse.che.plugin.docker.client.CLibraryFactory.getCLibrary;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Strings;
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
@@ -24,6 +25,7 @@ import java.io.OutputStream;
 import java.io.OutputStreamWriter;
 import java.io.Writer;
 import java.net.ConnectException;
+import java.util.ArrayList;
 import java.util.List;
 import org.eclipse.che.commons.lang.Pair;
 import org.eclipse.che.plugin.docker.client.CLibrary;
@@ -47,9 +49,19 @@ public class UnixSocketConnection extends DockerConnection {
       throws IOException {
     fd = connect();
     final OutputStream output = new BufferedOutputStream(openOutputStream(fd));
-    writeHttpHeaders(output, method, path, query, headers);
-    if (entity != null) {
-      entity.writeTo(output);
+    if (entity != null && getContentLength(headers, entity) < 0) {
+      // length of the entity is unknown, so it is sent in chunks
+      final List<Pair<String, ?>> chunkedHeaders = new ArrayList<>(headers);
+      chunkedHeaders.add(Pair.of("Transfer-Encoding", "chunked"));
+      writeHttpHeaders(output, method, path, query, chunkedHeaders);
+      final ChunkedOutputStream chunkedOutput = new ChunkedOutputStream(output);
+      entity.writeTo(chunkedOutput);
+      chunkedOutput.finish();
+    } else {
+      writeHttpHeaders(output, method, path, query, headers);
+      if (entity != null) {
+        entity.writeTo(output);
+      }
     }
     return new UnixSocketDockerResponse(new BufferedInputStream(openInputStream(fd)));
   }
@@ -61,7 +73,8 @@ public class UnixSocketConnection extends DockerConnection {
     }
   }
 
-  private int connect() throws IOException {
+  @VisibleForTesting
+  int connect() throws IOException {
     final CLibrary cLib = getCLibrary();
     int fd = cLib.socket(AF_UNIX, SOCK_STREAM, 0);
     if (fd == -1) {
@@ -100,11 +113,13 @@ public class UnixSocketConnection extends DockerConnection {
     writer.flush();
   }
 
-  private InputStream openInputStream(int fd) {
+  @VisibleForTesting
+  InputStream openInputStream(int fd) {
     return new UnixSocketInputStream(fd);
   }
 
-  private OutputStream openOutputStream(int fd) {
+  @VisibleForTesting
+  OutputStream openOutputStream(int fd) {
     return new UnixSocketOutputStream(fd);
   }
 }
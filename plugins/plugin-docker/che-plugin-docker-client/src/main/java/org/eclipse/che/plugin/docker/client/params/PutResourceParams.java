@@ -12,6 +12,7 @@ package org.eclipse.che.plugin.docker.client.params;
 
 import static java.util.Objects.requireNonNull;
 
+import java.io.File;
 import java.io.InputStream;
 import java.util.Objects;
 import javax.validation.constraints.NotNull;
@@ -27,6 +28,7 @@ public class PutResourceParams {
   private String container;
   private String targetPath;
   private InputStream sourceStream;
+  private File sourceDirectory;
   private Boolean noOverwriteDirNonDir;
 
   /**
@@ -50,6 +52,23 @@ public class PutResourceParams {
         .withSourceStream(sourceStream);
   }
 
+  /**
+   * Creates arguments holder which puts content of the local directory into the container.
+   *
+   * @param container container id or name
+   * @param targetPath info about this parameter see {@link #withTargetPath(String)}
+   * @param sourceDirectory info about this parameter see {@link #withSourceDirectory(File)}
+   * @return arguments holder with required parameters
+   * @throws NullPointerException if any of the parameters is null
+   */
+  public static PutResourceParams create(
+      @NotNull String container, @NotNull String targetPath, @NotNull File sourceDirectory) {
+    return new PutResourceParams()
+        .withContainer(container)
+        .withTargetPath(targetPath)
+        .withSourceDirectory(sourceDirectory);
+  }
+
   private PutResourceParams() {}
 
   /**
@@ -81,7 +100,7 @@ public class PutResourceParams {
   }
 
   /**
-   * Adds stream of files to this parameters.
+   * Adds stream of files to this parameters, replaces the source directory.
    *
    * @param sourceStream stream of files from source container, must be obtained from another
    *     container using {@link
@@ -92,6 +111,22 @@ public class PutResourceParams {
   public PutResourceParams withSourceStream(@NotNull InputStream sourceStream) {
     requireNonNull(sourceStream);
     this.sourceStream = sourceStream;
+    this.sourceDirectory = null;
+    return this;
+  }
+
+  /**
+   * Adds local directory which content is put into the container to this parameters, replaces the
+   * source stream. The directory is archived while it is uploaded, so the archive is never stored.
+   *
+   * @param sourceDirectory local directory which content is put into the target path
+   * @return this params instance
+   * @throws NullPointerException if {@code sourceDirectory} is null
+   */
+  public PutResourceParams withSourceDirectory(@NotNull File sourceDirectory) {
+    requireNonNull(sourceDirectory);
+    this.sourceDirectory = sourceDirectory;
+    this.sourceStream = null;
     return this;
   }
 
@@ -120,6 +155,10 @@ public class PutResourceParams {
     return sourceStream;
   }
 
+  public File getSourceDirectory() {
+    return sourceDirectory;
+  }
+
   public Boolean isNoOverwriteDirNonDir() {
     return noOverwriteDirNonDir;
   }
@@ -136,6 +175,7 @@ public class PutResourceParams {
     return Objects.equals(container, that.container)
         && Objects.equals(targetPath, that.targetPath)
         && Objects.equals(sourceStream, that.sourceStream)
+        && Objects.equals(sourceDirectory, that.sourceDirectory)
         && Objects.equals(noOverwriteDirNonDir, that.noOverwriteDirNonDir);
   }
 
@@ -145,6 +185,7 @@ public class PutResourceParams {
     hash = 31 * hash + Objects.hashCode(container);
     hash = 31 * hash + Objects.hashCode(targetPath);
     hash = 31 * hash + Objects.hashCode(sourceStream);
+    hash = 31 * hash + Objects.hashCode(sourceDirectory);
     hash = 31 * hash + Objects.hashCode(noOverwriteDirNonDir);
     return hash;
   }
@@ -160,6 +201,8 @@ public class PutResourceParams {
         + '\''
         + ", sourceStream="
         + sourceStream
+        + ", sourceDirectory="
+        + sourceDirectory
         + ", noOverwriteDirNonDir="
         + noOverwriteDirNonDir
         + '}';
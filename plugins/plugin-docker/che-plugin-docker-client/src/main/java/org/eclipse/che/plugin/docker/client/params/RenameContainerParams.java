@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.params;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Objects;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Arguments holder for {@link
+ * org.eclipse.che.plugin.docker.client.DockerConnector#renameContainer(RenameContainerParams)}.
+ */
+public class RenameContainerParams {
+
+  private String container;
+  private String name;
+
+  /**
+   * Creates arguments holder with required parameters.
+   *
+   * @param container id or name of container to rename
+   * @param name new name of container
+   * @return arguments holder with required parameters
+   * @throws NullPointerException if {@code container} or {@code name} is null
+   */
+  public static RenameContainerParams create(@NotNull String container, @NotNull String name) {
+    return new RenameContainerParams().withContainer(container).withName(name);
+  }
+
+  private RenameContainerParams() {}
+
+  /**
+   * Adds container to this parameters.
+   *
+   * @param container id or name of container to rename
+   * @return this params instance
+   * @throws NullPointerException if {@code container} is null
+   */
+  public RenameContainerParams withContainer(@NotNull String container) {
+    requireNonNull(container);
+    this.container = container;
+    return this;
+  }
+
+  /**
+   * Adds new name of container to this parameters.
+   *
+   * @param name new name of container
+   * @return this params instance
+   * @throws NullPointerException if {@code name} is null
+   */
+  public RenameContainerParams withName(@NotNull String name) {
+    requireNonNull(name);
+    this.name = name;
+    return this;
+  }
+
+  public String getContainer() {
+    return container;
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    RenameContainerParams that = (RenameContainerParams) o;
+    return Objects.equals(container, that.container) && Objects.equals(name, that.name);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(container, name);
+  }
+}
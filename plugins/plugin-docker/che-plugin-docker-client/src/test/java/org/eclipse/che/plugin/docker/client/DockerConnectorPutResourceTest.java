@@ -0,0 +1,266 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.TarUtils;
+import org.eclipse.che.plugin.docker.client.connection.DockerConnectionFactory;
+import org.eclipse.che.plugin.docker.client.params.PutResourceParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/**
+ * Tests {@link DockerConnector#putResource(PutResourceParams)} against a fake docker API listening
+ * on a local socket.
+ */
+@Listeners(MockitoTestNGListener.class)
+public class DockerConnectorPutResourceTest {
+  private static final long SOURCE_SIZE = 16L * 1024 * 1024;
+  // the source blocks after this number of bytes until the fake daemon receives the first chunk
+  private static final long MAX_BUFFERED_SIZE = 8L * 1024 * 1024;
+
+  @Mock private DockerConnectorConfiguration configuration;
+  @Mock private DockerRegistryAuthResolver authResolver;
+
+  private ServerSocket serverSocket;
+  private ExecutorService executor;
+  private DockerConnector dockerConnector;
+  private File tmpDir;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    serverSocket = new ServerSocket(0);
+    executor = Executors.newSingleThreadExecutor();
+    when(configuration.getDockerDaemonUri())
+        .thenReturn(new URI("http://localhost:" + serverSocket.getLocalPort()));
+    dockerConnector =
+        new DockerConnector(
+            configuration,
+            new DockerConnectionFactory(configuration),
+            authResolver,
+            new DockerApiVersionPathPrefixProvider("1.20"));
+    tmpDir = new File(System.getProperty("java.io.tmpdir"));
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    serverSocket.close();
+  }
+
+  @Test(timeOut = 60_000)
+  public void streamsSourceWithoutBufferingIt() throws Exception {
+    final Set<String> tmpFilesBefore = listTarFiles();
+    final CountDownLatch firstChunkReceived = new CountDownLatch(1);
+    final Future<Request> request = executor.submit(() -> serve(null, firstChunkReceived));
+
+    dockerConnector.putResource(
+        PutResourceParams.create(
+            "container",
+            "/target",
+            new GeneratedInputStream(SOURCE_SIZE, MAX_BUFFERED_SIZE, firstChunkReceived)));
+
+    final Request received = request.get(1, TimeUnit.MINUTES);
+    assertEquals(
+        received.requestLine, "PUT /v1.20/containers/container/archive?path=/target HTTP/1.1");
+    assertEquals(received.headers.get("transfer-encoding"), "chunked");
+    assertNull(received.headers.get("content-length"));
+    assertEquals(received.bodySize, SOURCE_SIZE);
+    assertTrue(received.maxChunkSize <= 64 * 1024, "Chunk size " + received.maxChunkSize);
+    assertEquals(listTarFiles(), tmpFilesBefore);
+  }
+
+  @Test(timeOut = 60_000)
+  public void streamsArchiveOfDirectory() throws Exception {
+    final File source = Files.createTempDirectory("source").toFile();
+    final File target = Files.createTempDirectory("target").toFile();
+    try {
+      Files.write(source.toPath().resolve("a.txt"), "a".getBytes(UTF_8));
+      Files.createDirectories(source.toPath().resolve("dir"));
+      Files.write(source.toPath().resolve("dir/b.txt"), "b".getBytes(UTF_8));
+      final Set<String> tmpFilesBefore = listTarFiles();
+      final Future<Request> request = executor.submit(() -> serve(target, new CountDownLatch(1)));
+
+      dockerConnector.putResource(PutResourceParams.create("container", "/target", source));
+
+      final Request received = request.get(1, TimeUnit.MINUTES);
+      assertEquals(received.headers.get("transfer-encoding"), "chunked");
+      assertEquals(Files.readAllBytes(target.toPath().resolve("a.txt")), "a".getBytes(UTF_8));
+      assertEquals(Files.readAllBytes(target.toPath().resolve("dir/b.txt")), "b".getBytes(UTF_8));
+      assertFalse(new File(target, source.getName()).exists());
+      assertEquals(listTarFiles(), tmpFilesBefore);
+    } finally {
+      IoUtil.deleteRecursive(source);
+      IoUtil.deleteRecursive(target);
+    }
+  }
+
+  /**
+   * Accepts a single request, reads its chunked body and responds with 200. If the target is set
+   * the body is untarred to it, otherwise it is discarded. The latch is counted down when the
+   * first chunk is received.
+   */
+  private Request serve(File target, CountDownLatch firstChunkReceived) throws IOException {
+    try (Socket socket = serverSocket.accept()) {
+      final InputStream in = new BufferedInputStream(socket.getInputStream());
+      final Request request = new Request();
+      request.requestLine = readLine(in);
+      for (String line = readLine(in); !line.isEmpty(); line = readLine(in)) {
+        final int colon = line.indexOf(':');
+        request.headers.put(
+            line.substring(0, colon).trim().toLowerCase(), line.substring(colon + 1).trim());
+      }
+      final ByteArrayOutputStream body = new ByteArrayOutputStream();
+      final byte[] buffer = new byte[64 * 1024];
+      for (int size = Integer.parseInt(readLine(in), 16);
+          size > 0;
+          size = Integer.parseInt(readLine(in), 16)) {
+        firstChunkReceived.countDown();
+        request.maxChunkSize = Math.max(request.maxChunkSize, size);
+        request.bodySize += size;
+        for (int remaining = size; remaining > 0; ) {
+          final int read = in.read(buffer, 0, Math.min(buffer.length, remaining));
+          if (read == -1) {
+            throw new IOException("Unexpected end of chunk");
+          }
+          if (target != null) {
+            body.write(buffer, 0, read);
+          }
+          remaining -= read;
+        }
+        readLine(in);
+      }
+      readLine(in);
+      if (target != null) {
+        TarUtils.untar(new ByteArrayInputStream(body.toByteArray()), target);
+      }
+      final OutputStream out = socket.getOutputStream();
+      out.write(
+          "HTTP/1.1 200 OK\r\nContent-Length: 0\r\nConnection: close\r\n\r\n".getBytes(US_ASCII));
+      out.flush();
+      return request;
+    }
+  }
+
+  /** Lists tar files in the temporary directory, where the source used to be spooled. */
+  private Set<String> listTarFiles() {
+    final Set<String> names = new HashSet<>();
+    for (String name : tmpDir.list()) {
+      if (name.endsWith(".tar")) {
+        names.add(name);
+      }
+    }
+    return names;
+  }
+
+  private static String readLine(InputStream in) throws IOException {
+    final StringBuilder line = new StringBuilder();
+    for (int c = in.read(); c != '\n'; c = in.read()) {
+      if (c == -1) {
+        throw new IOException("Unexpected end of request");
+      }
+      if (c != '\r') {
+        line.append((char) c);
+      }
+    }
+    return line.toString();
+  }
+
+  private static class Request {
+    final Map<String, String> headers = new HashMap<>();
+    String requestLine;
+    long bodySize;
+    int maxChunkSize;
+  }
+
+  /**
+   * Generates the given number of bytes without keeping them in memory. When the given number of
+   * bytes is read the stream waits until the sent data is received, so reading fails if the
+   * reader buffers more data than that instead of sending it.
+   */
+  private static class GeneratedInputStream extends InputStream {
+    private final long maxBuffered;
+    private final CountDownLatch sent;
+    private long remaining;
+    private long read;
+
+    GeneratedInputStream(long size, long maxBuffered, CountDownLatch sent) {
+      this.remaining = size;
+      this.maxBuffered = maxBuffered;
+      this.sent = sent;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final byte[] b = new byte[1];
+      return read(b, 0, 1) == -1 ? -1 : b[0];
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      if (remaining == 0) {
+        return -1;
+      }
+      if (read >= maxBuffered) {
+        awaitSent();
+      }
+      final int n = (int) Math.min(len, remaining);
+      Arrays.fill(b, off, off + n, (byte) 'x');
+      remaining -= n;
+      read += n;
+      return n;
+    }
+
+    private void awaitSent() throws IOException {
+      try {
+        if (!sent.await(10, TimeUnit.SECONDS)) {
+          throw new IOException(read + " bytes of the source are read but nothing is sent");
+        }
+      } catch (InterruptedException x) {
+        Thread.currentThread().interrupt();
+        throw new IOException(x);
+      }
+    }
+  }
+}
@@ -41,12 +41,14 @@ import java.io.InputStreamReader;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.net.URLEncoder;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import javax.ws.rs.core.MediaType;
 import org.eclipse.che.commons.json.JsonParseException;
+import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.ws.rs.ExtMediaType;
 import org.eclipse.che.commons.test.mockito.answer.SelfReturningAnswer;
 import org.eclipse.che.dto.server.DtoFactory;
@@ -1064,12 +1066,32 @@ public class DockerConnectorTest {
     verify(dockerConnection).path("/containers/" + putResourceParams.getContainer() + "/archive");
     verify(dockerConnection).query(eq("path"), eq(PATH_TO_FILE));
     verify(dockerConnection).header("Content-Type", ExtMediaType.APPLICATION_X_TAR);
-    verify(dockerConnection).header(eq("Content-Length"), anyInt());
+    verify(dockerConnection, never()).header(eq("Content-Length"), any());
     verify(dockerConnection).entity(any(InputStream.class));
     verify(dockerConnection).request();
     verify(dockerResponse).getStatus();
   }
 
+  @Test
+  public void shouldBeAbleToPutDirectoryIntoContainer() throws IOException {
+    File directory = Files.createTempDirectory("put-resource").toFile();
+    try {
+      PutResourceParams putResourceParams =
+          PutResourceParams.create(CONTAINER, PATH_TO_FILE, directory);
+
+      dockerConnector.putResource(putResourceParams);
+
+      verify(dockerConnection).path("/containers/" + CONTAINER + "/archive");
+      verify(dockerConnection).query(eq("path"), eq(PATH_TO_FILE));
+      verify(dockerConnection).header("Content-Type", ExtMediaType.APPLICATION_X_TAR);
+      verify(dockerConnection, never()).header(eq("Content-Length"), any());
+      verify(dockerConnection).entity(any(DockerConnection.EntityWriter.class));
+      verify(dockerConnection).request();
+    } finally {
+      IoUtil.deleteRecursive(directory);
+    }
+  }
+
   @Test(
     expectedExceptions = IOException.class,
     expectedExceptionsMessageRegExp = EXCEPTION_ERROR_MESSAGE
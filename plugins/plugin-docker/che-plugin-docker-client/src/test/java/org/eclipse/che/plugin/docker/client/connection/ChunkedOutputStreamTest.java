@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ChunkedOutputStream}. */
+public class ChunkedOutputStreamTest {
+  private TrackingOutputStream output;
+  private ChunkedOutputStream chunked;
+
+  @BeforeMethod
+  public void setUp() {
+    output = new TrackingOutputStream();
+    chunked = new ChunkedOutputStream(output, 4);
+  }
+
+  @Test
+  public void writesFullChunksAndRestOfDataAsLastDataChunk() throws Exception {
+    chunked.write(bytes("abcdefghij"));
+    chunked.finish();
+
+    assertEquals(output.written(), "4\r\nabcd\r\n4\r\nefgh\r\n2\r\nij\r\n0\r\n\r\n");
+  }
+
+  @Test
+  public void writesChunkOnlyWhenItIsFullOrFlushed() throws Exception {
+    chunked.write(bytes("abcd"));
+
+    assertEquals(output.written(), "");
+
+    chunked.write('e');
+
+    assertEquals(output.written(), "4\r\nabcd\r\n");
+  }
+
+  @Test
+  public void writesSingleBytesByChunks() throws Exception {
+    for (byte b : bytes("abcde")) {
+      chunked.write(b);
+    }
+    chunked.close();
+
+    assertEquals(output.written(), "4\r\nabcd\r\n1\r\ne\r\n0\r\n\r\n");
+  }
+
+  @Test
+  public void writesPartOfArray() throws Exception {
+    chunked.write(bytes("abcdef"), 1, 3);
+    chunked.finish();
+
+    assertEquals(output.written(), "3\r\nbcd\r\n0\r\n\r\n");
+  }
+
+  @Test
+  public void writesSizeOfChunkInHex() throws Exception {
+    final ChunkedOutputStream stream = new ChunkedOutputStream(output, 32);
+    final byte[] data = new byte[26];
+    Arrays.fill(data, (byte) 'x');
+
+    stream.write(data);
+    stream.finish();
+
+    assertEquals(output.written(), "1a\r\n" + new String(data, US_ASCII) + "\r\n0\r\n\r\n");
+  }
+
+  @Test
+  public void flushWritesBufferedDataAsChunkAndFlushesOutput() throws Exception {
+    chunked.write(bytes("ab"));
+
+    chunked.flush();
+
+    assertEquals(output.written(), "2\r\nab\r\n");
+    assertEquals(output.flushes, 1);
+  }
+
+  @Test
+  public void flushDoesNotWriteEmptyChunk() throws Exception {
+    chunked.flush();
+    chunked.write(bytes("abcd"));
+    chunked.flush();
+    chunked.flush();
+
+    assertEquals(output.written(), "4\r\nabcd\r\n");
+    assertEquals(output.flushes, 3);
+  }
+
+  @Test
+  public void writesOnlyLastChunkWhenNothingIsWritten() throws Exception {
+    chunked.finish();
+
+    assertEquals(output.written(), "0\r\n\r\n");
+    assertEquals(output.flushes, 1);
+  }
+
+  @Test
+  public void writesLastChunkOnceAndDoesNotCloseOutput() throws Exception {
+    chunked.write(bytes("ab"));
+
+    chunked.finish();
+    chunked.finish();
+    chunked.close();
+    chunked.flush();
+
+    assertEquals(output.written(), "2\r\nab\r\n0\r\n\r\n");
+    assertFalse(output.closed);
+  }
+
+  @Test(
+    expectedExceptions = IOException.class,
+    expectedExceptionsMessageRegExp = "Chunked stream is already finished"
+  )
+  public void failsToWriteByteAfterFinish() throws Exception {
+    chunked.finish();
+
+    chunked.write('a');
+  }
+
+  @Test(
+    expectedExceptions = IOException.class,
+    expectedExceptionsMessageRegExp = "Chunked stream is already finished"
+  )
+  public void failsToWriteArrayAfterClose() throws Exception {
+    chunked.close();
+
+    chunked.write(bytes("a"));
+  }
+
+  @Test(expectedExceptions = IndexOutOfBoundsException.class)
+  public void failsToWriteOutOfArrayBounds() throws Exception {
+    chunked.write(bytes("abc"), 2, 2);
+  }
+
+  private static byte[] bytes(String s) {
+    return s.getBytes(US_ASCII);
+  }
+
+  private static class TrackingOutputStream extends ByteArrayOutputStream {
+    int flushes;
+    boolean closed;
+
+    @Override
+    public void flush() {
+      flushes++;
+    }
+
+    @Override
+    public void close() {
+      closed = true;
+    }
+
+    String written() {
+      return new String(toByteArray(), US_ASCII);
+    }
+  }
+}
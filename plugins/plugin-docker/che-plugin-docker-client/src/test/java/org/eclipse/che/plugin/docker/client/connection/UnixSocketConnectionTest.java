@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.client.connection;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static org.eclipse.che.plugin.docker.client.connection.ChunkedOutputStream.DEFAULT_CHUNK_SIZE;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.spy;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link UnixSocketConnection} requests written to the socket. */
+public class UnixSocketConnectionTest {
+  private static final int FD = 42;
+  private static final String RESPONSE = "HTTP/1.1 200 OK\r\nContent-Length: 0\r\n\r\n";
+
+  private ByteArrayOutputStream socketOutput;
+  private UnixSocketConnection connection;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    socketOutput = new ByteArrayOutputStream();
+    connection = spy(new UnixSocketConnection("/var/run/docker.sock"));
+    doReturn(FD).when(connection).connect();
+    doReturn(socketOutput).when(connection).openOutputStream(anyInt());
+    doReturn(new ByteArrayInputStream(RESPONSE.getBytes(US_ASCII)))
+        .when(connection)
+        .openInputStream(anyInt());
+  }
+
+  @Test
+  public void sendsEntityOfUnknownLengthInChunks() throws Exception {
+    final byte[] entity = new byte[DEFAULT_CHUNK_SIZE * 2 + 100];
+    Arrays.fill(entity, (byte) 'x');
+
+    final DockerResponse response =
+        connection
+            .method("POST")
+            .path("/build")
+            .query("t", "image")
+            .header("Content-Type", "application/x-tar")
+            .entity(output -> output.write(entity))
+            .request();
+
+    assertEquals(response.getStatus(), 200);
+    final InputStream request = new ByteArrayInputStream(socketOutput.toByteArray());
+    final List<String> headers = readHeaders(request);
+    assertEquals(headers.get(0), "POST /build?t=image HTTP/1.1");
+    assertTrue(headers.contains("Content-Type: application/x-tar"));
+    assertTrue(headers.contains("Transfer-Encoding: chunked"));
+    assertFalse(headers.stream().anyMatch(header -> header.startsWith("Content-Length")));
+    assertEquals(readFully(new ChunkedInputStream(request)), entity);
+    assertEquals(request.read(), -1);
+  }
+
+  @Test
+  public void sendsEntityOfKnownLengthAsIs() throws Exception {
+    final byte[] entity = "{\"Image\":\"ubuntu\"}".getBytes(US_ASCII);
+
+    connection
+        .method("POST")
+        .path("/containers/create")
+        .header("Content-Type", "application/json")
+        .header("Content-Length", entity.length)
+        .entity(entity)
+        .request();
+
+    final InputStream request = new ByteArrayInputStream(socketOutput.toByteArray());
+    final List<String> headers = readHeaders(request);
+    assertEquals(headers.get(0), "POST /containers/create HTTP/1.1");
+    assertTrue(headers.contains("Content-Length: " + entity.length));
+    assertFalse(headers.contains("Transfer-Encoding: chunked"));
+    assertEquals(readFully(request), entity);
+  }
+
+  /** Reads the request line and headers up to the empty line which separates them from body. */
+  private static List<String> readHeaders(InputStream request) throws IOException {
+    final List<String> headers = new ArrayList<>();
+    final StringBuilder line = new StringBuilder();
+    for (int c = request.read(); c != -1; c = request.read()) {
+      if (c == '\n') {
+        if (line.length() == 0) {
+          return headers;
+        }
+        headers.add(line.toString());
+        line.setLength(0);
+      } else if (c != '\r') {
+        line.append((char) c);
+      }
+    }
+    throw new IOException("Unexpected end of request headers");
+  }
+
+  private static byte[] readFully(InputStream input) throws IOException {
+    final ByteArrayOutputStream data = new ByteArrayOutputStream();
+    final byte[] buf = new byte[8192];
+    for (int n = input.read(buf); n != -1; n = input.read(buf)) {
+      data.write(buf, 0, n);
+    }
+    return data.toByteArray();
+  }
+}
@@ -15,6 +15,7 @@ import static org.testng.Assert.assertEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
 
+import java.io.File;
 import java.io.InputStream;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -25,6 +26,7 @@ public class PutResourceParamsTest {
   private static final String CONTAINER = "container";
   private static final String TARGET_PATH = "/home/user/path/target";
   private static final InputStream SOURCE_STREAM = mock(InputStream.class);
+  private static final File SOURCE_DIRECTORY = new File("/home/user/path/source");
   private static final boolean NO_OVERWRITE_DIR_NON_DIR = true;
 
   private PutResourceParams putResourceParams;
@@ -58,6 +60,37 @@ public class PutResourceParamsTest {
     assertTrue(putResourceParams.isNoOverwriteDirNonDir() == NO_OVERWRITE_DIR_NON_DIR);
   }
 
+  @Test
+  public void shouldCreateParamsObjectWithSourceDirectory() {
+    putResourceParams = PutResourceParams.create(CONTAINER, TARGET_PATH, SOURCE_DIRECTORY);
+
+    assertEquals(putResourceParams.getContainer(), CONTAINER);
+    assertEquals(putResourceParams.getTargetPath(), TARGET_PATH);
+    assertEquals(putResourceParams.getSourceDirectory(), SOURCE_DIRECTORY);
+    assertNull(putResourceParams.getSourceStream());
+  }
+
+  @Test
+  public void sourceDirectoryShouldReplaceSourceStream() {
+    putResourceParams.withSourceStream(SOURCE_STREAM).withSourceDirectory(SOURCE_DIRECTORY);
+
+    assertEquals(putResourceParams.getSourceDirectory(), SOURCE_DIRECTORY);
+    assertNull(putResourceParams.getSourceStream());
+  }
+
+  @Test
+  public void sourceStreamShouldReplaceSourceDirectory() {
+    putResourceParams.withSourceDirectory(SOURCE_DIRECTORY).withSourceStream(SOURCE_STREAM);
+
+    assertEquals(putResourceParams.getSourceStream(), SOURCE_STREAM);
+    assertNull(putResourceParams.getSourceDirectory());
+  }
+
+  @Test(expectedExceptions = NullPointerException.class)
+  public void shouldThrowNullPointerExceptionIfSourceDirectoryIsNull() {
+    putResourceParams.withSourceDirectory(null);
+  }
+
   @Test(expectedExceptions = NullPointerException.class)
   public void shouldThrowNullPointerExceptionIfContainerRequiredParameterIsNull() {
     putResourceParams = PutResourceParams.create(null, TARGET_PATH);
@@ -43,6 +43,9 @@ public class AuthMachineProviderImpl extends MachineProviderImpl {
       UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
       DockerMachineFactory dockerMachineFactory,
       DockerInstanceStopDetector dockerInstanceStopDetector,
+      DockerImagePullCoordinator imagePullCoordinator,
+      DockerImagePrefetcher imagePrefetcher,
+      DockerContainerPool containerPool,
       WindowsPathEscaper windowsPathEscaper,
       RequestTransmitter requestTransmitter,
       MachineTokenRegistry machineTokenRegistry,
@@ -73,6 +76,9 @@ public class AuthMachineProviderImpl extends MachineProviderImpl {
         dockerCredentials,
         dockerMachineFactory,
         dockerInstanceStopDetector,
+        imagePullCoordinator,
+        imagePrefetcher,
+        containerPool,
         requestTransmitter,
         endpointIdsHolder,
         devMachineServers,
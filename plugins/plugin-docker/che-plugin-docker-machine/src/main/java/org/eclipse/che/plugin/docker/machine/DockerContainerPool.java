@@ -0,0 +1,319 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import com.google.gson.Gson;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
+import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
+import org.eclipse.che.plugin.docker.client.params.ListContainersParams;
+import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps created but not started containers for the recipes of the most frequently started
+ * machines, so the machine start doesn't wait for the container creation.
+ *
+ * <p>Env variables, labels and volumes of a container can't be changed after it is created, so a
+ * pooled container is claimed only by a machine whose container configuration is exactly the same
+ * as the configuration the pooled container was created with. The configuration includes the id of
+ * the image, so the containers of an outdated image are never claimed. Container name and networks
+ * are specific to each start, so pooled containers are created with a generated name on the
+ * default network, the claiming machine renames the container and moves it to its own network.
+ *
+ * <p>The pool records the claims per configuration and keeps as many containers of the
+ * configuration as it was started during the last hour, but not more than {@code
+ * che.docker.container_pool.max_per_recipe}. Zero disables the pool.
+ */
+@Singleton
+public class DockerContainerPool {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerContainerPool.class);
+
+  /** Prefix of the names of the pooled containers, claimed containers are renamed. */
+  public static final String POOLED_CONTAINER_NAME_PREFIX = "che_pooled_";
+
+  private static final long START_RATE_WINDOW_MS = TimeUnit.HOURS.toMillis(1);
+  private static final long MAINTENANCE_PERIOD_MS = TimeUnit.MINUTES.toMillis(1);
+  private static final Gson GSON = new Gson();
+
+  private final DockerConnector docker;
+  private final int maxContainersPerRecipe;
+  private final Map<String, Recipe> recipes;
+  private final LongSupplier clock;
+
+  private ScheduledExecutorService executor;
+
+  @Inject
+  public DockerContainerPool(
+      DockerConnectorProvider dockerProvider,
+      @Named("che.docker.container_pool.max_per_recipe") int maxContainersPerRecipe) {
+    this(dockerProvider.get(), maxContainersPerRecipe, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  DockerContainerPool(DockerConnector docker, int maxContainersPerRecipe, LongSupplier clock) {
+    this.docker = docker;
+    this.maxContainersPerRecipe = maxContainersPerRecipe;
+    this.recipes = new ConcurrentHashMap<>();
+    this.clock = clock;
+  }
+
+  /**
+   * Records start of the machine with the given container configuration and claims a pooled
+   * container created with the same configuration.
+   *
+   * <p>Claimed container has a generated name and is connected to the default network only.
+   *
+   * @param config configuration of the container of the machine, links, volumes from other
+   *     containers and networking configuration are ignored, the caller is responsible for
+   *     claiming containers only for the machines which don't use them
+   * @return id of the claimed container or {@code null} if there is no container to claim
+   */
+  @Nullable
+  public String claim(ContainerConfig config) {
+    if (maxContainersPerRecipe <= 0) {
+      return null;
+    }
+    final ContainerConfig poolConfig;
+    try {
+      poolConfig = toPoolConfig(config, docker.inspectImage(config.getImage()).getId());
+    } catch (IOException e) {
+      LOG.warn("Failed to inspect image {}. Cause: {}", config.getImage(), e.getMessage());
+      return null;
+    }
+    final String container =
+        recipes
+            .computeIfAbsent(GSON.toJson(poolConfig), key -> new Recipe(poolConfig))
+            .claim(clock);
+    scheduleMaintenance();
+    return container;
+  }
+
+  /**
+   * Removes the containers of the recipes which were not started during the last hour, creates
+   * the missing containers of the others.
+   */
+  @VisibleForTesting
+  void maintain() {
+    for (String key : recipes.keySet()) {
+      final List<String> unused = new ArrayList<>();
+      final Recipe recipe =
+          recipes.computeIfPresent(
+              key,
+              (k, r) -> {
+                if (r.countStarts(clock) > 0) {
+                  return r;
+                }
+                unused.addAll(r.takeAll());
+                return null;
+              });
+      unused.forEach(this::removeContainer);
+      if (recipe == null) {
+        continue;
+      }
+      final int size = Math.min(maxContainersPerRecipe, recipe.countStarts(clock));
+      for (String extra = recipe.takeExtra(size); extra != null; extra = recipe.takeExtra(size)) {
+        removeContainer(extra);
+      }
+      for (int i = recipe.size(); i < size; i++) {
+        try {
+          recipe.add(createContainer(recipe.config));
+        } catch (IOException e) {
+          LOG.warn("Failed to create pooled container. Cause: {}", e.getMessage());
+          break;
+        }
+      }
+    }
+  }
+
+  private String createContainer(ContainerConfig config) throws IOException {
+    return docker
+        .createContainer(
+            CreateContainerParams.create(copy(config))
+                .withContainerName(NameGenerator.generate(POOLED_CONTAINER_NAME_PREFIX, 16)))
+        .getId();
+  }
+
+  private void removeContainer(String container) {
+    try {
+      docker.removeContainer(
+          RemoveContainerParams.create(container).withRemoveVolumes(true).withForce(true));
+    } catch (IOException e) {
+      LOG.warn("Failed to remove pooled container {}. Cause: {}", container, e.getMessage());
+    }
+  }
+
+  /** Removes the pooled containers left by the previous run of Che server. */
+  private void removeLeftContainers() {
+    try {
+      for (ContainerListEntry container :
+          docker.listContainers(
+              ListContainersParams.create()
+                  .withAll(true)
+                  .withFilters(new Filters().withFilter("name", POOLED_CONTAINER_NAME_PREFIX)))) {
+        // docker matches names by substring, claimed containers don't have the prefix
+        if (container.getNames()[0].startsWith("/" + POOLED_CONTAINER_NAME_PREFIX)) {
+          removeContainer(container.getId());
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to list pooled containers. Cause: {}", e.getMessage());
+    }
+  }
+
+  private void scheduleMaintenance() {
+    try {
+      if (executor != null) {
+        executor.execute(this::maintain);
+      }
+    } catch (RejectedExecutionException ignored) {
+      // the pool is stopped
+    }
+  }
+
+  /**
+   * Returns the configuration of the pooled containers for the given machine configuration. The
+   * maps and env variables are sorted, so the same configurations have the same json.
+   */
+  private static ContainerConfig toPoolConfig(ContainerConfig config, String imageId) {
+    final ContainerConfig poolConfig = copy(config);
+    poolConfig.setImage(imageId);
+    poolConfig.setNetworkingConfig(null);
+    if (poolConfig.getHostConfig() != null) {
+      poolConfig.getHostConfig().setNetworkMode(null);
+      poolConfig.getHostConfig().setLinks(null);
+      poolConfig.getHostConfig().setVolumesFrom(null);
+    }
+    if (poolConfig.getEnv() != null) {
+      Arrays.sort(poolConfig.getEnv());
+    }
+    poolConfig.setLabels(new TreeMap<>(poolConfig.getLabels()));
+    poolConfig.setVolumes(new TreeMap<>(poolConfig.getVolumes()));
+    poolConfig.setExposedPorts(new TreeMap<>(poolConfig.getExposedPorts()));
+    return poolConfig;
+  }
+
+  private static ContainerConfig copy(ContainerConfig config) {
+    return GSON.fromJson(GSON.toJson(config), ContainerConfig.class);
+  }
+
+  @PostConstruct
+  private void start() {
+    if (maxContainersPerRecipe <= 0) {
+      return;
+    }
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("DockerContainerPool-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    executor.execute(this::removeLeftContainers);
+    executor.scheduleWithFixedDelay(
+        this::maintain, MAINTENANCE_PERIOD_MS, MAINTENANCE_PERIOD_MS, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  private void stop() {
+    if (executor == null) {
+      return;
+    }
+    executor.shutdownNow();
+    try {
+      if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        LOG.warn("Unable to terminate container pool maintenance in 30 seconds");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return;
+    }
+    for (Recipe recipe : recipes.values()) {
+      recipe.takeAll().forEach(this::removeContainer);
+    }
+  }
+
+  /** Pooled containers and recent starts of the machines with the same container configuration. */
+  private static class Recipe {
+    private final ContainerConfig config;
+    private final Deque<Long> startTimes = new ArrayDeque<>();
+    private final Deque<String> containers = new ArrayDeque<>();
+
+    Recipe(ContainerConfig config) {
+      this.config = config;
+    }
+
+    synchronized String claim(LongSupplier clock) {
+      startTimes.addLast(clock.getAsLong());
+      evictOld(clock);
+      return containers.pollFirst();
+    }
+
+    synchronized int countStarts(LongSupplier clock) {
+      evictOld(clock);
+      return startTimes.size();
+    }
+
+    synchronized int size() {
+      return containers.size();
+    }
+
+    synchronized void add(String container) {
+      containers.addLast(container);
+    }
+
+    /** Takes the most recently created container if there are more containers than needed. */
+    synchronized String takeExtra(int size) {
+      return containers.size() > size ? containers.pollLast() : null;
+    }
+
+    synchronized List<String> takeAll() {
+      final List<String> all = new ArrayList<>(containers);
+      containers.clear();
+      return all;
+    }
+
+    private void evictOld(LongSupplier clock) {
+      long windowStart = clock.getAsLong() - START_RATE_WINDOW_MS;
+      while (!startTimes.isEmpty() && startTimes.peekFirst() < windowStart) {
+        startTimes.removeFirst();
+      }
+    }
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static java.util.Comparator.comparingInt;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Prefetches the images of the most frequently started machines, so their starts don't wait for
+ * the pull even when {@code che.docker.always_pull_image} is enabled.
+ *
+ * <p>The prefetcher records the machine starts per image and periodically pulls the images which
+ * were started most often during the last hour. Number of the images is limited by {@code
+ * che.docker.image_prefetch.max}, zero disables prefetching.
+ *
+ * <p>Only the image pull is done ahead of time, containers are created ahead of time by {@link
+ * DockerContainerPool}.
+ *
+ * <p>Images are pulled without user specific credentials, so only the images available with the
+ * credentials configured for the Che server are prefetched.
+ */
+@Singleton
+public class DockerImagePrefetcher {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerImagePrefetcher.class);
+
+  private static final long START_RATE_WINDOW_MS = TimeUnit.HOURS.toMillis(1);
+
+  private final DockerImagePullCoordinator imagePullCoordinator;
+  private final int maxImages;
+  private final long refreshPeriodMs;
+  private final Map<String, ImageStarts> images;
+  private final LongSupplier clock;
+
+  private ScheduledExecutorService executor;
+
+  @Inject
+  public DockerImagePrefetcher(
+      DockerImagePullCoordinator imagePullCoordinator,
+      @Named("che.docker.image_prefetch.max") int maxImages,
+      @Named("che.docker.image_prefetch.refresh_period_min") long refreshPeriodMin) {
+    this(imagePullCoordinator, maxImages, refreshPeriodMin, System::currentTimeMillis);
+  }
+
+  @VisibleForTesting
+  DockerImagePrefetcher(
+      DockerImagePullCoordinator imagePullCoordinator,
+      int maxImages,
+      long refreshPeriodMin,
+      LongSupplier clock) {
+    this.imagePullCoordinator = imagePullCoordinator;
+    this.maxImages = maxImages;
+    this.refreshPeriodMs = TimeUnit.MINUTES.toMillis(refreshPeriodMin);
+    this.images = new ConcurrentHashMap<>();
+    this.clock = clock;
+  }
+
+  /**
+   * Records start of the machine from the image.
+   *
+   * @param imageReference reference of the image, including its tag and digest
+   * @param params parameters of the image pull
+   */
+  public void recordStart(String imageReference, PullParams params) {
+    if (maxImages <= 0) {
+      return;
+    }
+    images.computeIfAbsent(imageReference, ref -> new ImageStarts()).record(params, clock);
+  }
+
+  /** Returns true if the image was prefetched during the last refresh period. */
+  public boolean isRecentlyPrefetched(String imageReference) {
+    ImageStarts starts = images.get(imageReference);
+    return starts != null
+        && starts.prefetchedAt != 0
+        && clock.getAsLong() - starts.prefetchedAt < refreshPeriodMs;
+  }
+
+  /** Pulls the most frequently started images and forgets the images which are not started. */
+  @VisibleForTesting
+  void refresh() {
+    images.values().removeIf(starts -> starts.count(clock) == 0);
+    List<Map.Entry<String, ImageStarts>> popular =
+        images
+            .entrySet()
+            .stream()
+            .sorted(comparingInt(this::startCount).reversed())
+            .limit(maxImages)
+            .collect(toList());
+    for (Map.Entry<String, ImageStarts> entry : popular) {
+      ImageStarts starts = entry.getValue();
+      try {
+        // params of the recorded starts don't contain user credentials
+        imagePullCoordinator.pull(entry.getKey(), starts.params, ProgressMonitor.DEV_NULL);
+        starts.prefetchedAt = clock.getAsLong();
+      } catch (IOException e) {
+        LOG.warn("Failed to prefetch image {}. Cause: {}", entry.getKey(), e.getMessage());
+      }
+    }
+  }
+
+  private int startCount(Map.Entry<String, ImageStarts> entry) {
+    return entry.getValue().count(clock);
+  }
+
+  @PostConstruct
+  private void start() {
+    if (maxImages <= 0) {
+      return;
+    }
+    executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("DockerImagePrefetcher-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    // prefetch images a bit earlier than the previous pull becomes outdated
+    long period = Math.max(refreshPeriodMs * 3 / 4, 1);
+    executor.scheduleWithFixedDelay(this::refresh, period, period, TimeUnit.MILLISECONDS);
+  }
+
+  @PreDestroy
+  private void stop() {
+    if (executor != null) {
+      executor.shutdownNow();
+    }
+  }
+
+  /** Recent starts of the machines from an image. */
+  private static class ImageStarts {
+    private final Deque<Long> startTimes = new ArrayDeque<>();
+
+    private volatile PullParams params;
+    private volatile long prefetchedAt;
+
+    synchronized void record(PullParams params, LongSupplier clock) {
+      this.params =
+          PullParams.create(params.getImage())
+              .withTag(params.getTag())
+              .withRegistry(params.getRegistry());
+      startTimes.addLast(clock.getAsLong());
+      evictOld(clock);
+    }
+
+    synchronized int count(LongSupplier clock) {
+      evictOld(clock);
+      return startTimes.size();
+    }
+
+    private void evictOld(LongSupplier clock) {
+      long windowStart = clock.getAsLong() - START_RATE_WINDOW_MS;
+      while (!startTimes.isEmpty() && startTimes.peekFirst() < windowStart) {
+        startTimes.removeFirst();
+      }
+    }
+  }
+}
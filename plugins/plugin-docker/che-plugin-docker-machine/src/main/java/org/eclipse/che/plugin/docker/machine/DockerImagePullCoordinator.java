@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Filters;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
+import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Coordinates pulls of docker images by the machines started at the same time.
+ *
+ * <p>Only one pull of an image is executed at a time. Machines which need an image that is being
+ * pulled wait for the running pull instead of starting another one, and receive its progress.
+ *
+ * <p>Also keeps track of the images which are present on the docker daemon, so the machines don't
+ * list images on every start. The presence is updated on pulls and by the image events of the
+ * daemon.
+ */
+@Singleton
+public class DockerImagePullCoordinator {
+  private static final Logger LOG = LoggerFactory.getLogger(DockerImagePullCoordinator.class);
+
+  private final DockerConnector docker;
+  private final Map<String, Pull> pulls;
+  private final Set<String> presentImages;
+  private final ExecutorService eventsExecutor;
+
+  private volatile long lastProcessedEventDate = 0;
+
+  @Inject
+  public DockerImagePullCoordinator(DockerConnectorProvider dockerConnectorProvider) {
+    this.docker = dockerConnectorProvider.get();
+    this.pulls = new ConcurrentHashMap<>();
+    this.presentImages = ConcurrentHashMap.newKeySet();
+    this.eventsExecutor =
+        Executors.newSingleThreadExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("DockerImageEventsListener-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
+
+  /**
+   * Pulls the image or waits for the pull of the same image which is already running. If the
+   * running pull fails its failure is rethrown to all the waiters with the same credentials, the
+   * waiters with other credentials pull the image once more by themselves.
+   *
+   * @param imageReference reference of the image, including its tag and digest, which identifies
+   *     the pull
+   * @param params parameters of the pull
+   * @param progressMonitor consumer of the pull progress
+   * @throws IOException when the pull fails
+   */
+  public void pull(String imageReference, PullParams params, ProgressMonitor progressMonitor)
+      throws IOException {
+    Pull pull = new Pull(params.getAuthConfigs(), progressMonitor);
+    Pull running = pulls.putIfAbsent(imageReference, pull);
+    if (running != null) {
+      running.monitors.add(progressMonitor);
+      try {
+        running.result.get();
+        return;
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new InterruptedIOException("Interrupted while waiting for pull of " + imageReference);
+      } catch (ExecutionException e) {
+        if (Objects.equals(running.authConfigs, params.getAuthConfigs())) {
+          throw new IOException(e.getCause().getLocalizedMessage(), e.getCause());
+        }
+        // pull might fail because of the credentials of the machine which has started it
+        LOG.debug("Shared pull of {} failed, pulling it with other credentials", imageReference);
+      } finally {
+        running.monitors.remove(progressMonitor);
+      }
+      docker.pull(params, progressMonitor);
+      presentImages.add(params.getFullRepo());
+      return;
+    }
+
+    try {
+      docker.pull(params, pull);
+      presentImages.add(params.getFullRepo());
+      pull.result.complete(null);
+    } catch (IOException | RuntimeException e) {
+      pull.result.completeExceptionally(e);
+      throw e;
+    } finally {
+      pulls.remove(imageReference, pull);
+    }
+  }
+
+  /**
+   * Checks whether any version of the image repository is present on the docker daemon.
+   *
+   * @param repository repository of the image
+   * @return true if the image is present, false if it is absent or the check failed
+   */
+  public boolean isImagePresent(String repository) {
+    if (presentImages.contains(repository)) {
+      return true;
+    }
+    try {
+      boolean present =
+          !docker
+              .listImages(
+                  ListImagesParams.create()
+                      .withFilters(new Filters().withFilter("reference", repository)))
+              .isEmpty();
+      if (present) {
+        presentImages.add(repository);
+      }
+      return present;
+    } catch (IOException e) {
+      LOG.warn("Failed to check image {} availability. Cause: {}", repository, e.getMessage());
+      return false; // consider that image doesn't exist locally
+    }
+  }
+
+  /** Forgets that the image repository is present, e.g. when the image turned out to be removed. */
+  public void invalidate(String repository) {
+    presentImages.remove(repository);
+  }
+
+  @PostConstruct
+  private void listenImageEvents() {
+    eventsExecutor.execute(
+        () -> {
+          while (!Thread.currentThread().isInterrupted()) {
+            try {
+              docker.getEvents(
+                  GetEventsParams.create()
+                      .withSinceSecond(lastProcessedEventDate)
+                      .withFilters(new Filters().withFilter("type", "image")),
+                  this::processEvent);
+            } catch (IOException e) {
+              // usually connection timeout, events might be missed so presence is checked again
+              LOG.debug(e.getLocalizedMessage(), e);
+              presentImages.clear();
+              try {
+                TimeUnit.SECONDS.sleep(1);
+              } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+              }
+            }
+          }
+        });
+  }
+
+  @PreDestroy
+  private void stopListeningImageEvents() {
+    eventsExecutor.shutdownNow();
+  }
+
+  @VisibleForTesting
+  void processEvent(Event event) {
+    if (event.getType() != null && !"image".equals(event.getType())) {
+      return;
+    }
+    String status = event.getStatus() != null ? event.getStatus() : event.getAction();
+    if (status == null) {
+      return;
+    }
+    switch (status) {
+      case "pull":
+      case "tag":
+      case "import":
+      case "load":
+        String image = getImageReference(event);
+        if (image != null) {
+          presentImages.add(stripTag(image));
+        }
+        break;
+      case "delete":
+      case "untag":
+        // events identify removed images by id, so the repositories are unknown
+        presentImages.clear();
+        break;
+      default:
+        // we don't care about other event types
+    }
+    lastProcessedEventDate = event.getTime();
+  }
+
+  /**
+   * Returns reference of the image from the event or null if the event identifies the image only
+   * by its id. Tag events identify the tagged image by id, and the new reference is passed as the
+   * {@code name} attribute of the event actor.
+   */
+  private static String getImageReference(Event event) {
+    String image = event.getId();
+    if (event.getActor() != null && event.getActor().getAttributes() != null) {
+      String name = event.getActor().getAttributes().get("name");
+      if (name != null) {
+        image = name;
+      }
+    }
+    if (image == null || image.startsWith("sha256:")) {
+      return null;
+    }
+    return image;
+  }
+
+  private static String stripTag(String image) {
+    int digestStart = image.indexOf('@');
+    if (digestStart != -1) {
+      image = image.substring(0, digestStart);
+    }
+    int tagStart = image.lastIndexOf(':');
+    if (tagStart > image.lastIndexOf('/')) {
+      image = image.substring(0, tagStart);
+    }
+    return image;
+  }
+
+  /** Running pull which fans out its progress to all the machines waiting for it. */
+  private static class Pull implements ProgressMonitor {
+    final List<ProgressMonitor> monitors = new CopyOnWriteArrayList<>();
+    final CompletableFuture<Void> result = new CompletableFuture<>();
+    final AuthConfigs authConfigs;
+
+    Pull(AuthConfigs authConfigs, ProgressMonitor progressMonitor) {
+      this.authConfigs = authConfigs;
+      monitors.add(progressMonitor);
+    }
+
+    @Override
+    public void updateProgress(ProgressStatus currentProgressStatus) {
+      for (ProgressMonitor monitor : monitors) {
+        try {
+          monitor.updateProgress(currentProgressStatus);
+        } catch (RuntimeException e) {
+          LOG.warn("Failed to update pull progress: {}", e.getMessage());
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with fixed buckets. Each bucket counts the values which are less than or
+ * equal to its upper bound and greater than the bound of the previous bucket, the last bucket
+ * counts all the values greater than the highest bound.
+ */
+public class LatencyHistogram {
+  /** Default bounds of the buckets in milliseconds. */
+  public static final long[] DEFAULT_BOUNDS = {
+    250, 500, 1_000, 2_000, 5_000, 10_000, 30_000, 60_000, 120_000
+  };
+
+  private final long[] bounds;
+  private final AtomicLongArray counts;
+  private final LongAdder sum;
+
+  public LatencyHistogram() {
+    this(DEFAULT_BOUNDS);
+  }
+
+  /** Creates histogram with the given ascending bounds of the buckets in milliseconds. */
+  public LatencyHistogram(long[] bounds) {
+    this.bounds = bounds.clone();
+    this.counts = new AtomicLongArray(bounds.length + 1);
+    this.sum = new LongAdder();
+  }
+
+  /** Records latency in milliseconds. */
+  public void record(long millis) {
+    int bucket = Arrays.binarySearch(bounds, millis);
+    counts.incrementAndGet(bucket >= 0 ? bucket : -bucket - 1);
+    sum.add(millis);
+  }
+
+  /** Returns upper bounds of the buckets, the last bucket is not bounded. */
+  public long[] getBounds() {
+    return bounds.clone();
+  }
+
+  /** Returns number of the recorded values per bucket. */
+  public long[] getCounts() {
+    long[] result = new long[counts.length()];
+    for (int i = 0; i < result.length; i++) {
+      result[i] = counts.get(i);
+    }
+    return result;
+  }
+
+  /** Returns number of all the recorded values. */
+  public long getCount() {
+    return Arrays.stream(getCounts()).sum();
+  }
+
+  /** Returns sum of all the recorded values in milliseconds. */
+  public long getSum() {
+    return sum.sum();
+  }
+}
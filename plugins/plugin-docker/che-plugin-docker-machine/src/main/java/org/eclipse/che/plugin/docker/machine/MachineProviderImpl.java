@@ -45,6 +45,7 @@ import javax.inject.Named;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
 import org.eclipse.che.api.core.model.machine.MachineStatus;
 import org.eclipse.che.api.core.model.machine.ServerConf;
@@ -81,7 +82,6 @@ import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.NetworkNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
-import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
 import org.eclipse.che.plugin.docker.client.json.PortBinding;
@@ -93,10 +93,10 @@ import org.eclipse.che.plugin.docker.client.json.network.NewNetwork;
 import org.eclipse.che.plugin.docker.client.params.BuildImageParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.GetContainerLogsParams;
-import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
+import org.eclipse.che.plugin.docker.client.params.RenameContainerParams;
 import org.eclipse.che.plugin.docker.client.params.StartContainerParams;
 import org.eclipse.che.plugin.docker.client.params.TagParams;
 import org.eclipse.che.plugin.docker.client.params.network.ConnectContainerToNetworkParams;
@@ -125,6 +125,9 @@ public class MachineProviderImpl implements MachineInstanceProvider {
           + "or a container that requires additional arguments to start. "
           + "Please check the container recipe.";
 
+  /** Network of the containers created without networking configuration, e.g. pooled ones. */
+  private static final String DEFAULT_DOCKER_NETWORK = "bridge";
+
   // CMDs and entrypoints that lead to exiting of container right after start
   private Set<List<String>> badCMDs =
       ImmutableSet.of(
@@ -149,6 +152,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
   private final UserSpecificDockerRegistryCredentialsProvider dockerCredentials;
   private final ExecutorService executor;
   private final DockerInstanceStopDetector dockerInstanceStopDetector;
+  private final DockerImagePullCoordinator imagePullCoordinator;
+  private final DockerImagePrefetcher imagePrefetcher;
+  private final DockerContainerPool containerPool;
+  private final LatencyHistogram startLatency;
   private final RequestTransmitter transmitter;
   private final JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder;
   private final boolean doForcePullImage;
@@ -180,6 +187,9 @@ public class MachineProviderImpl implements MachineInstanceProvider {
       UserSpecificDockerRegistryCredentialsProvider dockerCredentials,
       DockerMachineFactory dockerMachineFactory,
       DockerInstanceStopDetector dockerInstanceStopDetector,
+      DockerImagePullCoordinator imagePullCoordinator,
+      DockerImagePrefetcher imagePrefetcher,
+      DockerContainerPool containerPool,
       RequestTransmitter transmitter,
       JsonRpcEndpointToMachineNameHolder jsonRpcEndpointToMachineNameHolder,
       @Named("machine.docker.dev_machine.machine_servers") Set<ServerConf> devMachineServers,
@@ -208,6 +218,10 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     this.dockerCredentials = dockerCredentials;
     this.dockerMachineFactory = dockerMachineFactory;
     this.dockerInstanceStopDetector = dockerInstanceStopDetector;
+    this.imagePullCoordinator = imagePullCoordinator;
+    this.imagePrefetcher = imagePrefetcher;
+    this.containerPool = containerPool;
+    this.startLatency = new LatencyHistogram();
     this.transmitter = transmitter;
     this.doForcePullImage = doForcePullImage;
     this.privilegedMode = privilegedMode;
@@ -346,6 +360,7 @@ public class MachineProviderImpl implements MachineInstanceProvider {
           }
         };
 
+    long startTime = System.currentTimeMillis();
     String container = null;
     try {
       String image = prepareImage(machineName, service, progressMonitor);
@@ -389,7 +404,13 @@ public class MachineProviderImpl implements MachineInstanceProvider {
               MachineStatus.RUNNING,
               null);
 
-      return dockerMachineFactory.createInstance(machine, container, image, node, logger);
+      Instance instance =
+          dockerMachineFactory.createInstance(machine, container, image, node, logger);
+      long startDuration = System.currentTimeMillis() - startTime;
+      startLatency.record(startDuration);
+      LOG.debug(
+          "Machine '{}' of workspace '{}' started in {}ms", machineName, workspaceId, startDuration);
+      return instance;
     } catch (SourceNotFoundException e) {
       throw e;
     } catch (RuntimeException | ServerException | NotFoundException | IOException e) {
@@ -524,15 +545,24 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     try {
       boolean isSnapshot =
           SNAPSHOT_LOCATION_PATTERN.matcher(dockerMachineSource.getLocation()).matches();
-      boolean isImageExistLocally = isDockerImageExistLocally(dockerMachineSource.getRepository());
-      if ((!isSnapshot && (doForcePullImage || !isImageExistLocally))
+      PullParams pullParams =
+          PullParams.create(dockerMachineSource.getRepository())
+              .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(), LATEST_TAG))
+              .withRegistry(dockerMachineSource.getRegistry())
+              .withAuthConfigs(dockerCredentials.getCredentials());
+      boolean isImageExistLocally = isDockerImageExistLocally(pullParams.getFullRepo());
+      boolean pulled = false;
+      if (!isSnapshot) {
+        imagePrefetcher.recordStart(dockerMachineSource.getLocation(), pullParams);
+      }
+      // recently prefetched images are fresh enough to skip the forced pull
+      boolean forcePull =
+          doForcePullImage
+              && !imagePrefetcher.isRecentlyPrefetched(dockerMachineSource.getLocation());
+      if ((!isSnapshot && (forcePull || !isImageExistLocally))
           || (isSnapshot && snapshotUseRegistry)) {
-        PullParams pullParams =
-            PullParams.create(dockerMachineSource.getRepository())
-                .withTag(MoreObjects.firstNonNull(dockerMachineSource.getTag(), LATEST_TAG))
-                .withRegistry(dockerMachineSource.getRegistry())
-                .withAuthConfigs(dockerCredentials.getCredentials());
-        docker.pull(pullParams, progressMonitor);
+        imagePullCoordinator.pull(dockerMachineSource.getLocation(), pullParams, progressMonitor);
+        pulled = true;
       }
 
       String fullNameOfPulledImage = dockerMachineSource.getLocation(false);
@@ -540,7 +570,17 @@ public class MachineProviderImpl implements MachineInstanceProvider {
         // tag image with generated name to allow sysadmin recognize it
         docker.tag(TagParams.create(fullNameOfPulledImage, machineImageName));
       } catch (ImageNotFoundException nfEx) {
-        throw new SourceNotFoundException(nfEx.getLocalizedMessage(), nfEx);
+        if (pulled || isSnapshot) {
+          throw new SourceNotFoundException(nfEx.getLocalizedMessage(), nfEx);
+        }
+        // image was considered present but is already removed
+        imagePullCoordinator.invalidate(pullParams.getFullRepo());
+        imagePullCoordinator.pull(dockerMachineSource.getLocation(), pullParams, progressMonitor);
+        try {
+          docker.tag(TagParams.create(fullNameOfPulledImage, machineImageName));
+        } catch (ImageNotFoundException e) {
+          throw new SourceNotFoundException(e.getLocalizedMessage(), e);
+        }
       }
 
       // remove unneeded tag if restoring snapshot from registry
@@ -553,18 +593,32 @@ public class MachineProviderImpl implements MachineInstanceProvider {
     }
   }
 
+  /** Returns histogram of the machine start latencies, including preparation of the image. */
+  public LatencyHistogram getStartLatency() {
+    return startLatency;
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.register(
+        writer -> {
+          final long[] millis = startLatency.getBounds();
+          final double[] seconds = new double[millis.length];
+          for (int i = 0; i < millis.length; i++) {
+            seconds[i] = millis[i] / 1e3;
+          }
+          writer.histogram(
+              "che_docker_machine_start_seconds",
+              "Time of Docker machines start including preparation of the image",
+              seconds,
+              startLatency.getCounts(),
+              startLatency.getSum() / 1e3);
+        });
+  }
+
   @VisibleForTesting
   boolean isDockerImageExistLocally(String imageName) {
-    try {
-      return !docker
-          .listImages(
-              ListImagesParams.create()
-                  .withFilters(new Filters().withFilter("reference", imageName)))
-          .isEmpty();
-    } catch (IOException e) {
-      LOG.warn("Failed to check image {} availability. Cause: {}", imageName, e.getMessage());
-      return false; // consider that image doesn't exist locally
-    }
+    return imagePullCoordinator.isImagePresent(imageName);
   }
 
   private String createContainer(
@@ -640,12 +694,46 @@ public class MachineProviderImpl implements MachineInstanceProvider {
 
     setNonExitingContainerCommandIfNeeded(config);
 
+    // links and volumes from other containers are resolved by docker when container is created
+    if (service.getLinks().isEmpty() && service.getVolumesFrom().isEmpty()) {
+      String pooled = containerPool.claim(config);
+      if (pooled != null) {
+        try {
+          preparePooledContainer(pooled, service.getContainerName(), networkName, machineName);
+          return pooled;
+        } catch (IOException e) {
+          LOG.warn(
+              "Failed to prepare pooled container {} for machine {}. Cause: {}",
+              pooled,
+              machineName,
+              e.getMessage());
+          cleanUpContainer(pooled);
+        }
+      }
+    }
+
     return docker
         .createContainer(
             CreateContainerParams.create(config).withContainerName(service.getContainerName()))
         .getId();
   }
 
+  /** Gives the pooled container the name of the machine container and moves it to its network. */
+  private void preparePooledContainer(
+      String container, @Nullable String containerName, String networkName, String machineName)
+      throws IOException {
+    if (containerName != null) {
+      docker.renameContainer(RenameContainerParams.create(container, containerName));
+    }
+    docker.disconnectContainerFromNetwork(DEFAULT_DOCKER_NETWORK, container);
+    docker.connectContainerToNetwork(
+        ConnectContainerToNetworkParams.create(
+            networkName,
+            new ConnectContainer()
+                .withContainer(container)
+                .withEndpointConfig(new EndpointConfig().withAliases(machineName))));
+  }
+
   private void addStaticDockerConfiguration(ContainerConfig config) {
     config
         .getHostConfig()
@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.plugin.docker.machine.DockerContainerPool.POOLED_CONTAINER_NAME_PREFIX;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
+import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
+import org.eclipse.che.plugin.docker.client.json.HostConfig;
+import org.eclipse.che.plugin.docker.client.json.ImageInfo;
+import org.eclipse.che.plugin.docker.client.json.container.NetworkingConfig;
+import org.eclipse.che.plugin.docker.client.json.network.EndpointConfig;
+import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
+import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerContainerPoolTest {
+  private static final String IMAGE = "eclipse/ubuntu_jdk8";
+  private static final String IMAGE_ID = "sha256:0123456789abcdef";
+
+  @Mock private DockerConnector docker;
+  @Mock private ImageInfo imageInfo;
+
+  private AtomicLong time;
+  private DockerContainerPool pool;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    time = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+    pool = new DockerContainerPool(docker, 2, time::get);
+    when(docker.inspectImage(anyString())).thenReturn(imageInfo);
+    when(imageInfo.getId()).thenReturn(IMAGE_ID);
+    when(docker.createContainer(any(CreateContainerParams.class)))
+        .thenReturn(
+            new ContainerCreated("pooled1", new String[0]),
+            new ContainerCreated("pooled2", new String[0]));
+  }
+
+  @Test
+  public void shouldCreateContainerForRecentlyStartedConfigurationOnTheDefaultNetwork()
+      throws Exception {
+    assertNull(pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1")));
+
+    pool.maintain();
+
+    ArgumentCaptor<CreateContainerParams> captor =
+        ArgumentCaptor.forClass(CreateContainerParams.class);
+    verify(docker).createContainer(captor.capture());
+    assertTrue(captor.getValue().getContainerName().startsWith(POOLED_CONTAINER_NAME_PREFIX));
+    ContainerConfig created = captor.getValue().getContainerConfig();
+    assertEquals(created.getImage(), IMAGE_ID);
+    assertEquals(created.getEnv(), new String[] {"CHE_WORKSPACE_ID=ws1"});
+    assertNull(created.getNetworkingConfig());
+    assertNull(created.getHostConfig().getNetworkMode());
+  }
+
+  @Test
+  public void shouldClaimContainerCreatedWithTheSameConfigurationOnOtherNetwork()
+      throws Exception {
+    pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1", "CHE_MACHINE_NAME=dev"));
+    pool.maintain();
+
+    String claimed =
+        pool.claim(config("network2", "CHE_MACHINE_NAME=dev", "CHE_WORKSPACE_ID=ws1"));
+
+    assertEquals(claimed, "pooled1");
+  }
+
+  @Test
+  public void shouldNotClaimContainerCreatedWithOtherConfiguration() throws Exception {
+    pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1"));
+    pool.maintain();
+
+    assertNull(pool.claim(config("network1", "CHE_WORKSPACE_ID=ws2")));
+  }
+
+  @Test
+  public void shouldNotClaimContainerCreatedFromOutdatedImage() throws Exception {
+    pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1"));
+    pool.maintain();
+    when(imageInfo.getId()).thenReturn("sha256:fedcba9876543210");
+
+    assertNull(pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1")));
+  }
+
+  @Test
+  public void shouldKeepAsManyContainersAsStartsDuringLastHourUpToLimit() throws Exception {
+    for (int i = 0; i < 3; i++) {
+      pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1"));
+    }
+
+    pool.maintain();
+    pool.maintain();
+
+    verify(docker, times(2)).createContainer(any(CreateContainerParams.class));
+  }
+
+  @Test
+  public void shouldRemoveContainersOfConfigurationNotStartedDuringLastHour() throws Exception {
+    pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1"));
+    pool.maintain();
+    time.addAndGet(TimeUnit.HOURS.toMillis(2));
+
+    pool.maintain();
+
+    verify(docker)
+        .removeContainer(
+            RemoveContainerParams.create("pooled1").withRemoveVolumes(true).withForce(true));
+    verify(docker).createContainer(any(CreateContainerParams.class));
+  }
+
+  @Test
+  public void shouldNotPoolContainersWhenPoolIsDisabled() throws Exception {
+    pool = new DockerContainerPool(docker, 0, time::get);
+
+    assertNull(pool.claim(config("network1", "CHE_WORKSPACE_ID=ws1")));
+    pool.maintain();
+
+    verify(docker, never()).inspectImage(anyString());
+    verify(docker, never()).createContainer(any(CreateContainerParams.class));
+  }
+
+  private static ContainerConfig config(String network, String... env) {
+    return new ContainerConfig()
+        .withImage(IMAGE)
+        .withEnv(env)
+        .withHostConfig(new HostConfig().withNetworkMode(network))
+        .withNetworkingConfig(
+            new NetworkingConfig()
+                .withEndpointsConfig(
+                    singletonMap(network, new EndpointConfig().withAliases("dev"))));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerImagePrefetcherTest {
+  private static final String POPULAR_IMAGE = "eclipse/ubuntu_jdk8:latest";
+  private static final String RARE_IMAGE = "eclipse/node:latest";
+
+  @Mock private DockerImagePullCoordinator imagePullCoordinator;
+  @Mock private AuthConfigs authConfigs;
+
+  private AtomicLong time;
+  private DockerImagePrefetcher prefetcher;
+
+  @BeforeMethod
+  public void setUp() {
+    time = new AtomicLong(TimeUnit.DAYS.toMillis(1));
+    prefetcher = new DockerImagePrefetcher(imagePullCoordinator, 1, 10, time::get);
+  }
+
+  @Test
+  public void shouldPrefetchMostFrequentlyStartedImages() throws Exception {
+    prefetcher.recordStart(POPULAR_IMAGE, params("eclipse/ubuntu_jdk8"));
+    prefetcher.recordStart(POPULAR_IMAGE, params("eclipse/ubuntu_jdk8"));
+    prefetcher.recordStart(RARE_IMAGE, params("eclipse/node"));
+
+    prefetcher.refresh();
+
+    verify(imagePullCoordinator)
+        .pull(
+            eq(POPULAR_IMAGE),
+            eq(PullParams.create("eclipse/ubuntu_jdk8").withTag("latest")),
+            eq(ProgressMonitor.DEV_NULL));
+    verify(imagePullCoordinator, never())
+        .pull(eq(RARE_IMAGE), any(PullParams.class), any(ProgressMonitor.class));
+    assertTrue(prefetcher.isRecentlyPrefetched(POPULAR_IMAGE));
+    assertFalse(prefetcher.isRecentlyPrefetched(RARE_IMAGE));
+  }
+
+  @Test
+  public void shouldCoolDownImageAfterRefreshPeriod() throws Exception {
+    prefetcher.recordStart(POPULAR_IMAGE, params("eclipse/ubuntu_jdk8"));
+    prefetcher.refresh();
+
+    time.addAndGet(TimeUnit.MINUTES.toMillis(10));
+
+    assertFalse(prefetcher.isRecentlyPrefetched(POPULAR_IMAGE));
+  }
+
+  @Test
+  public void shouldNotPrefetchImagesWhichWereNotStartedRecently() throws Exception {
+    prefetcher.recordStart(POPULAR_IMAGE, params("eclipse/ubuntu_jdk8"));
+    time.addAndGet(TimeUnit.HOURS.toMillis(2));
+
+    prefetcher.refresh();
+
+    verify(imagePullCoordinator, never())
+        .pull(any(String.class), any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldNotConsiderImagePrefetchedWhenPullFailed() throws Exception {
+    doThrow(new IOException("unauthorized"))
+        .when(imagePullCoordinator)
+        .pull(any(String.class), any(PullParams.class), any(ProgressMonitor.class));
+    prefetcher.recordStart(POPULAR_IMAGE, params("eclipse/ubuntu_jdk8"));
+
+    prefetcher.refresh();
+
+    assertFalse(prefetcher.isRecentlyPrefetched(POPULAR_IMAGE));
+  }
+
+  private PullParams params(String image) {
+    return PullParams.create(image).withTag("latest").withAuthConfigs(authConfigs);
+  }
+}
@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.docker.machine;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.che.plugin.docker.client.DockerConnector;
+import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
+import org.eclipse.che.plugin.docker.client.ProgressMonitor;
+import org.eclipse.che.plugin.docker.client.dto.AuthConfigs;
+import org.eclipse.che.plugin.docker.client.json.Actor;
+import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.Image;
+import org.eclipse.che.plugin.docker.client.json.ProgressStatus;
+import org.eclipse.che.plugin.docker.client.params.ListImagesParams;
+import org.eclipse.che.plugin.docker.client.params.PullParams;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class DockerImagePullCoordinatorTest {
+  private static final String IMAGE = "eclipse/ubuntu_jdk8";
+  private static final String IMAGE_REFERENCE = IMAGE + ":latest";
+  private static final PullParams PULL_PARAMS = PullParams.create(IMAGE).withTag("latest");
+
+  @Mock private DockerConnector docker;
+  @Mock private ProgressMonitor monitor1;
+  @Mock private ProgressMonitor monitor2;
+
+  private DockerImagePullCoordinator coordinator;
+  private ExecutorService executor;
+
+  @BeforeMethod
+  public void setUp() {
+    coordinator =
+        new DockerImagePullCoordinator(
+            new DockerConnectorProvider(emptyMap(), "default") {
+              @Override
+              public DockerConnector get() {
+                return docker;
+              }
+            });
+    executor = Executors.newFixedThreadPool(2);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  public void shouldShareRunningPullOfTheSameImage() throws Exception {
+    ProgressStatus status = new ProgressStatus();
+    CountDownLatch pullStarted = new CountDownLatch(1);
+    CompletableFuture<Void> releasePull = new CompletableFuture<>();
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              releasePull.get();
+              ((ProgressMonitor) invocation.getArguments()[1]).updateProgress(status);
+              return null;
+            })
+        .when(docker)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+
+    Future<?> first =
+        executor.submit(
+            () -> {
+              coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor1);
+              return null;
+            });
+    assertTrue(pullStarted.await(5, TimeUnit.SECONDS));
+    AtomicReference<Thread> waiter = new AtomicReference<>();
+    Future<?> second =
+        executor.submit(
+            () -> {
+              waiter.set(Thread.currentThread());
+              coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor2);
+              return null;
+            });
+    awaitWaiting(waiter);
+    releasePull.complete(null);
+    first.get(5, TimeUnit.SECONDS);
+    second.get(5, TimeUnit.SECONDS);
+
+    verify(docker, times(1)).pull(any(PullParams.class), any(ProgressMonitor.class));
+    verify(monitor1).updateProgress(status);
+    verify(monitor2).updateProgress(status);
+  }
+
+  @Test
+  public void shouldPullAgainWhenPreviousPullFailed() throws Exception {
+    doThrow(new IOException("unauthorized"))
+        .doNothing()
+        .when(docker)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+
+    try {
+      coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor1);
+    } catch (IOException ignored) {
+    }
+    coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor1);
+
+    verify(docker, times(2)).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldRethrowFailureOfRunningPullToWaiterWithSameCredentials() throws Exception {
+    CountDownLatch pullStarted = new CountDownLatch(1);
+    CompletableFuture<Void> releasePull = new CompletableFuture<>();
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              releasePull.get();
+              throw new IOException("registry is unreachable");
+            })
+        .when(docker)
+        .pull(any(PullParams.class), any(ProgressMonitor.class));
+
+    Future<?> first =
+        executor.submit(
+            () -> {
+              coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor1);
+              return null;
+            });
+    assertTrue(pullStarted.await(5, TimeUnit.SECONDS));
+    AtomicReference<Thread> waiter = new AtomicReference<>();
+    Future<?> second =
+        executor.submit(
+            () -> {
+              waiter.set(Thread.currentThread());
+              coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor2);
+              return null;
+            });
+    awaitWaiting(waiter);
+    releasePull.complete(null);
+
+    assertPullFailed(first, "registry is unreachable");
+    assertPullFailed(second, "registry is unreachable");
+    verify(docker, times(1)).pull(any(PullParams.class), any(ProgressMonitor.class));
+  }
+
+  @Test
+  public void shouldPullOnceMoreForWaiterWithOtherCredentialsWhenRunningPullFails()
+      throws Exception {
+    PullParams otherCredentialsParams =
+        PullParams.create(IMAGE).withTag("latest").withAuthConfigs(mock(AuthConfigs.class));
+    CountDownLatch pullStarted = new CountDownLatch(1);
+    CompletableFuture<Void> releasePull = new CompletableFuture<>();
+    doAnswer(
+            invocation -> {
+              pullStarted.countDown();
+              releasePull.get();
+              throw new IOException("unauthorized");
+            })
+        .when(docker)
+        .pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+
+    Future<?> first =
+        executor.submit(
+            () -> {
+              coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor1);
+              return null;
+            });
+    assertTrue(pullStarted.await(5, TimeUnit.SECONDS));
+    AtomicReference<Thread> waiter = new AtomicReference<>();
+    Future<?> second =
+        executor.submit(
+            () -> {
+              waiter.set(Thread.currentThread());
+              coordinator.pull(IMAGE_REFERENCE, otherCredentialsParams, monitor2);
+              return null;
+            });
+    awaitWaiting(waiter);
+    releasePull.complete(null);
+
+    assertPullFailed(first, "unauthorized");
+    second.get(5, TimeUnit.SECONDS);
+    verify(docker, times(1)).pull(eq(PULL_PARAMS), any(ProgressMonitor.class));
+    verify(docker, times(1)).pull(eq(otherCredentialsParams), eq(monitor2));
+  }
+
+  @Test
+  public void shouldNotListImagesWhenImageIsPulled() throws Exception {
+    coordinator.pull(IMAGE_REFERENCE, PULL_PARAMS, monitor1);
+
+    assertTrue(coordinator.isImagePresent(IMAGE));
+    verify(docker, never()).listImages(any(ListImagesParams.class));
+  }
+
+  @Test
+  public void shouldTrackImagePresenceByImageEvents() throws Exception {
+    when(docker.listImages(any(ListImagesParams.class))).thenReturn(emptyList());
+
+    coordinator.processEvent(imageEvent("pull", IMAGE_REFERENCE));
+    assertTrue(coordinator.isImagePresent(IMAGE));
+
+    coordinator.processEvent(imageEvent("delete", "sha256:1"));
+    assertFalse(coordinator.isImagePresent(IMAGE));
+    verify(docker).listImages(any(ListImagesParams.class));
+  }
+
+  @Test
+  public void shouldTrackImagePresenceByNameOfTaggedImage() throws Exception {
+    when(docker.listImages(any(ListImagesParams.class))).thenReturn(emptyList());
+
+    coordinator.processEvent(
+        imageEvent("tag", "sha256:1")
+            .withActor(
+                new Actor()
+                    .withId("sha256:1")
+                    .withAttributes(singletonMap("name", IMAGE_REFERENCE))));
+
+    assertTrue(coordinator.isImagePresent(IMAGE));
+    verify(docker, never()).listImages(any(ListImagesParams.class));
+  }
+
+  @Test
+  public void shouldIgnoreEventsWhichIdentifyImageOnlyById() throws Exception {
+    when(docker.listImages(any(ListImagesParams.class))).thenReturn(emptyList());
+
+    coordinator.processEvent(imageEvent("load", "sha256:1"));
+    coordinator.processEvent(imageEvent("tag", "sha256:1"));
+
+    assertFalse(coordinator.isImagePresent("sha256"));
+    assertFalse(coordinator.isImagePresent(IMAGE));
+  }
+
+  @Test
+  public void shouldCacheImagePresenceCheckedByListingImages() throws Exception {
+    when(docker.listImages(any(ListImagesParams.class))).thenReturn(singletonList(new Image()));
+
+    assertTrue(coordinator.isImagePresent(IMAGE));
+    assertTrue(coordinator.isImagePresent(IMAGE));
+
+    verify(docker, times(1)).listImages(any(ListImagesParams.class));
+  }
+
+  private static Event imageEvent(String status, String id) {
+    return new Event().withType("image").withStatus(status).withId(id);
+  }
+
+  /** Waits for the thread to block waiting for the running pull. */
+  private static void assertPullFailed(Future<?> pull, String message) throws Exception {
+    try {
+      pull.get(5, TimeUnit.SECONDS);
+      fail("Pull must fail");
+    } catch (ExecutionException x) {
+      assertTrue(x.getCause() instanceof IOException);
+      assertEquals(x.getCause().getMessage(), message);
+    }
+  }
+
+  private static void awaitWaiting(AtomicReference<Thread> thread) throws InterruptedException {
+    for (int i = 0; i < 500; i++) {
+      if (thread.get() != null && thread.get().getState() == Thread.State.WAITING) {
+        return;
+      }
+      Thread.sleep(10);
+    }
+  }
+}
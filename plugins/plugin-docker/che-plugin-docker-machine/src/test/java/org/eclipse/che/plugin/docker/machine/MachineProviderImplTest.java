@@ -26,6 +26,7 @@ import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
@@ -65,6 +66,7 @@ import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.DockerConnectorProvider;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.UserSpecificDockerRegistryCredentialsProvider;
+import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
 import org.eclipse.che.plugin.docker.client.json.ContainerInfo;
@@ -77,8 +79,10 @@ import org.eclipse.che.plugin.docker.client.params.InspectContainerParams;
 import org.eclipse.che.plugin.docker.client.params.PullParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveContainerParams;
 import org.eclipse.che.plugin.docker.client.params.RemoveImageParams;
+import org.eclipse.che.plugin.docker.client.params.RenameContainerParams;
 import org.eclipse.che.plugin.docker.client.params.StartContainerParams;
 import org.eclipse.che.plugin.docker.client.params.TagParams;
+import org.eclipse.che.plugin.docker.client.params.network.ConnectContainerToNetworkParams;
 import org.eclipse.che.plugin.docker.machine.node.DockerNode;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
@@ -131,6 +135,10 @@ public class MachineProviderImplTest {
 
   @Mock private WindowsPathEscaper pathEscaper;
 
+  @Mock private DockerImagePrefetcher imagePrefetcher;
+
+  @Mock private DockerContainerPool containerPool;
+
   private MachineProviderImpl provider;
 
   private class MockConnectorProvider extends DockerConnectorProvider {
@@ -212,6 +220,77 @@ public class MachineProviderImplTest {
     verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
   }
 
+  @Test
+  public void shouldNotPullDockerImageIfAlwaysPullIsTrueButImageIsRecentlyPrefetched()
+      throws Exception {
+    provider = new MachineProviderBuilder().setDoForcePullImage(true).build();
+    doReturn(true).when(provider).isDockerImageExistLocally(anyString());
+    when(imagePrefetcher.isRecentlyPrefetched(anyString())).thenReturn(true);
+
+    createInstanceFromRecipe();
+
+    verify(dockerConnector, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
+    verify(imagePrefetcher).recordStart(anyString(), any(PullParams.class));
+  }
+
+  @Test
+  public void shouldStartMachineFromPooledContainer() throws Exception {
+    when(containerPool.claim(any(ContainerConfig.class))).thenReturn("pooled");
+    CheServiceImpl service = createServiceWithoutLinks();
+
+    createInstanceFromRecipe(service);
+
+    verify(dockerConnector, never()).createContainer(any(CreateContainerParams.class));
+    verify(dockerConnector)
+        .renameContainer(RenameContainerParams.create("pooled", service.getContainerName()));
+    verify(dockerConnector).disconnectContainerFromNetwork("bridge", "pooled");
+    ArgumentCaptor<ConnectContainerToNetworkParams> connectCaptor =
+        ArgumentCaptor.forClass(ConnectContainerToNetworkParams.class);
+    verify(dockerConnector).connectContainerToNetwork(connectCaptor.capture());
+    assertEquals(connectCaptor.getValue().getNetworkId(), NETWORK_NAME);
+    assertEquals(connectCaptor.getValue().getConnectContainer().getContainer(), "pooled");
+    assertEquals(
+        connectCaptor.getValue().getConnectContainer().getEndpointConfig().getAliases(),
+        new String[] {MACHINE_NAME});
+    verify(dockerConnector).startContainer(StartContainerParams.create("pooled"));
+  }
+
+  @Test
+  public void shouldCreateContainerWhenPooledContainerCanNotBePrepared() throws Exception {
+    when(containerPool.claim(any(ContainerConfig.class))).thenReturn("pooled");
+    doThrow(new IOException("conflict"))
+        .when(dockerConnector)
+        .renameContainer(any(RenameContainerParams.class));
+
+    createInstanceFromRecipe(createServiceWithoutLinks());
+
+    verify(dockerConnector)
+        .removeContainer(
+            RemoveContainerParams.create("pooled").withRemoveVolumes(true).withForce(true));
+    verify(dockerConnector).createContainer(any(CreateContainerParams.class));
+    verify(dockerConnector).startContainer(StartContainerParams.create(CONTAINER_ID));
+  }
+
+  @Test
+  public void shouldNotClaimPooledContainerForMachineWithLinks() throws Exception {
+    CheServiceImpl service = createServiceWithoutLinks();
+    service.setLinks(asList("link1", "link2:alias"));
+
+    createInstanceFromRecipe(service);
+
+    verify(containerPool, never()).claim(any(ContainerConfig.class));
+    verify(dockerConnector).createContainer(any(CreateContainerParams.class));
+  }
+
+  @Test
+  public void shouldRecordMachineStartLatency() throws Exception {
+    provider = new MachineProviderBuilder().build();
+
+    createInstanceFromRecipe();
+
+    assertEquals(provider.getStartLatency().getCount(), 1);
+  }
+
   @Test
   public void shouldPullDockerImageIfAlwaysPullIsFalseButImageDoesNotExist() throws Exception {
     provider = new MachineProviderBuilder().setDoForcePullImage(false).build();
@@ -233,6 +312,22 @@ public class MachineProviderImplTest {
     verify(dockerConnector, never()).pull(any(PullParams.class), any(ProgressMonitor.class));
   }
 
+  @Test
+  public void shouldPullDockerImageIfImageWhichExistLocallyIsRemovedBeforeTagging()
+      throws Exception {
+    provider = new MachineProviderBuilder().setDoForcePullImage(false).build();
+    doReturn(true).when(provider).isDockerImageExistLocally(anyString());
+    doThrow(new ImageNotFoundException("no such image"))
+        .doNothing()
+        .when(dockerConnector)
+        .tag(any(TagParams.class));
+
+    createInstanceFromRecipe();
+
+    verify(dockerConnector).pull(any(PullParams.class), any(ProgressMonitor.class));
+    verify(dockerConnector, times(2)).tag(any(TagParams.class));
+  }
+
   @Test
   public void shouldUseLocalImageOnInstanceCreationFromSnapshot() throws Exception {
     final String repo = MACHINE_SNAPSHOT_PREFIX + "repo";
@@ -1810,6 +1905,13 @@ public class MachineProviderImplTest {
     return service;
   }
 
+  private CheServiceImpl createServiceWithoutLinks() {
+    CheServiceImpl service = createService();
+    service.setLinks(new ArrayList<>());
+    service.setVolumesFrom(new ArrayList<>());
+    return service;
+  }
+
   private class MachineProviderBuilder {
     private Set<ServerConf> devMachineServers;
     private Set<ServerConf> allMachineServers;
@@ -1945,6 +2047,9 @@ public class MachineProviderImplTest {
                   credentialsReader,
                   dockerMachineFactory,
                   dockerInstanceStopDetector,
+                  new DockerImagePullCoordinator(new MockConnectorProvider()),
+                  imagePrefetcher,
+                  containerPool,
                   transmitter,
                   jsonRpcEndpointToMachineNameHolder,
                   devMachineServers,
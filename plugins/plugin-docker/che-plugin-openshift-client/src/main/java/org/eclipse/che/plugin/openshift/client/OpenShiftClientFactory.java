@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.openshift.client;
+
+import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.openshift.client.OpenShiftClient;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Provides the OpenShift client which is shared by all the OpenShift components.
+ *
+ * <p>Each client owns a pool of HTTP connections and dispatcher threads and parses the kube config
+ * on creation, so it must not be created per operation. The shared client is created on the first
+ * use, configured the same way as {@link DefaultOpenShiftClient#DefaultOpenShiftClient()}, and is
+ * closed when the application is stopped. Users of the client must not close it.
+ */
+@Singleton
+public class OpenShiftClientFactory {
+  private volatile OpenShiftClient client;
+  private boolean closed;
+
+  @Inject
+  public OpenShiftClientFactory() {}
+
+  /** Creates factory which provides the given client, e.g. the client of a mock server. */
+  public OpenShiftClientFactory(OpenShiftClient client) {
+    this.client = client;
+  }
+
+  public OpenShiftClient getOpenShiftClient() {
+    OpenShiftClient result = client;
+    if (result == null) {
+      synchronized (this) {
+        if (closed) {
+          throw new IllegalStateException("OpenShift client is already closed");
+        }
+        result = client;
+        if (result == null) {
+          client = result = new DefaultOpenShiftClient();
+        }
+      }
+    }
+    return result;
+  }
+
+  @PreDestroy
+  public synchronized void close() {
+    closed = true;
+    if (client != null) {
+      client.close();
+      client = null;
+    }
+  }
+}
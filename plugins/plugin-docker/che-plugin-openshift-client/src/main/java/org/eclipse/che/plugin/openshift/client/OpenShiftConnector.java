@@ -11,8 +11,15 @@
 package org.eclipse.che.plugin.openshift.client;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
+import static java.net.HttpURLConnection.HTTP_CONFLICT;
+import static org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesResourceUtil.hasLabel;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.collect.ImmutableSet;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
 import io.fabric8.kubernetes.api.model.Container;
@@ -31,7 +38,6 @@ import io.fabric8.kubernetes.api.model.PersistentVolumeClaimList;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimVolumeSource;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimVolumeSourceBuilder;
 import io.fabric8.kubernetes.api.model.Pod;
-import io.fabric8.kubernetes.api.model.PodList;
 import io.fabric8.kubernetes.api.model.PodSpec;
 import io.fabric8.kubernetes.api.model.PodSpecBuilder;
 import io.fabric8.kubernetes.api.model.Probe;
@@ -46,8 +52,11 @@ import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
 import io.fabric8.kubernetes.api.model.extensions.Deployment;
 import io.fabric8.kubernetes.api.model.extensions.DeploymentBuilder;
+import io.fabric8.kubernetes.client.Callback;
 import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
 import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.kubernetes.client.dsl.ExecListener;
 import io.fabric8.kubernetes.client.dsl.ExecWatch;
 import io.fabric8.kubernetes.client.dsl.LogWatch;
 import io.fabric8.kubernetes.client.dsl.Resource;
@@ -57,7 +66,6 @@ import io.fabric8.openshift.api.model.DoneableDeploymentConfig;
 import io.fabric8.openshift.api.model.Image;
 import io.fabric8.openshift.api.model.ImageStream;
 import io.fabric8.openshift.api.model.ImageStreamTag;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftConfig;
 import io.fabric8.openshift.client.dsl.DeployableScalableResource;
@@ -77,18 +85,28 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.TimeZone;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import okhttp3.OkHttpClient;
+import okhttp3.Response;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.metrics.NotTimed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.server.event.ServerIdleEvent;
@@ -102,6 +120,7 @@ import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.MessageProcessor;
 import org.eclipse.che.plugin.docker.client.ProgressMonitor;
 import org.eclipse.che.plugin.docker.client.connection.DockerConnectionFactory;
+import org.eclipse.che.plugin.docker.client.exception.ExecNotFoundException;
 import org.eclipse.che.plugin.docker.client.exception.ImageNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
 import org.eclipse.che.plugin.docker.client.json.ContainerCreated;
@@ -110,6 +129,7 @@ import org.eclipse.che.plugin.docker.client.json.ContainerListEntry;
 import org.eclipse.che.plugin.docker.client.json.ContainerProcesses;
 import org.eclipse.che.plugin.docker.client.json.ContainerState;
 import org.eclipse.che.plugin.docker.client.json.Event;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
 import org.eclipse.che.plugin.docker.client.json.Filters;
 import org.eclipse.che.plugin.docker.client.json.HostConfig;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
@@ -128,6 +148,7 @@ import org.eclipse.che.plugin.docker.client.params.CommitParams;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
 import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
 import org.eclipse.che.plugin.docker.client.params.GetContainerLogsParams;
+import org.eclipse.che.plugin.docker.client.params.GetExecInfoParams;
 import org.eclipse.che.plugin.docker.client.params.GetEventsParams;
 import org.eclipse.che.plugin.docker.client.params.GetResourceParams;
 import org.eclipse.che.plugin.docker.client.params.InspectImageParams;
@@ -151,6 +172,7 @@ import org.eclipse.che.plugin.openshift.client.exception.OpenShiftException;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesContainer;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesEnvVar;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesExecHolder;
+import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesExecStatistics;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesLabelConverter;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesOutputAdapter;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesService;
@@ -180,10 +202,8 @@ public class OpenShiftConnector extends DockerConnector {
   private static final int CHE_WORKSPACE_AGENT_PORT = 4401;
   private static final int CHE_TERMINAL_AGENT_PORT = 4411;
   private static final String DOCKER_PROTOCOL_PORT_DELIMITER = "/";
-  private static final int OPENSHIFT_WAIT_POD_TIMEOUT = 240;
-  private static final int OPENSHIFT_WAIT_POD_DELAY = 1000;
-  private static final int OPENSHIFT_IMAGESTREAM_WAIT_DELAY = 2000;
-  private static final int OPENSHIFT_IMAGESTREAM_MAX_WAIT_COUNT = 30;
+  private static final long OPENSHIFT_WAIT_POD_TIMEOUT = TimeUnit.SECONDS.toMillis(240);
+  private static final long OPENSHIFT_IMAGESTREAM_WAIT_TIMEOUT = TimeUnit.SECONDS.toMillis(60);
   private static final long OPENSHIFT_POD_TERMINATION_GRACE_PERIOD = 0;
 
   private static final String OPENSHIFT_POD_STATUS_RUNNING = "Running";
@@ -208,7 +228,19 @@ public class OpenShiftConnector extends DockerConnector {
   private static final String PS_COMMAND = "ps";
   private static final String TOP_REGEX_PATTERN = " +";
 
-  private Map<String, KubernetesExecHolder> execMap = new HashMap<>();
+  private static final long OPENSHIFT_EXEC_OPEN_TIMEOUT = TimeUnit.SECONDS.toMillis(30);
+  private static final long OPENSHIFT_EXEC_OUTPUT_DRAIN_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+  private static final long OPENSHIFT_EXEC_OUTPUT_POLL_PERIOD = 50;
+  private static final int OPENSHIFT_EXEC_OUTPUT_PUMP_THREADS = 32;
+
+  private final Map<String, KubernetesExecHolder> execMap = new ConcurrentHashMap<>();
+  private final Cache<String, KubernetesExecHolder> finishedExecs =
+      CacheBuilder.newBuilder().expireAfterWrite(10, TimeUnit.MINUTES).build();
+  private final KubernetesExecStatistics execStatistics = new KubernetesExecStatistics();
+  private final ExecutorService execOutputPumps;
+  // each attached exec takes two pump threads, so the execs never wait in the queue of the pool
+  private final Semaphore execOutputPumpSlots =
+      new Semaphore(OPENSHIFT_EXEC_OUTPUT_PUMP_THREADS / 2);
 
   private final String openShiftCheProjectName;
   private final int openShiftLivenessProbeDelay;
@@ -225,6 +257,9 @@ public class OpenShiftConnector extends DockerConnector {
   private final OpenShiftPvcHelper openShiftPvcHelper;
   private final OpenShiftRouteCreator openShiftRouteCreator;
   private final OpenShiftDeploymentCleaner openShiftDeploymentCleaner;
+  private final OpenShiftClientFactory clientFactory;
+  private final OpenShiftResourceCache resourceCache;
+  private final long execAttachTimeout;
 
   @Inject
   public OpenShiftConnector(
@@ -235,6 +270,8 @@ public class OpenShiftConnector extends DockerConnector {
       OpenShiftPvcHelper openShiftPvcHelper,
       OpenShiftRouteCreator openShiftRouteCreator,
       OpenShiftDeploymentCleaner openShiftDeploymentCleaner,
+      OpenShiftClientFactory clientFactory,
+      OpenShiftResourceCache resourceCache,
       EventService eventService,
       @Nullable @Named("che.docker.ip.external") String cheServerExternalAddress,
       @Named("che.openshift.project") String openShiftCheProjectName,
@@ -247,7 +284,8 @@ public class OpenShiftConnector extends DockerConnector {
       @Nullable @Named("che.openshift.workspace.memory.request") String cheWorkspaceMemoryRequest,
       @Nullable @Named("che.openshift.workspace.memory.override") String cheWorkspaceMemoryLimit,
       @Named("che.openshift.secure.routes") boolean secureRoutes,
-      @Named("che.openshift.precreate.workspace.dirs") boolean createWorkspaceDirs) {
+      @Named("che.openshift.precreate.workspace.dirs") boolean createWorkspaceDirs,
+      @Named("che.openshift.exec.attach.timeout.min") long execAttachTimeoutMin) {
 
     super(
         connectorConfiguration,
@@ -269,6 +307,16 @@ public class OpenShiftConnector extends DockerConnector {
     this.openShiftPvcHelper = openShiftPvcHelper;
     this.openShiftRouteCreator = openShiftRouteCreator;
     this.openShiftDeploymentCleaner = openShiftDeploymentCleaner;
+    this.clientFactory = clientFactory;
+    this.resourceCache = resourceCache;
+    this.execAttachTimeout = TimeUnit.MINUTES.toMillis(execAttachTimeoutMin);
+    this.execOutputPumps =
+        Executors.newFixedThreadPool(
+            OPENSHIFT_EXEC_OUTPUT_PUMP_THREADS,
+            new ThreadFactoryBuilder()
+                .setNameFormat("OpenShiftExecOutputPump-%d")
+                .setDaemon(true)
+                .build());
     eventService.subscribe(
         new EventSubscriber<ServerIdleEvent>() {
 
@@ -281,7 +329,7 @@ public class OpenShiftConnector extends DockerConnector {
 
   @Override
   public Version getVersion() throws IOException {
-    OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
     final OpenShiftClientExtension client =
         new OpenShiftClientExtension(
             openShiftClient.adapt(OkHttpClient.class),
@@ -298,58 +346,57 @@ public class OpenShiftConnector extends DockerConnector {
   }
 
   private void idleCheServer(ServerIdleEvent event) {
-    try (DefaultOpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      DeployableScalableResource<DeploymentConfig, DoneableDeploymentConfig>
-          deploymentConfigResource =
-              openShiftClient
-                  .deploymentConfigs()
-                  .inNamespace(openShiftCheProjectName)
-                  .withName(OPENSHIFT_CHE_SERVER_DEPLOYMENT_NAME);
-      DeploymentConfig deploymentConfig = deploymentConfigResource.get();
-      if (deploymentConfig == null) {
-        LOG.warn(
-            String.format("Deployment config %s not found", OPENSHIFT_CHE_SERVER_DEPLOYMENT_NAME));
-        return;
-      }
-      Integer replicas = deploymentConfig.getSpec().getReplicas();
-      if (replicas != null && replicas > 0) {
-        Resource<Endpoints, DoneableEndpoints> endpointResource =
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    DeployableScalableResource<DeploymentConfig, DoneableDeploymentConfig>
+        deploymentConfigResource =
             openShiftClient
-                .endpoints()
+                .deploymentConfigs()
                 .inNamespace(openShiftCheProjectName)
-                .withName(OPENSHIFT_CHE_SERVER_SERVICE_NAME);
-        Endpoints endpoint = endpointResource.get();
-        if (endpoint == null) {
-          LOG.warn(String.format("Endpoint %s not found", OPENSHIFT_CHE_SERVER_SERVICE_NAME));
-          return;
-        }
-        Map<String, String> annotations = deploymentConfig.getMetadata().getAnnotations();
-        if (annotations == null) {
-          annotations = new HashMap<>();
-          deploymentConfig.getMetadata().setAnnotations(annotations);
-        }
-        TimeZone tz = TimeZone.getTimeZone("UTC");
-        DateFormat df = new SimpleDateFormat(ISO_8601_DATE_FORMAT);
-        df.setTimeZone(tz);
-        String idle = df.format(new Date());
-        annotations.put(IDLING_ALPHA_OPENSHIFT_IO_IDLED_AT, idle);
-        annotations.put(IDLING_ALPHA_OPENSHIFT_IO_PREVIOUS_SCALE, "1");
-        deploymentConfig.getSpec().setReplicas(0);
-        deploymentConfigResource.patch(deploymentConfig);
-        Map<String, String> endpointAnnotations = endpoint.getMetadata().getAnnotations();
-        if (endpointAnnotations == null) {
-          endpointAnnotations = new HashMap<>();
-          endpoint.getMetadata().setAnnotations(endpointAnnotations);
-        }
-        endpointAnnotations.put(IDLING_ALPHA_OPENSHIFT_IO_IDLED_AT, idle);
-        endpointAnnotations.put(
-            IDLING_ALPHA_OPENSHIFT_IO_UNIDLE_TARGETS,
-            "[{\"kind\":\"DeploymentConfig\",\"name\":\""
-                + OPENSHIFT_CHE_SERVER_DEPLOYMENT_NAME
-                + "\",\"replicas\":1}]");
-        endpointResource.patch(endpoint);
-        LOG.info("Che server has been idled");
+                .withName(OPENSHIFT_CHE_SERVER_DEPLOYMENT_NAME);
+    DeploymentConfig deploymentConfig = deploymentConfigResource.get();
+    if (deploymentConfig == null) {
+      LOG.warn(
+          String.format("Deployment config %s not found", OPENSHIFT_CHE_SERVER_DEPLOYMENT_NAME));
+      return;
+    }
+    Integer replicas = deploymentConfig.getSpec().getReplicas();
+    if (replicas != null && replicas > 0) {
+      Resource<Endpoints, DoneableEndpoints> endpointResource =
+          openShiftClient
+              .endpoints()
+              .inNamespace(openShiftCheProjectName)
+              .withName(OPENSHIFT_CHE_SERVER_SERVICE_NAME);
+      Endpoints endpoint = endpointResource.get();
+      if (endpoint == null) {
+        LOG.warn(String.format("Endpoint %s not found", OPENSHIFT_CHE_SERVER_SERVICE_NAME));
+        return;
       }
+      Map<String, String> annotations = deploymentConfig.getMetadata().getAnnotations();
+      if (annotations == null) {
+        annotations = new HashMap<>();
+        deploymentConfig.getMetadata().setAnnotations(annotations);
+      }
+      TimeZone tz = TimeZone.getTimeZone("UTC");
+      DateFormat df = new SimpleDateFormat(ISO_8601_DATE_FORMAT);
+      df.setTimeZone(tz);
+      String idle = df.format(new Date());
+      annotations.put(IDLING_ALPHA_OPENSHIFT_IO_IDLED_AT, idle);
+      annotations.put(IDLING_ALPHA_OPENSHIFT_IO_PREVIOUS_SCALE, "1");
+      deploymentConfig.getSpec().setReplicas(0);
+      deploymentConfigResource.patch(deploymentConfig);
+      Map<String, String> endpointAnnotations = endpoint.getMetadata().getAnnotations();
+      if (endpointAnnotations == null) {
+        endpointAnnotations = new HashMap<>();
+        endpoint.getMetadata().setAnnotations(endpointAnnotations);
+      }
+      endpointAnnotations.put(IDLING_ALPHA_OPENSHIFT_IO_IDLED_AT, idle);
+      endpointAnnotations.put(
+          IDLING_ALPHA_OPENSHIFT_IO_UNIDLE_TARGETS,
+          "[{\"kind\":\"DeploymentConfig\",\"name\":\""
+              + OPENSHIFT_CHE_SERVER_DEPLOYMENT_NAME
+              + "\",\"replicas\":1}]");
+      endpointResource.patch(endpoint);
+      LOG.info("Che server has been idled");
     }
   }
 
@@ -478,17 +525,9 @@ public class OpenShiftConnector extends DockerConnector {
     String imageStreamName =
         KubernetesStringUtils.getImageStreamNameFromPullSpec(imageStreamTagPullSpec);
 
-    ImageStream imageStream;
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      imageStream =
-          openShiftClient
-              .imageStreams()
-              .inNamespace(openShiftCheProjectName)
-              .withName(imageStreamName)
-              .get();
-      if (imageStream == null) {
-        throw new OpenShiftException("ImageStream not found");
-      }
+    ImageStream imageStream = resourceCache.imageStreams().get(imageStreamName);
+    if (imageStream == null) {
+      throw new OpenShiftException("ImageStream not found");
     }
     String registryAddress = imageStream.getStatus().getDockerImageRepository().split("/")[0];
 
@@ -554,7 +593,6 @@ public class OpenShiftConnector extends DockerConnector {
     }
 
     String containerID;
-    OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
     try {
       createOpenShiftService(
           deploymentName,
@@ -585,10 +623,8 @@ public class OpenShiftConnector extends DockerConnector {
       LOG.info("Error while creating Pod, removing deployment");
       LOG.info(e.getMessage());
       openShiftDeploymentCleaner.cleanDeploymentResources(deploymentName, openShiftCheProjectName);
-      openShiftClient.resource(imageStreamTag).delete();
+      clientFactory.getOpenShiftClient().resource(imageStreamTag).delete();
       throw e;
-    } finally {
-      openShiftClient.close();
     }
 
     return new ContainerCreated(containerID, null);
@@ -605,6 +641,7 @@ public class OpenShiftConnector extends DockerConnector {
   }
 
   @Override
+  @NotTimed
   public int waitContainer(String container) throws IOException {
     // Not used in OpenShift
     return 0;
@@ -649,14 +686,11 @@ public class OpenShiftConnector extends DockerConnector {
       return null;
     }
 
-    Deployment deployment;
-    try (OpenShiftClient client = new DefaultOpenShiftClient()) {
-      deployment = client.extensions().deployments().withName(deploymentName).get();
-      if (deployment == null) {
-        LOG.warn(
-            "No deployment matching label {}={} found", OPENSHIFT_DEPLOYMENT_LABEL, deploymentName);
-        return null;
-      }
+    Deployment deployment = resourceCache.deployments().get(deploymentName);
+    if (deployment == null) {
+      LOG.warn(
+          "No deployment matching label {}={} found", OPENSHIFT_DEPLOYMENT_LABEL, deploymentName);
+      return null;
     }
 
     List<Container> deploymentContainers =
@@ -734,11 +768,12 @@ public class OpenShiftConnector extends DockerConnector {
   @Override
   public Network inspectNetwork(InspectNetworkParams params) throws IOException {
     String netId = params.getNetworkId();
-    ServiceList services;
-
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      services = openShiftClient.services().inNamespace(this.openShiftCheProjectName).list();
-    }
+    ServiceList services =
+        clientFactory
+            .getOpenShiftClient()
+            .services()
+            .inNamespace(this.openShiftCheProjectName)
+            .list();
 
     Map<String, ContainerInNetwork> containers = new HashMap<>();
     for (Service svc : services.getItems()) {
@@ -747,17 +782,10 @@ public class OpenShiftConnector extends DockerConnector {
         continue;
       }
 
-      PodList pods;
-      try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-        pods =
-            openShiftClient
-                .pods()
-                .inNamespace(openShiftCheProjectName)
-                .withLabel(OPENSHIFT_DEPLOYMENT_LABEL, selector)
-                .list();
-      }
+      List<Pod> pods =
+          resourceCache.pods().list(pod -> hasLabel(pod, OPENSHIFT_DEPLOYMENT_LABEL, selector));
 
-      for (Pod pod : pods.getItems()) {
+      for (Pod pod : pods) {
         String podName = pod.getMetadata().getName();
         ContainerInNetwork container =
             new ContainerInNetwork()
@@ -824,6 +852,7 @@ public class OpenShiftConnector extends DockerConnector {
    * @see DockerConnector#pull(PullParams, ProgressMonitor)
    */
   @Override
+  @NotTimed
   public void pull(final PullParams params, final ProgressMonitor progressMonitor)
       throws IOException {
 
@@ -831,20 +860,12 @@ public class OpenShiftConnector extends DockerConnector {
     String tag = params.getTag(); // e.g. latest, usually
 
     String imageStreamName = KubernetesStringUtils.convertPullSpecToImageStreamName(repo);
-    ImageStream existingImageStream;
-
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      existingImageStream =
-          openShiftClient
-              .imageStreams()
-              .inNamespace(openShiftCheProjectName)
-              .withName(imageStreamName)
-              .get();
-    }
+    ImageStream existingImageStream = resourceCache.imageStreams().get(imageStreamName);
 
     if (existingImageStream == null) {
-      try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-        openShiftClient
+      try {
+        clientFactory
+            .getOpenShiftClient()
             .imageStreams()
             .inNamespace(openShiftCheProjectName)
             .createNew()
@@ -861,32 +882,28 @@ public class OpenShiftConnector extends DockerConnector {
             .withDockerImageRepository("")
             .endStatus()
             .done();
+      } catch (KubernetesClientException e) {
+        // image stream may be created by a concurrent pull which is not seen by the cache yet
+        if (e.getCode() != HTTP_CONFLICT) {
+          throw e;
+        }
       }
     }
 
     // Wait for Image metadata to be obtained.
-    ImageStream createdImageStream;
-    for (int waitCount = 0; waitCount < OPENSHIFT_IMAGESTREAM_MAX_WAIT_COUNT; waitCount++) {
-      try {
-        Thread.sleep(OPENSHIFT_IMAGESTREAM_WAIT_DELAY);
-      } catch (InterruptedException e) {
-        Thread.currentThread().interrupt();
-      }
-
-      try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-        createdImageStream =
-            openShiftClient
+    ImageStream createdImageStream =
+        waitFor(
+            resourceCache
                 .imageStreams()
-                .inNamespace(openShiftCheProjectName)
-                .withName(imageStreamName)
-                .get();
-      }
-
-      if (createdImageStream != null
-          && createdImageStream.getStatus().getDockerImageRepository() != null) {
-        LOG.info(String.format("Created ImageStream %s.", imageStreamName));
-        return;
-      }
+                .await(
+                    imageStreamName,
+                    imageStream ->
+                        imageStream.getStatus() != null
+                            && imageStream.getStatus().getDockerImageRepository() != null),
+            OPENSHIFT_IMAGESTREAM_WAIT_TIMEOUT);
+    if (createdImageStream != null) {
+      LOG.info(String.format("Created ImageStream %s.", imageStreamName));
+      return;
     }
 
     throw new OpenShiftException(
@@ -954,12 +971,11 @@ public class OpenShiftConnector extends DockerConnector {
 
   @Override
   public void removeImage(final RemoveImageParams params) throws IOException {
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      String image = KubernetesStringUtils.getImageStreamNameFromPullSpec(params.getImage());
-      String imageStreamTagName = KubernetesStringUtils.convertPullSpecToTagName(image);
-      ImageStreamTag imageStreamTag = getImageStreamTagFromRepo(imageStreamTagName);
-      openShiftClient.resource(imageStreamTag).delete();
-    }
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    String image = KubernetesStringUtils.getImageStreamNameFromPullSpec(params.getImage());
+    String imageStreamTagName = KubernetesStringUtils.convertPullSpecToTagName(image);
+    ImageStreamTag imageStreamTag = getImageStreamTagFromRepo(imageStreamTagName);
+    openShiftClient.resource(imageStreamTag).delete();
   }
 
   /**
@@ -991,6 +1007,7 @@ public class OpenShiftConnector extends DockerConnector {
   }
 
   @Override
+  @NotTimed
   public void getEvents(final GetEventsParams params, MessageProcessor<Event> messageProcessor) {
     CountDownLatch waitForClose = new CountDownLatch(1);
     Watcher<io.fabric8.kubernetes.api.model.Event> eventWatcher =
@@ -1010,19 +1027,19 @@ public class OpenShiftConnector extends DockerConnector {
             waitForClose.countDown();
           }
         };
-    OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
-    openShiftClient.events().inNamespace(openShiftCheProjectName).watch(eventWatcher);
-    try {
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    // watch is closed when the caller stops waiting, otherwise its connection is leaked
+    try (Watch watch =
+        openShiftClient.events().inNamespace(openShiftCheProjectName).watch(eventWatcher)) {
       waitForClose.await();
     } catch (InterruptedException e) {
       LOG.error("Thread interrupted while waiting for eventWatcher.");
       Thread.currentThread().interrupt();
-    } finally {
-      openShiftClient.close();
     }
   }
 
   @Override
+  @NotTimed
   public void getContainerLogs(
       final GetContainerLogsParams params, MessageProcessor<LogMessage> containerLogsProcessor)
       throws IOException {
@@ -1032,7 +1049,7 @@ public class OpenShiftConnector extends DockerConnector {
       String podName = pod.getMetadata().getName();
       boolean[] ret = new boolean[1];
       ret[0] = false;
-      OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
+      OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
       try (LogWatch watchLog =
           openShiftClient
               .pods()
@@ -1071,8 +1088,6 @@ public class OpenShiftConnector extends DockerConnector {
       } catch (IOException e) {
         // The kubernetes client throws an exception (Pipe not connected) when pod doesn't contain any logs.
         // We can ignore it.
-      } finally {
-        openShiftClient.close();
       }
     }
   }
@@ -1094,7 +1109,7 @@ public class OpenShiftConnector extends DockerConnector {
       command[0] = PS_COMMAND;
     }
     ContainerProcesses processes = new ContainerProcesses();
-    OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
     try (ExecWatch watch =
         openShiftClient
             .pods()
@@ -1147,37 +1162,129 @@ public class OpenShiftConnector extends DockerConnector {
 
     String execId = KubernetesStringUtils.generateWorkspaceID();
     KubernetesExecHolder execHolder =
-        new KubernetesExecHolder().withCommand(command).withPod(podName);
+        new KubernetesExecHolder()
+            .withCommand(command)
+            .withPod(podName)
+            .withDetach(params.isDetach() == Boolean.TRUE);
     execMap.put(execId, execHolder);
 
     return new Exec(command, execId);
   }
 
   @Override
+  @NotTimed
   public void startExec(
       final StartExecParams params, @Nullable MessageProcessor<LogMessage> execOutputProcessor)
       throws IOException {
     String execId = params.getExecId();
 
     KubernetesExecHolder exec = execMap.get(execId);
+    if (exec == null) {
+      throw new ExecNotFoundException(String.format("No such exec instance: %s", execId));
+    }
 
     String podName = exec.getPod();
-    String[] command = exec.getCommand();
+    String[] command = exec.getCommand().clone();
     for (int i = 0; i < command.length; i++) {
       command[i] = URLEncoder.encode(command[i], "UTF-8");
     }
 
-    ExecutorService executor = Executors.newFixedThreadPool(2);
-    OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
-    try (ExecWatch watch =
-            openShiftClient
-                .pods()
-                .inNamespace(openShiftCheProjectName)
-                .withName(podName)
-                .redirectingOutput()
-                .redirectingError()
-                .exec(command);
-        InputStreamPumper outputPump =
+    long startTime = System.currentTimeMillis();
+    CompletableFuture<Boolean> opened = new CompletableFuture<>();
+    CompletableFuture<Integer> closed = new CompletableFuture<>();
+    ExecListener listener =
+        new ExecListener() {
+          @Override
+          public void onOpen(Response response) {
+            opened.complete(true);
+          }
+
+          @Override
+          public void onFailure(Throwable t, Response response) {
+            opened.completeExceptionally(t);
+            closed.completeExceptionally(t);
+          }
+
+          @Override
+          public void onClose(int code, String reason) {
+            opened.complete(true);
+            closed.complete(code);
+          }
+        };
+    closed.whenComplete(
+        (code, error) -> {
+          exec.finished();
+          execMap.remove(execId);
+          finishedExecs.put(execId, exec);
+        });
+
+    exec.started();
+    ExecWatch watch;
+    try {
+      watch = openExecWatch(podName, command, exec.isDetach(), listener);
+    } catch (KubernetesClientException e) {
+      closed.completeExceptionally(e);
+      execStatistics.record(System.currentTimeMillis() - startTime, false);
+      throw new OpenShiftException(e.getMessage());
+    }
+
+    if (exec.isDetach()) {
+      // the exec is kept open until the command is finished, but there is no need to wait for it
+      closed.whenComplete((code, error) -> watch.close());
+      boolean success = false;
+      try {
+        if (waitFor(opened, OPENSHIFT_EXEC_OPEN_TIMEOUT) == null) {
+          throw new OpenShiftException(
+              String.format("Timeout while waiting for exec to start in pod %s", podName));
+        }
+        success = true;
+      } finally {
+        if (!success) {
+          watch.close();
+        }
+        execStatistics.record(System.currentTimeMillis() - startTime, success);
+      }
+      return;
+    }
+
+    boolean success = false;
+    try (ExecWatch ignored = watch) {
+      if (!execOutputPumps.isShutdown() && execOutputPumpSlots.tryAcquire()) {
+        try {
+          pumpExecOutput(watch, execOutputProcessor, closed, podName);
+        } finally {
+          execOutputPumpSlots.release();
+        }
+      } else {
+        LOG.debug("All exec output pumps are busy, exec {} output is pumped by caller", execId);
+        pumpExecOutputInline(
+            watch.getOutput(),
+            new KubernetesOutputAdapter(LogMessage.Type.STDOUT, execOutputProcessor),
+            watch.getError(),
+            new KubernetesOutputAdapter(LogMessage.Type.STDERR, execOutputProcessor),
+            closed,
+            execAttachTimeout);
+        if (waitFor(closed, 0) == null) {
+          throw new OpenShiftException(
+              String.format("Timeout while waiting for exec to finish in pod %s", podName));
+        }
+      }
+      success = true;
+    } finally {
+      long latency = System.currentTimeMillis() - startTime;
+      execStatistics.record(latency, success);
+      LOG.debug("Exec {} in pod {} finished in {}ms", execId, podName, latency);
+    }
+  }
+
+  /** Pumps output of the attached exec by the shared pump threads until the exec is closed. */
+  private void pumpExecOutput(
+      ExecWatch watch,
+      MessageProcessor<LogMessage> execOutputProcessor,
+      CompletableFuture<Integer> closed,
+      String podName)
+      throws IOException {
+    try (InputStreamPumper outputPump =
             new InputStreamPumper(
                 watch.getOutput(),
                 new KubernetesOutputAdapter(LogMessage.Type.STDOUT, execOutputProcessor));
@@ -1185,35 +1292,185 @@ public class OpenShiftConnector extends DockerConnector {
             new InputStreamPumper(
                 watch.getError(),
                 new KubernetesOutputAdapter(LogMessage.Type.STDERR, execOutputProcessor))) {
-      Future<?> outFuture = executor.submit(outputPump);
-      Future<?> errFuture = executor.submit(errorPump);
-      // Short-term worksaround; the Futures above seem to never finish.
-      Thread.sleep(2500);
-    } catch (KubernetesClientException e) {
-      throw new OpenShiftException(e.getMessage());
+      Future<?> outFuture = execOutputPumps.submit(outputPump);
+      Future<?> errFuture = execOutputPumps.submit(errorPump);
+      try {
+        if (waitFor(closed, execAttachTimeout) == null) {
+          throw new OpenShiftException(
+              String.format("Timeout while waiting for exec to finish in pod %s", podName));
+        }
+        // streams are closed with the exec, so the pumps only need to consume the rest of output
+        drainExecOutput(outFuture);
+        drainExecOutput(errFuture);
+      } finally {
+        outFuture.cancel(true);
+        errFuture.cancel(true);
+      }
+    }
+  }
+
+  @Override
+  public ExecInfo getExecInfo(final GetExecInfoParams params) throws IOException {
+    String execId = params.getExecId();
+    KubernetesExecHolder exec = execMap.get(execId);
+    if (exec == null) {
+      exec = finishedExecs.getIfPresent(execId);
+    }
+    if (exec == null) {
+      throw new ExecNotFoundException(String.format("No such exec instance: %s", execId));
+    }
+    return exec.toExecInfo(execId);
+  }
+
+  /**
+   * Opens the websocket of the exec in the given pod. The output of detached execs is discarded,
+   * the output of attached execs is available from the returned watch.
+   */
+  @VisibleForTesting
+  ExecWatch openExecWatch(String podName, String[] command, boolean detach, ExecListener listener) {
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    if (detach) {
+      return openShiftClient
+          .pods()
+          .inNamespace(openShiftCheProjectName)
+          .withName(podName)
+          .writingOutput(ByteStreams.nullOutputStream())
+          .writingError(ByteStreams.nullOutputStream())
+          .usingListener(listener)
+          .exec(command);
+    }
+    return openShiftClient
+        .pods()
+        .inNamespace(openShiftCheProjectName)
+        .withName(podName)
+        .redirectingOutput()
+        .redirectingError()
+        .usingListener(listener)
+        .exec(command);
+  }
+
+  /** Returns latency statistics of the execs run by this connector. */
+  public KubernetesExecStatistics getExecStatistics() {
+    return execStatistics;
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.register(
+        writer ->
+            writer
+                .counter(
+                    "che_openshift_execs_total",
+                    "Execs run in the workspace pods",
+                    execStatistics.getCount())
+                .counter(
+                    "che_openshift_execs_failed_total",
+                    "Execs run in the workspace pods which failed",
+                    execStatistics.getFailedCount())
+                .counter(
+                    "che_openshift_exec_seconds_total",
+                    "Total latency of the execs run in the workspace pods",
+                    execStatistics.getTotalTime() / 1e3)
+                .gauge(
+                    "che_openshift_exec_seconds_max",
+                    "The highest latency of the execs run in the workspace pods",
+                    execStatistics.getMaxTime() / 1e3));
+  }
+
+  /** Stops the pumps of exec output which are still running. */
+  @PreDestroy
+  public void shutdownExecOutputPumps() {
+    execOutputPumps.shutdownNow();
+  }
+
+  /**
+   * Pumps output of the attached exec by the calling thread, used when all the shared pump threads
+   * are busy or the pool is shut down. Both streams are polled by the single thread, so neither of
+   * them can block the exec by a full buffer. Pumping stops when the exec is closed or when the
+   * given timeout expires, completion of the exec is not consumed.
+   */
+  @VisibleForTesting
+  static void pumpExecOutputInline(
+      InputStream output,
+      Callback<byte[]> outputCallback,
+      InputStream error,
+      Callback<byte[]> errorCallback,
+      CompletableFuture<?> closed,
+      long timeoutMillis)
+      throws OpenShiftException {
+    long deadline = System.currentTimeMillis() + timeoutMillis;
+    byte[] buffer = new byte[8192];
+    try {
+      while (true) {
+        boolean pumped =
+            pumpAvailable(output, outputCallback, buffer)
+                | pumpAvailable(error, errorCallback, buffer);
+        if (!pumped && closed.isDone()) {
+          return;
+        }
+        long timeLeft = deadline - System.currentTimeMillis();
+        if (timeLeft <= 0 && !closed.isDone()) {
+          return;
+        }
+        if (!pumped) {
+          try {
+            closed.get(
+                Math.min(timeLeft, OPENSHIFT_EXEC_OUTPUT_POLL_PERIOD), TimeUnit.MILLISECONDS);
+          } catch (TimeoutException | ExecutionException ignored) {
+            // exec is still running or its failure is reported by the caller
+          }
+        }
+      }
+    } catch (IOException e) {
+      LOG.warn("Failed to read exec output: {}", e.getMessage());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new OpenShiftException("Thread interrupted while reading exec output", e);
+    }
+  }
+
+  private static boolean pumpAvailable(InputStream in, Callback<byte[]> callback, byte[] buffer)
+      throws IOException {
+    int available = in.available();
+    if (available <= 0) {
+      return false;
+    }
+    int length = in.read(buffer, 0, Math.min(available, buffer.length));
+    if (length <= 0) {
+      return false;
+    }
+    callback.call(Arrays.copyOf(buffer, length));
+    return true;
+  }
+
+  private static void drainExecOutput(Future<?> pump) throws OpenShiftException {
+    try {
+      pump.get(OPENSHIFT_EXEC_OUTPUT_DRAIN_TIMEOUT, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOG.warn("Timeout while waiting for the rest of exec output");
+    } catch (ExecutionException e) {
+      LOG.warn("Failed to read exec output: {}", e.getCause().getMessage());
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
+      throw new OpenShiftException("Thread interrupted while reading exec output", e);
     } finally {
-      execMap.remove(execId);
-      executor.shutdown();
-      openShiftClient.close();
+      pump.cancel(true);
     }
   }
 
   @Override
   public SystemInfo getSystemInfo() throws IOException {
-    OpenShiftClient openShiftClient = new DefaultOpenShiftClient();
-    PodList chePods = openShiftClient.pods().inNamespace(this.openShiftCheProjectName).list();
-    if (chePods.getItems().size() > 0) {
-      Pod pod = chePods.getItems().get(0);
-      Node node = openShiftClient.nodes().withName(pod.getSpec().getNodeName()).get();
+    List<Pod> chePods = resourceCache.pods().list(pod -> true);
+    if (chePods.size() > 0) {
+      Pod pod = chePods.get(0);
+      Node node =
+          clientFactory.getOpenShiftClient().nodes().withName(pod.getSpec().getNodeName()).get();
       NodeSystemInfo nodeInfo = node.getStatus().getNodeInfo();
       SystemInfo systemInfo = new SystemInfo();
       systemInfo.setKernelVersion(nodeInfo.getKernelVersion());
       systemInfo.setOperatingSystem(nodeInfo.getOperatingSystem());
       systemInfo.setID(node.getMetadata().getUid());
-      int containers =
-          openShiftClient.pods().inNamespace(this.openShiftCheProjectName).list().getItems().size();
+      int containers = chePods.size();
       int images = node.getStatus().getImages().size();
       systemInfo.setContainers(containers);
       systemInfo.setImages(images);
@@ -1248,11 +1505,13 @@ public class OpenShiftConnector extends DockerConnector {
 
     // Note: ideally, ImageStreamTags could be identified with a label, but it seems like
     // ImageStreamTags do not support labels.
-    List<ImageStreamTag> imageStreams;
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      imageStreams =
-          openShiftClient.imageStreamTags().inNamespace(openShiftCheProjectName).list().getItems();
-    }
+    List<ImageStreamTag> imageStreams =
+        clientFactory
+            .getOpenShiftClient()
+            .imageStreamTags()
+            .inNamespace(openShiftCheProjectName)
+            .list()
+            .getItems();
 
     // We only get ImageStreamTag names here, since these ImageStreamTags do not include
     // Docker metadata, for some reason.
@@ -1278,79 +1537,84 @@ public class OpenShiftConnector extends DockerConnector {
   }
 
   private ImageStreamTag getImageStreamTag(final String imageStreamName) {
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      return openShiftClient
-          .imageStreamTags()
-          .inNamespace(openShiftCheProjectName)
-          .withName(imageStreamName)
-          .get();
-    }
+    return clientFactory
+        .getOpenShiftClient()
+        .imageStreamTags()
+        .inNamespace(openShiftCheProjectName)
+        .withName(imageStreamName)
+        .get();
   }
 
   private Service getCheServiceBySelector(String selectorKey, String selectorValue) {
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      ServiceList svcs =
-          openShiftClient.services().inNamespace(this.openShiftCheProjectName).list();
-
-      Service svc =
-          svcs.getItems()
-              .stream()
-              .filter(s -> s.getSpec().getSelector().containsKey(selectorKey))
-              .filter(s -> s.getSpec().getSelector().get(selectorKey).equals(selectorValue))
-              .findAny()
-              .orElse(null);
+    ServiceList svcs =
+        clientFactory
+            .getOpenShiftClient()
+            .services()
+            .inNamespace(this.openShiftCheProjectName)
+            .list();
+
+    Service svc =
+        svcs.getItems()
+            .stream()
+            .filter(s -> s.getSpec().getSelector().containsKey(selectorKey))
+            .filter(s -> s.getSpec().getSelector().get(selectorKey).equals(selectorValue))
+            .findAny()
+            .orElse(null);
 
-      if (svc == null) {
-        LOG.warn("No Service with selector {}={} could be found", selectorKey, selectorValue);
-      }
-      return svc;
+    if (svc == null) {
+      LOG.warn("No Service with selector {}={} could be found", selectorKey, selectorValue);
     }
+    return svc;
   }
 
   private Pod getChePodByContainerId(String containerId) throws IOException {
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      PodList pods =
-          openShiftClient
+    String containerIdLabel = KubernetesStringUtils.getLabelFromContainerID(containerId);
+    List<Pod> items =
+        resourceCache
+            .pods()
+            .list(pod -> hasLabel(pod, CHE_CONTAINER_IDENTIFIER_LABEL_KEY, containerIdLabel));
+    if (items.isEmpty()) {
+      // the pod might be already labeled while the watch event is not delivered yet
+      items =
+          clientFactory
+              .getOpenShiftClient()
               .pods()
               .inNamespace(this.openShiftCheProjectName)
-              .withLabel(
-                  CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
-                  KubernetesStringUtils.getLabelFromContainerID(containerId))
-              .list();
-
-      List<Pod> items = pods.getItems();
-
-      if (items.isEmpty()) {
-        LOG.error(
-            "An OpenShift Pod with label {}={} could not be found",
-            CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
-            containerId);
-        throw new IOException(
-            "An OpenShift Pod with label "
-                + CHE_CONTAINER_IDENTIFIER_LABEL_KEY
-                + "="
-                + containerId
-                + " could not be found");
-      }
+              .withLabel(CHE_CONTAINER_IDENTIFIER_LABEL_KEY, containerIdLabel)
+              .list()
+              .getItems();
+    }
 
-      if (items.size() > 1) {
-        LOG.error(
-            "There are {} pod with label {}={} (just one was expected)",
-            items.size(),
-            CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
-            containerId);
-        throw new IOException(
-            "There are "
-                + items.size()
-                + " pod with label "
-                + CHE_CONTAINER_IDENTIFIER_LABEL_KEY
-                + "="
-                + containerId
-                + " (just one was expeced)");
-      }
+    if (items.isEmpty()) {
+      LOG.error(
+          "An OpenShift Pod with label {}={} could not be found",
+          CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
+          containerId);
+      throw new IOException(
+          "An OpenShift Pod with label "
+              + CHE_CONTAINER_IDENTIFIER_LABEL_KEY
+              + "="
+              + containerId
+              + " could not be found");
+    }
 
-      return items.get(0);
+    if (items.size() > 1) {
+      LOG.error(
+          "There are {} pod with label {}={} (just one was expected)",
+          items.size(),
+          CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
+          containerId);
+      throw new IOException(
+          "There are "
+              + items.size()
+              + " pod with label "
+              + CHE_CONTAINER_IDENTIFIER_LABEL_KEY
+              + "="
+              + containerId
+              + " (just one was expeced)");
     }
+
+    return items.get(0);
   }
 
   /**
@@ -1418,27 +1682,26 @@ public class OpenShiftConnector extends DockerConnector {
         Collections.singletonMap(OPENSHIFT_DEPLOYMENT_LABEL, deploymentName);
     List<ServicePort> ports = KubernetesService.getServicePortsFrom(exposedPorts, portsToRefName);
 
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      Service service =
-          openShiftClient
-              .services()
-              .inNamespace(this.openShiftCheProjectName)
-              .createNew()
-              .withNewMetadata()
-              .withName(serviceName)
-              .withAnnotations(KubernetesLabelConverter.labelsToNames(additionalLabels))
-              .endMetadata()
-              .withNewSpec()
-              .withSelector(selector)
-              .withPorts(ports)
-              .endSpec()
-              .done();
-
-      LOG.info("OpenShift service {} created", service.getMetadata().getName());
-
-      for (ServicePort port : ports) {
-        createOpenShiftRoute(serviceName, deploymentName, port.getName());
-      }
+    Service service =
+        clientFactory
+            .getOpenShiftClient()
+            .services()
+            .inNamespace(this.openShiftCheProjectName)
+            .createNew()
+            .withNewMetadata()
+            .withName(serviceName)
+            .withAnnotations(KubernetesLabelConverter.labelsToNames(additionalLabels))
+            .endMetadata()
+            .withNewSpec()
+            .withSelector(selector)
+            .withPorts(ports)
+            .endSpec()
+            .done();
+
+    LOG.info("OpenShift service {} created", service.getMetadata().getName());
+
+    for (ServicePort port : ports) {
+      createOpenShiftRoute(serviceName, deploymentName, port.getName());
     }
   }
 
@@ -1523,14 +1786,14 @@ public class OpenShiftConnector extends DockerConnector {
             .endSpec()
             .build();
 
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      deployment =
-          openShiftClient
-              .extensions()
-              .deployments()
-              .inNamespace(this.openShiftCheProjectName)
-              .create(deployment);
-    }
+    deployment =
+        clientFactory
+            .getOpenShiftClient()
+            .extensions()
+            .deployments()
+            .inNamespace(this.openShiftCheProjectName)
+            .create(deployment);
+    resourceCache.deployments().update(deployment);
 
     LOG.info("OpenShift deployment {} created", deploymentName);
   }
@@ -1547,45 +1810,84 @@ public class OpenShiftConnector extends DockerConnector {
   private ImageStreamTag createImageStreamTag(String sourceImageWithTag, String imageStreamTagName)
       throws IOException {
 
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      openShiftClient
-          .imageStreamTags()
-          .inNamespace(openShiftCheProjectName)
-          .createOrReplaceWithNew()
-          .withNewMetadata()
-          .withName(imageStreamTagName)
-          .endMetadata()
-          .withNewTag()
-          .withNewFrom()
-          .withKind("DockerImage")
-          .withName(sourceImageWithTag)
-          .endFrom()
-          .endTag()
-          .done();
-
-      // Wait for image metadata to be pulled
-      for (int waitCount = 0; waitCount < OPENSHIFT_IMAGESTREAM_MAX_WAIT_COUNT; waitCount++) {
-        Thread.sleep(OPENSHIFT_IMAGESTREAM_WAIT_DELAY);
-        ImageStreamTag createdTag =
-            openShiftClient
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    openShiftClient
+        .imageStreamTags()
+        .inNamespace(openShiftCheProjectName)
+        .createOrReplaceWithNew()
+        .withNewMetadata()
+        .withName(imageStreamTagName)
+        .endMetadata()
+        .withNewTag()
+        .withNewFrom()
+        .withKind("DockerImage")
+        .withName(sourceImageWithTag)
+        .endFrom()
+        .endTag()
+        .done();
+
+    // Wait for image metadata to be pulled, the tag is available once the image stream has an image
+    // for it in the status
+    String[] streamAndTag = imageStreamTagName.split(":", 2);
+    ImageStream imageStream =
+        waitFor(
+            resourceCache
+                .imageStreams()
+                .await(
+                    streamAndTag[0],
+                    stream -> streamAndTag.length > 1 && hasTagImage(stream, streamAndTag[1])),
+            OPENSHIFT_IMAGESTREAM_WAIT_TIMEOUT);
+    ImageStreamTag createdTag =
+        imageStream == null
+            ? null
+            : openShiftClient
                 .imageStreamTags()
                 .inNamespace(openShiftCheProjectName)
                 .withName(imageStreamTagName)
                 .get();
-        if (createdTag != null) {
-          LOG.info(
-              String.format(
-                  "Created ImageStreamTag %s in namespace %s",
-                  createdTag.getMetadata().getName(), openShiftCheProjectName));
-          return createdTag;
-        }
-      }
-
+    if (createdTag == null) {
       throw new ImageNotFoundException(String.format("Image %s not found.", sourceImageWithTag));
+    }
+    LOG.info(
+        String.format(
+            "Created ImageStreamTag %s in namespace %s",
+            createdTag.getMetadata().getName(), openShiftCheProjectName));
+    return createdTag;
+  }
 
+  private static boolean hasTagImage(ImageStream imageStream, String tag) {
+    if (imageStream.getStatus() == null || imageStream.getStatus().getTags() == null) {
+      return false;
+    }
+    return imageStream
+        .getStatus()
+        .getTags()
+        .stream()
+        .anyMatch(
+            tagEvents ->
+                tag.equals(tagEvents.getTag())
+                    && tagEvents.getItems() != null
+                    && !tagEvents.getItems().isEmpty());
+  }
+
+  /**
+   * Waits for the future completed by the watch events of the resource cache.
+   *
+   * @return result of the future or {@code null} if it is not completed in time
+   */
+  private static <T> T waitFor(CompletableFuture<T> future, long timeoutMillis)
+      throws OpenShiftException {
+    try {
+      return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      return null;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
-      throw new IOException(e.getLocalizedMessage(), e);
+      throw new OpenShiftException("Thread interrupted while waiting for OpenShift resources", e);
+    } catch (ExecutionException e) {
+      throw new OpenShiftException(e.getCause().getMessage(), e.getCause());
+    } finally {
+      future.cancel(false);
     }
   }
 
@@ -1697,14 +1999,13 @@ public class OpenShiftConnector extends DockerConnector {
     String workspaceSubpath = getWorkspaceSubpath(volumes);
     if (pvc != null && !isNullOrEmpty(workspaceSubpath)) {
       LOG.info("Making sure directory exists for workspace {}", workspaceSubpath);
-      boolean succeeded =
-          openShiftPvcHelper.createJobPod(
+      Map<String, Boolean> results =
+          openShiftPvcHelper.executeCommand(
               workspacesPersistentVolumeClaim,
               openShiftCheProjectName,
-              "create-",
               OpenShiftPvcHelper.Command.MAKE,
               workspaceSubpath);
-      if (!succeeded) {
+      if (!results.getOrDefault(workspaceSubpath, false)) {
         LOG.error(
             "Failed to create workspace directory {} in PVC {}",
             workspaceSubpath,
@@ -1795,85 +2096,84 @@ public class OpenShiftConnector extends DockerConnector {
   }
 
   private PersistentVolumeClaim getClaimCheWorkspace() {
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      PersistentVolumeClaimList pvcList =
-          openShiftClient.persistentVolumeClaims().inNamespace(openShiftCheProjectName).list();
-      for (PersistentVolumeClaim pvc : pvcList.getItems()) {
-        if (workspacesPersistentVolumeClaim.equals(pvc.getMetadata().getName())) {
-          return pvc;
-        }
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    PersistentVolumeClaimList pvcList =
+        openShiftClient.persistentVolumeClaims().inNamespace(openShiftCheProjectName).list();
+    for (PersistentVolumeClaim pvc : pvcList.getItems()) {
+      if (workspacesPersistentVolumeClaim.equals(pvc.getMetadata().getName())) {
+        return pvc;
       }
-      Map<String, Quantity> requests = new HashMap<>();
-      requests.put("storage", new Quantity(workspacesPvcQuantity));
-      Map<String, String> annotations =
-          Collections.singletonMap(
-              OPENSHIFT_VOLUME_STORAGE_CLASS, OPENSHIFT_VOLUME_STORAGE_CLASS_NAME);
-      PersistentVolumeClaim pvc =
-          new PersistentVolumeClaimBuilder()
-              .withNewMetadata()
-              .withName(workspacesPersistentVolumeClaim)
-              .withAnnotations(annotations)
-              .endMetadata()
-              .withNewSpec()
-              .withAccessModes("ReadWriteOnce")
-              .withNewResources()
-              .withRequests(requests)
-              .endResources()
-              .endSpec()
-              .build();
-      pvc =
-          openShiftClient.persistentVolumeClaims().inNamespace(openShiftCheProjectName).create(pvc);
-      LOG.info("Creating OpenShift PVC {}", pvc.getMetadata().getName());
-      return pvc;
     }
+    Map<String, Quantity> requests = new HashMap<>();
+    requests.put("storage", new Quantity(workspacesPvcQuantity));
+    Map<String, String> annotations =
+        Collections.singletonMap(
+            OPENSHIFT_VOLUME_STORAGE_CLASS, OPENSHIFT_VOLUME_STORAGE_CLASS_NAME);
+    PersistentVolumeClaim pvc =
+        new PersistentVolumeClaimBuilder()
+            .withNewMetadata()
+            .withName(workspacesPersistentVolumeClaim)
+            .withAnnotations(annotations)
+            .endMetadata()
+            .withNewSpec()
+            .withAccessModes("ReadWriteOnce")
+            .withNewResources()
+            .withRequests(requests)
+            .endResources()
+            .endSpec()
+            .build();
+    pvc =
+        openShiftClient.persistentVolumeClaims().inNamespace(openShiftCheProjectName).create(pvc);
+    LOG.info("Creating OpenShift PVC {}", pvc.getMetadata().getName());
+    return pvc;
   }
 
   private String waitAndRetrieveContainerID(String deploymentName) throws IOException {
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      for (int i = 0; i < OPENSHIFT_WAIT_POD_TIMEOUT; i++) {
-        try {
-          Thread.sleep(OPENSHIFT_WAIT_POD_DELAY);
-        } catch (InterruptedException ex) {
-          Thread.currentThread().interrupt();
-        }
-
-        List<Pod> pods =
-            openShiftClient
+    Pod pod =
+        waitFor(
+            resourceCache
                 .pods()
-                .inNamespace(this.openShiftCheProjectName)
-                .withLabel(OPENSHIFT_DEPLOYMENT_LABEL, deploymentName)
-                .list()
-                .getItems();
-
-        if (pods.size() < 1) {
-          throw new OpenShiftException(
-              String.format("Pod with deployment name %s not found", deploymentName));
-        } else if (pods.size() > 1) {
-          throw new OpenShiftException(
-              String.format("Multiple pods with deployment name %s found", deploymentName));
-        }
-
-        Pod pod = pods.get(0);
-        String status = pod.getStatus().getPhase();
-        if (OPENSHIFT_POD_STATUS_RUNNING.equals(status)) {
-          String containerID = pod.getStatus().getContainerStatuses().get(0).getContainerID();
-          String normalizedID = KubernetesStringUtils.normalizeContainerID(containerID);
-          openShiftClient
-              .pods()
-              .inNamespace(openShiftCheProjectName)
-              .withName(pod.getMetadata().getName())
-              .edit()
-              .editMetadata()
-              .addToLabels(
-                  CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
-                  KubernetesStringUtils.getLabelFromContainerID(normalizedID))
-              .endMetadata()
-              .done();
-          return normalizedID;
-        }
-      }
+                .await(
+                    pods -> {
+                      List<Pod> deploymentPods =
+                          pods.stream()
+                              .filter(p -> hasLabel(p, OPENSHIFT_DEPLOYMENT_LABEL, deploymentName))
+                              .collect(Collectors.toList());
+                      if (deploymentPods.size() > 1) {
+                        throw new IllegalStateException(
+                            String.format(
+                                "Multiple pods with deployment name %s found", deploymentName));
+                      }
+                      return deploymentPods
+                          .stream()
+                          .filter(
+                              p -> OPENSHIFT_POD_STATUS_RUNNING.equals(p.getStatus().getPhase()))
+                          .findAny()
+                          .orElse(null);
+                    }),
+            OPENSHIFT_WAIT_POD_TIMEOUT);
+    if (pod == null) {
       return null;
     }
+
+    String containerID = pod.getStatus().getContainerStatuses().get(0).getContainerID();
+    String normalizedID = KubernetesStringUtils.normalizeContainerID(containerID);
+    Pod labeled =
+        clientFactory
+            .getOpenShiftClient()
+            .pods()
+            .inNamespace(openShiftCheProjectName)
+            .withName(pod.getMetadata().getName())
+            .edit()
+            .editMetadata()
+            .addToLabels(
+                CHE_CONTAINER_IDENTIFIER_LABEL_KEY,
+                KubernetesStringUtils.getLabelFromContainerID(normalizedID))
+            .endMetadata()
+            .done();
+    // make the label visible to the following lookups by container id right away
+    resourceCache.pods().update(labeled);
+    return normalizedID;
   }
 
   /**
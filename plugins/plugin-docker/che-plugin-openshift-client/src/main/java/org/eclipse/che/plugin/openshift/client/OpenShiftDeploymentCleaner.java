@@ -10,15 +10,21 @@
  */
 package org.eclipse.che.plugin.openshift.client;
 
-import io.fabric8.kubernetes.api.model.Pod;
+import static org.eclipse.che.plugin.openshift.client.OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL;
+import static org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesResourceUtil.hasLabel;
+
 import io.fabric8.kubernetes.api.model.Service;
 import io.fabric8.kubernetes.api.model.extensions.Deployment;
 import io.fabric8.kubernetes.api.model.extensions.ReplicaSet;
 import io.fabric8.openshift.api.model.Route;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
 import java.io.IOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.plugin.openshift.client.exception.OpenShiftException;
 import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesResourceUtil;
@@ -29,7 +35,16 @@ import org.slf4j.LoggerFactory;
 public class OpenShiftDeploymentCleaner {
   private static final Logger LOG = LoggerFactory.getLogger(OpenShiftDeploymentCleaner.class);
   private static final int OPENSHIFT_POD_DELETION_TIMEOUT = 120;
-  private static final int OPENSHIFT_WAIT_POD_DELAY = 1000;
+
+  private final OpenShiftClientFactory clientFactory;
+  private final OpenShiftResourceCache resourceCache;
+
+  @Inject
+  public OpenShiftDeploymentCleaner(
+      OpenShiftClientFactory clientFactory, OpenShiftResourceCache resourceCache) {
+    this.clientFactory = clientFactory;
+    this.resourceCache = resourceCache;
+  }
 
   public void cleanDeploymentResources(final String deploymentName, final String namespace)
       throws IOException {
@@ -39,62 +54,66 @@ public class OpenShiftDeploymentCleaner {
 
   private void cleanUpWorkspaceResources(final String deploymentName, final String namespace)
       throws IOException {
-    Deployment deployment = KubernetesResourceUtil.getDeploymentByName(deploymentName, namespace);
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    Deployment deployment =
+        KubernetesResourceUtil.getDeploymentByName(openShiftClient, deploymentName, namespace);
     Service service =
         KubernetesResourceUtil.getServiceBySelector(
-            OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL, deploymentName, namespace);
+            openShiftClient, OPENSHIFT_DEPLOYMENT_LABEL, deploymentName, namespace);
     List<Route> routes =
         KubernetesResourceUtil.getRoutesByLabel(
-            OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL, deploymentName, namespace);
+            openShiftClient, OPENSHIFT_DEPLOYMENT_LABEL, deploymentName, namespace);
     List<ReplicaSet> replicaSets =
         KubernetesResourceUtil.getReplicaSetByLabel(
-            OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL, deploymentName, namespace);
+            openShiftClient, OPENSHIFT_DEPLOYMENT_LABEL, deploymentName, namespace);
 
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      if (routes != null) {
-        for (Route route : routes) {
-          LOG.info("Removing OpenShift Route {}", route.getMetadata().getName());
-          openShiftClient.resource(route).delete();
-        }
+    if (routes != null) {
+      for (Route route : routes) {
+        LOG.info("Removing OpenShift Route {}", route.getMetadata().getName());
+        openShiftClient.resource(route).delete();
       }
+    }
 
-      if (service != null) {
-        LOG.info("Removing OpenShift Service {}", service.getMetadata().getName());
-        openShiftClient.resource(service).delete();
-      }
+    if (service != null) {
+      LOG.info("Removing OpenShift Service {}", service.getMetadata().getName());
+      openShiftClient.resource(service).delete();
+    }
 
-      if (deployment != null) {
-        LOG.info("Removing OpenShift Deployment {}", deployment.getMetadata().getName());
-        openShiftClient.resource(deployment).delete();
-      }
+    if (deployment != null) {
+      LOG.info("Removing OpenShift Deployment {}", deployment.getMetadata().getName());
+      openShiftClient.resource(deployment).delete();
+    }
 
-      if (replicaSets != null && replicaSets.size() > 0) {
-        LOG.info("Removing OpenShift ReplicaSets for deployment {}", deploymentName);
-        replicaSets.forEach(rs -> openShiftClient.resource(rs).delete());
-      }
+    if (replicaSets != null && replicaSets.size() > 0) {
+      LOG.info("Removing OpenShift ReplicaSets for deployment {}", deploymentName);
+      replicaSets.forEach(rs -> openShiftClient.resource(rs).delete());
     }
   }
 
   private void waitUntilWorkspacePodIsDeleted(final String deploymentName, final String namespace)
       throws OpenShiftException {
-    try (OpenShiftClient client = new DefaultOpenShiftClient()) {
-      for (int waitCount = 0; waitCount < OPENSHIFT_POD_DELETION_TIMEOUT; waitCount++) {
-        List<Pod> pods =
-            client
-                .pods()
-                .inNamespace(namespace)
-                .withLabel(OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL, deploymentName)
-                .list()
-                .getItems();
-
-        if (pods.size() == 0) {
-          return;
-        }
-        Thread.sleep(OPENSHIFT_WAIT_POD_DELAY);
-      }
+    // pods cache is bound to the Che project, other namespaces are not used for workspaces
+    CompletableFuture<Boolean> podsDeleted =
+        resourceCache
+            .pods()
+            .await(
+                pods -> {
+                  boolean deleted =
+                      pods.stream()
+                          .noneMatch(
+                              pod -> hasLabel(pod, OPENSHIFT_DEPLOYMENT_LABEL, deploymentName));
+                  return deleted ? Boolean.TRUE : null;
+                });
+    try {
+      podsDeleted.get(OPENSHIFT_POD_DELETION_TIMEOUT, TimeUnit.SECONDS);
+      return;
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
       LOG.info("Thread interrupted while cleaning up workspace");
+    } catch (ExecutionException | TimeoutException e) {
+      // fall through
+    } finally {
+      podsDeleted.cancel(false);
     }
 
     throw new OpenShiftException("Timeout while waiting for pods to terminate");
@@ -12,6 +12,8 @@ package org.eclipse.che.plugin.openshift.client;
 
 import static org.eclipse.che.plugin.openshift.client.OpenShiftConnector.WORKSPACE_LOGS_FOLDER_SUFFIX;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import io.fabric8.kubernetes.api.model.Container;
 import io.fabric8.kubernetes.api.model.ContainerBuilder;
 import io.fabric8.kubernetes.api.model.PersistentVolumeClaimVolumeSource;
@@ -23,19 +25,31 @@ import io.fabric8.kubernetes.api.model.Volume;
 import io.fabric8.kubernetes.api.model.VolumeBuilder;
 import io.fabric8.kubernetes.api.model.VolumeMount;
 import io.fabric8.kubernetes.api.model.VolumeMountBuilder;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
 import io.fabric8.openshift.client.OpenShiftClient;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.List;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Stream;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesStringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -43,8 +57,13 @@ import org.slf4j.LoggerFactory;
  * Helper class for executing simple commands in a Persistent Volume on Openshift.
  *
  * <p>Creates a short-lived Pod using a CentOS image which mounts a specified PVC and executes a
- * command (either {@code mkdir -p <path>} or {@code rm -rf <path}). Reports back whether the pod
- * succeeded or failed. Supports multiple paths for one command.
+ * command (either {@code mkdir -p <path>} or {@code rm -rf <path}) for each of the paths. Reports
+ * back whether the command succeeded or failed for every path.
+ *
+ * <p>Commands are not executed immediately. Paths requested during a short window for the same
+ * command and PVC are collected into a batch which is then executed by one pod, so starting or
+ * deleting many workspaces at once does not schedule a pod per workspace. Completion of the pod
+ * is watched, and the results for the paths are read from its log.
  *
  * <p>For mkdir commands, an in-memory list of created workspaces is stored and used to avoid
  * calling mkdir unnecessarily. However, this list is not persisted, so dir creation is not tracked
@@ -59,13 +78,34 @@ public class OpenShiftPvcHelper {
 
   private static final String POD_PHASE_SUCCEEDED = "Succeeded";
   private static final String POD_PHASE_FAILED = "Failed";
-  private static final String[] MKDIR_WORKSPACE_COMMAND = new String[] {"mkdir", "-p"};
-  private static final String[] RMDIR_WORKSPACE_COMMAND = new String[] {"rm", "-rf"};
+  private static final String MKDIR_WORKSPACE_COMMAND = "mkdir -p";
+  private static final String RMDIR_WORKSPACE_COMMAND = "rm -rf";
+  private static final String JOB_MOUNT_PATH = "/projects/";
+  private static final String JOB_RESULT_SUCCEEDED = "OK";
+  private static final String JOB_RESULT_FAILED = "FAILED";
+  /** Runs the command for each of the script arguments and prints result per argument. */
+  private static final String JOB_SCRIPT =
+      "for dir in \"$@\"; do "
+          + "if %s \"%s$dir\"; then echo \""
+          + JOB_RESULT_SUCCEEDED
+          + " $dir\"; else echo \""
+          + JOB_RESULT_FAILED
+          + " $dir\"; fi; done";
+
+  private static final long BATCH_WINDOW_MILLIS = 500;
+  private static final long JOB_TIMEOUT_MINUTES = 5;
+  /** Results are waited for the batch window, the job timeout and the time to read pod log. */
+  private static final long RESULT_TIMEOUT_MILLIS =
+      BATCH_WINDOW_MILLIS + TimeUnit.MINUTES.toMillis(JOB_TIMEOUT_MINUTES + 1);
+  private static final int JOB_THREADS = 4;
 
   private static final Set<String> createdWorkspaces = ConcurrentHashMap.newKeySet();
 
   private final String jobImage;
   private final String jobMemoryLimit;
+  private final OpenShiftClientFactory clientFactory;
+  private final Map<BatchKey, Map<String, CompletableFuture<Boolean>>> pendingBatches;
+  private final ScheduledExecutorService jobExecutor;
 
   protected enum Command {
     REMOVE,
@@ -75,77 +115,137 @@ public class OpenShiftPvcHelper {
   @Inject
   protected OpenShiftPvcHelper(
       @Named("che.openshift.jobs.image") String jobImage,
-      @Named("che.openshift.jobs.memorylimit") String jobMemoryLimit) {
+      @Named("che.openshift.jobs.memorylimit") String jobMemoryLimit,
+      OpenShiftClientFactory clientFactory) {
     this.jobImage = jobImage;
     this.jobMemoryLimit = jobMemoryLimit;
+    this.clientFactory = clientFactory;
+    this.pendingBatches = new HashMap<>();
+    this.jobExecutor =
+        Executors.newScheduledThreadPool(
+            JOB_THREADS,
+            new ThreadFactoryBuilder().setNameFormat("OpenShiftPvcJob-%d").setDaemon(true).build());
   }
 
   /**
-   * Creates a pod with {@code command} and reports whether it succeeded
+   * Executes {@code command} for the workspace directories and their logs directories, and waits
+   * for the results. The directories are executed in a batch together with the directories
+   * requested concurrently by other callers.
    *
    * @param workspacesPvcName name of the PVC to mount
    * @param projectNamespace OpenShift namespace
-   * @param jobNamePrefix prefix used for pod metadata name. Name structure will normally be {@code
-   *     <prefix><workspaceDirs>} if only one path is passed, or {@code <prefix>batch} if multiple
-   *     paths are provided
    * @param command command to execute in PVC.
-   * @param workspaceDirs list of arguments attached to command. A list of directories to
-   *     create/delete.
-   * @return true if Pod terminates with phase "Succeeded" or mkdir command issued for already
-   *     created worksapce, false otherwise.
+   * @param workspaceDirs list of directories to create/delete.
+   * @return result for each of the workspace directories: true if the command succeeded both for
+   *     the directory and its logs directory or mkdir command issued for already created
+   *     workspace, false otherwise.
    * @see Command
    */
-  protected boolean createJobPod(
+  protected Map<String, Boolean> executeCommand(
       String workspacesPvcName,
       String projectNamespace,
-      String jobNamePrefix,
       Command command,
       String... workspaceDirs) {
+    BatchKey key = new BatchKey(workspacesPvcName, projectNamespace, command);
+    Map<String, CompletableFuture<Boolean>> results = new LinkedHashMap<>();
+    for (String workspaceDir : workspaceDirs) {
+      results.put(
+          workspaceDir,
+          submit(key, workspaceDir)
+              .thenCombine(
+                  submit(key, workspaceDir + WORKSPACE_LOGS_FOLDER_SUFFIX), Boolean::logicalAnd));
+    }
 
-    if (workspaceDirs.length == 0) {
-      return true;
+    Map<String, Boolean> result = new LinkedHashMap<>();
+    for (Map.Entry<String, CompletableFuture<Boolean>> entry : results.entrySet()) {
+      result.put(entry.getKey(), waitForResult(entry.getValue()));
     }
+    return result;
+  }
 
-    List<String> logsDirs = Arrays.asList(workspaceDirs);
-    logsDirs =
-        logsDirs
-            .stream()
-            .map(dir -> dir + WORKSPACE_LOGS_FOLDER_SUFFIX)
-            .collect(Collectors.toList());
+  /**
+   * Stops executing of the batched commands. The batches which are not executed yet are failed, so
+   * their callers don't wait for the results.
+   */
+  @PreDestroy
+  public void shutdown() {
+    jobExecutor.shutdownNow();
+    synchronized (pendingBatches) {
+      for (Map<String, CompletableFuture<Boolean>> batch : pendingBatches.values()) {
+        batch.values().forEach(result -> result.complete(false));
+      }
+      pendingBatches.clear();
+    }
+  }
 
-    List<String> allDirs = new ArrayList<>();
-    allDirs.addAll(Arrays.asList(workspaceDirs));
-    allDirs.addAll(logsDirs);
-    String[] allDirsArray = allDirs.toArray(new String[allDirs.size()]);
+  private CompletableFuture<Boolean> submit(BatchKey key, String dir) {
+    if (key.command == Command.MAKE && createdWorkspaces.contains(dir)) {
+      return CompletableFuture.completedFuture(true);
+    }
+    synchronized (pendingBatches) {
+      Map<String, CompletableFuture<Boolean>> batch = pendingBatches.get(key);
+      if (batch == null) {
+        try {
+          jobExecutor.schedule(() -> executeBatch(key), BATCH_WINDOW_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+          LOG.warn(
+              "Command {} in PVC {} is rejected, helper is shut down", key.command, key.pvcName);
+          return CompletableFuture.completedFuture(false);
+        }
+        batch = new LinkedHashMap<>();
+        pendingBatches.put(key, batch);
+      }
+      return batch.computeIfAbsent(dir, d -> new CompletableFuture<>());
+    }
+  }
 
-    if (Command.MAKE.equals(command)) {
-      String[] dirsToCreate = filterDirsToCreate(allDirsArray);
-      if (dirsToCreate.length == 0) {
-        return true;
+  private void executeBatch(BatchKey key) {
+    Map<String, CompletableFuture<Boolean>> batch;
+    synchronized (pendingBatches) {
+      batch = pendingBatches.remove(key);
+    }
+    if (batch == null) {
+      // already failed on shutdown
+      return;
+    }
+    Map<String, Boolean> results = Collections.emptyMap();
+    try {
+      results = runJobPod(key, batch.keySet().toArray(new String[batch.size()]));
+    } catch (RuntimeException e) {
+      LOG.error("Failed to execute command {} in PVC {}", key.command, key.pvcName, e);
+    } finally {
+      for (Map.Entry<String, CompletableFuture<Boolean>> entry : batch.entrySet()) {
+        boolean succeeded = results.getOrDefault(entry.getKey(), false);
+        updateCreatedDirs(key.command, succeeded, entry.getKey());
+        entry.getValue().complete(succeeded);
       }
-      allDirsArray = dirsToCreate;
     }
+  }
 
+  /**
+   * Creates a pod which executes the command for each of the directories, waits for the pod to
+   * terminate and reads results from its log.
+   */
+  @VisibleForTesting
+  Map<String, Boolean> runJobPod(BatchKey key, String[] dirs) {
     VolumeMount vm =
-        new VolumeMountBuilder().withMountPath("/projects").withName(workspacesPvcName).build();
+        new VolumeMountBuilder().withMountPath(JOB_MOUNT_PATH).withName(key.pvcName).build();
 
     PersistentVolumeClaimVolumeSource pvcs =
-        new PersistentVolumeClaimVolumeSourceBuilder().withClaimName(workspacesPvcName).build();
+        new PersistentVolumeClaimVolumeSourceBuilder().withClaimName(key.pvcName).build();
 
     Volume volume =
-        new VolumeBuilder().withPersistentVolumeClaim(pvcs).withName(workspacesPvcName).build();
+        new VolumeBuilder().withPersistentVolumeClaim(pvcs).withName(key.pvcName).build();
 
-    String[] jobCommand = getCommand(command, "/projects/", allDirsArray);
-    LOG.info(
-        "Executing command {} in PVC {} for {} dirs",
-        jobCommand[0],
-        workspacesPvcName,
-        allDirs.size());
+    String[] jobCommand = getCommand(key.command, dirs);
+    LOG.info("Executing command {} in PVC {} for {} dirs", key.command, key.pvcName, dirs.length);
 
     Map<String, Quantity> limit = Collections.singletonMap("memory", new Quantity(jobMemoryLimit));
 
     String podName =
-        workspaceDirs.length > 1 ? jobNamePrefix + "batch" : jobNamePrefix + workspaceDirs[0];
+        (key.command == Command.MAKE ? "create-" : "delete-")
+            + "batch-"
+            + KubernetesStringUtils.generateWorkspaceID();
 
     Container container =
         new ContainerBuilder()
@@ -174,32 +274,41 @@ public class OpenShiftPvcHelper {
             .endSpec()
             .build();
 
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      openShiftClient.pods().inNamespace(projectNamespace).create(podSpec);
-      boolean completed = false;
-      while (!completed) {
-        Pod pod = openShiftClient.pods().inNamespace(projectNamespace).withName(podName).get();
-        String phase = pod.getStatus().getPhase();
-        switch (phase) {
-          case POD_PHASE_FAILED:
-            LOG.info("Pod command {} failed", Arrays.toString(jobCommand));
-            // fall through
-          case POD_PHASE_SUCCEEDED:
-            openShiftClient.resource(pod).delete();
-            updateCreatedDirs(command, phase, allDirsArray);
-            return POD_PHASE_SUCCEEDED.equals(phase);
-          default:
-            Thread.sleep(1000);
-        }
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    CompletableFuture<String> terminated = new CompletableFuture<>();
+    // watch is started before the pod is created, so the termination can't be missed
+    try (Watch ignored =
+        openShiftClient
+            .pods()
+            .inNamespace(key.namespace)
+            .withName(podName)
+            .watch(new PodTerminationWatcher(terminated))) {
+      openShiftClient.pods().inNamespace(key.namespace).create(podSpec);
+      String phase = terminated.get(JOB_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+      if (!POD_PHASE_SUCCEEDED.equals(phase)) {
+        LOG.info("Pod command {} failed", Arrays.toString(jobCommand));
+        return Collections.emptyMap();
       }
+      return parseResults(
+          openShiftClient.pods().inNamespace(key.namespace).withName(podName).getLog());
+    } catch (TimeoutException e) {
+      LOG.error("Timeout while waiting for pod {} to terminate", podName);
+    } catch (ExecutionException e) {
+      LOG.error("Failed to wait for pod {}: {}", podName, e.getCause().getMessage());
     } catch (InterruptedException e) {
       Thread.currentThread().interrupt();
+    } finally {
+      try {
+        openShiftClient.pods().inNamespace(key.namespace).withName(podName).delete();
+      } catch (KubernetesClientException e) {
+        LOG.warn("Failed to delete pod {}: {}", podName, e.getMessage());
+      }
     }
-    return false;
+    return Collections.emptyMap();
   }
 
-  private String[] getCommand(Command commandType, String mountPath, String... dirs) {
-    String[] command = new String[0];
+  private String[] getCommand(Command commandType, String... dirs) {
+    String command = "";
     switch (commandType) {
       case MAKE:
         command = MKDIR_WORKSPACE_COMMAND;
@@ -209,39 +318,116 @@ public class OpenShiftPvcHelper {
         break;
     }
 
-    String[] dirsWithPath =
-        Arrays.asList(dirs).stream().map(dir -> mountPath + dir).toArray(String[]::new);
+    String[] script =
+        new String[] {"sh", "-c", String.format(JOB_SCRIPT, command, JOB_MOUNT_PATH), "sh"};
 
-    String[] fullCommand = new String[command.length + dirsWithPath.length];
+    String[] fullCommand = new String[script.length + dirs.length];
 
-    System.arraycopy(command, 0, fullCommand, 0, command.length);
-    System.arraycopy(dirsWithPath, 0, fullCommand, command.length, dirsWithPath.length);
+    System.arraycopy(script, 0, fullCommand, 0, script.length);
+    System.arraycopy(dirs, 0, fullCommand, script.length, dirs.length);
     return fullCommand;
   }
 
-  private void updateCreatedDirs(Command command, String phase, String... workspaceDirs) {
-    if (!POD_PHASE_SUCCEEDED.equals(phase)) {
+  @VisibleForTesting
+  static Map<String, Boolean> parseResults(String log) {
+    Map<String, Boolean> results = new HashMap<>();
+    if (log == null) {
+      return results;
+    }
+    Stream.of(log.split("\n"))
+        .map(line -> line.trim().split(" ", 2))
+        .filter(parts -> parts.length == 2)
+        .forEach(parts -> results.put(parts[1], JOB_RESULT_SUCCEEDED.equals(parts[0])));
+    return results;
+  }
+
+  private static boolean waitForResult(CompletableFuture<Boolean> result) {
+    try {
+      return result.get(RESULT_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    } catch (TimeoutException e) {
+      LOG.error("Timeout while waiting for result of command in PVC");
+      return false;
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      return false;
+    } catch (ExecutionException e) {
+      return false;
+    }
+  }
+
+  private void updateCreatedDirs(Command command, boolean succeeded, String workspaceDir) {
+    if (!succeeded) {
       return;
     }
-    List<String> dirs = Arrays.asList(workspaceDirs);
     switch (command) {
       case MAKE:
-        createdWorkspaces.addAll(dirs);
+        createdWorkspaces.add(workspaceDir);
         break;
       case REMOVE:
-        createdWorkspaces.removeAll(dirs);
+        createdWorkspaces.remove(workspaceDir);
         break;
     }
   }
 
-  private String[] filterDirsToCreate(String[] allDirs) {
-    List<String> dirs = Arrays.asList(allDirs);
-    List<String> dirsToCreate = new ArrayList<>();
-    for (String dir : dirs) {
-      if (!createdWorkspaces.contains(dir)) {
-        dirsToCreate.add(dir);
+  /** Completes the future with the phase of the pod once it is terminated. */
+  @VisibleForTesting
+  static class PodTerminationWatcher implements Watcher<Pod> {
+    private final CompletableFuture<String> terminated;
+
+    PodTerminationWatcher(CompletableFuture<String> terminated) {
+      this.terminated = terminated;
+    }
+
+    @Override
+    public void eventReceived(Action action, Pod pod) {
+      if (action == Action.DELETED) {
+        terminated.complete(POD_PHASE_FAILED);
+        return;
       }
+      String phase = pod.getStatus() == null ? null : pod.getStatus().getPhase();
+      if (POD_PHASE_SUCCEEDED.equals(phase) || POD_PHASE_FAILED.equals(phase)) {
+        terminated.complete(phase);
+      }
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+      if (cause != null) {
+        terminated.completeExceptionally(cause);
+      }
+    }
+  }
+
+  /** Commands are batched per PVC, namespace and command. */
+  @VisibleForTesting
+  static class BatchKey {
+    final String pvcName;
+    final String namespace;
+    final Command command;
+
+    BatchKey(String pvcName, String namespace, Command command) {
+      this.pvcName = pvcName;
+      this.namespace = namespace;
+      this.command = command;
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+      if (this == obj) {
+        return true;
+      }
+      if (!(obj instanceof BatchKey)) {
+        return false;
+      }
+      BatchKey other = (BatchKey) obj;
+      return Objects.equals(pvcName, other.pvcName)
+          && Objects.equals(namespace, other.namespace)
+          && command == other.command;
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(pvcName, namespace, command);
     }
-    return dirsToCreate.toArray(new String[dirsToCreate.size()]);
   }
 }
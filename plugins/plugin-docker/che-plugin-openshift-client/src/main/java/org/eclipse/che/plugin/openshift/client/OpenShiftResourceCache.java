@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.openshift.client;
+
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.extensions.Deployment;
+import io.fabric8.openshift.api.model.ImageStream;
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesResourceCache;
+
+/**
+ * Watch-backed caches of the pods, deployments and image streams of the Che OpenShift project.
+ * Each cache starts watching on its first use.
+ *
+ * @see KubernetesResourceCache
+ */
+@Singleton
+public class OpenShiftResourceCache {
+  private final KubernetesResourceCache<Pod> pods;
+  private final KubernetesResourceCache<Deployment> deployments;
+  private final KubernetesResourceCache<ImageStream> imageStreams;
+
+  @Inject
+  public OpenShiftResourceCache(
+      OpenShiftClientFactory clientFactory,
+      @Named("che.openshift.project") String openShiftCheProjectName) {
+    this.pods =
+        new KubernetesResourceCache<>(
+            "pods",
+            () ->
+                clientFactory
+                    .getOpenShiftClient()
+                    .pods()
+                    .inNamespace(openShiftCheProjectName)
+                    .list(),
+            (version, watcher) ->
+                clientFactory
+                    .getOpenShiftClient()
+                    .pods()
+                    .inNamespace(openShiftCheProjectName)
+                    .watch(version, watcher));
+    this.deployments =
+        new KubernetesResourceCache<>(
+            "deployments",
+            () ->
+                clientFactory
+                    .getOpenShiftClient()
+                    .extensions()
+                    .deployments()
+                    .inNamespace(openShiftCheProjectName)
+                    .list(),
+            (version, watcher) ->
+                clientFactory
+                    .getOpenShiftClient()
+                    .extensions()
+                    .deployments()
+                    .inNamespace(openShiftCheProjectName)
+                    .watch(version, watcher));
+    this.imageStreams =
+        new KubernetesResourceCache<>(
+            "image streams",
+            () ->
+                clientFactory
+                    .getOpenShiftClient()
+                    .imageStreams()
+                    .inNamespace(openShiftCheProjectName)
+                    .list(),
+            (version, watcher) ->
+                clientFactory
+                    .getOpenShiftClient()
+                    .imageStreams()
+                    .inNamespace(openShiftCheProjectName)
+                    .watch(version, watcher));
+  }
+
+  public KubernetesResourceCache<Pod> pods() {
+    return pods;
+  }
+
+  public KubernetesResourceCache<Deployment> deployments() {
+    return deployments;
+  }
+
+  public KubernetesResourceCache<ImageStream> imageStreams() {
+    return imageStreams;
+  }
+
+  @PreDestroy
+  public void close() {
+    pods.close();
+    deployments.close();
+    imageStreams.close();
+  }
+}
@@ -13,8 +13,8 @@ package org.eclipse.che.plugin.openshift.client;
 import io.fabric8.openshift.api.model.DoneableRoute;
 import io.fabric8.openshift.api.model.Route;
 import io.fabric8.openshift.api.model.RouteFluent.SpecNested;
-import io.fabric8.openshift.client.DefaultOpenShiftClient;
 import io.fabric8.openshift.client.OpenShiftClient;
+import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +25,13 @@ public class OpenShiftRouteCreator {
   private static final String TLS_TERMINATION_EDGE = "edge";
   private static final String REDIRECT_INSECURE_EDGE_TERMINATION_POLICY = "Redirect";
 
+  private final OpenShiftClientFactory clientFactory;
+
+  @Inject
+  public OpenShiftRouteCreator(OpenShiftClientFactory clientFactory) {
+    this.clientFactory = clientFactory;
+  }
+
   public void createRoute(
       final String namespace,
       final String openShiftNamespaceExternalAddress,
@@ -39,43 +46,42 @@ public class OpenShiftRouteCreator {
           "Property che.docker.ip.external must be set when using openshift.");
     }
 
-    try (OpenShiftClient openShiftClient = new DefaultOpenShiftClient()) {
-      String routeName = generateRouteName(routeId, serverRef);
-      String serviceHost = generateRouteHost(routeName, openShiftNamespaceExternalAddress);
+    OpenShiftClient openShiftClient = clientFactory.getOpenShiftClient();
+    String routeName = generateRouteName(routeId, serverRef);
+    String serviceHost = generateRouteHost(routeName, openShiftNamespaceExternalAddress);
 
-      SpecNested<DoneableRoute> routeSpec =
-          openShiftClient
-              .routes()
-              .inNamespace(namespace)
-              .createNew()
-              .withNewMetadata()
-              .withName(routeName)
-              .addToLabels(OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL, deploymentName)
-              .endMetadata()
-              .withNewSpec()
-              .withHost(serviceHost)
-              .withNewTo()
-              .withKind("Service")
-              .withName(serviceName)
-              .endTo()
-              .withNewPort()
-              .withNewTargetPort()
-              .withStrVal(serverRef)
-              .endTargetPort()
-              .endPort();
+    SpecNested<DoneableRoute> routeSpec =
+        openShiftClient
+            .routes()
+            .inNamespace(namespace)
+            .createNew()
+            .withNewMetadata()
+            .withName(routeName)
+            .addToLabels(OpenShiftConnector.OPENSHIFT_DEPLOYMENT_LABEL, deploymentName)
+            .endMetadata()
+            .withNewSpec()
+            .withHost(serviceHost)
+            .withNewTo()
+            .withKind("Service")
+            .withName(serviceName)
+            .endTo()
+            .withNewPort()
+            .withNewTargetPort()
+            .withStrVal(serverRef)
+            .endTargetPort()
+            .endPort();
 
-      if (enableTls) {
-        routeSpec
-            .withNewTls()
-            .withTermination(TLS_TERMINATION_EDGE)
-            .withInsecureEdgeTerminationPolicy(REDIRECT_INSECURE_EDGE_TERMINATION_POLICY)
-            .endTls();
-      }
+    if (enableTls) {
+      routeSpec
+          .withNewTls()
+          .withTermination(TLS_TERMINATION_EDGE)
+          .withInsecureEdgeTerminationPolicy(REDIRECT_INSECURE_EDGE_TERMINATION_POLICY)
+          .endTls();
+    }
 
-      Route route = routeSpec.endSpec().done();
+    Route route = routeSpec.endSpec().done();
 
-      LOG.info("OpenShift route {} created", route.getMetadata().getName());
-    }
+    LOG.info("OpenShift route {} created", route.getMetadata().getName());
   }
 
   private String generateRouteName(final String serviceName, final String serverRef) {
@@ -16,6 +16,7 @@ import com.google.common.annotations.VisibleForTesting;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.inject.Inject;
@@ -34,7 +35,7 @@ import org.slf4j.LoggerFactory;
  * Class used to remove workspace directories in Persistent Volume when a workspace is delete while
  * running on OpenShift. Deleted workspace directories are stored in a list. Upon Che server idling,
  * all of these workspaces are deleted simultaneously from the PVC using a {@link
- * OpenShiftPvcHelper} job.
+ * OpenShiftPvcHelper} job. Workspaces which failed to be deleted are kept in the list.
  *
  * <p>Since deleting a workspace does not immediately remove its files, re-creating a workspace with
  * a previously used name can result in files from the previous workspace still being present.
@@ -84,15 +85,18 @@ public class OpenShiftWorkspaceFilesCleaner implements WorkspaceFilesCleaner {
     String[] dirsToDelete = deleteQueueCopy.toArray(new String[deleteQueueCopy.size()]);
 
     LOG.info("Deleting {} workspaces on PVC {}", deleteQueueCopy.size(), workspacesPvcName);
-    boolean successful =
-        openShiftPvcHelper.createJobPod(
+    Map<String, Boolean> results =
+        openShiftPvcHelper.executeCommand(
             workspacesPvcName,
             projectNamespace,
-            "delete-",
             OpenShiftPvcHelper.Command.REMOVE,
             dirsToDelete);
-    if (successful) {
-      deleteQueue.removeAll(deleteQueueCopy);
+    for (String dir : deleteQueueCopy) {
+      if (results.getOrDefault(dir, false)) {
+        deleteQueue.remove(dir);
+      } else {
+        LOG.warn("Failed to delete workspace {} on PVC {}", dir, workspacesPvcName);
+      }
     }
   }
 
@@ -11,13 +11,15 @@
 package org.eclipse.che.plugin.openshift.client.kubernetes;
 
 import java.util.Arrays;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
 import org.eclipse.che.plugin.openshift.client.OpenShiftConnector;
 
 /**
  * Holder class for metadata about an exec, to be used with {@link OpenShiftConnector}.
  *
  * <p>In OpenShift, {@code createExec()} is not separate from {@code startExec()}, so this class has
- * to be used to pass data between {@code createExec()} and {@code startExec()} calls.
+ * to be used to pass data between {@code createExec()} and {@code startExec()} calls. It also keeps
+ * the state of the started exec for {@code getExecInfo()} calls.
  *
  * @see OpenShiftConnector#createExec(org.eclipse.che.plugin.docker.client.params.CreateExecParams)
  * @see OpenShiftConnector#startExec(org.eclipse.che.plugin.docker.client.params.StartExecParams,
@@ -27,6 +29,8 @@ public class KubernetesExecHolder {
 
   private String[] command;
   private String podName;
+  private boolean detach;
+  private volatile boolean running;
 
   public KubernetesExecHolder withCommand(String[] command) {
     this.command = command;
@@ -38,6 +42,24 @@ public class KubernetesExecHolder {
     return this;
   }
 
+  public KubernetesExecHolder withDetach(boolean detach) {
+    this.detach = detach;
+    return this;
+  }
+
+  /** Marks the exec as started. */
+  public void started() {
+    running = true;
+  }
+
+  /**
+   * Marks the exec as finished. The exit status of the command is not passed through the exec
+   * websocket, so the exit code of the finished exec is not known.
+   */
+  public void finished() {
+    running = false;
+  }
+
   public String[] getCommand() {
     return command;
   }
@@ -46,9 +68,23 @@ public class KubernetesExecHolder {
     return podName;
   }
 
+  public boolean isDetach() {
+    return detach;
+  }
+
+  /** Returns information about the exec in the format of docker API. */
+  public ExecInfo toExecInfo(String execId) {
+    ExecInfo execInfo = new ExecInfo();
+    execInfo.setId(execId);
+    execInfo.setRunning(running);
+    execInfo.setOpenStdout(!detach);
+    execInfo.setOpenStderr(!detach);
+    return execInfo;
+  }
+
   public String toString() {
     return String.format(
-        "KubernetesExecHolder {command=%s, podName=%s}",
-        Arrays.asList(command).toString(), podName);
+        "KubernetesExecHolder {command=%s, podName=%s, detach=%s, running=%s}",
+        Arrays.asList(command).toString(), podName, detach, running);
   }
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.openshift.client.kubernetes;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency statistics of the execs run in the workspace pods. For the attached execs the latency is
+ * the time until the command is finished and its output is consumed, for the detached ones it is
+ * the time until the command is started.
+ */
+public class KubernetesExecStatistics {
+  private final LongAdder count = new LongAdder();
+  private final LongAdder failed = new LongAdder();
+  private final LongAdder totalTime = new LongAdder();
+  private final LongAccumulator maxTime = new LongAccumulator(Math::max, 0);
+
+  /**
+   * Records a finished exec.
+   *
+   * @param millis latency of the exec in milliseconds
+   * @param success whether the exec is finished successfully
+   */
+  public void record(long millis, boolean success) {
+    count.increment();
+    if (!success) {
+      failed.increment();
+    }
+    totalTime.add(millis);
+    maxTime.accumulate(millis);
+  }
+
+  /** Returns number of the recorded execs. */
+  public long getCount() {
+    return count.sum();
+  }
+
+  /** Returns number of the recorded execs which failed. */
+  public long getFailedCount() {
+    return failed.sum();
+  }
+
+  /** Returns total latency of the recorded execs in milliseconds. */
+  public long getTotalTime() {
+    return totalTime.sum();
+  }
+
+  /** Returns the highest latency of the recorded execs in milliseconds. */
+  public long getMaxTime() {
+    return maxTime.get();
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "KubernetesExecStatistics {count=%d, failed=%d, totalTime=%dms, maxTime=%dms}",
+        getCount(), getFailedCount(), getTotalTime(), getMaxTime());
+  }
+}
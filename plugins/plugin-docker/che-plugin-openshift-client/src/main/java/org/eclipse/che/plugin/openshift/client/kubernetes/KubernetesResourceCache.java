@@ -0,0 +1,352 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.openshift.client.kubernetes;
+
+import io.fabric8.kubernetes.api.model.HasMetadata;
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watch;
+import io.fabric8.kubernetes.client.Watcher;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Local copy of the resources of one kind which is kept up to date by a watch, similar to the
+ * informers of the newer {@code kubernetes-client} versions.
+ *
+ * <p>Resources are listed on the first access and then the watch is started from the version of
+ * the list, so no change is lost in between. When the watch is closed for any reason other than
+ * {@link #close()} (e.g. when the version is too old or the connection is dropped) the resources
+ * are listed and watched again. The new copy is built aside and replaces the old one at once, so
+ * queries never see a partially listed state. Queries are served from the local copy, and waits
+ * for the resources to reach some state are completed by the watch events instead of polling the
+ * API.
+ *
+ * <p>Changes are applied only if they are not older than the cached state, which is decided by
+ * {@code metadata.resourceVersion}. Deleted resources are remembered until the next listing, so a
+ * stale {@link #update(HasMetadata) update} doesn't bring them back.
+ *
+ * @param <T> type of the resources
+ */
+public class KubernetesResourceCache<T extends HasMetadata> {
+  private static final Logger LOG = LoggerFactory.getLogger(KubernetesResourceCache.class);
+
+  private final String kind;
+  private final Supplier<KubernetesResourceList> lister;
+  private final BiFunction<String, Watcher<T>, Watch> watcher;
+  private final Set<Waiter<?>> waiters = ConcurrentHashMap.newKeySet();
+  /** Serializes listings, queries and events are not blocked by them. */
+  private final Object listLock = new Object();
+
+  /** Current copy of the resources by name, {@code null} until the resources are listed. */
+  private volatile ConcurrentMap<String, Entry<T>> entries;
+
+  private Watch watch;
+  private boolean closed;
+
+  /**
+   * Creates the cache.
+   *
+   * @param kind kind of the resources, used for logging
+   * @param lister lists the resources
+   * @param watcher starts watch of the resources from the given resource version
+   */
+  public KubernetesResourceCache(
+      String kind,
+      Supplier<KubernetesResourceList> lister,
+      BiFunction<String, Watcher<T>, Watch> watcher) {
+    this.kind = kind;
+    this.lister = lister;
+    this.watcher = watcher;
+  }
+
+  /** Returns the resource with the given name or {@code null} if there is no such resource. */
+  public T get(String name) {
+    Entry<T> entry = entries().get(name);
+    return entry == null ? null : entry.resource;
+  }
+
+  /** Returns all the resources which match the given filter. */
+  public List<T> list(Predicate<T> filter) {
+    return snapshot(entries()).stream().filter(filter).collect(Collectors.toList());
+  }
+
+  /**
+   * Puts the resource returned by an API call (e.g. after edit) to the cache, so it is visible
+   * before the corresponding watch event arrives. The resource is ignored if the cache already
+   * contains a newer version of it or knows that it is deleted.
+   */
+  public void update(T resource) {
+    ConcurrentMap<String, Entry<T>> current = entries;
+    if (current != null && apply(current, resource, false)) {
+      notifyWaiters(current);
+    }
+  }
+
+  /**
+   * Waits for the resources to reach some state. The condition is checked against the current
+   * state of the cache and again after each change.
+   *
+   * @param condition returns result of the wait or {@code null} if the state is not reached yet
+   * @return future which is completed with the first non-null result of the condition, or
+   *     exceptionally if the condition throws an exception. Waiter is removed once the future is
+   *     completed or cancelled, e.g. on timeout
+   */
+  public <R> CompletableFuture<R> await(Function<Collection<T>, R> condition) {
+    ConcurrentMap<String, Entry<T>> current = entries();
+    Waiter<R> waiter = new Waiter<>(condition);
+    waiters.add(waiter);
+    waiter.future.whenComplete((result, error) -> waiters.remove(waiter));
+    waiter.check(snapshot(current));
+    return waiter.future;
+  }
+
+  /** Waits for the resource with the given name to match the condition. */
+  public CompletableFuture<T> await(String name, Predicate<T> condition) {
+    return await(
+        all ->
+            all.stream()
+                .filter(r -> name.equals(r.getMetadata().getName()))
+                .filter(condition)
+                .findAny()
+                .orElse(null));
+  }
+
+  /** Stops watching the resources. Pending waits are cancelled. */
+  public void close() {
+    Watch toClose;
+    synchronized (this) {
+      closed = true;
+      toClose = watch;
+      watch = null;
+      entries = null;
+    }
+    if (toClose != null) {
+      toClose.close();
+    }
+    for (Waiter<?> waiter : new ArrayList<>(waiters)) {
+      waiter.future.cancel(false);
+    }
+  }
+
+  private ConcurrentMap<String, Entry<T>> entries() {
+    ConcurrentMap<String, Entry<T>> current = entries;
+    if (current == null) {
+      synchronized (listLock) {
+        current = entries;
+        if (current == null) {
+          current = relist();
+        }
+      }
+    }
+    return current == null ? new ConcurrentHashMap<>() : current;
+  }
+
+  /**
+   * Lists the resources and starts the watch from the version of the list. Both are done without
+   * holding the monitor of the cache, new copy of the resources replaces the current one together
+   * with the watch. Returns the new copy or {@code null} if the cache is closed.
+   */
+  private ConcurrentMap<String, Entry<T>> relist() {
+    if (isClosed()) {
+      return null;
+    }
+    KubernetesResourceList list = lister.get();
+    ConcurrentMap<String, Entry<T>> fresh = new ConcurrentHashMap<>();
+    for (Object item : list.getItems()) {
+      @SuppressWarnings("unchecked")
+      T resource = (T) item;
+      fresh.put(resource.getMetadata().getName(), new Entry<>(resource, false));
+    }
+    Watch newWatch =
+        watcher.apply(list.getMetadata().getResourceVersion(), new ResourceWatcher(fresh));
+    Watch toClose;
+    synchronized (this) {
+      if (closed) {
+        toClose = newWatch;
+        fresh = null;
+      } else {
+        toClose = watch;
+        watch = newWatch;
+        entries = fresh;
+      }
+    }
+    if (toClose != null) {
+      toClose.close();
+    }
+    if (fresh != null) {
+      notifyWaiters(fresh);
+    }
+    return fresh;
+  }
+
+  private void restart(ConcurrentMap<String, Entry<T>> closedCopy) {
+    synchronized (listLock) {
+      if (isClosed() || entries != closedCopy) {
+        return;
+      }
+      try {
+        relist();
+      } catch (KubernetesClientException e) {
+        LOG.warn("Failed to restart watch of {}: {}", kind, e.getMessage());
+        // it will be retried on the next access
+        synchronized (this) {
+          if (entries == closedCopy) {
+            entries = null;
+            watch = null;
+          }
+        }
+      }
+    }
+  }
+
+  private synchronized boolean isClosed() {
+    return closed;
+  }
+
+  /**
+   * Applies the change to the copy unless the copy contains a newer version of the resource.
+   * Returns {@code true} if the change is applied.
+   */
+  private boolean apply(ConcurrentMap<String, Entry<T>> copy, T resource, boolean deleted) {
+    Entry<T> change = new Entry<>(resource, deleted);
+    return change
+        == copy.compute(
+            resource.getMetadata().getName(),
+            (name, existing) ->
+                existing == null || !isOlder(change.version, existing.version)
+                    ? change
+                    : existing);
+  }
+
+  /**
+   * Resource versions are opaque for the clients, in practice they are increasing numbers. If any
+   * of the versions is not a number the change is considered to be newer.
+   */
+  private static boolean isOlder(String version, String current) {
+    if (version == null || current == null) {
+      return false;
+    }
+    try {
+      return Long.parseLong(version) < Long.parseLong(current);
+    } catch (NumberFormatException e) {
+      return false;
+    }
+  }
+
+  private List<T> snapshot(Map<String, Entry<T>> copy) {
+    List<T> result = new ArrayList<>(copy.size());
+    for (Entry<T> entry : copy.values()) {
+      if (entry.resource != null) {
+        result.add(entry.resource);
+      }
+    }
+    return Collections.unmodifiableList(result);
+  }
+
+  private void notifyWaiters(Map<String, Entry<T>> copy) {
+    if (waiters.isEmpty()) {
+      return;
+    }
+    Collection<T> snapshot = snapshot(copy);
+    for (Waiter<?> waiter : waiters) {
+      waiter.check(snapshot);
+    }
+  }
+
+  /** Cached state of the resource, deleted resource is kept as a tombstone with its version. */
+  private static class Entry<T extends HasMetadata> {
+    final T resource;
+    final String version;
+
+    Entry(T resource, boolean deleted) {
+      this.resource = deleted ? null : resource;
+      this.version = resource.getMetadata().getResourceVersion();
+    }
+  }
+
+  /** Applies events to the copy of the resources which was listed together with the watch. */
+  private class ResourceWatcher implements Watcher<T> {
+    final ConcurrentMap<String, Entry<T>> copy;
+
+    ResourceWatcher(ConcurrentMap<String, Entry<T>> copy) {
+      this.copy = copy;
+    }
+
+    @Override
+    public void eventReceived(Action action, T resource) {
+      boolean applied;
+      switch (action) {
+        case ADDED:
+        case MODIFIED:
+          applied = apply(copy, resource, false);
+          break;
+        case DELETED:
+          applied = apply(copy, resource, true);
+          break;
+        default:
+          return;
+      }
+      if (applied && copy == entries) {
+        notifyWaiters(copy);
+      }
+    }
+
+    @Override
+    public void onClose(KubernetesClientException cause) {
+      if (isClosed() || copy != entries) {
+        return;
+      }
+      LOG.info(
+          "Watch of {} closed: {}. Resyncing",
+          kind,
+          cause == null ? "closed by server" : cause.getMessage());
+      restart(copy);
+    }
+  }
+
+  private class Waiter<R> {
+    final Function<Collection<T>, R> condition;
+    final CompletableFuture<R> future = new CompletableFuture<>();
+
+    Waiter(Function<Collection<T>, R> condition) {
+      this.condition = condition;
+    }
+
+    void check(Collection<T> snapshot) {
+      if (future.isDone()) {
+        return;
+      }
+      try {
+        R result = condition.apply(snapshot);
+        if (result != null) {
+          future.complete(result);
+        }
+      } catch (RuntimeException e) {
+        future.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -10,22 +10,48 @@
  */
 package org.eclipse.che.plugin.openshift.client;
 
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
 import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.fail;
 
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.dsl.ExecListener;
+import io.fabric8.kubernetes.client.dsl.ExecWatch;
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.plugin.docker.client.DockerApiVersionPathPrefixProvider;
 import org.eclipse.che.plugin.docker.client.DockerConnectorConfiguration;
 import org.eclipse.che.plugin.docker.client.DockerRegistryAuthResolver;
+import org.eclipse.che.plugin.docker.client.LogMessage;
 import org.eclipse.che.plugin.docker.client.connection.DockerConnectionFactory;
+import org.eclipse.che.plugin.docker.client.exception.ExecNotFoundException;
 import org.eclipse.che.plugin.docker.client.json.ContainerConfig;
+import org.eclipse.che.plugin.docker.client.json.ExecInfo;
 import org.eclipse.che.plugin.docker.client.json.ImageConfig;
 import org.eclipse.che.plugin.docker.client.params.CreateContainerParams;
+import org.eclipse.che.plugin.docker.client.params.CreateExecParams;
+import org.eclipse.che.plugin.docker.client.params.StartExecParams;
+import org.eclipse.che.plugin.openshift.client.exception.OpenShiftException;
+import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesResourceCache;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.testng.MockitoTestNGListener;
@@ -48,6 +74,9 @@ public class OpenShiftConnectorTest {
   private static final String CHE_WORKSPACE_CPU_LIMIT = "1";
   private static final boolean SECURE_ROUTES = false;
   private static final boolean CREATE_WORKSPACE_DIRS = true;
+  private static final long EXEC_ATTACH_TIMEOUT_MIN = 1;
+  private static final String CONTAINER_ID = "0123456789abcdef";
+  private static final String POD_NAME = "workspace-pod";
 
   @Mock private DockerConnectorConfiguration dockerConnectorConfiguration;
   @Mock private DockerConnectionFactory dockerConnectionFactory;
@@ -58,6 +87,10 @@ public class OpenShiftConnectorTest {
   @Mock private OpenShiftPvcHelper openShiftPvcHelper;
   @Mock private OpenShiftRouteCreator openShiftRouteCreator;
   @Mock private OpenShiftDeploymentCleaner openShiftDeploymentCleaner;
+  @Mock private OpenShiftClientFactory openShiftClientFactory;
+  @Mock private OpenShiftResourceCache openShiftResourceCache;
+  @Mock private KubernetesResourceCache<Pod> podCache;
+  @Mock private ExecWatch execWatch;
 
   private OpenShiftConnector openShiftConnector;
 
@@ -65,7 +98,11 @@ public class OpenShiftConnectorTest {
   private void setup() {
 
     //When
-    openShiftConnector =
+    openShiftConnector = createConnector(EXEC_ATTACH_TIMEOUT_MIN);
+  }
+
+  private OpenShiftConnector createConnector(long execAttachTimeoutMin) {
+    return spy(
         new OpenShiftConnector(
             dockerConnectorConfiguration,
             dockerConnectionFactory,
@@ -74,6 +111,8 @@ public class OpenShiftConnectorTest {
             openShiftPvcHelper,
             openShiftRouteCreator,
             openShiftDeploymentCleaner,
+            openShiftClientFactory,
+            openShiftResourceCache,
             eventService,
             CHE_DEFAULT_SERVER_EXTERNAL_ADDRESS,
             CHE_DEFAULT_OPENSHIFT_PROJECT_NAME,
@@ -86,7 +125,8 @@ public class OpenShiftConnectorTest {
             CHE_WORKSPACE_CPU_LIMIT,
             null,
             SECURE_ROUTES,
-            CREATE_WORKSPACE_DIRS);
+            CREATE_WORKSPACE_DIRS,
+            execAttachTimeoutMin));
   }
 
   @Test
@@ -132,4 +172,178 @@ public class OpenShiftConnectorTest {
     assertNotNull(mapPorts);
     assertEquals(mapPorts.size(), 0);
   }
+
+  @Test(expectedExceptions = ExecNotFoundException.class)
+  public void shouldThrowExecNotFoundExceptionWhenGettingInfoOfUnknownExec() throws IOException {
+    openShiftConnector.getExecInfo("unknown");
+  }
+
+  @Test
+  public void shouldStreamOutputOfAttachedExecUntilItsWebsocketIsClosed() throws Exception {
+    AtomicReference<ExecListener> listener = mockExecWatch(false, "out\n", "err\n");
+    String execId = createExec(false);
+    List<String> output = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              assertTrue(openShiftConnector.getExecInfo(execId).isRunning());
+              listener.get().onOpen(null);
+              listener.get().onClose(1000, "");
+              return execWatch;
+            })
+        .when(openShiftConnector)
+        .openExecWatch(eq(POD_NAME), any(String[].class), eq(false), any(ExecListener.class));
+
+    openShiftConnector.startExec(
+        StartExecParams.create(execId),
+        message -> output.add(message.getType() + ":" + message.getContent()));
+
+    assertEquals(output.size(), 2);
+    assertTrue(output.contains(LogMessage.Type.STDOUT + ":out"));
+    assertTrue(output.contains(LogMessage.Type.STDERR + ":err"));
+    assertFalse(openShiftConnector.getExecInfo(execId).isRunning());
+    verify(execWatch).close();
+  }
+
+  @Test
+  public void shouldPumpOutputOfAttachedExecByCallerWhenPumpThreadsAreNotAvailable()
+      throws Exception {
+    AtomicReference<ExecListener> listener = mockExecWatch(false, "out\n", "err\n");
+    String execId = createExec(false);
+    List<String> output = new CopyOnWriteArrayList<>();
+    doAnswer(
+            invocation -> {
+              listener.get().onOpen(null);
+              listener.get().onClose(1000, "");
+              return execWatch;
+            })
+        .when(openShiftConnector)
+        .openExecWatch(eq(POD_NAME), any(String[].class), eq(false), any(ExecListener.class));
+    openShiftConnector.shutdownExecOutputPumps();
+
+    openShiftConnector.startExec(
+        StartExecParams.create(execId),
+        message -> output.add(message.getType() + ":" + message.getContent()));
+
+    assertEquals(output.size(), 2);
+    assertTrue(output.contains(LogMessage.Type.STDOUT + ":out"));
+    assertTrue(output.contains(LogMessage.Type.STDERR + ":err"));
+    assertFalse(openShiftConnector.getExecInfo(execId).isRunning());
+    verify(execWatch).close();
+  }
+
+  @Test(timeOut = 10_000)
+  public void shouldStopPumpingOutputByCallerOnTimeout() throws Exception {
+    List<byte[]> output = new CopyOnWriteArrayList<>();
+
+    OpenShiftConnector.pumpExecOutputInline(
+        new ByteArrayInputStream("out".getBytes()),
+        output::add,
+        new ByteArrayInputStream(new byte[0]),
+        output::add,
+        new CompletableFuture<>(),
+        100);
+
+    assertEquals(output.size(), 1);
+    assertEquals(new String(output.get(0)), "out");
+  }
+
+  @Test
+  public void shouldNotWaitForDetachedExecToFinish() throws Exception {
+    AtomicReference<ExecListener> listener = mockExecWatch(true, "", "");
+    String execId = createExec(true);
+
+    openShiftConnector.startExec(StartExecParams.create(execId), null);
+
+    assertTrue(openShiftConnector.getExecInfo(execId).isRunning());
+    verify(execWatch, never()).close();
+
+    listener.get().onClose(1000, "");
+
+    assertFalse(openShiftConnector.getExecInfo(execId).isRunning());
+    verify(execWatch).close();
+  }
+
+  @Test
+  public void shouldStopWaitingForAttachedExecOnTimeout() throws Exception {
+    openShiftConnector = createConnector(0);
+    mockExecWatch(false, "", "");
+    String execId = createExec(false);
+
+    try {
+      openShiftConnector.startExec(StartExecParams.create(execId), null);
+      fail("Exec which is not finished in time must fail");
+    } catch (OpenShiftException expected) {
+    }
+
+    assertFalse(openShiftConnector.getExecInfo(execId).isRunning());
+    verify(execWatch).close();
+  }
+
+  @Test
+  public void shouldFailAttachedExecWhenItsWebsocketFails() throws Exception {
+    AtomicReference<ExecListener> listener = mockExecWatch(false, "", "");
+    String execId = createExec(false);
+    doAnswer(
+            invocation -> {
+              listener.get().onFailure(new IOException("connection reset"), null);
+              return execWatch;
+            })
+        .when(openShiftConnector)
+        .openExecWatch(eq(POD_NAME), any(String[].class), eq(false), any(ExecListener.class));
+
+    try {
+      openShiftConnector.startExec(StartExecParams.create(execId), null);
+      fail("Failure of exec websocket must be propagated");
+    } catch (OpenShiftException expected) {
+      assertEquals(expected.getMessage(), "connection reset");
+    }
+
+    assertFalse(openShiftConnector.getExecInfo(execId).isRunning());
+    verify(execWatch).close();
+  }
+
+  @Test
+  public void shouldNotReportExitCodeWhichIsNotPassedThroughExecWebsocket() throws Exception {
+    AtomicReference<ExecListener> listener = mockExecWatch(true, "", "");
+    String succeeded = createExec(true);
+    openShiftConnector.startExec(StartExecParams.create(succeeded), null);
+    listener.get().onClose(1000, "");
+    String failed = createExec(true);
+    openShiftConnector.startExec(StartExecParams.create(failed), null);
+    listener.get().onClose(1011, "error");
+
+    int unknownExitCode = new ExecInfo().getExitCode();
+    assertEquals(openShiftConnector.getExecInfo(succeeded).getExitCode(), unknownExitCode);
+    assertEquals(openShiftConnector.getExecInfo(failed).getExitCode(), unknownExitCode);
+  }
+
+  /**
+   * Mocks the exec websocket of the workspace pod. The websocket is opened immediately, the
+   * returned reference holds the listener of the last opened exec.
+   */
+  private AtomicReference<ExecListener> mockExecWatch(boolean detach, String out, String err)
+      throws Exception {
+    Pod pod = new PodBuilder().withNewMetadata().withName(POD_NAME).endMetadata().build();
+    when(openShiftResourceCache.pods()).thenReturn(podCache);
+    when(podCache.list(any())).thenReturn(singletonList(pod));
+    when(execWatch.getOutput()).thenReturn(new ByteArrayInputStream(out.getBytes()));
+    when(execWatch.getError()).thenReturn(new ByteArrayInputStream(err.getBytes()));
+    AtomicReference<ExecListener> listener = new AtomicReference<>();
+    doAnswer(
+            invocation -> {
+              listener.set((ExecListener) invocation.getArguments()[3]);
+              listener.get().onOpen(null);
+              return execWatch;
+            })
+        .when(openShiftConnector)
+        .openExecWatch(eq(POD_NAME), any(String[].class), eq(detach), any(ExecListener.class));
+    return listener;
+  }
+
+  private String createExec(boolean detach) throws IOException {
+    return openShiftConnector
+        .createExec(
+            CreateExecParams.create(CONTAINER_ID, new String[] {"ls", "-la"}).withDetach(detach))
+        .getId();
+  }
 }
@@ -0,0 +1,229 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.openshift.client;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher.Action;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.plugin.openshift.client.OpenShiftPvcHelper.BatchKey;
+import org.eclipse.che.plugin.openshift.client.OpenShiftPvcHelper.Command;
+import org.eclipse.che.plugin.openshift.client.OpenShiftPvcHelper.PodTerminationWatcher;
+import org.eclipse.che.plugin.openshift.client.kubernetes.KubernetesStringUtils;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+@Listeners(MockitoTestNGListener.class)
+public class OpenShiftPvcHelperTest {
+  private static final String PVC_NAME = "claim-che-workspace";
+  private static final String NAMESPACE = "eclipse-che";
+
+  @Mock private OpenShiftClientFactory clientFactory;
+
+  private OpenShiftPvcHelper pvcHelper;
+  private List<Set<String>> jobs;
+  private Set<String> failedDirs;
+  private ExecutorService callers;
+
+  @BeforeMethod
+  public void setUp() {
+    pvcHelper = spy(new OpenShiftPvcHelper("centos:centos7", "250Mi", clientFactory));
+    jobs = new CopyOnWriteArrayList<>();
+    failedDirs = new HashSet<>();
+    callers = Executors.newCachedThreadPool();
+    doAnswer(
+            invocation -> {
+              String[] dirs = (String[]) invocation.getArguments()[1];
+              jobs.add(new HashSet<>(Arrays.asList(dirs)));
+              StringBuilder log = new StringBuilder();
+              for (String dir : dirs) {
+                log.append(failedDirs.contains(dir) ? "FAILED " : "OK ").append(dir).append('\n');
+              }
+              return OpenShiftPvcHelper.parseResults(log.toString());
+            })
+        .when(pvcHelper)
+        .runJobPod(any(BatchKey.class), any(String[].class));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    callers.shutdownNow();
+    pvcHelper.shutdown();
+  }
+
+  @Test(timeOut = 10_000)
+  public void executesCommandsRequestedWithinBatchWindowByOnePod() throws Exception {
+    String first = newDir();
+    String second = newDir();
+    CountDownLatch start = new CountDownLatch(1);
+
+    Future<Map<String, Boolean>> firstResult =
+        callers.submit(
+            () -> {
+              start.await();
+              return pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.REMOVE, first);
+            });
+    Future<Map<String, Boolean>> secondResult =
+        callers.submit(
+            () -> {
+              start.await();
+              return pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.REMOVE, second);
+            });
+    start.countDown();
+
+    assertEquals(firstResult.get(), ImmutableMap.of(first, true));
+    assertEquals(secondResult.get(), ImmutableMap.of(second, true));
+    assertEquals(jobs.size(), 1);
+    assertEquals(
+        jobs.get(0),
+        new HashSet<>(Arrays.asList(first, first + "-logs", second, second + "-logs")));
+  }
+
+  @Test(timeOut = 10_000)
+  public void executesDifferentCommandsByDifferentPods() throws Exception {
+    String dir = newDir();
+
+    Future<Map<String, Boolean>> made =
+        callers.submit(() -> pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.MAKE, dir));
+    Future<Map<String, Boolean>> removed =
+        callers.submit(
+            () -> pvcHelper.executeCommand("other-claim", NAMESPACE, Command.REMOVE, dir));
+
+    assertEquals(made.get(), ImmutableMap.of(dir, true));
+    assertEquals(removed.get(), ImmutableMap.of(dir, true));
+    assertEquals(jobs.size(), 2);
+  }
+
+  @Test(timeOut = 10_000)
+  public void failsDirectoryWhenCommandFailsForItsLogsDirectory() throws Exception {
+    String succeeded = newDir();
+    String failed = newDir();
+    failedDirs.add(failed + "-logs");
+
+    Map<String, Boolean> results =
+        pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.MAKE, succeeded, failed);
+
+    assertEquals(results, ImmutableMap.of(succeeded, true, failed, false));
+  }
+
+  @Test(timeOut = 10_000)
+  public void doesNotCreateAlreadyCreatedDirectories() throws Exception {
+    String dir = newDir();
+    pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.MAKE, dir);
+
+    Map<String, Boolean> results = pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.MAKE, dir);
+
+    assertEquals(results, ImmutableMap.of(dir, true));
+    verify(pvcHelper, times(1)).runJobPod(any(BatchKey.class), any(String[].class));
+  }
+
+  @Test(timeOut = 10_000)
+  public void failsCommandsWhichAreNotExecutedBeforeShutdown() throws Exception {
+    String dir = newDir();
+
+    Future<Map<String, Boolean>> result =
+        callers.submit(() -> pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.REMOVE, dir));
+    pvcHelper.shutdown();
+
+    assertEquals(result.get(), ImmutableMap.of(dir, false));
+    assertEquals(
+        pvcHelper.executeCommand(PVC_NAME, NAMESPACE, Command.REMOVE, dir),
+        ImmutableMap.of(dir, false));
+    verify(pvcHelper, never()).runJobPod(any(BatchKey.class), any(String[].class));
+  }
+
+  @Test
+  public void parsesResultOfEachDirectoryFromJobLog() {
+    Map<String, Boolean> results =
+        OpenShiftPvcHelper.parseResults(
+            "OK ws1\nFAILED ws1-logs\n  OK dir with spaces  \nunexpected\n\n");
+
+    assertEquals(
+        results, ImmutableMap.of("ws1", true, "ws1-logs", false, "dir with spaces", true));
+    assertTrue(OpenShiftPvcHelper.parseResults(null).isEmpty());
+  }
+
+  @Test
+  public void completesWhenPodIsTerminated() throws Exception {
+    CompletableFuture<String> terminated = new CompletableFuture<>();
+    PodTerminationWatcher watcher = new PodTerminationWatcher(terminated);
+
+    watcher.eventReceived(Action.ADDED, new PodBuilder().build());
+    watcher.eventReceived(Action.MODIFIED, pod("Pending"));
+    watcher.eventReceived(Action.MODIFIED, pod("Running"));
+    watcher.onClose(null);
+    assertFalse(terminated.isDone());
+
+    watcher.eventReceived(Action.MODIFIED, pod("Succeeded"));
+    assertEquals(terminated.get(), "Succeeded");
+
+    CompletableFuture<String> failed = new CompletableFuture<>();
+    new PodTerminationWatcher(failed).eventReceived(Action.MODIFIED, pod("Failed"));
+    assertEquals(failed.get(), "Failed");
+  }
+
+  @Test
+  public void failsWhenPodIsDeletedBeforeItIsTerminated() throws Exception {
+    CompletableFuture<String> terminated = new CompletableFuture<>();
+
+    new PodTerminationWatcher(terminated).eventReceived(Action.DELETED, pod("Running"));
+
+    assertEquals(terminated.get(), "Failed");
+  }
+
+  @Test(
+    expectedExceptions = ExecutionException.class,
+    expectedExceptionsMessageRegExp = ".*watch failed"
+  )
+  public void failsWhenWatchIsClosedWithError() throws Exception {
+    CompletableFuture<String> terminated = new CompletableFuture<>();
+
+    new PodTerminationWatcher(terminated).onClose(new KubernetesClientException("watch failed"));
+
+    terminated.get(0, TimeUnit.MILLISECONDS);
+  }
+
+  private static Pod pod(String phase) {
+    return new PodBuilder().withNewStatus().withPhase(phase).endStatus().build();
+  }
+
+  private static String newDir() {
+    return KubernetesStringUtils.generateWorkspaceID();
+  }
+}
@@ -10,6 +10,7 @@
  */
 package org.eclipse.che.plugin.openshift.client;
 
+import static java.util.Collections.singletonMap;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.eq;
@@ -21,7 +22,9 @@ import static org.testng.Assert.assertEquals;
 
 import java.io.IOException;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.notification.EventService;
@@ -66,8 +69,7 @@ public class OpenShiftWorkspaceFilesCleanerTest {
 
     // Then
     verify(pvcHelper, never())
-        .createJobPod(
-            anyString(),
+        .executeCommand(
             anyString(),
             anyString(),
             any(OpenShiftPvcHelper.Command.class),
@@ -85,8 +87,7 @@ public class OpenShiftWorkspaceFilesCleanerTest {
 
     // Then
     verify(pvcHelper, times(1))
-        .createJobPod(
-            anyString(),
+        .executeCommand(
             anyString(),
             anyString(),
             eq(OpenShiftPvcHelper.Command.REMOVE),
@@ -108,8 +109,7 @@ public class OpenShiftWorkspaceFilesCleanerTest {
 
     // Then
     verify(pvcHelper, times(1))
-        .createJobPod(
-            anyString(),
+        .executeCommand(
             anyString(),
             anyString(),
             eq(OpenShiftPvcHelper.Command.REMOVE),
@@ -128,7 +128,8 @@ public class OpenShiftWorkspaceFilesCleanerTest {
   public void shouldRetainQueueIfDeletionFails() throws ServerException, IOException {
     // Given
     Workspace workspaceOne = generateWorkspace(WORKSPACE_ONE);
-    when(pvcHelper.createJobPod(any(), any(), any(), any(), any())).thenReturn(false);
+    when(pvcHelper.executeCommand(any(), any(), any(), any()))
+        .thenReturn(singletonMap(WORKSPACE_ONE, false));
 
     // When
     cleaner.clear(workspaceOne);
@@ -136,8 +137,7 @@ public class OpenShiftWorkspaceFilesCleanerTest {
 
     // Then
     verify(pvcHelper, times(1))
-        .createJobPod(
-            anyString(),
+        .executeCommand(
             anyString(),
             anyString(),
             eq(OpenShiftPvcHelper.Command.REMOVE),
@@ -148,8 +148,7 @@ public class OpenShiftWorkspaceFilesCleanerTest {
 
     // Then
     verify(pvcHelper, times(2))
-        .createJobPod(
-            anyString(),
+        .executeCommand(
             anyString(),
             anyString(),
             eq(OpenShiftPvcHelper.Command.REMOVE),
@@ -168,14 +167,39 @@ public class OpenShiftWorkspaceFilesCleanerTest {
 
     // Then
     verify(pvcHelper, times(1))
-        .createJobPod(
+        .executeCommand(
             eq(WORKSPACES_PVC_NAME),
             eq(CHE_OPENSHIFT_PROJECT),
-            anyString(),
             eq(OpenShiftPvcHelper.Command.REMOVE),
             eq(WORKSPACE_ONE));
   }
 
+  @Test
+  public void shouldRetainOnlyWorkspacesWhichFailedToBeDeleted()
+      throws ServerException, IOException {
+    // Given
+    Workspace workspaceOne = generateWorkspace(WORKSPACE_ONE);
+    Workspace workspaceTwo = generateWorkspace(WORKSPACE_TWO);
+    Map<String, Boolean> results = new HashMap<>();
+    results.put(WORKSPACE_ONE, true);
+    results.put(WORKSPACE_TWO, false);
+    when(pvcHelper.executeCommand(any(), any(), any(), any(), any())).thenReturn(results);
+
+    // When
+    cleaner.clear(workspaceOne);
+    cleaner.clear(workspaceTwo);
+    eventService.publish(serverIdleEvent);
+    eventService.publish(serverIdleEvent);
+
+    // Then
+    verify(pvcHelper, times(1))
+        .executeCommand(
+            anyString(),
+            anyString(),
+            eq(OpenShiftPvcHelper.Command.REMOVE),
+            eq(WORKSPACE_TWO));
+  }
+
   private Workspace generateWorkspace(String id) {
     WorkspaceConfigImpl config = new WorkspaceConfigImpl();
     config.setName(id);
@@ -0,0 +1,303 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.openshift.client.kubernetes;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import io.fabric8.kubernetes.api.model.KubernetesResourceList;
+import io.fabric8.kubernetes.api.model.Pod;
+import io.fabric8.kubernetes.api.model.PodBuilder;
+import io.fabric8.kubernetes.api.model.PodList;
+import io.fabric8.kubernetes.api.model.PodListBuilder;
+import io.fabric8.kubernetes.api.model.WatchEventBuilder;
+import io.fabric8.kubernetes.client.KubernetesClientException;
+import io.fabric8.kubernetes.client.Watcher;
+import io.fabric8.openshift.client.OpenShiftClient;
+import io.fabric8.openshift.client.server.mock.OpenShiftServer;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class KubernetesResourceCacheTest {
+  private static final String NAMESPACE = "che";
+  private static final String PODS_PATH = "/api/v1/namespaces/che/pods";
+  private static final String WATCH_PATH = PODS_PATH + "?resourceVersion=1&watch=true";
+
+  private OpenShiftServer server;
+  private KubernetesResourceCache<Pod> cache;
+
+  private final Queue<PodList> lists = new ConcurrentLinkedQueue<>();
+  private final List<Watcher<Pod>> watchers = new CopyOnWriteArrayList<>();
+  private final List<String> versions = new CopyOnWriteArrayList<>();
+  private final AtomicInteger closedWatches = new AtomicInteger();
+  private volatile Supplier<KubernetesResourceList> lister = lists::poll;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    lists.clear();
+    watchers.clear();
+    versions.clear();
+    closedWatches.set(0);
+    lister = lists::poll;
+    server = new OpenShiftServer();
+    server.before();
+    OpenShiftClient client = server.getOpenshiftClient();
+    cache =
+        new KubernetesResourceCache<>(
+            "pods",
+            () -> client.pods().inNamespace(NAMESPACE).list(),
+            (version, watcher) -> client.pods().inNamespace(NAMESPACE).watch(version, watcher));
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    cache.close();
+    server.after();
+  }
+
+  @Test
+  public void servesListedResources() throws Exception {
+    expectList(pod("ws-1", "Running"), pod("ws-2", "Pending"));
+    server.expect().withPath(WATCH_PATH).andUpgradeToWebSocket().open().done().once();
+
+    assertNotNull(cache.get("ws-1"));
+    assertEquals(cache.list(p -> "Pending".equals(p.getStatus().getPhase())).size(), 1);
+    assertNull(cache.get("ws-3"));
+  }
+
+  @Test
+  public void completesWaitFromWatchEvent() throws Exception {
+    expectList(pod("ws-1", "Pending"));
+    server
+        .expect()
+        .withPath(WATCH_PATH)
+        .andUpgradeToWebSocket()
+        .open()
+        .waitFor(200)
+        .andEmit(
+            new WatchEventBuilder()
+                .withType("MODIFIED")
+                .withObject(pod("ws-1", "Running"))
+                .build())
+        .done()
+        .once();
+
+    CompletableFuture<Pod> running =
+        cache.await("ws-1", p -> "Running".equals(p.getStatus().getPhase()));
+
+    assertEquals(running.get(5, SECONDS).getStatus().getPhase(), "Running");
+  }
+
+  @Test
+  public void removesDeletedResources() throws Exception {
+    expectList(pod("ws-1", "Running"));
+    server
+        .expect()
+        .withPath(WATCH_PATH)
+        .andUpgradeToWebSocket()
+        .open()
+        .waitFor(200)
+        .andEmit(
+            new WatchEventBuilder()
+                .withType("DELETED")
+                .withObject(pod("ws-1", "Running"))
+                .build())
+        .done()
+        .once();
+
+    CompletableFuture<Boolean> deleted = cache.await(all -> all.isEmpty() ? Boolean.TRUE : null);
+
+    assertTrue(deleted.get(5, SECONDS));
+    assertNull(cache.get("ws-1"));
+  }
+
+  @Test
+  public void completesWaitWhenResourceIsUpdatedLocally() throws Exception {
+    expectList(pod("ws-1", "Pending"));
+    server.expect().withPath(WATCH_PATH).andUpgradeToWebSocket().open().done().once();
+
+    CompletableFuture<Pod> running =
+        cache.await("ws-1", p -> "Running".equals(p.getStatus().getPhase()));
+    assertFalse(running.isDone());
+
+    cache.update(pod("ws-1", "Running"));
+
+    assertTrue(running.isDone());
+  }
+
+  @Test
+  public void ignoresUpdateWhichIsOlderThanCachedResource() throws Exception {
+    cache = localCache();
+    lists.add(podList("10", pod("ws-1", "Running", "5")));
+    assertNotNull(cache.get("ws-1"));
+
+    cache.update(pod("ws-1", "Pending", "4"));
+    assertEquals(cache.get("ws-1").getStatus().getPhase(), "Running");
+
+    cache.update(pod("ws-1", "Succeeded", "6"));
+    assertEquals(cache.get("ws-1").getStatus().getPhase(), "Succeeded");
+  }
+
+  @Test
+  public void doesNotResurrectDeletedResourceUntilRelist() throws Exception {
+    cache = localCache();
+    lists.add(podList("10", pod("ws-1", "Running", "5")));
+    lists.add(podList("20", pod("ws-1", "Pending", "15")));
+    assertNotNull(cache.get("ws-1"));
+
+    watchers.get(0).eventReceived(Watcher.Action.DELETED, pod("ws-1", "Running", "7"));
+    cache.update(pod("ws-1", "Running", "6"));
+    assertNull(cache.get("ws-1"));
+    assertTrue(cache.list(p -> true).isEmpty());
+
+    watchers.get(0).onClose(new KubernetesClientException("too old resource version"));
+    assertEquals(cache.get("ws-1").getStatus().getPhase(), "Pending");
+  }
+
+  @Test
+  public void relistsWhenWatchIsClosedWithoutError() throws Exception {
+    cache = localCache();
+    lists.add(podList("10", pod("ws-1", "Running", "5")));
+    lists.add(podList("20", pod("ws-2", "Running", "15")));
+    assertNotNull(cache.get("ws-1"));
+
+    watchers.get(0).onClose(null);
+
+    assertNull(cache.get("ws-1"));
+    assertNotNull(cache.get("ws-2"));
+    assertEquals(versions, asList("10", "20"));
+    assertEquals(closedWatches.get(), 1);
+  }
+
+  @Test
+  public void servesOldCopyWhileResourcesAreRelisted() throws Exception {
+    cache = localCache();
+    lists.add(podList("10", pod("ws-1", "Running", "5")));
+    assertNotNull(cache.get("ws-1"));
+    CountDownLatch listing = new CountDownLatch(1);
+    CountDownLatch listed = new CountDownLatch(1);
+    lister =
+        () -> {
+          listing.countDown();
+          try {
+            listed.await();
+          } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+          }
+          return podList("20", pod("ws-2", "Running", "15"));
+        };
+
+    Thread restart = new Thread(() -> watchers.get(0).onClose(null));
+    restart.start();
+    assertTrue(listing.await(5, SECONDS));
+    assertNotNull(cache.get("ws-1"));
+    assertNull(cache.get("ws-2"));
+    listed.countDown();
+    restart.join(5000);
+
+    assertNull(cache.get("ws-1"));
+    assertNotNull(cache.get("ws-2"));
+  }
+
+  @Test
+  public void ignoresEventsOfReplacedWatch() throws Exception {
+    cache = localCache();
+    lists.add(podList("10", pod("ws-1", "Running", "5")));
+    lists.add(podList("20"));
+    assertNotNull(cache.get("ws-1"));
+    watchers.get(0).onClose(null);
+
+    watchers.get(0).eventReceived(Watcher.Action.ADDED, pod("ws-3", "Running", "25"));
+    watchers.get(0).onClose(null);
+
+    assertNull(cache.get("ws-3"));
+    assertEquals(versions, asList("10", "20"));
+  }
+
+  @Test
+  public void doesNotRelistAfterClose() throws Exception {
+    cache = localCache();
+    lists.add(podList("10", pod("ws-1", "Running", "5")));
+    assertNotNull(cache.get("ws-1"));
+
+    cache.close();
+    watchers.get(0).onClose(null);
+
+    assertEquals(versions, asList("10"));
+    assertEquals(closedWatches.get(), 1);
+  }
+
+  private KubernetesResourceCache<Pod> localCache() {
+    return new KubernetesResourceCache<>(
+        "pods",
+        () -> lister.get(),
+        (version, watcher) -> {
+          versions.add(version);
+          watchers.add(watcher);
+          return closedWatches::incrementAndGet;
+        });
+  }
+
+  private static PodList podList(String version, Pod... pods) {
+    return new PodListBuilder()
+        .withNewMetadata()
+        .withResourceVersion(version)
+        .endMetadata()
+        .withItems(pods)
+        .build();
+  }
+
+  private void expectList(Pod... pods) {
+    server
+        .expect()
+        .withPath(PODS_PATH)
+        .andReturn(
+            200,
+            new PodListBuilder()
+                .withNewMetadata()
+                .withResourceVersion("1")
+                .endMetadata()
+                .withItems(pods)
+                .build())
+        .once();
+  }
+
+  private static Pod pod(String name, String phase) {
+    return pod(name, phase, null);
+  }
+
+  private static Pod pod(String name, String phase, String version) {
+    return new PodBuilder()
+        .withNewMetadata()
+        .withName(name)
+        .withNamespace(NAMESPACE)
+        .withResourceVersion(version)
+        .endMetadata()
+        .withNewStatus()
+        .withPhase(phase)
+        .endStatus()
+        .build();
+  }
+}
@@ -346,7 +346,7 @@ public abstract class Resource implements IResource, IPathRequestor, ICoreConsta
 
   @Override
   public boolean exists() {
-    return workspace.getFile(path).exists();
+    return workspace.getResourceInfo(path) != null;
   }
 
   @Override
@@ -384,7 +384,7 @@ public abstract class Resource implements IResource, IPathRequestor, ICoreConsta
 
   @Override
   public long getLocalTimeStamp() {
-    throw new UnsupportedOperationException();
+    return workspace.getLocalTimeStamp(path);
   }
 
   @Override
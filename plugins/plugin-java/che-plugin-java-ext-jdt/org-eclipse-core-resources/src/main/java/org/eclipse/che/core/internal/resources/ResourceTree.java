@@ -0,0 +1,203 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.internal.resources;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.VirtualFileEntry;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+
+/**
+ * In-memory mirror of the projects file system which serves existence, type, time stamp and
+ * members queries of {@link Workspace} without touching the disk.
+ *
+ * <p>Members of a folder are listed from the virtual file system once, on the first query that
+ * goes through the folder, and are kept until the folder is removed. After that the tree is kept
+ * up to date by {@link #refresh(IPath)} calls which are made by the workspace itself for its own
+ * operations and by listeners of file watcher and project events for all other changes. Refresh
+ * looks at the changed item only, so already loaded members of its siblings are preserved.
+ */
+public class ResourceTree {
+  private static final long UNKNOWN_STAMP = -1;
+
+  private final Supplier<FolderEntry> projectsRoot;
+  /** Projects root is a folder in the virtual file system, so it is represented as a folder. */
+  private final Node root = new Node(IResource.FOLDER);
+
+  ResourceTree(Supplier<FolderEntry> projectsRoot) {
+    this.projectsRoot = projectsRoot;
+  }
+
+  /**
+   * Returns type of the item with the given path, {@link IResource#FILE} or {@link
+   * IResource#FOLDER}, or {@code -1} if there is no such item.
+   */
+  int getType(IPath path) throws ServerException {
+    Node node = find(path);
+    return node == null ? -1 : node.type;
+  }
+
+  /**
+   * Returns names and types of members of the folder with the given path or {@code null} if there
+   * is no such folder.
+   */
+  Map<String, Integer> getMembers(IPath path) throws ServerException {
+    Node node = find(path);
+    if (node == null || node.type == IResource.FILE) {
+      return null;
+    }
+    Map<String, Integer> result = new HashMap<>();
+    for (Map.Entry<String, Node> member : getMembers(node, path).entrySet()) {
+      result.put(member.getKey(), member.getValue().type);
+    }
+    return result;
+  }
+
+  /**
+   * Returns time of the last modification of the item with the given path or {@link
+   * IResource#NULL_STAMP} if there is no such item.
+   */
+  long getLocalTimeStamp(IPath path) throws ServerException {
+    Node node = find(path);
+    if (node == null) {
+      return IResource.NULL_STAMP;
+    }
+    long stamp = node.localTimeStamp;
+    if (stamp == UNKNOWN_STAMP) {
+      VirtualFileEntry entry = getEntry(path);
+      if (entry == null) {
+        return IResource.NULL_STAMP;
+      }
+      stamp = entry.getModified();
+      node.localTimeStamp = stamp;
+    }
+    return stamp;
+  }
+
+  /**
+   * Re-reads state of the item with the given path. The item is added to the tree if it was
+   * created, removed from the tree together with its members if it was deleted, and its cached
+   * time stamp is reset if it was modified. If some of the parent folders of the item are missing
+   * in the tree the top-most of them is re-read instead. Does nothing if the item is not reachable
+   * through loaded folders, such items are loaded on demand anyway.
+   */
+  public void refresh(IPath path) {
+    if (path.isRoot()) {
+      root.members = null;
+      return;
+    }
+    Node parent = root;
+    int depth = 0;
+    while (depth < path.segmentCount() - 1) {
+      Map<String, Node> members = parent.members;
+      if (members == null) {
+        return;
+      }
+      Node child = members.get(path.segment(depth));
+      if (child == null) {
+        break;
+      }
+      parent = child;
+      depth++;
+    }
+    refreshMember(parent, path.uptoSegment(depth + 1));
+  }
+
+  private void refreshMember(Node parent, IPath path) {
+    synchronized (parent) {
+      Map<String, Node> members = parent.members;
+      if (members == null) {
+        return;
+      }
+      String name = path.lastSegment();
+      VirtualFileEntry entry;
+      try {
+        entry = getEntry(path);
+      } catch (ServerException e) {
+        // state of the item is unknown, let members be loaded again
+        parent.members = null;
+        return;
+      }
+      if (entry == null) {
+        members.remove(name);
+        return;
+      }
+      int type = typeOf(entry);
+      Node node = members.get(name);
+      if (node == null || node.type != type) {
+        members.put(name, new Node(type));
+      } else {
+        node.localTimeStamp = UNKNOWN_STAMP;
+      }
+    }
+  }
+
+  private Node find(IPath path) throws ServerException {
+    Node node = root;
+    for (int i = 0; i < path.segmentCount(); i++) {
+      if (node.type == IResource.FILE) {
+        return null;
+      }
+      node = getMembers(node, path.uptoSegment(i)).get(path.segment(i));
+      if (node == null) {
+        return null;
+      }
+    }
+    return node;
+  }
+
+  private Map<String, Node> getMembers(Node folder, IPath folderPath) throws ServerException {
+    Map<String, Node> members = folder.members;
+    if (members == null) {
+      synchronized (folder) {
+        members = folder.members;
+        if (members == null) {
+          members = new ConcurrentHashMap<>();
+          VirtualFileEntry entry = getEntry(folderPath);
+          if (entry != null && entry.isFolder()) {
+            List<VirtualFileEntry> children = ((FolderEntry) entry).getChildren();
+            for (VirtualFileEntry child : children) {
+              members.put(child.getName(), new Node(typeOf(child)));
+            }
+          }
+          folder.members = members;
+        }
+      }
+    }
+    return members;
+  }
+
+  private VirtualFileEntry getEntry(IPath path) throws ServerException {
+    FolderEntry projects = projectsRoot.get();
+    return path.isRoot() ? projects : projects.getChild(path.toOSString());
+  }
+
+  private static int typeOf(VirtualFileEntry entry) {
+    return entry.isFile() ? IResource.FILE : IResource.FOLDER;
+  }
+
+  private static class Node {
+    final int type;
+    volatile long localTimeStamp = UNKNOWN_STAMP;
+    /** Members of the folder by name, {@code null} if they are not loaded yet. */
+    volatile Map<String, Node> members;
+
+    Node(int type) {
+      this.type = type;
+    }
+  }
+}
@@ -15,7 +15,6 @@ import java.io.InputStream;
 import java.net.URI;
 import java.util.Arrays;
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
@@ -92,6 +91,7 @@ public class Workspace implements IWorkspace {
   private String wsPath;
   private final Provider<ProjectRegistry> projectRegistry;
   private final Provider<ProjectManager> projectManager;
+  private final ResourceTree resourceTree;
   /**
    * Scheduling rule factory. This field is null if the factory has not been used yet. The accessor
    * method should be used rather than accessing this field directly.
@@ -107,6 +107,7 @@ public class Workspace implements IWorkspace {
     this.wsPath = path;
     this.projectRegistry = projectRegistry;
     this.projectManager = projectManager;
+    this.resourceTree = new ResourceTree(this::getProjectsRoot);
     _workManager = new WorkManager(this);
     _workManager.startup(null);
     _workManager.postWorkspaceStartup();
@@ -753,9 +754,9 @@ public class Workspace implements IWorkspace {
 
   public ResourceInfo getResourceInfo(IPath path) {
     try {
-      VirtualFileEntry child = getProjectsRoot().getChild(path.toOSString());
-      if (child != null) {
-        return newElement(getType(child));
+      int type = resourceTree.getType(path);
+      if (type != -1) {
+        return newElement(getType(path, type));
       }
       return null;
 
@@ -765,12 +766,29 @@ public class Workspace implements IWorkspace {
     }
   }
 
-  private int getType(VirtualFileEntry file) {
-    if (file.isFile()) {
+  /**
+   * Returns time of the last modification of the resource with the given path or {@link
+   * IResource#NULL_STAMP} if the resource doesn't exist.
+   */
+  public long getLocalTimeStamp(IPath path) {
+    try {
+      return resourceTree.getLocalTimeStamp(path);
+    } catch (ServerException e) {
+      LOG.error(e.getMessage(), e);
+      return IResource.NULL_STAMP;
+    }
+  }
+
+  /** Returns in-memory tree of the workspace resources. */
+  public ResourceTree getResourceTree() {
+    return resourceTree;
+  }
+
+  private int getType(IPath path, int treeType) {
+    if (treeType == IResource.FILE) {
       return IResource.FILE;
     } else {
-      FolderEntry folder = (FolderEntry) file;
-      if (projectRegistry.get().getProject(folder.getPath().toString()) != null) {
+      if (projectRegistry.get().getProject(path.toString()) != null) {
         return IResource.PROJECT;
       } else {
         return IResource.FOLDER;
@@ -800,23 +818,19 @@ public class Workspace implements IWorkspace {
   public IResource[] getChildren(IPath path) {
 
     try {
-      VirtualFileEntry parent = getProjectsRoot().getChild(path.toOSString());
-      if (parent != null && parent.isFolder()) {
-        FolderEntry folder = (FolderEntry) parent;
-        List<VirtualFileEntry> children = folder.getChildren();
-        if (!children.isEmpty()) {
-          IResource[] resources = new IResource[children.size()];
-          for (int i = 0; i < children.size(); i++) {
-            VirtualFileEntry child = children.get(i);
-            IPath iPath = new Path(child.getPath().toString());
-            resources[i] = newResource(iPath, getType(child));
-          }
-          resources =
-              Arrays.stream(resources)
-                  .sorted((o1, o2) -> o1.getName().compareToIgnoreCase(o2.getName()))
-                  .toArray(IResource[]::new);
-          return resources;
+      Map<String, Integer> members = resourceTree.getMembers(path);
+      if (members != null && !members.isEmpty()) {
+        IResource[] resources = new IResource[members.size()];
+        int i = 0;
+        for (Map.Entry<String, Integer> member : members.entrySet()) {
+          IPath iPath = path.append(member.getKey());
+          resources[i++] = newResource(iPath, getType(iPath, member.getValue()));
         }
+        resources =
+            Arrays.stream(resources)
+                .sorted((o1, o2) -> o1.getName().compareToIgnoreCase(o2.getName()))
+                .toArray(IResource[]::new);
+        return resources;
       }
     } catch (ServerException e) {
       LOG.error(e.getMessage(), e);
@@ -853,6 +867,7 @@ public class Workspace implements IWorkspace {
         default:
           throw new UnsupportedOperationException();
       }
+      resourceTree.refresh(path);
     } catch (ForbiddenException | ConflictException | ServerException | NotFoundException e) {
       throw new CoreException(new Status(0, ResourcesPlugin.getPluginId(), e.getMessage(), e));
     }
@@ -864,6 +879,7 @@ public class Workspace implements IWorkspace {
       if (child.isFile()) {
         FileEntry f = (FileEntry) child;
         f.updateContent(content);
+        resourceTree.refresh(file.getFullPath());
       }
 
     } catch (ForbiddenException | ServerException e) {
@@ -885,6 +901,7 @@ public class Workspace implements IWorkspace {
   public void delete(Resource resource) {
     try {
       projectManager.get().delete(resource.getFullPath().toOSString());
+      resourceTree.refresh(resource.getFullPath());
     } catch (ServerException | ForbiddenException | ConflictException | NotFoundException e) {
       LOG.error(e.getMessage(), e);
     }
@@ -902,6 +919,7 @@ public class Workspace implements IWorkspace {
         FileEntry fileEntry = (FileEntry) child;
         fileEntry.updateContent(content);
       }
+      resourceTree.refresh(file.getFullPath());
     } catch (ForbiddenException | ConflictException | ServerException e) {
       throw new CoreException(new Status(0, "", e.getMessage(), e));
     }
@@ -920,6 +938,8 @@ public class Workspace implements IWorkspace {
               destination.getFullPath().removeLastSegments(1).toOSString(),
               destination.getName(),
               true);
+      resourceTree.refresh(file.getFullPath());
+      resourceTree.refresh(destination.getFullPath());
     } catch (ForbiddenException | ServerException | NotFoundException | ConflictException e) {
       throw new CoreException(
           new Status(
@@ -943,6 +963,8 @@ public class Workspace implements IWorkspace {
               destination.getFullPath().removeLastSegments(1).toOSString(),
               destination.getName(),
               true);
+      resourceTree.refresh(folder.getFullPath());
+      resourceTree.refresh(destination.getFullPath());
     } catch (ForbiddenException | NotFoundException | ServerException | ConflictException e) {
       throw new CoreException(
           new Status(
@@ -0,0 +1,289 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.internal.resources;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.fail;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.VirtualFileEntry;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests for {@link ResourceTree}. */
+public class ResourceTreeTest {
+  private static final IPath PROJECT = new Path("/project");
+  private static final IPath SRC = new Path("/project/src");
+  private static final IPath MAIN = new Path("/project/src/Main.java");
+  private static final IPath NEW = new Path("/project/src/New.java");
+
+  private FolderEntry projectsRoot;
+  private FolderEntry project;
+  private FolderEntry src;
+  private FileEntry main;
+  private ResourceTree tree;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    projectsRoot = mock(FolderEntry.class);
+    main = file(MAIN, 1);
+    src = folder(SRC, main);
+    project = folder(PROJECT, src);
+    when(projectsRoot.getChildren()).thenReturn(asList(project));
+    tree = new ResourceTree(() -> projectsRoot);
+  }
+
+  @Test
+  public void answersQueriesFromLoadedFolders() throws Exception {
+    assertEquals(tree.getType(Path.ROOT), IResource.FOLDER);
+    assertEquals(tree.getType(PROJECT), IResource.FOLDER);
+    assertEquals(tree.getType(SRC), IResource.FOLDER);
+    assertEquals(tree.getType(MAIN), IResource.FILE);
+    assertEquals(tree.getType(NEW), -1);
+    assertEquals(tree.getMembers(SRC), ImmutableMap.of("Main.java", IResource.FILE));
+    assertEquals(tree.getType(MAIN), IResource.FILE);
+    assertEquals(tree.getMembers(SRC), ImmutableMap.of("Main.java", IResource.FILE));
+
+    verify(projectsRoot).getChildren();
+    verify(project).getChildren();
+    verify(src).getChildren();
+    verify(projectsRoot, never()).getChild(anyString());
+  }
+
+  @Test
+  public void returnsNothingForMembersOfFileAndMissingFolder() throws Exception {
+    assertNull(tree.getMembers(MAIN));
+    assertNull(tree.getMembers(new Path("/project/missing")));
+    assertEquals(tree.getType(MAIN.append("child")), -1);
+  }
+
+  @Test
+  public void cachesTimeStampUntilItemIsRefreshed() throws Exception {
+    assertEquals(tree.getLocalTimeStamp(MAIN), 1);
+    when(main.getModified()).thenReturn(2L);
+    assertEquals(tree.getLocalTimeStamp(MAIN), 1);
+
+    tree.refresh(MAIN);
+
+    assertEquals(tree.getLocalTimeStamp(MAIN), 2);
+    assertEquals(tree.getLocalTimeStamp(NEW), IResource.NULL_STAMP);
+  }
+
+  @Test
+  public void addsCreatedItemAndKeepsLoadedSiblings() throws Exception {
+    tree.getMembers(SRC);
+    file(NEW, 1);
+
+    tree.refresh(NEW);
+
+    assertEquals(tree.getType(NEW), IResource.FILE);
+    assertEquals(
+        tree.getMembers(SRC),
+        ImmutableMap.of("Main.java", IResource.FILE, "New.java", IResource.FILE));
+    verify(src).getChildren();
+  }
+
+  @Test
+  public void addsTopMostCreatedFolderWhenItsParentsAreNotInTree() throws Exception {
+    tree.getMembers(SRC);
+    IPath pkg = new Path("/project/src/org");
+    FileEntry created = file(pkg.append("A.java"), 1);
+    folder(pkg, created);
+
+    tree.refresh(pkg.append("A.java"));
+
+    assertEquals(tree.getType(pkg), IResource.FOLDER);
+    assertEquals(tree.getType(pkg.append("A.java")), IResource.FILE);
+  }
+
+  @Test
+  public void removesDeletedFolderTogetherWithItsMembers() throws Exception {
+    assertEquals(tree.getType(MAIN), IResource.FILE);
+    when(projectsRoot.getChild(SRC.toOSString())).thenReturn(null);
+
+    tree.refresh(SRC);
+
+    assertEquals(tree.getType(SRC), -1);
+    assertEquals(tree.getType(MAIN), -1);
+    assertEquals(tree.getMembers(PROJECT), ImmutableMap.of());
+  }
+
+  @Test
+  public void movesItemWhenOldAndNewPathsAreRefreshed() throws Exception {
+    tree.getMembers(SRC);
+    when(projectsRoot.getChild(MAIN.toOSString())).thenReturn(null);
+    file(NEW, 1);
+
+    tree.refresh(MAIN);
+    tree.refresh(NEW);
+
+    assertEquals(tree.getType(MAIN), -1);
+    assertEquals(tree.getMembers(SRC), ImmutableMap.of("New.java", IResource.FILE));
+  }
+
+  @Test
+  public void replacesItemWhenItsTypeIsChanged() throws Exception {
+    tree.getMembers(SRC);
+    folder(MAIN);
+
+    tree.refresh(MAIN);
+
+    assertEquals(tree.getType(MAIN), IResource.FOLDER);
+    assertEquals(tree.getMembers(MAIN), ImmutableMap.of());
+  }
+
+  @Test
+  public void doesNotReadFileSystemWhenRefreshedItemIsNotLoaded() throws Exception {
+    tree.refresh(MAIN);
+    tree.getType(PROJECT);
+    tree.refresh(MAIN);
+
+    verify(projectsRoot, never()).getChild(anyString());
+  }
+
+  @Test
+  public void reloadsMembersFromFileSystemWhenRefreshedItemCannotBeRead() throws Exception {
+    tree.getMembers(SRC);
+    FileEntry created = file(NEW, 1);
+    when(projectsRoot.getChild(NEW.toOSString())).thenThrow(new ServerException("error"));
+    when(src.getChildren()).thenReturn(asList(main, created));
+
+    tree.refresh(NEW);
+
+    assertEquals(tree.getType(NEW), IResource.FILE);
+    verify(src, times(2)).getChildren();
+  }
+
+  @Test
+  public void doesNotCacheMembersWhenFolderCannotBeListed() throws Exception {
+    doThrow(new ServerException("error")).when(project).getChildren();
+    try {
+      tree.getType(MAIN);
+      fail("Error of the virtual file system must be propagated");
+    } catch (ServerException expected) {
+    }
+    doReturn(asList(src)).when(project).getChildren();
+
+    assertEquals(tree.getType(MAIN), IResource.FILE);
+  }
+
+  @Test
+  public void refreshOfRootReloadsProjects() throws Exception {
+    tree.getMembers(Path.ROOT);
+    FolderEntry other = folder(new Path("/other"));
+    when(projectsRoot.getChildren()).thenReturn(asList(project, other));
+
+    tree.refresh(Path.ROOT);
+
+    assertEquals(
+        tree.getMembers(Path.ROOT),
+        ImmutableMap.of("project", IResource.FOLDER, "other", IResource.FOLDER));
+  }
+
+  @Test
+  public void servesLookupsConcurrentlyWithUpdates() throws Exception {
+    tree.getMembers(SRC);
+    FileEntry created = file(NEW, 1);
+    AtomicBoolean exists = new AtomicBoolean();
+    when(projectsRoot.getChild(NEW.toOSString())).thenAnswer(i -> exists.get() ? created : null);
+
+    ExecutorService executor = Executors.newFixedThreadPool(5);
+    CountDownLatch start = new CountDownLatch(1);
+    AtomicReference<String> failure = new AtomicReference<>();
+    List<Future<?>> futures = new ArrayList<>();
+    try {
+      futures.add(
+          executor.submit(
+              (Callable<Void>)
+                  () -> {
+                    start.await();
+                    for (int i = 0; i < 2000; i++) {
+                      exists.set(!exists.get());
+                      tree.refresh(NEW);
+                    }
+                    return null;
+                  }));
+      for (int t = 0; t < 4; t++) {
+        futures.add(
+            executor.submit(
+                (Callable<Void>)
+                    () -> {
+                      start.await();
+                      for (int i = 0; i < 2000; i++) {
+                        if (tree.getType(MAIN) != IResource.FILE
+                            || !tree.getMembers(SRC).containsKey("Main.java")) {
+                          failure.set("Loaded sibling is lost on update");
+                        }
+                        int type = tree.getType(NEW);
+                        if (type != IResource.FILE && type != -1) {
+                          failure.set("Unexpected type " + type);
+                        }
+                      }
+                      return null;
+                    }));
+      }
+      start.countDown();
+      for (Future<?> future : futures) {
+        future.get(30, TimeUnit.SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertNull(failure.get());
+    assertEquals(tree.getType(NEW), exists.get() ? IResource.FILE : -1);
+    verify(src).getChildren();
+  }
+
+  private FolderEntry folder(IPath path, VirtualFileEntry... children) throws Exception {
+    FolderEntry folder = mock(FolderEntry.class);
+    when(folder.getName()).thenReturn(path.lastSegment());
+    when(folder.isFolder()).thenReturn(true);
+    when(folder.getChildren()).thenReturn(asList(children));
+    when(projectsRoot.getChild(path.toOSString())).thenReturn(folder);
+    return folder;
+  }
+
+  private FileEntry file(IPath path, long modified) throws Exception {
+    FileEntry file = mock(FileEntry.class);
+    when(file.getName()).thenReturn(path.lastSegment());
+    when(file.isFile()).thenReturn(true);
+    when(file.getModified()).thenReturn(modified);
+    when(projectsRoot.getChild(path.toOSString())).thenReturn(file);
+    return file;
+  }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.core.internal.resources;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+import java.util.Arrays;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.project.server.FileEntry;
+import org.eclipse.che.api.project.server.FolderEntry;
+import org.eclipse.che.api.project.server.ProjectManager;
+import org.eclipse.che.api.project.server.ProjectRegistry;
+import org.eclipse.che.api.project.server.RegisteredProject;
+import org.eclipse.che.api.project.server.VirtualFileEntry;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests that {@link Workspace} answers resource queries from its {@link ResourceTree}. */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceTest {
+  private static final IPath PROJECT = new Path("/project");
+  private static final IPath FILE = new Path("/project/b.txt");
+  private static final IPath FOLDER = new Path("/project/A");
+
+  @Mock private ProjectManager projectManager;
+  @Mock private ProjectRegistry projectRegistry;
+  @Mock private FolderEntry projectsRoot;
+  @Mock private FolderEntry project;
+  @Mock private FolderEntry folder;
+  @Mock private FileEntry file;
+
+  private Workspace workspace;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    when(projectManager.getProjectsRoot()).thenReturn(projectsRoot);
+    when(projectRegistry.getProject(PROJECT.toString())).thenReturn(mock(RegisteredProject.class));
+    entry(project, PROJECT, true);
+    entry(folder, FOLDER, true);
+    entry(file, FILE, false);
+    when(projectsRoot.getChildren()).thenReturn(asList(project));
+    when(project.getChildren()).thenReturn(asList(file, folder));
+
+    workspace = new Workspace("/projects", () -> projectRegistry, () -> projectManager);
+  }
+
+  @Test
+  public void resolvesTypesOfResourcesFromTree() throws Exception {
+    assertEquals(workspace.getResourceInfo(PROJECT).getType(), IResource.PROJECT);
+    assertEquals(workspace.getResourceInfo(FOLDER).getType(), IResource.FOLDER);
+    assertEquals(workspace.getResourceInfo(FILE).getType(), IResource.FILE);
+    assertNull(workspace.getResourceInfo(PROJECT.append("missing")));
+
+    verify(project).getChildren();
+  }
+
+  @Test
+  public void returnsSortedChildrenFromTree() throws Exception {
+    IResource[] children = workspace.getChildren(PROJECT);
+
+    assertEquals(
+        Arrays.stream(children).map(IResource::getFullPath).toArray(), new Object[] {FOLDER, FILE});
+    assertEquals(children[0].getType(), IResource.FOLDER);
+    assertEquals(children[1].getType(), IResource.FILE);
+  }
+
+  @Test
+  public void fallsBackToMissingResourceWhenFileSystemFailsAndRecoversLater() throws Exception {
+    doThrow(new ServerException("error")).when(project).getChildren();
+
+    assertNull(workspace.getResourceInfo(FILE));
+    assertEquals(workspace.getChildren(PROJECT).length, 0);
+
+    doReturn(asList(file, folder)).when(project).getChildren();
+
+    assertEquals(workspace.getResourceInfo(FILE).getType(), IResource.FILE);
+    assertEquals(workspace.getChildren(PROJECT).length, 2);
+  }
+
+  @Test
+  public void refreshesTreeAfterDelete() throws Exception {
+    assertEquals(workspace.getResourceInfo(FILE).getType(), IResource.FILE);
+    when(projectsRoot.getChild(FILE.toOSString())).thenReturn(null);
+
+    workspace.delete(workspace.newResource(FILE, IResource.FILE));
+
+    verify(projectManager).delete(FILE.toOSString());
+    assertNull(workspace.getResourceInfo(FILE));
+  }
+
+  @Test
+  public void refreshesTreeAfterFolderIsCreated() throws Exception {
+    IPath created = PROJECT.append("created");
+    assertNull(workspace.getResourceInfo(created));
+    FolderEntry createdEntry = mock(FolderEntry.class);
+    entry(createdEntry, created, true);
+
+    workspace.createResource(workspace.newResource(created, IResource.FOLDER), IResource.NONE);
+
+    verify(projectsRoot).createFolder(created.toOSString());
+    assertEquals(workspace.getResourceInfo(created).getType(), IResource.FOLDER);
+  }
+
+  private void entry(VirtualFileEntry entry, IPath path, boolean isFolder) throws Exception {
+    when(entry.getName()).thenReturn(path.lastSegment());
+    when(entry.isFolder()).thenReturn(isFolder);
+    when(entry.isFile()).thenReturn(!isFolder);
+    when(projectsRoot.getChild(path.toOSString())).thenReturn(entry);
+  }
+}
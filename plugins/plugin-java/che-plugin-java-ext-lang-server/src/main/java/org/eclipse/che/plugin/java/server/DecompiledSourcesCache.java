@@ -0,0 +1,205 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server;
+
+import static com.google.common.hash.Hashing.sha256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.metrics.MetricsWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps sources generated from the bytecode of the library types on the disk, so the same type of
+ * the same library is generated once for all the projects of the workspace and survives restarts of
+ * the workspace agent.
+ *
+ * <p>Sources are stored per hash of the library jar content and the fully qualified name of the
+ * type, so sources of a changed jar are never returned. Hash of the jar is computed once while its
+ * size and modification time stay the same. Recently used sources are also kept in memory.
+ *
+ * @see SourcesFromBytecodeGenerator
+ */
+@Singleton
+public class DecompiledSourcesCache {
+  private static final Logger LOG = LoggerFactory.getLogger(DecompiledSourcesCache.class);
+
+  /** Bump it when format of the generated sources is changed. */
+  private static final int FORMAT_VERSION = 1;
+
+  private static final int DEFAULT_MEMORY_SIZE = 256;
+
+  private final File cacheDir;
+  private final Cache<String, String> memory;
+  private final Map<File, JarHash> jarHashes = new ConcurrentHashMap<>();
+  private final LongAdder memoryHits = new LongAdder();
+  private final LongAdder diskHits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  @Inject
+  public DecompiledSourcesCache(@Named("che.jdt.sources.cache.dir") String cacheDir) {
+    this(new File(cacheDir), DEFAULT_MEMORY_SIZE);
+  }
+
+  public DecompiledSourcesCache(File cacheDir, int memorySize) {
+    this.cacheDir = cacheDir;
+    this.memory = CacheBuilder.newBuilder().maximumSize(memorySize).build();
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.register(this::collectMetrics);
+  }
+
+  /**
+   * Returns the cached source of the type.
+   *
+   * @param jar library jar the type belongs to
+   * @param typeName fully qualified name of the type
+   * @return source or {@code null} if there is no source cached for the current content of the jar
+   */
+  public String get(File jar, String typeName) {
+    final String key = key(jar, typeName);
+    if (key == null) {
+      misses.increment();
+      return null;
+    }
+    String source = memory.getIfPresent(key);
+    if (source != null) {
+      memoryHits.increment();
+      return source;
+    }
+    try {
+      source = new String(Files.readAllBytes(getEntryPath(key)), UTF_8);
+    } catch (NoSuchFileException e) {
+      misses.increment();
+      return null;
+    } catch (IOException e) {
+      LOG.debug("Unable to read cached source of " + typeName, e);
+      misses.increment();
+      return null;
+    }
+    memory.put(key, source);
+    diskHits.increment();
+    return source;
+  }
+
+  /**
+   * Stores the source of the type generated from the given jar. Failures are logged, the source is
+   * generated again next time.
+   */
+  public void put(File jar, String typeName, String source) {
+    final String key = key(jar, typeName);
+    if (key == null) {
+      return;
+    }
+    memory.put(key, source);
+    final Path entry = getEntryPath(key);
+    Path tmp = null;
+    try {
+      Files.createDirectories(entry.getParent());
+      tmp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+      Files.write(tmp, source.getBytes(UTF_8));
+      Files.move(tmp, entry, ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.warn("Unable to cache source of {}: {}", typeName, e.getMessage());
+      if (tmp != null) {
+        tmp.toFile().delete();
+      }
+    }
+  }
+
+  /** Returns the number of sources found in memory. */
+  public long getMemoryHits() {
+    return memoryHits.sum();
+  }
+
+  /** Returns the number of sources found on the disk. */
+  public long getDiskHits() {
+    return diskHits.sum();
+  }
+
+  /** Returns the number of sources which were not found in the cache. */
+  public long getMisses() {
+    return misses.sum();
+  }
+
+  private void collectMetrics(MetricsWriter writer) {
+    final String help = "Lookups of the sources generated from the bytecode of library types";
+    writer
+        .counter("che_jdt_decompiled_sources_total", help, getMemoryHits(), "result", "memory")
+        .counter("che_jdt_decompiled_sources_total", help, getDiskHits(), "result", "disk")
+        .counter("che_jdt_decompiled_sources_total", help, getMisses(), "result", "miss");
+  }
+
+  private String key(File jar, String typeName) {
+    final String hash = hashOf(jar);
+    return hash == null ? null : hash + '/' + typeName;
+  }
+
+  private Path getEntryPath(String key) {
+    final int separator = key.indexOf('/');
+    return cacheDir
+        .toPath()
+        .resolve(key.substring(0, separator))
+        .resolve(key.substring(separator + 1) + ".java");
+  }
+
+  private String hashOf(File jar) {
+    final long length = jar.length();
+    final long lastModified = jar.lastModified();
+    final JarHash cached = jarHashes.get(jar);
+    if (cached != null && cached.length == length && cached.lastModified == lastModified) {
+      return cached.hash;
+    }
+    if (!jar.isFile()) {
+      return null;
+    }
+    try {
+      final byte[] content = com.google.common.io.Files.asByteSource(jar).hash(sha256()).asBytes();
+      final String hash =
+          sha256().newHasher().putInt(FORMAT_VERSION).putBytes(content).hash().toString();
+      jarHashes.put(jar, new JarHash(length, lastModified, hash));
+      return hash;
+    } catch (IOException e) {
+      LOG.debug("Unable to compute hash of " + jar, e);
+      return null;
+    }
+  }
+
+  private static class JarHash {
+    final long length;
+    final long lastModified;
+    final String hash;
+
+    JarHash(long length, long lastModified, String hash) {
+      this.length = length;
+      this.lastModified = lastModified;
+      this.hash = hash;
+    }
+  }
+}
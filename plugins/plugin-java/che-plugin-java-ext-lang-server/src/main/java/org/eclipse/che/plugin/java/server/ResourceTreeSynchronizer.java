@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server;
+
+import static java.nio.file.Files.isDirectory;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import java.util.function.Consumer;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.project.server.ProjectCreatedEvent;
+import org.eclipse.che.api.project.server.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.core.internal.resources.ResourceTree;
+import org.eclipse.che.core.internal.resources.Workspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Keeps {@link ResourceTree} of the JDT workspace in sync with the projects file system. Changes
+ * made by project API are applied as soon as they are published, all other changes (e.g. made from
+ * terminal or by git) are applied on file watcher events.
+ */
+@Singleton
+public class ResourceTreeSynchronizer {
+  private final EventService eventService;
+  private final FileWatcherManager fileWatcherManager;
+  private final ResourceTree resourceTree;
+  private final EventSubscriber<ProjectItemModifiedEvent> itemModifiedSubscriber;
+  private final EventSubscriber<ProjectCreatedEvent> projectCreatedSubscriber;
+  private final EventSubscriber<ProjectDeletedEvent> projectDeletedSubscriber;
+
+  private int watcherId;
+
+  @Inject
+  public ResourceTreeSynchronizer(
+      ResourcesPlugin resourcesPlugin,
+      EventService eventService,
+      FileWatcherManager fileWatcherManager) {
+    // resources plugin is injected only to be sure that the workspace is already created
+    this(
+        eventService,
+        fileWatcherManager,
+        ((Workspace) ResourcesPlugin.getWorkspace()).getResourceTree());
+  }
+
+  ResourceTreeSynchronizer(
+      EventService eventService, FileWatcherManager fileWatcherManager, ResourceTree resourceTree) {
+    this.eventService = eventService;
+    this.fileWatcherManager = fileWatcherManager;
+    this.resourceTree = resourceTree;
+    this.itemModifiedSubscriber =
+        event -> {
+          if (event.getOldPath() != null) {
+            refresh(event.getOldPath());
+          }
+          refresh(event.getPath());
+        };
+    this.projectCreatedSubscriber = event -> refresh(event.getProjectPath());
+    this.projectDeletedSubscriber = event -> refresh(event.getProjectPath());
+  }
+
+  @PostConstruct
+  public void start() {
+    eventService.subscribe(itemModifiedSubscriber, ProjectItemModifiedEvent.class);
+    eventService.subscribe(projectCreatedSubscriber, ProjectCreatedEvent.class);
+    eventService.subscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+    Consumer<String> refresh = this::refresh;
+    watcherId =
+        fileWatcherManager.registerByMatcher(it -> isDirectory(it), refresh, refresh, refresh);
+  }
+
+  @PreDestroy
+  public void stop() {
+    fileWatcherManager.unRegisterByMatcher(watcherId);
+    eventService.unsubscribe(itemModifiedSubscriber, ProjectItemModifiedEvent.class);
+    eventService.unsubscribe(projectCreatedSubscriber, ProjectCreatedEvent.class);
+    eventService.unsubscribe(projectDeletedSubscriber, ProjectDeletedEvent.class);
+  }
+
+  private void refresh(String path) {
+    resourceTree.refresh(new Path(path));
+  }
+}
@@ -10,12 +10,15 @@
  */
 package org.eclipse.che.plugin.java.server;
 
+import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.eclipse.che.jdt.dom.ASTNodes;
 import org.eclipse.che.jdt.javadoc.JavaElementLabels;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.jdt.core.BindingKey;
 import org.eclipse.jdt.core.Flags;
 import org.eclipse.jdt.core.IAnnotation;
@@ -24,6 +27,7 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.ILocalVariable;
 import org.eclipse.jdt.core.IMemberValuePair;
 import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IType;
 import org.eclipse.jdt.core.ITypeParameter;
 import org.eclipse.jdt.core.JavaModelException;
@@ -39,7 +43,37 @@ public class SourcesFromBytecodeGenerator {
           "\n // Failed to get sources. Instead, stub sources have been generated.\n // Implementation of methods is unavailable.\n");
   private static final String TAB = "    ";
 
+  private final DecompiledSourcesCache cache;
+
+  /** Creates generator which doesn't cache generated sources. */
+  public SourcesFromBytecodeGenerator() {
+    this.cache = null;
+  }
+
+  @Inject
+  public SourcesFromBytecodeGenerator(DecompiledSourcesCache cache) {
+    this.cache = cache;
+  }
+
+  /**
+   * Generates source of the binary type. Sources of the types from library jars are taken from the
+   * cache when possible.
+   */
   public String generateSource(IType type) throws JavaModelException {
+    final File jar = cache == null ? null : getJar(type);
+    if (jar == null) {
+      return doGenerateSource(type);
+    }
+    final String typeName = type.getFullyQualifiedName();
+    String source = cache.get(jar, typeName);
+    if (source == null) {
+      source = doGenerateSource(type);
+      cache.put(jar, typeName, source);
+    }
+    return source;
+  }
+
+  private String doGenerateSource(IType type) throws JavaModelException {
     StringBuilder builder = new StringBuilder();
     builder.append(COMMENT);
     builder.append("package ").append(type.getPackageFragment().getElementName()).append(";\n");
@@ -48,6 +82,17 @@ public class SourcesFromBytecodeGenerator {
     return builder.toString();
   }
 
+  /** Returns the jar file the type belongs to or {@code null} if it is not from a jar. */
+  private static File getJar(IType type) {
+    final IPackageFragmentRoot root =
+        (IPackageFragmentRoot) type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+    if (root == null || !root.isArchive()) {
+      return null;
+    }
+    final IPath path = root.getPath();
+    return path == null ? null : path.toFile();
+  }
+
   private void generateType(IType type, StringBuilder builder, String indent)
       throws JavaModelException {
     int flags = 0;
@@ -20,6 +20,7 @@ import org.eclipse.che.inject.DynaModule;
 import org.eclipse.che.jdt.rest.UrlContextProvider;
 import org.eclipse.che.plugin.java.server.JavaReconcileRequestHandler;
 import org.eclipse.che.plugin.java.server.ProjectListeners;
+import org.eclipse.che.plugin.java.server.ResourceTreeSynchronizer;
 import org.eclipse.che.plugin.java.server.refactoring.RefactoringManager;
 import org.eclipse.che.plugin.java.server.rest.CodeAssistService;
 import org.eclipse.che.plugin.java.server.rest.CompilerSetupService;
@@ -52,6 +53,7 @@ public class JdtGuiceModule extends AbstractModule {
     bind(JavaPlugin.class).asEagerSingleton();
     bind(FileBuffersPlugin.class).asEagerSingleton();
     bind(ProjectListeners.class).asEagerSingleton();
+    bind(ResourceTreeSynchronizer.class).asEagerSingleton();
     bind(RefactoringManager.class).asEagerSingleton();
     bind(RefactoringService.class);
     bind(SearchJsonRpcService.class).asEagerSingleton();
@@ -75,4 +77,11 @@ public class JdtGuiceModule extends AbstractModule {
   protected String provideIndex(@Named("che.workspace.metadata") String wsMetadata) {
     return Paths.get(System.getProperty("user.home"), wsMetadata, "index").toString();
   }
+
+  @Provides
+  @Named("che.jdt.sources.cache.dir")
+  @Singleton
+  protected String provideSourcesCache(@Named("che.workspace.metadata") String wsMetadata) {
+    return Paths.get(System.getProperty("user.home"), wsMetadata, "sources").toString();
+  }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.fest.assertions.Assertions.assertThat;
+
+import com.google.common.io.Files;
+import java.io.File;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DecompiledSourcesCacheTest {
+  private static final String TYPE = "org.test.Type";
+  private static final String SOURCE = "package org.test;\npublic class Type {}\n";
+
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private File cacheDir;
+  private File jar;
+
+  @Before
+  public void setUp() throws Exception {
+    cacheDir = new File(folder.getRoot(), "cache");
+    jar = folder.newFile("library.jar");
+    Files.write("content", jar, UTF_8);
+  }
+
+  @Test
+  public void returnsSourceFromMemory() throws Exception {
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 10);
+    cache.put(jar, TYPE, SOURCE);
+
+    assertThat(cache.get(jar, TYPE)).isEqualTo(SOURCE);
+    assertThat(cache.getMemoryHits()).isEqualTo(1);
+    assertThat(cache.getDiskHits()).isEqualTo(0);
+  }
+
+  @Test
+  public void returnsSourceStoredByAnotherInstance() throws Exception {
+    new DecompiledSourcesCache(cacheDir, 10).put(jar, TYPE, SOURCE);
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 10);
+
+    assertThat(cache.get(jar, TYPE)).isEqualTo(SOURCE);
+    assertThat(cache.get(jar, TYPE)).isEqualTo(SOURCE);
+    assertThat(cache.getDiskHits()).isEqualTo(1);
+    assertThat(cache.getMemoryHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void returnsSourceForCopyOfJar() throws Exception {
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 10);
+    cache.put(jar, TYPE, SOURCE);
+    File copy = new File(folder.newFolder("other"), "library.jar");
+    Files.copy(jar, copy);
+
+    assertThat(cache.get(copy, TYPE)).isEqualTo(SOURCE);
+  }
+
+  @Test
+  public void doesNotReturnSourceWhenJarIsChanged() throws Exception {
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 10);
+    cache.put(jar, TYPE, SOURCE);
+
+    Files.write("changed content", jar, UTF_8);
+
+    assertThat(cache.get(jar, TYPE)).isNull();
+    assertThat(cache.getMisses()).isEqualTo(1);
+  }
+
+  @Test
+  public void doesNotReturnSourceOfAnotherType() throws Exception {
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 10);
+    cache.put(jar, TYPE, SOURCE);
+
+    assertThat(cache.get(jar, "org.test.Type$Inner")).isNull();
+  }
+
+  @Test
+  public void readsEvictedSourceFromDisk() throws Exception {
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 1);
+    cache.put(jar, TYPE, SOURCE);
+    cache.put(jar, "org.test.Other", "package org.test;\npublic class Other {}\n");
+
+    assertThat(cache.get(jar, TYPE)).isEqualTo(SOURCE);
+    assertThat(cache.getDiskHits()).isEqualTo(1);
+  }
+
+  @Test
+  public void doesNotCacheSourcesOfMissingJar() throws Exception {
+    DecompiledSourcesCache cache = new DecompiledSourcesCache(cacheDir, 10);
+    File missing = new File(folder.getRoot(), "missing.jar");
+    cache.put(missing, TYPE, SOURCE);
+
+    assertThat(cache.get(missing, TYPE)).isNull();
+    assertThat(cacheDir.exists()).isFalse();
+  }
+}
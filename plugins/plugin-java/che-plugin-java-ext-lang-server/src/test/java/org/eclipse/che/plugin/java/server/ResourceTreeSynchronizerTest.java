@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.java.server;
+
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.CREATED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.DELETED;
+import static org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent.EventType.MOVED;
+import static org.fest.assertions.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.PathMatcher;
+import java.nio.file.Paths;
+import java.util.function.Consumer;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.ProjectCreatedEvent;
+import org.eclipse.che.api.project.server.ProjectDeletedEvent;
+import org.eclipse.che.api.project.server.notification.ProjectItemModifiedEvent;
+import org.eclipse.che.api.vfs.watcher.FileWatcherManager;
+import org.eclipse.che.core.internal.resources.ResourceTree;
+import org.eclipse.core.runtime.Path;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+
+public class ResourceTreeSynchronizerTest {
+  @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+  private EventService eventService;
+  private FileWatcherManager fileWatcherManager;
+  private ResourceTree resourceTree;
+  private ResourceTreeSynchronizer synchronizer;
+
+  @Before
+  public void setUp() {
+    eventService = new EventService();
+    fileWatcherManager = mock(FileWatcherManager.class);
+    resourceTree = mock(ResourceTree.class);
+    when(fileWatcherManager.registerByMatcher(any(), any(), any(), any())).thenReturn(42);
+    synchronizer = new ResourceTreeSynchronizer(eventService, fileWatcherManager, resourceTree);
+    synchronizer.start();
+  }
+
+  @Test
+  public void refreshesCreatedItem() {
+    eventService.publish(
+        new ProjectItemModifiedEvent(CREATED, "ws", "project", "/project/A.java", false));
+
+    verify(resourceTree).refresh(new Path("/project/A.java"));
+  }
+
+  @Test
+  public void refreshesDeletedItem() {
+    eventService.publish(
+        new ProjectItemModifiedEvent(DELETED, "ws", "project", "/project/src", true));
+
+    verify(resourceTree).refresh(new Path("/project/src"));
+  }
+
+  @Test
+  public void refreshesOldAndNewPathsOfMovedItem() {
+    eventService.publish(
+        new ProjectItemModifiedEvent(
+            MOVED, "ws", "project", "/project/dst/A.java", false, "/project/src/A.java"));
+
+    InOrder inOrder = inOrder(resourceTree);
+    inOrder.verify(resourceTree).refresh(new Path("/project/src/A.java"));
+    inOrder.verify(resourceTree).refresh(new Path("/project/dst/A.java"));
+  }
+
+  @Test
+  public void refreshesCreatedAndDeletedProjects() {
+    eventService.publish(new ProjectCreatedEvent("ws", "/created"));
+    eventService.publish(new ProjectDeletedEvent("/deleted"));
+
+    verify(resourceTree).refresh(new Path("/created"));
+    verify(resourceTree).refresh(new Path("/deleted"));
+  }
+
+  @Test
+  @SuppressWarnings("unchecked")
+  public void refreshesItemsOnFileWatcherEventsInFolders() throws Exception {
+    ArgumentCaptor<PathMatcher> matcher = ArgumentCaptor.forClass(PathMatcher.class);
+    ArgumentCaptor<Consumer> create = ArgumentCaptor.forClass(Consumer.class);
+    ArgumentCaptor<Consumer> modify = ArgumentCaptor.forClass(Consumer.class);
+    ArgumentCaptor<Consumer> delete = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager)
+        .registerByMatcher(matcher.capture(), create.capture(), modify.capture(), delete.capture());
+
+    assertThat(matcher.getValue().matches(folder.getRoot().toPath())).isTrue();
+    assertThat(matcher.getValue().matches(folder.newFile("A.java").toPath())).isFalse();
+    assertThat(matcher.getValue().matches(Paths.get(folder.getRoot().getPath(), "missing")))
+        .isFalse();
+
+    create.getValue().accept("/project/created");
+    modify.getValue().accept("/project/modified");
+    delete.getValue().accept("/project/deleted");
+
+    verify(resourceTree).refresh(new Path("/project/created"));
+    verify(resourceTree).refresh(new Path("/project/modified"));
+    verify(resourceTree).refresh(new Path("/project/deleted"));
+  }
+
+  @Test
+  public void stopsRefreshingAfterStop() {
+    synchronizer.stop();
+
+    eventService.publish(
+        new ProjectItemModifiedEvent(CREATED, "ws", "project", "/project/A.java", false));
+    eventService.publish(new ProjectCreatedEvent("ws", "/created"));
+    eventService.publish(new ProjectDeletedEvent("/deleted"));
+
+    verify(fileWatcherManager).unRegisterByMatcher(42);
+    verifyZeroInteractions(resourceTree);
+  }
+}
@@ -12,13 +12,17 @@ package org.eclipse.che.plugin.maven.server;
 
 import com.google.inject.Inject;
 import com.google.inject.Singleton;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.EnumMap;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
+import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
 
 /**
- * Manages and cache MavenServerWrapper instances
+ * Manages and cache MavenServerWrapper instances. Servers released by clients are kept for reuse,
+ * up to {@link MavenExecutorService#DEFAULT_PARALLELISM} servers of each type, so concurrent
+ * resolution of projects doesn't start new maven server for each project.
  *
  * @author Evgen Vidolob
  */
@@ -26,34 +30,38 @@ import java.util.Set;
 public class MavenWrapperManager {
 
   private final MavenServerManager serverManager;
-  private final Map<ServerType, MavenServerWrapper> cache = new HashMap<>();
-  private final Set<MavenServerWrapper> usedServers = new HashSet<>();
+  private final int maxIdleServers;
+  private final Map<ServerType, Deque<MavenServerWrapper>> idleServers =
+      new EnumMap<>(ServerType.class);
+  private final Map<MavenServerWrapper, ServerType> usedServers = new HashMap<>();
 
   @Inject
   public MavenWrapperManager(MavenServerManager serverManager) {
+    this(serverManager, MavenExecutorService.DEFAULT_PARALLELISM);
+  }
+
+  public MavenWrapperManager(MavenServerManager serverManager, int maxIdleServers) {
     this.serverManager = serverManager;
+    this.maxIdleServers = maxIdleServers;
+    for (ServerType type : ServerType.values()) {
+      idleServers.put(type, new ArrayDeque<>());
+    }
   }
 
   public synchronized MavenServerWrapper getMavenServer(ServerType type) {
-    MavenServerWrapper wrapper = cache.get(type);
+    MavenServerWrapper wrapper = idleServers.get(type).poll();
     if (wrapper == null) {
       wrapper = serverManager.createMavenServer();
-      cache.put(type, wrapper);
     }
-
-    if (usedServers.contains(wrapper)) {
-      //need to warn here
-      return serverManager.createMavenServer();
-    }
-
-    usedServers.add(wrapper);
+    usedServers.put(wrapper, type);
     return wrapper;
   }
 
   public synchronized void release(MavenServerWrapper wrapper) {
-    if (usedServers.contains(wrapper)) {
+    ServerType type = usedServers.remove(wrapper);
+    if (type != null && idleServers.get(type).size() < maxIdleServers) {
       wrapper.reset();
-      usedServers.remove(wrapper);
+      idleServers.get(type).push(wrapper);
     } else {
       wrapper.dispose();
     }
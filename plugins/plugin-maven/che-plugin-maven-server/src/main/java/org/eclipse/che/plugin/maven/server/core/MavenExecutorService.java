@@ -27,15 +27,29 @@ public class MavenExecutorService {
 
   private static final Logger LOG = LoggerFactory.getLogger(MavenExecutorService.class);
 
+  /** Max number of maven tasks which are performed concurrently. */
+  public static final int DEFAULT_PARALLELISM =
+      Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors() / 2));
+
   private final ExecutorService service;
+  private final int parallelism;
 
   public MavenExecutorService() {
+    this(DEFAULT_PARALLELISM);
+  }
+
+  public MavenExecutorService(int parallelism) {
+    this.parallelism = parallelism;
     ThreadFactory threadFactory =
         new ThreadFactoryBuilder()
             .setNameFormat("Maven Executor - %d")
             .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
             .build();
-    service = Executors.newFixedThreadPool(1, threadFactory);
+    service = Executors.newFixedThreadPool(parallelism, threadFactory);
+  }
+
+  public int getParallelism() {
+    return parallelism;
   }
 
   public void submit(Runnable task) {
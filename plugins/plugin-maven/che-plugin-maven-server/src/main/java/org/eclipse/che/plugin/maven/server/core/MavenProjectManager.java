@@ -13,6 +13,7 @@ package org.eclipse.che.plugin.maven.server.core;
 import com.google.inject.Inject;
 import com.google.inject.Provider;
 import com.google.inject.Singleton;
+import java.io.File;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -35,6 +36,8 @@ import org.eclipse.che.maven.server.MavenTerminal;
 import org.eclipse.che.plugin.maven.server.MavenServerManager;
 import org.eclipse.che.plugin.maven.server.MavenServerWrapper;
 import org.eclipse.che.plugin.maven.server.MavenWrapperManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelCache;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelReaderResult;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IProject;
@@ -70,6 +73,7 @@ public class MavenProjectManager {
   private final Lock writeLock = readWriteLock.writeLock();
 
   private final MavenProjectListener dispatcher;
+  private final MavenModelCache modelCache;
 
   @Inject
   public MavenProjectManager(
@@ -77,12 +81,14 @@ public class MavenProjectManager {
       MavenServerManager serverManager,
       MavenTerminal terminal,
       MavenProgressNotifier mavenNotifier,
-      EclipseWorkspaceProvider workspaceProvider) {
+      EclipseWorkspaceProvider workspaceProvider,
+      MavenModelCache modelCache) {
     this.wrapperManager = wrapperManager;
     this.serverManager = serverManager;
     this.terminal = terminal;
     this.mavenNotifier = mavenNotifier;
     this.workspaceProvider = workspaceProvider;
+    this.modelCache = modelCache;
     mavenWorkspaceCache = new MavenWorkspaceCache();
     keyToProjectMap = new HashMap<>();
     projectToMavenProjectMap = new HashMap<>();
@@ -114,14 +120,29 @@ public class MavenProjectManager {
   }
 
   public void resolveMavenProject(IProject project, MavenProject mavenProject) {
+    mavenNotifier.setText("Resolving project: " + mavenProject.getName());
+    MavenModelCache.Key cacheKey =
+        modelCache.createKey(
+            mavenProject.getPomFile(),
+            findDependencyPoms(mavenProject),
+            mavenProject.getActiveProfiles(),
+            mavenProject.getInactiveProfiles());
+    MavenModelReaderResult cachedModel = cacheKey == null ? null : modelCache.get(cacheKey);
+    if (cachedModel != null) {
+      dispatcher.projectResolved(mavenProject, mavenProject.resolve(cachedModel));
+      return;
+    }
+
     MavenServerWrapper mavenServer =
         wrapperManager.getMavenServer(MavenWrapperManager.ServerType.RESOLVE);
     try {
 
-      mavenNotifier.setText("Resolving project: " + mavenProject.getName());
       mavenServer.customize(copyWorkspaceCache(), terminal, mavenNotifier, false, true);
-      MavenProjectModifications modifications =
-          mavenProject.resolve(project, mavenServer, serverManager);
+      MavenModelReaderResult model = mavenProject.resolveModel(project, mavenServer, serverManager);
+      MavenProjectModifications modifications = mavenProject.resolve(model);
+      if (cacheKey != null) {
+        modelCache.put(cacheKey, model);
+      }
       dispatcher.projectResolved(mavenProject, modifications);
 
     } finally {
@@ -129,6 +150,24 @@ public class MavenProjectManager {
     }
   }
 
+  /** Returns pom files of all workspace projects the given project depends on, transitively. */
+  private Set<File> findDependencyPoms(MavenProject mavenProject) {
+    Set<MavenProject> visited = new HashSet<>();
+    Deque<MavenProject> stack = new LinkedList<>(findDependencies(mavenProject));
+    Set<File> poms = new HashSet<>();
+    while (!stack.isEmpty()) {
+      MavenProject dependency = stack.pop();
+      if (dependency != mavenProject && visited.add(dependency)) {
+        File pom = dependency.getPomFile();
+        if (pom != null) {
+          poms.add(pom);
+        }
+        stack.addAll(findDependencies(dependency));
+      }
+    }
+    return poms;
+  }
+
   public void update(List<IProject> projects, boolean recursive) {
     if (projects.isEmpty()) {
       return;
@@ -485,6 +524,33 @@ public class MavenProjectManager {
     }
   }
 
+  /**
+   * Finds projects of the workspace which given project depends on, i.e. its parent project and
+   * projects which are used as dependencies.
+   */
+  public List<MavenProject> findDependencies(MavenProject mavenProject) {
+    readLock.lock();
+    try {
+      List<MavenProject> result = new ArrayList<>();
+      MavenProject parent = keyToProjectMap.get(mavenProject.getParentKey());
+      if (parent != null && parent != mavenProject) {
+        result.add(parent);
+      }
+      for (MavenArtifact artifact : mavenProject.getDependencies()) {
+        MavenProject dependency =
+            keyToProjectMap.get(
+                new MavenKey(
+                    artifact.getGroupId(), artifact.getArtifactId(), artifact.getVersion()));
+        if (dependency != null && dependency != mavenProject && !result.contains(dependency)) {
+          result.add(dependency);
+        }
+      }
+      return result;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
   private boolean contains(
       Set<MavenKey> mavenKeys, String artifactId, String groupId, String version) {
     return mavenKeys
@@ -38,4 +38,9 @@ public class MavenProjectResolveTask implements MavenProjectTask {
       afterTask.run();
     }
   }
+
+  @Override
+  public MavenProject getMavenProject() {
+    return mavenProject;
+  }
 }
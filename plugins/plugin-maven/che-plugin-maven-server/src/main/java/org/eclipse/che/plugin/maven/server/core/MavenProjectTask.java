@@ -10,6 +10,8 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+
 /**
  * General task that may be performed for MavenProject
  *
@@ -17,4 +19,13 @@ package org.eclipse.che.plugin.maven.server.core;
  */
 public interface MavenProjectTask {
   void perform();
+
+  /**
+   * Returns maven project this task is performed for. {@link MavenTaskExecutor} doesn't perform
+   * tasks of the same project concurrently and performs tasks in the order of dependencies between
+   * projects. Tasks which are not bound to a project return {@code null}.
+   */
+  default MavenProject getMavenProject() {
+    return null;
+  }
 }
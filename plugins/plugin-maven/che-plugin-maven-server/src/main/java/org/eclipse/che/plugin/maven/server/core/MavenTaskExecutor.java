@@ -10,16 +10,32 @@
  */
 package org.eclipse.che.plugin.maven.server.core;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
-import java.util.Queue;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * Executor for {@link MavenProjectTask}. Uses {@link MavenExecutorService} as executor service.
  *
+ * <p>Tasks of different maven projects are performed concurrently, up to the parallelism of
+ * executor service. Task is not started while there is pending (queued or running) task of the
+ * project that its project depends on, so projects are handled in the order of the module
+ * dependency graph. Only one task is queued per project. Task which is not bound to a project is
+ * performed after all tasks submitted before it are done and before tasks submitted after it are
+ * started.
+ *
  * @author Evgen Vidolob
  */
 public class MavenTaskExecutor {
@@ -27,25 +43,58 @@ public class MavenTaskExecutor {
 
   private final MavenExecutorService service;
   private final MavenProgressNotifier notifier;
-  private final Queue<MavenProjectTask> queue = new LinkedList<>();
-  private boolean isWorking;
+  private final Function<MavenProject, Collection<MavenProject>> dependenciesProvider;
+  private final int parallelism;
+  private final List<MavenProjectTask> queue = new LinkedList<>();
+  private final Set<MavenProject> runningProjects = new HashSet<>();
+  private int runningTasks;
+  private int tasksDone;
+  private volatile boolean isWorking;
 
   public MavenTaskExecutor(MavenExecutorService service, MavenProgressNotifier notifier) {
+    this(service, notifier, project -> Collections.emptyList());
+  }
+
+  /**
+   * @param service executor service
+   * @param notifier progress notifier
+   * @param dependenciesProvider provides projects which given project depends on
+   */
+  public MavenTaskExecutor(
+      MavenExecutorService service,
+      MavenProgressNotifier notifier,
+      Function<MavenProject, Collection<MavenProject>> dependenciesProvider) {
     this.service = service;
     this.notifier = notifier;
+    this.dependenciesProvider = dependenciesProvider;
+    this.parallelism = service.getParallelism();
   }
 
   public void submitTask(MavenProjectTask task) {
+    submitTasks(Collections.singletonList(task));
+  }
+
+  /**
+   * Submits tasks at once, so the order of dependencies between their projects is respected
+   * regardless of the order of tasks in the collection.
+   */
+  public void submitTasks(Collection<? extends MavenProjectTask> tasks) {
     synchronized (queue) {
+      for (MavenProjectTask task : tasks) {
+        if (!queue.contains(task) && !isQueued(task.getMavenProject())) {
+          queue.add(task);
+        }
+      }
+      if (queue.isEmpty()) {
+        return;
+      }
       //if no running tasks, start immediately
       if (!isWorking) {
         isWorking = true;
-        runTask(task);
-      } else {
-        if (!queue.contains(task)) {
-          queue.add(task);
-        }
+        tasksDone = 0;
+        notifier.start();
       }
+      scheduleTasks();
     }
   }
 
@@ -61,36 +110,101 @@ public class MavenTaskExecutor {
     }
   }
 
-  private void runTask(MavenProjectTask task) {
-    service.submit(() -> doRunTasks(task));
+  private boolean isQueued(MavenProject project) {
+    if (project == null) {
+      return false;
+    }
+    for (MavenProjectTask queued : queue) {
+      if (project.equals(queued.getMavenProject())) {
+        return true;
+      }
+    }
+    return false;
   }
 
-  private void doRunTasks(MavenProjectTask task) {
-    int taskDone = 0;
-    notifier.start();
-    while (true) {
-      taskDone++;
-      int restTasks;
-      synchronized (queue) {
-        restTasks = queue.size();
+  /** Starts queued tasks which do not wait for other tasks. Must be called with lock on queue. */
+  private void scheduleTasks() {
+    final Set<MavenProject> pendingProjects = new HashSet<>(runningProjects);
+    for (MavenProjectTask task : queue) {
+      if (task.getMavenProject() != null) {
+        pendingProjects.add(task.getMavenProject());
       }
-
-      notifier.setPercent((double) taskDone / (double) (restTasks + taskDone));
-      try {
-        task.perform();
-      } catch (Throwable throwable) {
-        LOG.error(throwable.getMessage(), throwable);
-        //TODO need to notify user some how
+    }
+    final Map<MavenProject, Set<MavenProject>> dependencies = new HashMap<>();
+    final Iterator<MavenProjectTask> iterator = queue.iterator();
+    boolean first = true;
+    while (runningTasks < parallelism && iterator.hasNext()) {
+      final MavenProjectTask task = iterator.next();
+      final MavenProject project = task.getMavenProject();
+      if (project == null) {
+        if (first && runningTasks == 0) {
+          iterator.remove();
+          startTask(task, null);
+        }
+        break;
       }
+      first = false;
+      if (!runningProjects.contains(project)
+          && Collections.disjoint(getDependencies(project, dependencies), pendingProjects)) {
+        iterator.remove();
+        startTask(task, project);
+      }
+    }
+    if (runningTasks == 0 && !queue.isEmpty()) {
+      // projects depend on each other, nothing else may be started
+      final MavenProjectTask task = queue.remove(0);
+      startTask(task, task.getMavenProject());
+    }
+  }
 
-      synchronized (queue) {
-        task = queue.poll();
-        if (task == null) {
-          isWorking = false;
-          notifier.stop();
-          return;
+  /** Returns all projects which given project depends on directly or transitively. */
+  private Set<MavenProject> getDependencies(
+      MavenProject project, Map<MavenProject, Set<MavenProject>> cache) {
+    Set<MavenProject> result = cache.get(project);
+    if (result == null) {
+      result = new HashSet<>();
+      final LinkedList<MavenProject> toVisit =
+          new LinkedList<>(dependenciesProvider.apply(project));
+      while (!toVisit.isEmpty()) {
+        final MavenProject dependency = toVisit.poll();
+        if (!dependency.equals(project) && result.add(dependency)) {
+          toVisit.addAll(dependenciesProvider.apply(dependency));
         }
       }
+      cache.put(project, result);
+    }
+    return result;
+  }
+
+  private void startTask(MavenProjectTask task, MavenProject project) {
+    runningTasks++;
+    if (project != null) {
+      runningProjects.add(project);
+    }
+    service.submit(() -> doRunTask(task, project));
+  }
+
+  private void doRunTask(MavenProjectTask task, MavenProject project) {
+    try {
+      task.perform();
+    } catch (Throwable throwable) {
+      LOG.error(throwable.getMessage(), throwable);
+      //TODO need to notify user some how
+    }
+
+    synchronized (queue) {
+      runningTasks--;
+      if (project != null) {
+        runningProjects.remove(project);
+      }
+      tasksDone++;
+      if (queue.isEmpty() && runningTasks == 0) {
+        isWorking = false;
+        notifier.stop();
+        return;
+      }
+      notifier.setPercent((double) tasksDone / (double) (tasksDone + runningTasks + queue.size()));
+      scheduleTasks();
     }
   }
 
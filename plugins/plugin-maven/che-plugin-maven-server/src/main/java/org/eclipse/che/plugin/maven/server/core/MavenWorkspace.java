@@ -68,6 +68,7 @@ public class MavenWorkspace {
   private MavenTaskExecutor classPathExecutor;
 
   private Set<MavenProject> projectsToResolve = new CopyOnWriteArraySet<>();
+  private final Object javaModelLock = new Object();
 
   @Inject
   public MavenWorkspace(
@@ -81,7 +82,8 @@ public class MavenWorkspace {
     this.projectRegistryProvider = projectRegistryProvider;
     this.classpathManager = classpathManager;
     this.manager = manager;
-    resolveExecutor = new MavenTaskExecutor(executorService, notifier);
+    resolveExecutor =
+        new MavenTaskExecutor(executorService, notifier, manager::findDependencies);
     eventService.subscribe(
         new EventSubscriber<ProjectDeletedEvent>() {
           @Override
@@ -177,17 +179,22 @@ public class MavenWorkspace {
     Set<MavenProject> needResolve = new HashSet<>(projectsToResolve);
     projectsToResolve.clear();
 
+    List<MavenProjectTask> tasks = new ArrayList<>(needResolve.size());
     for (MavenProject mavenProject : needResolve) {
 
-      resolveExecutor.submitTask(
+      tasks.add(
           new MavenProjectResolveTask(
               mavenProject,
               manager,
               () -> {
-                addSourcesFromBuildHelperPlugin(mavenProject);
-                classpathManager.updateClasspath(mavenProject);
+                // projects are resolved concurrently but java model is updated sequentially
+                synchronized (javaModelLock) {
+                  addSourcesFromBuildHelperPlugin(mavenProject);
+                  classpathManager.updateClasspath(mavenProject);
+                }
               }));
     }
+    resolveExecutor.submitTasks(tasks);
   }
 
   private void updateJavaProject(MavenProject project) {
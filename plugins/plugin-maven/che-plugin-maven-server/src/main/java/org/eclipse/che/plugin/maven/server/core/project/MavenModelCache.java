@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.util.stream.Collectors.toList;
+
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+import com.google.inject.name.Named;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps results of maven project resolution on the disk, so projects whose poms and maven settings
+ * were not changed since the last resolution (e.g. after restart of the workspace agent) are not
+ * resolved by the maven server again.
+ *
+ * <p>Result is stored per pom file and is valid while the key of the project is not changed. The
+ * key is a hash of content of the project pom, poms of the workspace projects it depends on, the
+ * user and global maven settings and the requested profiles. Result is also considered stale if
+ * any artifact which was resolved to the local repository has disappeared. Classpath of the
+ * project is built from the resolved model, so it is restored together with the model.
+ *
+ * @see org.eclipse.che.plugin.maven.server.core.MavenProjectManager#resolveMavenProject
+ */
+@Singleton
+public class MavenModelCache {
+  private static final Logger LOG = LoggerFactory.getLogger(MavenModelCache.class);
+
+  /** Bump it when format of the stored entries is changed. */
+  private static final int FORMAT_VERSION = 1;
+
+  private final File cacheDir;
+  private final List<File> settingsFiles;
+
+  @Inject
+  public MavenModelCache(@Named("che.maven.model.cache.dir") String cacheDir) {
+    this(new File(cacheDir), defaultSettingsFiles());
+  }
+
+  public MavenModelCache(File cacheDir, List<File> settingsFiles) {
+    this.cacheDir = cacheDir;
+    this.settingsFiles = settingsFiles;
+  }
+
+  /**
+   * Computes the key of the project resolution result.
+   *
+   * @param pom pom file of the project
+   * @param dependencyPoms pom files of the workspace projects which affect the project resolution,
+   *     e.g. parent and dependencies
+   * @param activeProfiles explicitly activated profiles
+   * @param inactiveProfiles explicitly deactivated profiles
+   * @return key or {@code null} if content of the poms can't be read
+   */
+  public Key createKey(
+      File pom,
+      Collection<File> dependencyPoms,
+      Collection<String> activeProfiles,
+      Collection<String> inactiveProfiles) {
+    try {
+      Hasher hasher = Hashing.sha256().newHasher();
+      hasher.putInt(FORMAT_VERSION);
+      putFile(hasher, pom);
+      List<File> sorted =
+          dependencyPoms.stream().sorted(Comparator.comparing(File::getPath)).collect(toList());
+      for (File dependencyPom : sorted) {
+        putFile(hasher, dependencyPom);
+      }
+      for (File settings : settingsFiles) {
+        putFile(hasher, settings);
+      }
+      putStrings(hasher, activeProfiles);
+      putStrings(hasher, inactiveProfiles);
+      return new Key(pom, hasher.hash().toString());
+    } catch (IOException e) {
+      LOG.debug("Unable to compute cache key of maven project " + pom, e);
+      return null;
+    }
+  }
+
+  /**
+   * Returns cached result of the project resolution.
+   *
+   * @return result or {@code null} if there is no valid result for the key
+   */
+  public MavenModelReaderResult get(Key key) {
+    File file = getEntryFile(key);
+    if (!file.exists()) {
+      return null;
+    }
+    Entry entry;
+    try (ObjectInputStream in =
+        new ObjectInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+      entry = (Entry) in.readObject();
+    } catch (IOException | ClassNotFoundException | ClassCastException e) {
+      LOG.debug("Unable to read cached model of maven project " + key.pom, e);
+      return null;
+    }
+    if (!key.hash.equals(entry.hash)) {
+      return null;
+    }
+    for (File artifactFile : entry.artifactFiles) {
+      if (!artifactFile.exists()) {
+        return null;
+      }
+    }
+    return new MavenModelReaderResult(
+        entry.model,
+        entry.activeProfiles,
+        entry.inactiveProfiles,
+        entry.problems,
+        entry.unresolvedArtifacts);
+  }
+
+  /**
+   * Stores result of the project resolution. Results with problems or unresolved artifacts are not
+   * stored, such projects are resolved again next time.
+   */
+  public void put(Key key, MavenModelReaderResult result) {
+    if (!result.getProblems().isEmpty() || !result.getUnresolvedArtifacts().isEmpty()) {
+      return;
+    }
+    Entry entry = new Entry(key.hash, result);
+    File file = getEntryFile(key);
+    File tmp = new File(cacheDir, file.getName() + ".tmp");
+    try {
+      if (!cacheDir.exists() && !cacheDir.mkdirs() && !cacheDir.exists()) {
+        throw new IOException("Unable to create directory " + cacheDir);
+      }
+      try (ObjectOutputStream out =
+          new ObjectOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+        out.writeObject(entry);
+      }
+      java.nio.file.Files.move(tmp.toPath(), file.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    } catch (IOException e) {
+      LOG.warn("Unable to cache model of maven project {}: {}", key.pom, e.getMessage());
+      tmp.delete();
+    }
+  }
+
+  private File getEntryFile(Key key) {
+    String name = Hashing.sha256().hashUnencodedChars(key.pom.getAbsolutePath()).toString();
+    return new File(cacheDir, name);
+  }
+
+  private static void putFile(Hasher hasher, File file) throws IOException {
+    hasher.putUnencodedChars(file.getAbsolutePath());
+    if (file.isFile()) {
+      hasher.putBytes(Files.asByteSource(file).hash(Hashing.sha256()).asBytes());
+    } else {
+      hasher.putInt(-1);
+    }
+  }
+
+  private static void putStrings(Hasher hasher, Collection<String> strings) {
+    if (strings == null) {
+      hasher.putInt(-1);
+      return;
+    }
+    hasher.putInt(strings.size());
+    for (String string : strings) {
+      hasher.putUnencodedChars(string).putChar('\0');
+    }
+  }
+
+  private static List<File> defaultSettingsFiles() {
+    List<File> files = new ArrayList<>();
+    files.add(new File(System.getProperty("user.home"), ".m2/settings.xml"));
+    String mavenHome = System.getenv("M2_HOME");
+    if (mavenHome != null) {
+      files.add(new File(mavenHome, "conf/settings.xml"));
+    }
+    return files;
+  }
+
+  /** Identifies result of the project resolution. */
+  public static class Key {
+    private final File pom;
+    private final String hash;
+
+    private Key(File pom, String hash) {
+      this.pom = pom;
+      this.hash = hash;
+    }
+  }
+
+  private static class Entry implements Serializable {
+    private static final long serialVersionUID = FORMAT_VERSION;
+
+    private final String hash;
+    private final MavenModel model;
+    private final ArrayList<String> activeProfiles;
+    private final ArrayList<String> inactiveProfiles;
+    private final ArrayList<MavenProjectProblem> problems;
+    private final HashSet<MavenKey> unresolvedArtifacts;
+    private final ArrayList<File> artifactFiles;
+
+    private Entry(String hash, MavenModelReaderResult result) {
+      this.hash = hash;
+      this.model = result.getMavenModel();
+      this.activeProfiles = copyOf(result.getActiveProfiles());
+      this.inactiveProfiles = copyOf(result.getInactiveProfiles());
+      this.problems = copyOf(result.getProblems());
+      this.unresolvedArtifacts = new HashSet<>(result.getUnresolvedArtifacts());
+      this.artifactFiles = new ArrayList<>();
+      for (MavenArtifact artifact : model.getDependencies()) {
+        if (artifact.isResolved()) {
+          artifactFiles.add(artifact.getFile());
+        }
+      }
+    }
+
+    private static <T> ArrayList<T> copyOf(List<T> list) {
+      return list == null ? null : new ArrayList<>(list);
+    }
+  }
+}
@@ -175,6 +175,14 @@ public class MavenProject {
     return info.dependencies;
   }
 
+  public List<String> getActiveProfiles() {
+    return info.activeProfiles;
+  }
+
+  public List<String> getInactiveProfiles() {
+    return info.inactiveProfiles;
+  }
+
   /**
    * Invoke maven to build project model.
    *
@@ -184,16 +192,20 @@ public class MavenProject {
    */
   public MavenProjectModifications resolve(
       IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
+    return resolve(resolveModel(project, mavenServer, serverManager));
+  }
+
+  /** Resolves model of the project with the maven server without applying it to the project. */
+  public MavenModelReaderResult resolveModel(
+      IProject project, MavenServerWrapper mavenServer, MavenServerManager serverManager) {
     MavenModelReader reader = new MavenModelReader();
 
-    MavenModelReaderResult modelReaderResult =
-        reader.resolveMavenProject(
-            getPom(project),
-            mavenServer,
-            info.activeProfiles,
-            info.inactiveProfiles,
-            serverManager);
+    return reader.resolveMavenProject(
+        getPom(project), mavenServer, info.activeProfiles, info.inactiveProfiles, serverManager);
+  }
 
+  /** Applies resolved model, e.g. the one restored from {@link MavenModelCache}, to the project. */
+  public MavenProjectModifications resolve(MavenModelReaderResult modelReaderResult) {
     return setModel(modelReaderResult, modelReaderResult.getProblems().isEmpty(), false);
   }
 
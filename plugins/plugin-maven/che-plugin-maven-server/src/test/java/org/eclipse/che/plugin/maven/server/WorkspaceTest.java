@@ -42,6 +42,7 @@ import org.eclipse.che.plugin.maven.server.core.MavenExecutorService;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenWorkspace;
 import org.eclipse.che.plugin.maven.server.core.classpath.ClasspathManager;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelCache;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.rmi.MavenServerManagerTest;
 import org.eclipse.core.resources.IProject;
@@ -87,7 +88,8 @@ public class WorkspaceTest extends BaseTest {
             mavenServerManager,
             terminal,
             mavenNotifier,
-            new EclipseWorkspaceProvider());
+            new EclipseWorkspaceProvider(),
+            mock(MavenModelCache.class));
     mavenWorkspace =
         new MavenWorkspace(
             mavenProjectManager,
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import static org.mockito.Matchers.anyDouble;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class MavenTaskExecutorTest {
+  private static final int MODULES = 150;
+
+  private MavenExecutorService executorService;
+  private MavenProgressNotifier notifier;
+  private Map<MavenProject, List<MavenProject>> dependencies;
+  private MavenTaskExecutor executor;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    executorService = new MavenExecutorService(4);
+    notifier = mock(MavenProgressNotifier.class);
+    dependencies = new HashMap<>();
+    executor =
+        new MavenTaskExecutor(
+            executorService,
+            notifier,
+            project -> dependencies.getOrDefault(project, Collections.emptyList()));
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    executorService.shutdown();
+  }
+
+  @Test
+  public void performsTasksOfIndependentProjectsConcurrently() throws Exception {
+    AtomicInteger running = new AtomicInteger();
+    AtomicInteger maxRunning = new AtomicInteger();
+    for (MavenProject project : createReactor(0)) {
+      executor.submitTask(
+          task(
+              project,
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                sleep(5);
+                running.decrementAndGet();
+              }));
+    }
+    executor.waitForEndAllTasks();
+
+    assertTrue(maxRunning.get() > 1);
+    assertTrue(maxRunning.get() <= 4);
+  }
+
+  @Test
+  public void performsTasksInOrderOfDependencies() throws Exception {
+    List<MavenProject> reactor = createReactor(3);
+    Set<MavenProject> done = ConcurrentHashMap.newKeySet();
+    List<String> violations = new CopyOnWriteArrayList<>();
+    List<MavenProjectTask> tasks = new ArrayList<>();
+    for (MavenProject project : reactor) {
+      tasks.add(
+          task(
+              project,
+              () -> {
+                for (MavenProject dependency : dependencies.get(project)) {
+                  if (!done.contains(dependency)) {
+                    violations.add(project + " performed before " + dependency);
+                  }
+                }
+                sleep(1);
+                done.add(project);
+              }));
+    }
+    Collections.reverse(tasks);
+    executor.submitTasks(tasks);
+    executor.waitForEndAllTasks();
+
+    assertEquals(violations, Collections.emptyList());
+    assertEquals(done.size(), reactor.size());
+  }
+
+  @Test
+  public void queuesOneTaskPerProject() throws Exception {
+    List<MavenProject> reactor = createReactor(1);
+    AtomicInteger performed = new AtomicInteger();
+    MavenProject last = reactor.get(reactor.size() - 1);
+    for (MavenProject project : reactor) {
+      executor.submitTask(task(project, performed::incrementAndGet));
+    }
+    executor.submitTask(task(last, performed::incrementAndGet));
+    executor.submitTask(task(last, performed::incrementAndGet));
+    executor.waitForEndAllTasks();
+
+    assertEquals(performed.get(), reactor.size());
+  }
+
+  @Test
+  public void reportsProgress() throws Exception {
+    List<MavenProjectTask> tasks = new ArrayList<>();
+    for (MavenProject project : createReactor(2)) {
+      tasks.add(task(project, () -> sleep(1)));
+    }
+    executor.submitTasks(tasks);
+    executor.waitForEndAllTasks();
+
+    verify(notifier).start();
+    verify(notifier, atLeastOnce()).setPercent(anyDouble());
+    verify(notifier).stop();
+  }
+
+  /**
+   * Creates synthetic reactor: parent project and modules, each module depends on {@code
+   * dependenciesPerModule} previous modules.
+   */
+  private List<MavenProject> createReactor(int dependenciesPerModule) {
+    List<MavenProject> reactor = new ArrayList<>();
+    MavenProject parent = project("parent");
+    dependencies.put(parent, Collections.emptyList());
+    reactor.add(parent);
+    for (int i = 0; i < MODULES; i++) {
+      MavenProject module = project("module-" + i);
+      List<MavenProject> moduleDependencies = new ArrayList<>();
+      moduleDependencies.add(parent);
+      for (int d = 1; d <= dependenciesPerModule && i - d * 7 >= 0; d++) {
+        moduleDependencies.add(reactor.get(1 + i - d * 7));
+      }
+      dependencies.put(module, moduleDependencies);
+      reactor.add(module);
+    }
+    return reactor;
+  }
+
+  private MavenProject project(String name) {
+    return mock(MavenProject.class, name);
+  }
+
+  private MavenProjectTask task(MavenProject project, Runnable action) {
+    return new MavenProjectTask() {
+      @Override
+      public void perform() {
+        action.run();
+      }
+
+      @Override
+      public MavenProject getMavenProject() {
+        return project;
+      }
+    };
+  }
+
+  private static void sleep(long millis) {
+    try {
+      Thread.sleep(millis);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
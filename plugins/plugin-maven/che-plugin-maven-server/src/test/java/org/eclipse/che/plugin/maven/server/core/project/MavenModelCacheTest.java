@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core.project;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import com.google.common.io.Files;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.maven.data.MavenArtifact;
+import org.eclipse.che.maven.data.MavenKey;
+import org.eclipse.che.maven.data.MavenModel;
+import org.eclipse.che.maven.data.MavenProjectProblem;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+public class MavenModelCacheTest {
+  private File root;
+  private File cacheDir;
+  private File settings;
+  private File pom;
+  private File parentPom;
+  private File artifactFile;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    root = Files.createTempDir();
+    cacheDir = new File(root, "cache");
+    settings = new File(root, "settings.xml");
+    pom = write("project/pom.xml", "<project/>");
+    parentPom = write("parent/pom.xml", "<project><packaging>pom</packaging></project>");
+    artifactFile = write("repository/junit.jar", "jar");
+  }
+
+  @AfterMethod
+  public void tearDown() throws Exception {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Test
+  public void returnsStoredResult() throws Exception {
+    newCache().put(key(), result());
+
+    MavenModelReaderResult cached = newCache().get(key());
+
+    assertNotNull(cached);
+    assertEquals(cached.getMavenModel().getMavenKey(), new MavenKey("org.test", "project", "1.0"));
+    assertEquals(cached.getMavenModel().getDependencies().get(0).getFile(), artifactFile);
+    assertEquals(cached.getActiveProfiles(), singletonList("dev"));
+  }
+
+  @Test
+  public void doesNotReturnResultWhenPomIsChanged() throws Exception {
+    MavenModelCache cache = newCache();
+    cache.put(key(), result());
+
+    write("project/pom.xml", "<project><name>changed</name></project>");
+
+    assertNull(cache.get(key()));
+  }
+
+  @Test
+  public void doesNotReturnResultWhenParentPomIsChanged() throws Exception {
+    MavenModelCache cache = newCache();
+    cache.put(key(), result());
+
+    write("parent/pom.xml", "<project><packaging>jar</packaging></project>");
+
+    assertNull(cache.get(key()));
+  }
+
+  @Test
+  public void doesNotReturnResultWhenSettingsAreChanged() throws Exception {
+    MavenModelCache cache = newCache();
+    cache.put(key(), result());
+
+    write("settings.xml", "<settings/>");
+
+    assertNull(cache.get(key()));
+  }
+
+  @Test
+  public void doesNotReturnResultWhenProfilesAreChanged() throws Exception {
+    MavenModelCache cache = newCache();
+    cache.put(key(), result());
+
+    assertNull(
+        cache.get(
+            cache.createKey(pom, singletonList(parentPom), singletonList("prod"), emptyList())));
+  }
+
+  @Test
+  public void doesNotReturnResultWhenResolvedArtifactIsRemoved() throws Exception {
+    MavenModelCache cache = newCache();
+    cache.put(key(), result());
+
+    assertTrue(artifactFile.delete());
+
+    assertNull(cache.get(key()));
+  }
+
+  @Test
+  public void doesNotStoreResultWithProblems() throws Exception {
+    MavenModelCache cache = newCache();
+    MavenModelReaderResult result = result();
+    MavenModelReaderResult resultWithProblems =
+        new MavenModelReaderResult(
+            result.getMavenModel(),
+            result.getActiveProfiles(),
+            result.getInactiveProfiles(),
+            singletonList(MavenProjectProblem.newProblem(pom.getPath(), "error", null)),
+            emptySet());
+
+    cache.put(key(), resultWithProblems);
+
+    assertNull(cache.get(key()));
+  }
+
+  @Test
+  public void keepsOneResultPerPom() throws Exception {
+    MavenModelCache cache = newCache();
+    cache.put(key(), result());
+    write("project/pom.xml", "<project><name>changed</name></project>");
+    cache.put(key(), result());
+
+    assertNotNull(cache.get(key()));
+    assertEquals(cacheDir.list().length, 1);
+  }
+
+  private MavenModelCache newCache() {
+    return new MavenModelCache(cacheDir, singletonList(settings));
+  }
+
+  private MavenModelCache.Key key() {
+    return newCache().createKey(pom, singletonList(parentPom), singletonList("dev"), emptyList());
+  }
+
+  private MavenModelReaderResult result() {
+    MavenModel model = new MavenModel();
+    model.setMavenKey(new MavenKey("org.test", "project", "1.0"));
+    model.setPackaging("jar");
+    model.setDependencies(
+        Arrays.asList(
+            new MavenArtifact(
+                "junit",
+                "junit",
+                "4.12",
+                "4.12",
+                "jar",
+                null,
+                "test",
+                false,
+                "jar",
+                artifactFile,
+                root,
+                true,
+                false)));
+    List<String> activeProfiles = singletonList("dev");
+    return new MavenModelReaderResult(model, activeProfiles, emptyList(), emptyList(), emptySet());
+  }
+
+  private File write(String path, String content) throws Exception {
+    File file = new File(root, path);
+    Files.createParentDirs(file);
+    Files.write(content, file, UTF_8);
+    return file;
+  }
+}
@@ -26,6 +26,7 @@ import org.eclipse.che.plugin.maven.server.core.EclipseWorkspaceProvider;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectListener;
 import org.eclipse.che.plugin.maven.server.core.MavenProjectManager;
 import org.eclipse.che.plugin.maven.server.core.MavenTerminalImpl;
+import org.eclipse.che.plugin.maven.server.core.project.MavenModelCache;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
 import org.eclipse.che.plugin.maven.server.core.project.MavenProjectModifications;
 import org.eclipse.core.resources.IFile;
@@ -76,7 +77,8 @@ public class MavenProjectManagerTest {
             manager,
             new MavenTerminalImpl(),
             new MavenServerManagerTest.MyMavenServerProgressNotifier(),
-            workspaceProvider);
+            workspaceProvider,
+            mock(MavenModelCache.class));
     when(workspaceProvider.get()).thenReturn(workspace);
     when(workspace.getRoot()).thenReturn(workspaceRoot);
   }
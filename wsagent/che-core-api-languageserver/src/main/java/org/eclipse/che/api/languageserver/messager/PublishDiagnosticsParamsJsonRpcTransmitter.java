@@ -10,8 +10,21 @@
  */
 package org.eclipse.che.api.languageserver.messager;
 
+import static org.eclipse.che.api.languageserver.service.LanguageServiceUtils.removePrefixUri;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
@@ -19,31 +32,52 @@ import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.languageserver.server.dto.DtoServerImpls.ExtendedPublishDiagnosticsParamsDto;
 import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
+import org.eclipse.lsp4j.Diagnostic;
 import org.eclipse.lsp4j.PublishDiagnosticsParams;
 
-/** Transmits 'textDocument/publishDiagnostics' over the JSON-RPC */
+/**
+ * Transmits 'textDocument/publishDiagnostics' over the JSON-RPC.
+ *
+ * <p>Language servers may republish diagnostics of a document on each change of it, so diagnostics
+ * are coalesced per document: they are transmitted when the document hasn't been changed and no
+ * newer diagnostics have been published for it during the delay, diagnostics superseded by the
+ * newer ones are never transmitted. Diagnostics equal to the previously transmitted ones are
+ * skipped. Diagnostics are transmitted only to the endpoints which have the document opened.
+ */
 @Singleton
 public class PublishDiagnosticsParamsJsonRpcTransmitter {
+  private static final long DEFAULT_DELAY_MS = 200;
+  /** The max number of delays the transmission may be postponed by constantly changed document. */
+  private static final int MAX_DELAYS = 5;
+
   private final Set<String> endpointIds = new CopyOnWriteArraySet<>();
+  private final Map<String, Set<String>> openedDocuments = new ConcurrentHashMap<>();
+  private final Map<String, DocumentDiagnostics> documents = new ConcurrentHashMap<>();
+  private final RequestTransmitter requestTransmitter;
+  private final ScheduledExecutorService executor;
+  private final long delayNanos;
+
+  @Inject
+  public PublishDiagnosticsParamsJsonRpcTransmitter(RequestTransmitter requestTransmitter) {
+    this(requestTransmitter, DEFAULT_DELAY_MS);
+  }
+
+  PublishDiagnosticsParamsJsonRpcTransmitter(RequestTransmitter requestTransmitter, long delayMs) {
+    this.requestTransmitter = requestTransmitter;
+    this.delayNanos = TimeUnit.MILLISECONDS.toNanos(delayMs);
+    this.executor =
+        Executors.newSingleThreadScheduledExecutor(
+            new ThreadFactoryBuilder()
+                .setNameFormat("PublishDiagnosticsTransmitter-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+  }
 
   @Inject
-  private void subscribe(EventService eventService, RequestTransmitter requestTransmitter) {
-    eventService.subscribe(
-        event -> {
-          PublishDiagnosticsParams params = event.getParams();
-          if (params.getUri() != null) {
-            params.setUri(params.getUri().substring(16));
-          }
-          endpointIds.forEach(
-              endpointId ->
-                  requestTransmitter
-                      .newRequest()
-                      .endpointId(endpointId)
-                      .methodName("textDocument/publishDiagnostics")
-                      .paramsAsDto(new ExtendedPublishDiagnosticsParamsDto(event))
-                      .sendAndSkipResult());
-        },
-        ExtendedPublishDiagnosticsParams.class);
+  private void subscribe(EventService eventService) {
+    eventService.subscribe(this::onDiagnostics, ExtendedPublishDiagnosticsParams.class);
   }
 
   @Inject
@@ -53,7 +87,7 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/subscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::add);
+        .withConsumer(this::addEndpoint);
   }
 
   @Inject
@@ -63,6 +97,182 @@ public class PublishDiagnosticsParamsJsonRpcTransmitter {
         .methodName("textDocument/publishDiagnostics/unsubscribe")
         .noParams()
         .noResult()
-        .withConsumer(endpointIds::remove);
+        .withConsumer(this::removeEndpoint);
+  }
+
+  /**
+   * Should be called when the endpoint opens the document, so diagnostics of the document are
+   * transmitted to it.
+   *
+   * @param endpointId the endpoint which opened the document
+   * @param uri the document uri relative to the projects root
+   */
+  public void documentOpened(String endpointId, String uri) {
+    final String path = removePrefixUri(uri);
+    openedDocuments.computeIfAbsent(path, p -> ConcurrentHashMap.newKeySet()).add(endpointId);
+    final DocumentDiagnostics document = documents.get(path);
+    if (document != null) {
+      // the endpoint doesn't have diagnostics transmitted before
+      document.resetTransmitted();
+    }
+  }
+
+  /**
+   * Should be called when the endpoint closes the document, diagnostics of the document are not
+   * transmitted to it any longer.
+   *
+   * @param endpointId the endpoint which closed the document
+   * @param uri the document uri relative to the projects root
+   */
+  public void documentClosed(String endpointId, String uri) {
+    final String path = removePrefixUri(uri);
+    final Set<String> endpoints =
+        openedDocuments.computeIfPresent(
+            path,
+            (p, opened) -> {
+              opened.remove(endpointId);
+              return opened.isEmpty() ? null : opened;
+            });
+    if (endpoints == null) {
+      documents.remove(path);
+    }
+  }
+
+  /**
+   * Should be called when the document is changed, postpones the transmission of the diagnostics
+   * which are pending for the document as newer diagnostics are expected.
+   *
+   * @param uri the document uri relative to the projects root
+   */
+  public void documentChanged(String uri) {
+    final DocumentDiagnostics document = documents.get(removePrefixUri(uri));
+    if (document != null) {
+      document.postpone();
+    }
+  }
+
+  @PreDestroy
+  void shutdown() {
+    executor.shutdownNow();
+  }
+
+  void onDiagnostics(ExtendedPublishDiagnosticsParams event) {
+    final PublishDiagnosticsParams params = event.getParams();
+    if (params.getUri() == null) {
+      return;
+    }
+    params.setUri(removePrefixUri(params.getUri()));
+    if (openedDocuments.containsKey(params.getUri())) {
+      documents.computeIfAbsent(params.getUri(), DocumentDiagnostics::new).offer(event);
+    }
+  }
+
+  void transmit(String endpointId, ExtendedPublishDiagnosticsParams diagnostics) {
+    requestTransmitter
+        .newRequest()
+        .endpointId(endpointId)
+        .methodName("textDocument/publishDiagnostics")
+        .paramsAsDto(new ExtendedPublishDiagnosticsParamsDto(diagnostics))
+        .sendAndSkipResult();
+  }
+
+  void addEndpoint(String endpointId) {
+    endpointIds.add(endpointId);
+  }
+
+  void removeEndpoint(String endpointId) {
+    endpointIds.remove(endpointId);
+    for (String path : openedDocuments.keySet()) {
+      documentClosed(endpointId, path);
+    }
+  }
+
+  private void flush(DocumentDiagnostics document) {
+    if (documents.get(document.path) != document) {
+      // the document has been closed
+      return;
+    }
+    final List<ExtendedPublishDiagnosticsParams> changed = document.poll();
+    if (changed.isEmpty()) {
+      return;
+    }
+    final Set<String> opened = openedDocuments.get(document.path);
+    if (opened == null) {
+      return;
+    }
+    for (String endpointId : opened) {
+      if (endpointIds.contains(endpointId)) {
+        changed.forEach(diagnostics -> transmit(endpointId, diagnostics));
+      }
+    }
+  }
+
+  /** Diagnostics of the single document published by all the language servers. */
+  private class DocumentDiagnostics {
+    final String path;
+    final Map<String, ExtendedPublishDiagnosticsParams> pending = new HashMap<>();
+    final Map<String, List<Diagnostic>> transmitted = new HashMap<>();
+
+    long firstOffered;
+    long deadline;
+    boolean scheduled;
+
+    DocumentDiagnostics(String path) {
+      this.path = path;
+    }
+
+    /** Replaces pending diagnostics of the same language server and schedules the flush. */
+    synchronized void offer(ExtendedPublishDiagnosticsParams diagnostics) {
+      final long now = System.nanoTime();
+      if (pending.isEmpty()) {
+        firstOffered = now;
+      }
+      pending.put(diagnostics.getLanguageServerId(), diagnostics);
+      deadline = Math.min(now + delayNanos, firstOffered + MAX_DELAYS * delayNanos);
+      if (!scheduled) {
+        scheduled = true;
+        schedule(delayNanos);
+      }
+    }
+
+    synchronized void postpone() {
+      if (!pending.isEmpty()) {
+        deadline =
+            Math.min(System.nanoTime() + delayNanos, firstOffered + MAX_DELAYS * delayNanos);
+      }
+    }
+
+    synchronized void resetTransmitted() {
+      transmitted.clear();
+    }
+
+    /**
+     * Returns pending diagnostics which differ from the transmitted ones if the deadline is
+     * reached, otherwise reschedules the flush and returns an empty list.
+     */
+    synchronized List<ExtendedPublishDiagnosticsParams> poll() {
+      final long remaining = deadline - System.nanoTime();
+      if (remaining > 0) {
+        schedule(remaining);
+        return new ArrayList<>();
+      }
+      scheduled = false;
+      final List<ExtendedPublishDiagnosticsParams> changed = new ArrayList<>();
+      for (ExtendedPublishDiagnosticsParams diagnostics : pending.values()) {
+        final List<Diagnostic> previous =
+            transmitted.put(
+                diagnostics.getLanguageServerId(), diagnostics.getParams().getDiagnostics());
+        if (previous == null
+            || !Objects.equals(previous, diagnostics.getParams().getDiagnostics())) {
+          changed.add(diagnostics);
+        }
+      }
+      pending.clear();
+      return changed;
+    }
+
+    private void schedule(long delay) {
+      executor.schedule(() -> flush(this), delay, TimeUnit.NANOSECONDS);
+    }
   }
 }
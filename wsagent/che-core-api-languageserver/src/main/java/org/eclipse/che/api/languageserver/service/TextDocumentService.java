@@ -22,6 +22,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -30,6 +31,7 @@ import javax.inject.Inject;
 import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.languageserver.exception.LanguageServerException;
+import org.eclipse.che.api.languageserver.messager.PublishDiagnosticsParamsJsonRpcTransmitter;
 import org.eclipse.che.api.languageserver.registry.InitializedLanguageServer;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistry;
 import org.eclipse.che.api.languageserver.registry.LanguageServerRegistryImpl;
@@ -81,12 +83,16 @@ public class TextDocumentService {
 
   private final LanguageServerRegistry languageServerRegistry;
   private final RequestHandlerConfigurator requestHandler;
+  private final PublishDiagnosticsParamsJsonRpcTransmitter diagnosticsTransmitter;
 
   @Inject
   public TextDocumentService(
-      LanguageServerRegistry languageServerRegistry, RequestHandlerConfigurator requestHandler) {
+      LanguageServerRegistry languageServerRegistry,
+      RequestHandlerConfigurator requestHandler,
+      PublishDiagnosticsParamsJsonRpcTransmitter diagnosticsTransmitter) {
     this.languageServerRegistry = languageServerRegistry;
     this.requestHandler = requestHandler;
+    this.diagnosticsTransmitter = diagnosticsTransmitter;
   }
 
   @PostConstruct
@@ -629,6 +635,8 @@ public class TextDocumentService {
 
   private void didChange(DidChangeTextDocumentParams didChangeTextDocumentParams) {
     try {
+      diagnosticsTransmitter.documentChanged(
+          didChangeTextDocumentParams.getTextDocument().getUri());
       String uri = prefixURI(didChangeTextDocumentParams.getTextDocument().getUri());
       didChangeTextDocumentParams.getTextDocument().setUri(uri);
       didChangeTextDocumentParams.setUri(prefixURI(didChangeTextDocumentParams.getUri()));
@@ -646,8 +654,10 @@ public class TextDocumentService {
     }
   }
 
-  private void didOpen(DidOpenTextDocumentParams openTextDocumentParams) {
+  private void didOpen(String endpointId, DidOpenTextDocumentParams openTextDocumentParams) {
     try {
+      diagnosticsTransmitter.documentOpened(
+          endpointId, openTextDocumentParams.getTextDocument().getUri());
       String uri = prefixURI(openTextDocumentParams.getTextDocument().getUri());
       openTextDocumentParams.getTextDocument().setUri(uri);
       languageServerRegistry
@@ -664,8 +674,10 @@ public class TextDocumentService {
     }
   }
 
-  private void didClose(DidCloseTextDocumentParams didCloseTextDocumentParams) {
+  private void didClose(String endpointId, DidCloseTextDocumentParams didCloseTextDocumentParams) {
     try {
+      diagnosticsTransmitter.documentClosed(
+          endpointId, didCloseTextDocumentParams.getTextDocument().getUri());
       String uri = prefixURI(didCloseTextDocumentParams.getTextDocument().getUri());
       didCloseTextDocumentParams.getTextDocument().setUri(uri);
       languageServerRegistry
@@ -785,6 +797,15 @@ public class TextDocumentService {
         .withConsumer(consumer);
   }
 
+  private <P> void dtoToNothing(String name, Class<P> pClass, BiConsumer<String, P> consumer) {
+    requestHandler
+        .newConfiguration()
+        .methodName("textDocument/" + name)
+        .paramsAsDto(pClass)
+        .noResult()
+        .withBiConsumer(consumer);
+  }
+
   private <P, R> void dtoToDtoList(
       String name, Class<P> pClass, Class<R> rClass, Function<P, List<R>> function) {
     requestHandler
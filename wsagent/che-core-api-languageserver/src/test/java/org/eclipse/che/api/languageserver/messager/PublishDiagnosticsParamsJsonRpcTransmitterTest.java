@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.languageserver.messager;
+
+import static java.util.Collections.singletonList;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+
+import java.util.List;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.languageserver.shared.model.ExtendedPublishDiagnosticsParams;
+import org.eclipse.lsp4j.Diagnostic;
+import org.eclipse.lsp4j.PublishDiagnosticsParams;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link PublishDiagnosticsParamsJsonRpcTransmitter}. */
+@Listeners(MockitoTestNGListener.class)
+public class PublishDiagnosticsParamsJsonRpcTransmitterTest {
+
+  private static final long DELAY_MS = 50;
+  private static final String URI = "/project/src/Main.java";
+
+  @Mock private RequestTransmitter requestTransmitter;
+  @Captor private ArgumentCaptor<ExtendedPublishDiagnosticsParams> diagnosticsCaptor;
+
+  private PublishDiagnosticsParamsJsonRpcTransmitter transmitter;
+
+  @BeforeMethod
+  public void setUp() {
+    transmitter = spy(new PublishDiagnosticsParamsJsonRpcTransmitter(requestTransmitter, DELAY_MS));
+    doNothing().when(transmitter).transmit(anyString(), any());
+    transmitter.addEndpoint("endpoint1");
+    transmitter.addEndpoint("endpoint2");
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    transmitter.shutdown();
+  }
+
+  @Test
+  public void transmitsOnlyLatestDiagnosticsOfDocument() throws Exception {
+    transmitter.documentOpened("endpoint1", URI);
+
+    transmitter.onDiagnostics(diagnostics("ls", "file:///projects" + URI, "first"));
+    transmitter.onDiagnostics(diagnostics("ls", "file:///projects" + URI, "second"));
+
+    verify(transmitter, timeout(DELAY_MS * 10))
+        .transmit(eq("endpoint1"), diagnosticsCaptor.capture());
+    Thread.sleep(DELAY_MS * 2);
+    verify(transmitter).transmit(anyString(), any());
+    final ExtendedPublishDiagnosticsParams transmitted = diagnosticsCaptor.getValue();
+    assertEquals(transmitted.getParams().getUri(), URI);
+    assertEquals(transmitted.getParams().getDiagnostics().get(0).getMessage(), "second");
+  }
+
+  @Test
+  public void skipsDiagnosticsEqualToTransmittedOnes() throws Exception {
+    transmitter.documentOpened("endpoint1", URI);
+
+    transmitter.onDiagnostics(diagnostics("ls", URI, "problem"));
+    verify(transmitter, timeout(DELAY_MS * 10)).transmit(eq("endpoint1"), any());
+    transmitter.onDiagnostics(diagnostics("ls", URI, "problem"));
+    Thread.sleep(DELAY_MS * 4);
+
+    verify(transmitter).transmit(anyString(), any());
+  }
+
+  @Test
+  public void transmitsDiagnosticsOfDifferentLanguageServersSeparately() throws Exception {
+    transmitter.documentOpened("endpoint1", URI);
+
+    transmitter.onDiagnostics(diagnostics("ls1", URI, "problem"));
+    transmitter.onDiagnostics(diagnostics("ls2", URI, "problem"));
+
+    verify(transmitter, timeout(DELAY_MS * 10).times(2))
+        .transmit(eq("endpoint1"), diagnosticsCaptor.capture());
+    final List<ExtendedPublishDiagnosticsParams> transmitted = diagnosticsCaptor.getAllValues();
+    assertEquals(transmitted.size(), 2);
+  }
+
+  @Test
+  public void transmitsDiagnosticsOnlyToEndpointsWhichOpenedDocument() throws Exception {
+    transmitter.documentOpened("endpoint2", URI);
+
+    transmitter.onDiagnostics(diagnostics("ls", URI, "problem"));
+    transmitter.onDiagnostics(diagnostics("ls", "/project/src/Other.java", "problem"));
+
+    verify(transmitter, timeout(DELAY_MS * 10)).transmit(eq("endpoint2"), any());
+    Thread.sleep(DELAY_MS * 2);
+    verify(transmitter, never()).transmit(eq("endpoint1"), any());
+    verify(transmitter).transmit(anyString(), any());
+  }
+
+  @Test
+  public void doesNotTransmitDiagnosticsOfClosedDocument() throws Exception {
+    transmitter.documentOpened("endpoint1", URI);
+    transmitter.onDiagnostics(diagnostics("ls", URI, "problem"));
+    transmitter.documentClosed("endpoint1", URI);
+
+    Thread.sleep(DELAY_MS * 4);
+
+    verify(transmitter, never()).transmit(anyString(), any());
+  }
+
+  @Test
+  public void retransmitsDiagnosticsWhenDocumentIsReopened() throws Exception {
+    transmitter.documentOpened("endpoint1", URI);
+    transmitter.onDiagnostics(diagnostics("ls", URI, "problem"));
+    verify(transmitter, timeout(DELAY_MS * 10)).transmit(eq("endpoint1"), any());
+
+    transmitter.documentOpened("endpoint2", URI);
+    transmitter.onDiagnostics(diagnostics("ls", URI, "problem"));
+
+    verify(transmitter, timeout(DELAY_MS * 10)).transmit(eq("endpoint2"), any());
+  }
+
+  private static ExtendedPublishDiagnosticsParams diagnostics(
+      String serverId, String uri, String message) {
+    final Diagnostic diagnostic = new Diagnostic();
+    diagnostic.setMessage(message);
+    final PublishDiagnosticsParams params = new PublishDiagnosticsParams();
+    params.setUri(uri);
+    params.setDiagnostics(singletonList(diagnostic));
+    return new ExtendedPublishDiagnosticsParams(serverId, params);
+  }
+}
@@ -121,12 +121,12 @@ public class ProjectManager {
   }
 
   @PostConstruct
-  private void postConstruct() {
+  void postConstruct() {
     String rootPath = vfs.getRoot().getPath().toString();
     rootProjcetOperationSetId =
         fileWatcherManager.registerByPath(
             rootPath,
-            EMPTY_CONSUMER,
+            projectRegistry::initUnconfiguredFolder,
             EMPTY_CONSUMER,
             projectPath -> {
               try {
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.eclipse.che.api.vfs.Path;
+
+/**
+ * Trie of registered projects where each node corresponds to an element of the project path.
+ *
+ * <p>Lookup of a project, of its nearest parent project and of its inner projects takes time
+ * proportional to the depth of the path rather than to the number of registered projects. Reads
+ * don't block, modifications are serialized.
+ */
+class ProjectPathTrie {
+
+  private final Node root = new Node();
+
+  /** Returns the project registered on the given path or null. */
+  RegisteredProject get(String path) {
+    final Node node = find(path);
+    return node == null ? null : node.project;
+  }
+
+  /** Returns the project registered on the given path or on its nearest parent, or null. */
+  RegisteredProject getNearest(String path) {
+    Node node = root;
+    RegisteredProject nearest = root.project;
+    for (String element : Path.of(path).elements()) {
+      node = node.children.get(element);
+      if (node == null) {
+        break;
+      }
+      if (node.project != null) {
+        nearest = node.project;
+      }
+    }
+    return nearest;
+  }
+
+  /** Returns the paths of all the projects registered under the given path excluding itself. */
+  List<String> getInnerPaths(String path) {
+    final Node node = find(path);
+    final List<String> paths = new ArrayList<>();
+    if (node != null) {
+      for (RegisteredProject project : collect(node, false)) {
+        paths.add(project.getPath());
+      }
+    }
+    return paths;
+  }
+
+  /** Returns all the registered projects. */
+  List<RegisteredProject> getAll() {
+    return collect(root, true);
+  }
+
+  /** Registers the project on the given path and returns the replaced one or null. */
+  synchronized RegisteredProject put(String path, RegisteredProject project) {
+    Node node = root;
+    for (String element : Path.of(path).elements()) {
+      node = node.children.computeIfAbsent(element, e -> new Node());
+    }
+    final RegisteredProject previous = node.project;
+    node.project = project;
+    return previous;
+  }
+
+  /**
+   * Registers the project on the given path if there is no project on it yet.
+   *
+   * @return true if the project was registered, false otherwise
+   */
+  synchronized boolean putIfAbsent(String path, RegisteredProject project) {
+    if (get(path) != null) {
+      return false;
+    }
+    put(path, project);
+    return true;
+  }
+
+  /** Removes the project registered on the given path, inner projects are kept. */
+  synchronized RegisteredProject remove(String path) {
+    final String[] elements = Path.of(path).elements();
+    final Node node = find(elements);
+    if (node == null) {
+      return null;
+    }
+    final RegisteredProject removed = node.project;
+    node.project = null;
+    prune(elements);
+    return removed;
+  }
+
+  /** Removes the project registered on the given path and all the projects under it. */
+  synchronized List<RegisteredProject> removeAll(String path) {
+    final String[] elements = Path.of(path).elements();
+    final Node node = find(elements);
+    if (node == null) {
+      return new ArrayList<>();
+    }
+    final List<RegisteredProject> removed = collect(node, true);
+    node.project = null;
+    node.children.clear();
+    prune(elements);
+    return removed;
+  }
+
+  private Node find(String path) {
+    return find(Path.of(path).elements());
+  }
+
+  private Node find(String[] elements) {
+    Node node = root;
+    for (int i = 0; i < elements.length && node != null; i++) {
+      node = node.children.get(elements[i]);
+    }
+    return node;
+  }
+
+  /** Detaches the empty nodes on the given path starting from the deepest one. */
+  private void prune(String[] elements) {
+    final Node[] nodes = new Node[elements.length + 1];
+    nodes[0] = root;
+    for (int i = 0; i < elements.length; i++) {
+      nodes[i + 1] = nodes[i].children.get(elements[i]);
+      if (nodes[i + 1] == null) {
+        return;
+      }
+    }
+    for (int i = elements.length; i > 0; i--) {
+      if (nodes[i].project != null || !nodes[i].children.isEmpty()) {
+        return;
+      }
+      nodes[i - 1].children.remove(elements[i - 1]);
+    }
+  }
+
+  private static List<RegisteredProject> collect(Node from, boolean includeFrom) {
+    final List<RegisteredProject> projects = new ArrayList<>();
+    final Deque<Node> nodes = new ArrayDeque<>();
+    if (includeFrom) {
+      nodes.push(from);
+    } else {
+      from.children.values().forEach(nodes::push);
+    }
+    while (!nodes.isEmpty()) {
+      final Node node = nodes.pop();
+      final RegisteredProject project = node.project;
+      if (project != null) {
+        projects.add(project);
+      }
+      node.children.values().forEach(nodes::push);
+    }
+    return projects;
+  }
+
+  private static class Node {
+    final ConcurrentMap<String, Node> children = new ConcurrentHashMap<>();
+    volatile RegisteredProject project;
+  }
+}
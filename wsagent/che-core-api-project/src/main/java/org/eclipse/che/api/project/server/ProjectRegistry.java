@@ -12,10 +12,6 @@ package org.eclipse.che.api.project.server;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -46,7 +42,7 @@ import org.slf4j.LoggerFactory;
 public class ProjectRegistry {
   private static final Logger LOG = LoggerFactory.getLogger(ProjectRegistry.class);
 
-  private final Map<String, RegisteredProject> projects;
+  private final ProjectPathTrie projects;
   private final WorkspaceProjectsSyncer workspaceHolder;
   private final VirtualFileSystem vfs;
   private final ProjectTypeRegistry projectTypeRegistry;
@@ -65,7 +61,7 @@ public class ProjectRegistry {
       EventService eventService)
       throws ServerException {
     this.eventService = eventService;
-    this.projects = new ConcurrentHashMap<>();
+    this.projects = new ProjectPathTrie();
     this.workspaceHolder = workspaceHolder;
     this.vfs = vfsProvider.getVirtualFileSystem();
     this.projectTypeRegistry = projectTypeRegistry;
@@ -92,7 +88,7 @@ public class ProjectRegistry {
 
     initialized = true;
 
-    for (RegisteredProject project : projects.values()) {
+    for (RegisteredProject project : projects.getAll()) {
       // only for projects with sources
       if (project.getBaseFolder() != null) {
         fireInitHandlers(project);
@@ -104,9 +100,7 @@ public class ProjectRegistry {
   public List<RegisteredProject> getProjects() {
     checkInitializationState();
 
-    initUnconfiguredFolders();
-
-    return new ArrayList<>(projects.values());
+    return projects.getAll();
   }
 
   /**
@@ -116,8 +110,6 @@ public class ProjectRegistry {
   public RegisteredProject getProject(String projectPath) {
     checkInitializationState();
 
-    initUnconfiguredFolders();
-
     return projects.get(absolutizePath(projectPath));
   }
 
@@ -128,15 +120,7 @@ public class ProjectRegistry {
   public List<String> getProjects(String parentPath) {
     checkInitializationState();
 
-    initUnconfiguredFolders();
-
-    final Path root = Path.of(absolutizePath(parentPath));
-
-    return projects
-        .keySet()
-        .stream()
-        .filter(key -> Path.of(key).isChild(root))
-        .collect(Collectors.toList());
+    return projects.getInnerPaths(absolutizePath(parentPath));
   }
 
   /**
@@ -146,23 +130,8 @@ public class ProjectRegistry {
   public RegisteredProject getParentProject(String path) {
     checkInitializationState();
 
-    // return this if a project
-    if (getProject(path) != null) {
-      return getProject(path);
-    }
-
-    // otherwise try to find matched parent
-    Path test;
-    while ((test = Path.of(path).getParent()) != null) {
-      final RegisteredProject project = projects.get(test.toString());
-      if (project != null) {
-        return project;
-      }
-
-      path = test.toString();
-    }
-
-    return null;
+    // the project itself if any, otherwise the nearest parent project
+    return projects.getNearest(absolutizePath(path));
   }
 
   /**
@@ -194,13 +163,11 @@ public class ProjectRegistry {
    */
   void removeProjects(String path) throws ServerException {
 
-    List<RegisteredProject> removed = new ArrayList<>();
-    Optional.ofNullable(projects.remove(path)).ifPresent(removed::add);
-    getProjects(path).forEach(p -> Optional.ofNullable(projects.remove(p)).ifPresent(removed::add));
-
-    removed.forEach(
-        registeredProject ->
-            eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
+    projects
+        .removeAll(path)
+        .forEach(
+            registeredProject ->
+                eventService.publish(new ProjectDeletedEvent(registeredProject.getPath())));
   }
 
   /*  ------------------------------------------ */
@@ -341,17 +308,44 @@ public class ProjectRegistry {
   private void initUnconfiguredFolders() {
     try {
       for (FolderEntry folder : root.getChildFolders()) {
-        //.che folder is reserved for internal use
-        if (!".che".equals(folder.getName())
-            && !projects.containsKey(folder.getVirtualFile().getPath().toString())) {
-          putProject(null, folder, true, true);
-        }
+        initUnconfiguredFolder(folder);
       }
     } catch (ServerException e) {
       LOG.warn(e.getLocalizedMessage());
     }
   }
 
+  /**
+   * Initializes project from the folder which has been created on root, does nothing if the item
+   * on the given path is not a folder on root or if it is already a project. Intended to be called
+   * on file system events, so unconfigured folders are not looked up on each read.
+   *
+   * @param path absolute path of the created item
+   */
+  void initUnconfiguredFolder(String path) {
+    final Path folderPath = Path.of(absolutizePath(path));
+    if (folderPath.length() != 1) {
+      return;
+    }
+    try {
+      final FolderEntry folder = root.getChildFolder(folderPath.getName());
+      if (folder != null) {
+        initUnconfiguredFolder(folder);
+      }
+    } catch (ServerException e) {
+      LOG.warn(e.getLocalizedMessage());
+    }
+  }
+
+  private void initUnconfiguredFolder(FolderEntry folder) throws ServerException {
+    //.che folder is reserved for internal use
+    if (!".che".equals(folder.getName())) {
+      final String path = folder.getVirtualFile().getPath().toString();
+      projects.putIfAbsent(
+          path, new RegisteredProject(folder, null, true, true, this.projectTypeRegistry));
+    }
+  }
+
   /**
    * Fires init handlers for all the project types of incoming project.
    *
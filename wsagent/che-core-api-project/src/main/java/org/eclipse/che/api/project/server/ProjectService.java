@@ -45,11 +45,13 @@ import javax.ws.rs.Path;
 import javax.ws.rs.PathParam;
 import javax.ws.rs.Produces;
 import javax.ws.rs.QueryParam;
+import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Context;
 import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.StreamingOutput;
 import javax.ws.rs.core.UriInfo;
 import org.apache.commons.fileupload.FileItem;
 import org.apache.tika.Tika;
@@ -823,7 +825,7 @@ public class ProjectService extends Service {
     @ApiResponse(code = 404, message = "Not found"),
     @ApiResponse(code = 500, message = "Internal Server Error")
   })
-  public InputStream exportZip(
+  public StreamingOutput exportZip(
       @ApiParam(value = "Path to resource to be exported") @PathParam("path") String path)
       throws NotFoundException, ForbiddenException, ServerException {
 
@@ -833,7 +835,14 @@ public class ProjectService extends Service {
       throw new NotFoundException("Folder not found " + path);
     }
 
-    return folder.getVirtualFile().zip();
+    final VirtualFile virtualFile = folder.getVirtualFile();
+    return output -> {
+      try {
+        virtualFile.zip(output);
+      } catch (ForbiddenException | ServerException e) {
+        throw new WebApplicationException(e);
+      }
+    };
   }
 
   @GET
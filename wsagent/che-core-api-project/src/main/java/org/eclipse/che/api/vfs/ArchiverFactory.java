@@ -10,13 +10,29 @@
  */
 package org.eclipse.che.api.vfs;
 
+import java.util.concurrent.Executor;
+
 public class ArchiverFactory {
+  private final Executor executor;
+
+  public ArchiverFactory() {
+    this(null);
+  }
+
+  /**
+   * @param executor executor which is used by the archivers for the parallel work, it is managed
+   *     by the caller, if {@code null} archivers do everything in the calling thread
+   */
+  public ArchiverFactory(Executor executor) {
+    this.executor = executor;
+  }
+
   public Archiver createArchiver(VirtualFile folder, String archiveType) {
     if (archiveType == null) {
       throw new IllegalArgumentException("Archive type might not be null");
     }
     if ("zip".equals(archiveType.toLowerCase())) {
-      return new ZipArchiver(folder);
+      return new ZipArchiver(folder, executor);
     } else if ("tar".equals(archiveType.toLowerCase())) {
       return new TarArchiver(folder);
     }
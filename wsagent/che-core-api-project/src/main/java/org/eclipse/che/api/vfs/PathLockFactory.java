@@ -33,7 +33,10 @@ package org.eclipse.che.api.vfs;
  * </pre>
  *
  * @author andrew00x>
+ * @deprecated keeps all the locks in a single list guarded by one monitor, use {@link
+ *     PathLockManager} instead
  */
+@Deprecated
 public final class PathLockFactory {
   private static final int MAX_RECURSIVE_LOCKS = (1 << 10) - 1;
   /** Max number of threads allowed to access file. */
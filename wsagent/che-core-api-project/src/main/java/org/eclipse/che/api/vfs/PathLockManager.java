@@ -0,0 +1,526 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import static java.lang.String.format;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hierarchical advisory path locks. It does not prevent access to the file from other programs.
+ *
+ * <p>Locks are kept in a tree which mirrors the hierarchy of locked paths. Each node of the tree
+ * holds the number of shared holders, the exclusive holder and the number of shared/exclusive
+ * locks held on its descendants(intention locks). Acquiring a lock for a path takes an intention
+ * lock on each ancestor from the root down to the parent of the path and then takes the lock
+ * itself, so conflicting locks always meet on a single node and are resolved there:
+ *
+ * <ul>
+ *   <li>shared lock conflicts with exclusive lock of the same path or any of its ancestors and
+ *       with exclusive locks of the path descendants
+ *   <li>exclusive lock conflicts with any lock of the same path, its ancestors or descendants
+ * </ul>
+ *
+ * <p>Every node is guarded by its own monitor which is held only for a few field updates, there
+ * is no global lock. A thread which can't get a lock rolls back the intention locks it has taken
+ * and waits on the node where the conflict was found, releasing a lock wakes up only the threads
+ * waiting on the nodes of the released path. Nodes of the tree are kept while idle, so taking an
+ * uncontended lock for an already known path doesn't allocate, idle nodes are removed once the
+ * tree grows over the configured size.
+ *
+ * <p>Locks are reentrant, locks held by the current thread never conflict with locks the thread
+ * requests for the same path, its ancestors or descendants. A lock must be released by the thread
+ * which has acquired it.
+ *
+ * <p>Usage:
+ *
+ * <pre>
+ *      PathLockManager lockManager = ...
+ *
+ *      public void doSomething(Path path)
+ *      {
+ *         PathLock exclusiveLock = lockManager.getLock(path, true).acquire(30000);
+ *         try
+ *         {
+ *            ... // do something
+ *         }
+ *         finally
+ *         {
+ *            exclusiveLock.release();
+ *         }
+ *      }
+ * </pre>
+ */
+public final class PathLockManager {
+  private static final int DEFAULT_MAX_IDLE_NODES = 16 * 1024;
+  private static final long NO_TIMEOUT = -1;
+  /** Returned instead of the blocker node when one of the nodes was removed from the tree. */
+  private static final Node REMOVED = new Node(null, null);
+
+  private final ConcurrentMap<Path, Node> nodes = new ConcurrentHashMap<>();
+  private final ThreadLocal<Owner> owners = ThreadLocal.withInitial(Owner::new);
+  private final AtomicBoolean sweeping = new AtomicBoolean();
+  private final int maxIdleNodes;
+
+  public PathLockManager() {
+    this(DEFAULT_MAX_IDLE_NODES);
+  }
+
+  /**
+   * @param maxIdleNodes the number of tree nodes after which nodes that are not used by any lock
+   *     are removed from the tree
+   */
+  public PathLockManager(int maxIdleNodes) {
+    if (maxIdleNodes < 1) {
+      throw new IllegalArgumentException();
+    }
+    this.maxIdleNodes = maxIdleNodes;
+  }
+
+  public PathLock getLock(Path path, boolean exclusive) {
+    return new PathLock(path, exclusive);
+  }
+
+  /** Checks that no locks are held. Used in tests. */
+  public void checkClean() {
+    for (Node node : nodes.values()) {
+      synchronized (node) {
+        assert node.removed || node.isIdle() : node;
+      }
+    }
+  }
+
+  private void acquire(Path path, boolean exclusive, long timeoutMilliseconds) {
+    final Owner owner = owners.get();
+    final int index = owner.indexOf(path);
+    if (index >= 0) {
+      // Current thread already has direct lock for this path
+      owner.holds[index]++;
+      return;
+    }
+    Node node = node(path);
+    long deadline = NO_TIMEOUT;
+    Node blocker;
+    while ((blocker = tryAcquire(node, exclusive, owner)) != null) {
+      if (blocker == REMOVED) {
+        // node was swept concurrently, get the actual one
+        node = node(path);
+        continue;
+      }
+      if (timeoutMilliseconds != NO_TIMEOUT && deadline == NO_TIMEOUT) {
+        deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMilliseconds);
+      }
+      await(blocker, owner.blockerVersion, deadline, path);
+    }
+    owner.add(node, exclusive);
+    if (nodes.size() > maxIdleNodes) {
+      sweep();
+    }
+  }
+
+  private void release(Path path) {
+    final Owner owner = owners.get();
+    final int index = owner.indexOf(path);
+    if (index < 0) {
+      throw new IllegalStateException(
+          format("Lock for '%s' is not held by the current thread. ", path));
+    }
+    if (--owner.holds[index] > 0) {
+      return;
+    }
+    final Node node = owner.nodes[index];
+    final boolean exclusive = owner.exclusive[index];
+    owner.remove(index);
+    synchronized (node) {
+      if (exclusive) {
+        node.exclusiveOwner = null;
+      } else {
+        node.shared--;
+      }
+      node.changed();
+    }
+    releaseIntentions(node.parent, exclusive);
+  }
+
+  /**
+   * Tries to lock the given node and intentionally lock all its ancestors.
+   *
+   * <p>Nodes may be removed from the tree concurrently, but not after they are intentionally
+   * locked, so the removal check is needed only when the node monitor is entered.
+   *
+   * @return null if lock is acquired, {@link #REMOVED} if any of the nodes was removed from the
+   *     tree, otherwise the node where the conflict was found
+   */
+  private Node tryAcquire(Node node, boolean exclusive, Owner owner) {
+    final Node ancestorBlocker = tryAcquireIntentions(node.parent, exclusive, owner);
+    if (ancestorBlocker != null) {
+      return ancestorBlocker;
+    }
+    final Node blocker;
+    synchronized (node) {
+      if (node.removed) {
+        blocker = REMOVED;
+      } else if (node.isExclusivelyOwnedByOther(owner.thread)
+          || node.intentionExclusive - owner.intentions(node, true) > 0
+          || exclusive
+              && (node.shared > 0 || node.intentionShared - owner.intentions(node, false) > 0)) {
+        owner.blockerVersion = node.version;
+        blocker = node;
+      } else {
+        if (exclusive) {
+          node.exclusiveOwner = owner.thread;
+        } else {
+          node.shared++;
+        }
+        return null;
+      }
+    }
+    releaseIntentions(node.parent, exclusive);
+    return blocker;
+  }
+
+  private Node tryAcquireIntentions(Node node, boolean exclusive, Owner owner) {
+    if (node == null) {
+      return null;
+    }
+    final Node ancestorBlocker = tryAcquireIntentions(node.parent, exclusive, owner);
+    if (ancestorBlocker != null) {
+      return ancestorBlocker;
+    }
+    final Node blocker;
+    synchronized (node) {
+      if (node.removed) {
+        blocker = REMOVED;
+      } else if (node.isExclusivelyOwnedByOther(owner.thread)
+          || exclusive && node.shared - owner.sharedHolds(node) > 0) {
+        owner.blockerVersion = node.version;
+        blocker = node;
+      } else {
+        if (exclusive) {
+          node.intentionExclusive++;
+        } else {
+          node.intentionShared++;
+        }
+        return null;
+      }
+    }
+    releaseIntentions(node.parent, exclusive);
+    return blocker;
+  }
+
+  private void releaseIntentions(Node node, boolean exclusive) {
+    for (Node n = node; n != null; n = n.parent) {
+      synchronized (n) {
+        if (exclusive) {
+          n.intentionExclusive--;
+        } else {
+          n.intentionShared--;
+        }
+        n.changed();
+      }
+    }
+  }
+
+  /** Waits until the state of the blocker node changes or timeout is reached. */
+  private void await(Node blocker, long version, long deadline, Path path) {
+    synchronized (blocker) {
+      if (blocker.version != version) {
+        // changed since the conflict was found, retry immediately
+        return;
+      }
+      blocker.waiters++;
+      try {
+        if (deadline == NO_TIMEOUT) {
+          blocker.wait();
+        } else {
+          final long waitTime = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+          if (waitTime <= 0) {
+            throw new RuntimeException(format("Get lock timeout for '%s'. ", path));
+          }
+          blocker.wait(waitTime);
+        }
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new RuntimeException(e);
+      } finally {
+        blocker.waiters--;
+      }
+    }
+  }
+
+  private Node node(Path path) {
+    final Node node = nodes.get(path);
+    return node != null ? node : create(path);
+  }
+
+  /** Returns the node for the given path, pinned node and its ancestors are never removed. */
+  private Node pin(Path path) {
+    for (; ; ) {
+      Node node = nodes.get(path);
+      if (node == null) {
+        node = create(path);
+      }
+      synchronized (node) {
+        if (!node.removed) {
+          node.pins++;
+          return node;
+        }
+      }
+    }
+  }
+
+  private void unpin(Node node) {
+    synchronized (node) {
+      node.pins--;
+    }
+  }
+
+  private Node create(Path path) {
+    final Node parent = path.isRoot() ? null : pin(path.getParent());
+    try {
+      final Node created = new Node(path, parent);
+      if (parent != null) {
+        synchronized (parent) {
+          parent.children++;
+        }
+      }
+      final Node existing = nodes.putIfAbsent(path, created);
+      if (existing == null) {
+        return created;
+      }
+      if (parent != null) {
+        synchronized (parent) {
+          parent.children--;
+        }
+      }
+      return existing;
+    } finally {
+      if (parent != null) {
+        unpin(parent);
+      }
+    }
+  }
+
+  /** Removes idle nodes, leaves go first so their parents become removable too. */
+  private void sweep() {
+    if (!sweeping.compareAndSet(false, true)) {
+      return;
+    }
+    try {
+      for (Node node : nodes.values()) {
+        removeIfIdle(node);
+      }
+    } finally {
+      sweeping.set(false);
+    }
+  }
+
+  private void removeIfIdle(Node node) {
+    while (node != null) {
+      synchronized (node) {
+        if (node.removed || node.children > 0 || !node.isIdle()) {
+          return;
+        }
+        node.removed = true;
+        nodes.remove(node.path, node);
+      }
+      node = node.parent;
+      if (node != null) {
+        synchronized (node) {
+          node.children--;
+        }
+      }
+    }
+  }
+
+  /* =============================================== */
+
+  private static final class Node {
+    final Path path;
+    final Node parent;
+
+    Thread exclusiveOwner;
+    int shared;
+    int intentionShared;
+    int intentionExclusive;
+
+    int pins;
+    int children;
+    int waiters;
+    long version;
+    boolean removed;
+
+    Node(Path path, Node parent) {
+      this.path = path;
+      this.parent = parent;
+    }
+
+    boolean isExclusivelyOwnedByOther(Thread thread) {
+      return exclusiveOwner != null && exclusiveOwner != thread;
+    }
+
+    boolean isIdle() {
+      return exclusiveOwner == null
+          && shared == 0
+          && intentionShared == 0
+          && intentionExclusive == 0
+          && pins == 0
+          && waiters == 0;
+    }
+
+    /** Must be called by the thread which holds this node monitor. */
+    void changed() {
+      version++;
+      if (waiters > 0) {
+        notifyAll();
+      }
+    }
+
+    @Override
+    public String toString() {
+      return "Node{"
+          + "path="
+          + path
+          + ", exclusiveOwner="
+          + exclusiveOwner
+          + ", shared="
+          + shared
+          + ", intentionShared="
+          + intentionShared
+          + ", intentionExclusive="
+          + intentionExclusive
+          + ", waiters="
+          + waiters
+          + '}';
+    }
+  }
+
+  /** Locks held by a single thread. */
+  private static final class Owner {
+    final Thread thread = Thread.currentThread();
+
+    Node[] nodes = new Node[4];
+    boolean[] exclusive = new boolean[4];
+    int[] holds = new int[4];
+    int size;
+    long blockerVersion;
+
+    int indexOf(Path path) {
+      for (int i = 0; i < size; i++) {
+        if (nodes[i].path.equals(path)) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    void add(Node node, boolean exclusive) {
+      if (size == nodes.length) {
+        nodes = Arrays.copyOf(nodes, size * 2);
+        this.exclusive = Arrays.copyOf(this.exclusive, size * 2);
+        holds = Arrays.copyOf(holds, size * 2);
+      }
+      nodes[size] = node;
+      this.exclusive[size] = exclusive;
+      holds[size] = 1;
+      size++;
+    }
+
+    void remove(int index) {
+      size--;
+      nodes[index] = nodes[size];
+      exclusive[index] = exclusive[size];
+      holds[index] = holds[size];
+      nodes[size] = null;
+    }
+
+    /** Returns the number of shared locks current thread holds for the node itself. */
+    int sharedHolds(Node node) {
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+        if (nodes[i] == node && !exclusive[i]) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    /** Returns the number of intention locks current thread holds for the node. */
+    int intentions(Node node, boolean exclusive) {
+      int count = 0;
+      for (int i = 0; i < size; i++) {
+        if (this.exclusive[i] == exclusive && isAncestor(node, nodes[i])) {
+          count++;
+        }
+      }
+      return count;
+    }
+
+    private static boolean isAncestor(Node ancestor, Node node) {
+      for (Node n = node.parent; n != null; n = n.parent) {
+        if (n == ancestor) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+
+  public final class PathLock {
+    private final Path path;
+    private final boolean exclusive;
+
+    private PathLock(Path path, boolean exclusive) {
+      this.path = path;
+      this.exclusive = exclusive;
+    }
+
+    /**
+     * Acquire permit for file. Method is blocked until permit available.
+     *
+     * @return this PathLock instance
+     */
+    public PathLock acquire() {
+      PathLockManager.this.acquire(path, exclusive, NO_TIMEOUT);
+      return this;
+    }
+
+    /**
+     * Acquire permit for file if it becomes available within the given timeout. It is the same as
+     * method {@link #acquire()} but with waiting timeout.
+     *
+     * @param timeoutMilliseconds maximum time (in milliseconds) to wait for access permit
+     * @return this PathLock instance
+     * @throws RuntimeException if waiting timeout reached
+     */
+    public PathLock acquire(long timeoutMilliseconds) {
+      if (timeoutMilliseconds < 0) {
+        throw new IllegalArgumentException();
+      }
+      PathLockManager.this.acquire(path, exclusive, timeoutMilliseconds);
+      return this;
+    }
+
+    /** Release file permit. */
+    public void release() {
+      PathLockManager.this.release(path);
+    }
+
+    /** Returns <code>true</code> if this lock is exclusive and <code>false</code> otherwise. */
+    public boolean isExclusive() {
+      return exclusive;
+    }
+  }
+}
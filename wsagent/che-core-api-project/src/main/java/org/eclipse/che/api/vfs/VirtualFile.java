@@ -11,6 +11,8 @@
 package org.eclipse.che.api.vfs;
 
 import com.google.common.annotations.Beta;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.List;
@@ -482,6 +484,22 @@ public interface VirtualFile extends Comparable<VirtualFile> {
    */
   InputStream zip() throws ForbiddenException, ServerException;
 
+  /**
+   * Writes content of folder denoted by this VirtualFile as zip archive to the given output. Unlike
+   * {@link #zip()} implementations may write the archive while it is being created.
+   *
+   * @param output output for zipped content of folder denoted by this VirtualFile
+   * @throws ForbiddenException if this item does not denote a folder
+   * @throws ServerException if other error occurs
+   */
+  default void zip(OutputStream output) throws ForbiddenException, ServerException {
+    try (InputStream zip = zip()) {
+      ByteStreams.copy(zip, output);
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
   /**
    * Extracts zip archive to the folder denoted by this VirtualFile.
    *
@@ -510,6 +528,22 @@ public interface VirtualFile extends Comparable<VirtualFile> {
    */
   InputStream tar() throws ForbiddenException, ServerException;
 
+  /**
+   * Writes content of folder denoted by this VirtualFile as TAR archive to the given output.
+   * Unlike {@link #tar()} implementations may write the archive while it is being created.
+   *
+   * @param output output for content of folder denoted by this VirtualFile as TAR archive
+   * @throws ForbiddenException if this item does not denote a folder
+   * @throws ServerException if other error occurs
+   */
+  default void tar(OutputStream output) throws ForbiddenException, ServerException {
+    try (InputStream tar = tar()) {
+      ByteStreams.copy(tar, output);
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
   /**
    * Extracts tar archive to the folder denoted by this VirtualFile.
    *
@@ -10,22 +10,101 @@
  */
 package org.eclipse.che.api.vfs;
 
+import com.google.common.collect.ImmutableSet;
 import com.google.common.io.ByteStreams;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
-import java.util.zip.ZipOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.input.CountingInputStream;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.ForbiddenException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.vfs.util.NotClosableInputStream;
 import org.eclipse.che.api.vfs.util.ZipContent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+/**
+ * Zip archiver.
+ *
+ * <p>Compression writes archive straight to the given output. Children of the folders are listed
+ * and files which are not bigger than {@link #PARALLEL_ENTRY_MAX_SIZE} are read and deflated by
+ * the executor while the tree is being walked, prepared entries are written in the walk order and
+ * the amount of prepared but not yet written content is limited by {@link #MAX_PENDING_BYTES}.
+ * Bigger files are deflated directly into the output. Content of the files which are already
+ * compressed(archives, images, media) is stored without compression.
+ *
+ * <p>Extraction inflates archive once, compression ratio and size of uncompressed data are checked
+ * while entries are read. Content of entries which are not bigger than {@link
+ * #PARALLEL_ENTRY_MAX_SIZE} is written to the files by the executor, bigger entries are written
+ * directly from the archive stream. Items created by the extraction are removed if it fails.
+ *
+ * <p>Archiver doesn't manage the executor, if it isn't provided everything is done by the calling
+ * thread.
+ */
 public class ZipArchiver extends Archiver {
+  private static final int PARALLEL_ENTRY_MAX_SIZE = 1024 * 1024;
+  private static final long MAX_PENDING_BYTES = 16 * 1024 * 1024;
+  private static final int MAX_PENDING_ENTRIES = 1024;
+  private static final long DEFAULT_MAX_EXTRACTED_SIZE = 4L * 1024 * 1024 * 1024;
+
+  private static final Logger LOG = LoggerFactory.getLogger(ZipArchiver.class);
+
+  private static final Set<String> COMPRESSED_EXTENSIONS =
+      ImmutableSet.of(
+          "zip", "jar", "war", "ear", "gz", "tgz", "bz2", "xz", "7z", "rar", "png", "jpg", "jpeg",
+          "gif", "webp", "ico", "mp3", "mp4", "ogg", "avi", "mov", "mkv", "woff", "woff2");
+
+  private final long maxExtractedSize;
+  private final Executor executor;
+
   public ZipArchiver(VirtualFile folder) {
+    this(folder, DEFAULT_MAX_EXTRACTED_SIZE, null);
+  }
+
+  public ZipArchiver(VirtualFile folder, Executor executor) {
+    this(folder, DEFAULT_MAX_EXTRACTED_SIZE, executor);
+  }
+
+  public ZipArchiver(VirtualFile folder, long maxExtractedSize) {
+    this(folder, maxExtractedSize, null);
+  }
+
+  /**
+   * @param folder folder to compress or to extract archive to
+   * @param maxExtractedSize max number of bytes of uncompressed data, extraction of bigger archive
+   *     fails and all the created items are removed
+   * @param executor executor for listing of folders, reading and deflating of files and writing
+   *     of extracted files, may be {@code null}
+   */
+  public ZipArchiver(VirtualFile folder, long maxExtractedSize, Executor executor) {
     super(folder);
+    this.maxExtractedSize = maxExtractedSize;
+    this.executor = executor;
   }
 
   @Override
@@ -36,23 +115,74 @@ public class ZipArchiver extends Archiver {
   @Override
   public void compress(OutputStream zipOutput, VirtualFileFilter filter)
       throws IOException, ServerException {
-    try (ZipOutputStream zipOutputStream = new ZipOutputStream(zipOutput)) {
-      folder.accept(
-          new VirtualFileVisitor() {
-            @Override
-            public void visit(VirtualFile visitedVirtualFile) throws ServerException {
-              if (filter.accept(visitedVirtualFile)) {
-                if (!visitedVirtualFile.equals(folder)) {
-                  addZipEntry(visitedVirtualFile, zipOutputStream);
-                }
-                if (visitedVirtualFile.isFolder()) {
-                  for (VirtualFile child : visitedVirtualFile.getChildren()) {
-                    child.accept(this);
-                  }
-                }
-              }
-            }
-          });
+    try (ZipArchiveOutputStream zipOutputStream = new ZipArchiveOutputStream(zipOutput)) {
+      final PendingEntries pendingEntries = new PendingEntries(zipOutputStream);
+      try {
+        if (filter.accept(folder)) {
+          walk(submit(folder::getChildren), filter, pendingEntries);
+        }
+        pendingEntries.writeAll();
+      } finally {
+        pendingEntries.cancelAll();
+      }
+    }
+  }
+
+  /**
+   * Adds accepted children to the pending entries in the same order as a visitor does. Children
+   * of the sub-folders are listed by the executor before the walk descends into them.
+   */
+  private void walk(
+      Future<List<VirtualFile>> children, VirtualFileFilter filter, PendingEntries pendingEntries)
+      throws ServerException {
+    final List<VirtualFile> accepted = new ArrayList<>();
+    final List<Future<List<VirtualFile>>> listings = new ArrayList<>();
+    for (VirtualFile child : await(children)) {
+      if (filter.accept(child)) {
+        accepted.add(child);
+        listings.add(child.isFolder() ? submit(child::getChildren) : null);
+      }
+    }
+    try {
+      for (int i = 0; i < accepted.size(); i++) {
+        pendingEntries.add(accepted.get(i));
+        if (listings.get(i) != null) {
+          walk(listings.get(i), filter, pendingEntries);
+        }
+      }
+    } finally {
+      for (Future<List<VirtualFile>> listing : listings) {
+        if (listing != null) {
+          listing.cancel(true);
+        }
+      }
+    }
+  }
+
+  private <T> Future<T> submit(Callable<T> task) {
+    final FutureTask<T> future = new FutureTask<>(task);
+    if (executor == null) {
+      future.run();
+    } else {
+      executor.execute(future);
+    }
+    return future;
+  }
+
+  private static <T> T await(Future<T> future) throws ServerException {
+    try {
+      return future.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ServerException(e.getMessage(), e);
+    } catch (ExecutionException e) {
+      final Throwable cause = e.getCause();
+      if (cause instanceof ServerException) {
+        throw (ServerException) cause;
+      } else if (cause instanceof ForbiddenException) {
+        throw new ServerException(((ForbiddenException) cause).getServiceError());
+      }
+      throw new ServerException(cause.getMessage(), cause);
     }
   }
 
@@ -64,73 +194,420 @@ public class ZipArchiver extends Archiver {
     return zipPath.toString();
   }
 
-  private void addZipEntry(VirtualFile virtualFile, ZipOutputStream zipOutputStream)
-      throws ServerException {
-    try {
-      ZipEntry zipEntry = new ZipEntry(getZipEntryName(virtualFile));
-      zipOutputStream.putNextEntry(zipEntry);
-      if (virtualFile.isFolder()) {
-        zipEntry.setTime(0);
-      } else {
-        try (InputStream content = virtualFile.getContent()) {
-          ByteStreams.copy(content, zipOutputStream);
+  private static boolean isCompressed(VirtualFile virtualFile) {
+    final String name = virtualFile.getName();
+    final int dot = name.lastIndexOf('.');
+    return dot > 0 && COMPRESSED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase());
+  }
+
+  /** Content of the file which is ready to be copied into the archive as is. */
+  private static class PreparedContent {
+    final byte[] data;
+    final int method;
+    final long size;
+    final long crc;
+
+    PreparedContent(byte[] data, int method, long size, long crc) {
+      this.data = data;
+      this.method = method;
+      this.size = size;
+      this.crc = crc;
+    }
+  }
+
+  private static PreparedContent prepare(VirtualFile virtualFile, boolean compressed)
+      throws ForbiddenException, ServerException, IOException {
+    final byte[] content;
+    try (InputStream in = virtualFile.getContent()) {
+      content = ByteStreams.toByteArray(in);
+    }
+    final CRC32 crc = new CRC32();
+    crc.update(content);
+    if (!compressed) {
+      final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+      try {
+        final ByteArrayOutputStream deflated = new ByteArrayOutputStream(content.length / 2 + 64);
+        try (DeflaterOutputStream out = new DeflaterOutputStream(deflated, deflater)) {
+          out.write(content);
         }
-        zipEntry.setTime(virtualFile.getLastModificationDate());
+        if (deflated.size() < content.length) {
+          return new PreparedContent(
+              deflated.toByteArray(), ZipEntry.DEFLATED, content.length, crc.getValue());
+        }
+      } finally {
+        deflater.end();
+      }
+    }
+    return new PreparedContent(content, ZipEntry.STORED, content.length, crc.getValue());
+  }
+
+  /** Entries visited but not yet written to the archive, in the walk order. */
+  private class PendingEntries {
+    final ZipArchiveOutputStream zipOutputStream;
+    final Deque<PendingEntry> entries = new ArrayDeque<>();
+    long pendingBytes;
+
+    PendingEntries(ZipArchiveOutputStream zipOutputStream) {
+      this.zipOutputStream = zipOutputStream;
+    }
+
+    void add(VirtualFile virtualFile) throws ServerException {
+      final PendingEntry entry = new PendingEntry(virtualFile);
+      if (virtualFile.isFile() && virtualFile.getLength() <= PARALLEL_ENTRY_MAX_SIZE) {
+        final boolean compressed = isCompressed(virtualFile);
+        entry.content = submit(() -> prepare(virtualFile, compressed));
+        entry.length = virtualFile.getLength();
+      }
+      entries.add(entry);
+      pendingBytes += entry.length;
+      while (pendingBytes > MAX_PENDING_BYTES || entries.size() > MAX_PENDING_ENTRIES) {
+        writeNext();
+      }
+    }
+
+    void writeAll() throws ServerException {
+      while (!entries.isEmpty()) {
+        writeNext();
+      }
+    }
+
+    void cancelAll() {
+      for (PendingEntry entry : entries) {
+        if (entry.content != null) {
+          entry.content.cancel(true);
+        }
+      }
+      entries.clear();
+    }
+
+    private void writeNext() throws ServerException {
+      final PendingEntry entry = entries.poll();
+      pendingBytes -= entry.length;
+      try {
+        final VirtualFile virtualFile = entry.virtualFile;
+        final ZipArchiveEntry zipEntry = new ZipArchiveEntry(getZipEntryName(virtualFile));
+        if (virtualFile.isFolder()) {
+          zipEntry.setTime(0);
+          zipEntry.setMethod(ZipEntry.STORED);
+          zipEntry.setSize(0);
+          zipEntry.setCrc(0);
+          zipOutputStream.putArchiveEntry(zipEntry);
+          zipOutputStream.closeArchiveEntry();
+        } else if (entry.content != null) {
+          final PreparedContent content = await(entry.content);
+          zipEntry.setTime(virtualFile.getLastModificationDate());
+          zipEntry.setMethod(content.method);
+          zipEntry.setSize(content.size);
+          zipEntry.setCompressedSize(content.data.length);
+          zipEntry.setCrc(content.crc);
+          zipOutputStream.addRawArchiveEntry(zipEntry, new ByteArrayInputStream(content.data));
+        } else {
+          zipEntry.setTime(virtualFile.getLastModificationDate());
+          if (isCompressed(virtualFile)) {
+            // header of stored entry contains size and crc, content is read twice to get them
+            final CRC32 crc = new CRC32();
+            final long size;
+            try (InputStream content = new CheckedInputStream(virtualFile.getContent(), crc)) {
+              size = ByteStreams.copy(content, ByteStreams.nullOutputStream());
+            }
+            zipEntry.setMethod(ZipEntry.STORED);
+            zipEntry.setSize(size);
+            zipEntry.setCrc(crc.getValue());
+          } else {
+            zipEntry.setMethod(ZipEntry.DEFLATED);
+          }
+          zipOutputStream.putArchiveEntry(zipEntry);
+          try (InputStream content = virtualFile.getContent()) {
+            ByteStreams.copy(content, zipOutputStream);
+          }
+          zipOutputStream.closeArchiveEntry();
+        }
+      } catch (ForbiddenException e) {
+        throw new ServerException(e.getServiceError());
+      } catch (IOException e) {
+        throw new ServerException(e.getMessage(), e);
       }
-      zipOutputStream.closeEntry();
-    } catch (ForbiddenException e) {
-      throw new ServerException(e.getServiceError());
-    } catch (IOException e) {
-      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
+  private static class PendingEntry {
+    final VirtualFile virtualFile;
+    Future<PreparedContent> content;
+    long length;
+
+    PendingEntry(VirtualFile virtualFile) {
+      this.virtualFile = virtualFile;
     }
   }
 
   @Override
   public void extract(InputStream zipInput, boolean overwrite, int stripNumber)
       throws IOException, ForbiddenException, ConflictException, ServerException {
-    try (ZipInputStream zip = new ZipInputStream(ZipContent.of(zipInput).getContent())) {
-      InputStream notClosableInputStream = new NotClosableInputStream(zip);
-      ZipEntry zipEntry;
-      while ((zipEntry = zip.getNextEntry()) != null) {
-        VirtualFile extractFolder = folder;
+    final CountingInputStream compressedDataCounter = new CountingInputStream(zipInput);
+    final Extraction extraction = new Extraction();
+    boolean succeeded = false;
+    try (ZipInputStream zip = new ZipInputStream(compressedDataCounter)) {
+      final LimitedInputStream entryContent =
+          new LimitedInputStream(zip, compressedDataCounter, maxExtractedSize);
+      try {
+        ZipEntry zipEntry;
+        while ((zipEntry = zip.getNextEntry()) != null) {
+          VirtualFile extractFolder = folder;
 
-        Path relativePath = Path.of(zipEntry.getName());
+          Path relativePath = Path.of(zipEntry.getName());
+
+          if (stripNumber > 0) {
+            if (relativePath.length() <= stripNumber) {
+              continue;
+            }
+            relativePath = relativePath.subPath(stripNumber);
+          }
 
-        if (stripNumber > 0) {
-          if (relativePath.length() <= stripNumber) {
+          if (zipEntry.isDirectory()) {
+            extraction.createFolder(extractFolder, relativePath);
             continue;
           }
-          relativePath = relativePath.subPath(stripNumber);
-        }
 
-        if (zipEntry.isDirectory()) {
-          if (!extractFolder.hasChild(relativePath)) {
-            extractFolder.createFolder(relativePath.toString());
+          if (relativePath.length() > 1) {
+            extractFolder = extraction.createFolder(extractFolder, relativePath.getParent());
           }
-          continue;
-        }
 
-        if (relativePath.length() > 1) {
-          Path neededParentPath = relativePath.getParent();
-          VirtualFile neededParent = extractFolder.getChild(neededParentPath);
-          if (neededParent == null) {
-            neededParent = extractFolder.createFolder(neededParentPath.toString());
+          final String fileName = relativePath.getName();
+          extraction.awaitWriteOf(relativePath);
+          final VirtualFile file = extractFolder.getChild(Path.of(fileName));
+          if (file != null && !overwrite) {
+            throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
           }
-          extractFolder = neededParent;
+          final byte[] head = entryContent.readEntry(PARALLEL_ENTRY_MAX_SIZE);
+          if (entryContent.isEntryFinished()) {
+            extraction.write(relativePath, extractFolder, fileName, file, head);
+          } else {
+            final InputStream content =
+                new SequenceInputStream(
+                    new ByteArrayInputStream(head), new NotClosableInputStream(entryContent));
+            if (file == null) {
+              extraction.created.add(extractFolder.createFile(fileName, content));
+            } else {
+              file.updateContent(content);
+            }
+          }
+          zip.closeEntry();
         }
+        extraction.awaitAll();
+        succeeded = true;
+      } catch (ServerException e) {
+        // content of large entries is read by the virtual file system which hides the cause
+        if (entryContent.violation != null) {
+          throw entryContent.violation;
+        }
+        throw e;
+      }
+    } finally {
+      if (!succeeded) {
+        extraction.rollback();
+      }
+    }
+  }
 
-        String fileName = relativePath.getName();
-        VirtualFile file = extractFolder.getChild(Path.of(fileName));
-        if (file == null) {
-          extractFolder.createFile(fileName, notClosableInputStream);
-        } else {
-          if (overwrite) {
-            file.updateContent(notClosableInputStream);
-          } else {
-            throw new ConflictException(String.format("File '%s' already exists", file.getPath()));
+  /**
+   * Items created by extraction and writes submitted to the executor but not completed yet. Items
+   * created by failed extraction are removed, content of the existed files which were overwritten
+   * is not restored.
+   */
+  private class Extraction {
+    final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+    final Map<Path, PendingWrite> pendingWritesByPath = new HashMap<>();
+    final List<VirtualFile> created = Collections.synchronizedList(new ArrayList<>());
+    long pendingBytes;
+
+    /** Creates folder with all missed ancestors, the top-most created folder is remembered. */
+    VirtualFile createFolder(VirtualFile parent, Path relativePath)
+        throws ForbiddenException, ConflictException, ServerException {
+      final VirtualFile existed = parent.getChild(relativePath);
+      if (existed != null) {
+        return existed;
+      }
+      for (int i = 1; i < relativePath.length(); i++) {
+        final Path ancestorPath = relativePath.subPath(0, i);
+        if (parent.getChild(ancestorPath) == null) {
+          final VirtualFile newFolder = parent.createFolder(relativePath.toString());
+          created.add(parent.getChild(ancestorPath));
+          return newFolder;
+        }
+      }
+      final VirtualFile newFolder = parent.createFolder(relativePath.toString());
+      created.add(newFolder);
+      return newFolder;
+    }
+
+    void write(Path path, VirtualFile parent, String name, VirtualFile existed, byte[] content)
+        throws ForbiddenException, ConflictException, ServerException {
+      final PendingWrite write =
+          new PendingWrite(
+              path,
+              content.length,
+              submit(
+                  () -> {
+                    if (existed == null) {
+                      created.add(parent.createFile(name, new ByteArrayInputStream(content)));
+                    } else {
+                      existed.updateContent(new ByteArrayInputStream(content));
+                    }
+                    return null;
+                  }));
+      pendingWrites.add(write);
+      pendingWritesByPath.put(path, write);
+      pendingBytes += write.length;
+      while (pendingBytes > MAX_PENDING_BYTES || pendingWrites.size() > MAX_PENDING_ENTRIES) {
+        awaitNext();
+      }
+    }
+
+    /** Waits for the pending write of the same path, archive may contain duplicated entries. */
+    void awaitWriteOf(Path path) throws ForbiddenException, ConflictException, ServerException {
+      if (pendingWritesByPath.containsKey(path)) {
+        while (pendingWritesByPath.containsKey(path)) {
+          awaitNext();
+        }
+      }
+    }
+
+    void awaitAll() throws ForbiddenException, ConflictException, ServerException {
+      while (!pendingWrites.isEmpty()) {
+        awaitNext();
+      }
+    }
+
+    void rollback() {
+      for (PendingWrite write : pendingWrites) {
+        try {
+          write.result.get();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+        }
+      }
+      pendingWrites.clear();
+      pendingWritesByPath.clear();
+      for (int i = created.size() - 1; i >= 0; i--) {
+        final VirtualFile item = created.get(i);
+        try {
+          if (item.exists()) {
+            item.delete();
           }
+        } catch (ForbiddenException | ServerException e) {
+          LOG.warn(
+              "Unable remove '{}' after failed extraction: {}", item.getPath(), e.getMessage());
+        }
+      }
+    }
+
+    private void awaitNext() throws ForbiddenException, ConflictException, ServerException {
+      final PendingWrite write = pendingWrites.poll();
+      pendingBytes -= write.length;
+      pendingWritesByPath.remove(write.path, write);
+      try {
+        write.result.get();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new ServerException(e.getMessage(), e);
+      } catch (ExecutionException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof ServerException) {
+          throw (ServerException) cause;
+        } else if (cause instanceof ForbiddenException) {
+          throw (ForbiddenException) cause;
+        } else if (cause instanceof ConflictException) {
+          throw (ConflictException) cause;
+        }
+        throw new ServerException(cause.getMessage(), cause);
+      }
+    }
+  }
+
+  private static class PendingWrite {
+    final Path path;
+    final long length;
+    final Future<Void> result;
+
+    PendingWrite(Path path, long length, Future<Void> result) {
+      this.path = path;
+      this.length = length;
+      this.result = result;
+    }
+  }
+
+  /**
+   * Uncompressed content of the current zip entry. Checks compression ratio and total size of
+   * uncompressed data while content is read, so archive is inflated once.
+   */
+  private static class LimitedInputStream extends InputStream {
+    final ZipInputStream zip;
+    final CountingInputStream compressedDataCounter;
+    final long maxUncompressedBytes;
+    long uncompressedBytes;
+    boolean entryFinished;
+    IOException violation;
+
+    LimitedInputStream(
+        ZipInputStream zip, CountingInputStream compressedDataCounter, long maxUncompressedBytes) {
+      this.zip = zip;
+      this.compressedDataCounter = compressedDataCounter;
+      this.maxUncompressedBytes = maxUncompressedBytes;
+    }
+
+    /**
+     * Reads up to {@code limit} bytes of the current entry. Use {@link #isEntryFinished()} to
+     * check whether the whole entry is read.
+     */
+    byte[] readEntry(int limit) throws IOException {
+      entryFinished = false;
+      final ByteArrayOutputStream content = new ByteArrayOutputStream();
+      final byte[] buff = new byte[8192];
+      int bytes;
+      while (content.size() < limit
+          && (bytes = read(buff, 0, Math.min(buff.length, limit - content.size()))) != -1) {
+        content.write(buff, 0, bytes);
+      }
+      if (content.size() < limit) {
+        entryFinished = true;
+      }
+      return content.toByteArray();
+    }
+
+    boolean isEntryFinished() {
+      return entryFinished;
+    }
+
+    @Override
+    public int read() throws IOException {
+      final byte[] buff = new byte[1];
+      return read(buff, 0, 1) == -1 ? -1 : buff[0] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+      final int bytes = zip.read(b, off, len);
+      if (bytes == -1) {
+        entryFinished = true;
+      } else {
+        uncompressedBytes += bytes;
+        check();
+      }
+      return bytes;
+    }
+
+    private void check() throws IOException {
+      try {
+        if (uncompressedBytes > maxUncompressedBytes) {
+          throw new IOException(
+              String.format(
+                  "Size of unpacked content exceeds limit of %d bytes", maxUncompressedBytes));
         }
-        zip.closeEntry();
+        ZipContent.checkRatio(compressedDataCounter.getByteCount(), uncompressedBytes);
+      } catch (IOException e) {
+        violation = e;
+        throw e;
       }
     }
   }
@@ -0,0 +1,383 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static com.google.common.hash.Funnels.asOutputStream;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.io.ByteStreams;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveTask;
+import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.commons.lang.Pair;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of hash sums of files of {@link LocalVirtualFileSystem}.
+ *
+ * <p>Hash sum of file is reused while size, modification time and file key (inode) of file are not
+ * changed, so only new and modified files are read. Files are hashed in parallel in {@link
+ * ForkJoinPool}. Each folder gets digest which is counted over names and digests of its children
+ * (Merkle tree), list of children of folder is reused while modification time of folder is not
+ * changed. Folders still must be traversed on each call since modification of file content does
+ * not change modification time of its parent folder.
+ *
+ * <p>Hash sums of files are saved in the VFS service directory and restored after restart.
+ */
+class HashSumsCache {
+  private static final Logger LOG = LoggerFactory.getLogger(HashSumsCache.class);
+
+  private static final int FORMAT_VERSION = 1;
+  /**
+   * Hash sums of files which were modified recently are not cached because modification in the
+   * same tick of the file system clock is not visible in the file modification time.
+   */
+  private static final long MODIFICATION_TIME_GRANULARITY = 2000;
+
+  private static final ForkJoinPool HASHING_POOL =
+      new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+  private final File storage;
+  private final HashFunction hashFunction;
+  private final FilenameFilter filter;
+  private final ConcurrentMap<Path, FileNode> files;
+  private final ConcurrentMap<Path, FolderNode> folders;
+
+  private volatile boolean loaded;
+  private volatile boolean modified;
+
+  /**
+   * @param storage file to save hash sums to
+   * @param hashFunction function for counting hash sums
+   * @param filter filter of names of files and folders which must be skipped
+   */
+  HashSumsCache(File storage, HashFunction hashFunction, FilenameFilter filter) {
+    this.storage = storage;
+    this.hashFunction = hashFunction;
+    this.filter = filter;
+    this.files = new ConcurrentHashMap<>();
+    this.folders = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Counts hash sums of all files in folder. Each {@code Pair} contains hash sum of file
+   * represented as HEX String and path of file that is relative to {@code folderPath}.
+   *
+   * @param ioFolder folder on local file system
+   * @param folderPath path of the same folder in virtual file system
+   */
+  List<Pair<String, String>> countHashSums(File ioFolder, Path folderPath) throws ServerException {
+    load();
+    final FolderNode folder;
+    try {
+      folder = HASHING_POOL.invoke(new FolderTask(ioFolder, folderPath));
+    } catch (UncheckedIOException e) {
+      throw new ServerException(e.getCause().getMessage(), e.getCause());
+    }
+    final List<Pair<String, String>> hashSums = new ArrayList<>();
+    collectHashSums(folder, folderPath, hashSums);
+    if (modified) {
+      save();
+    }
+    return hashSums;
+  }
+
+  /**
+   * Returns Merkle digest of folder which is counted over names and digests of all its descendants
+   * or {@code null} if hash sums of the folder were not counted yet.
+   */
+  HashCode getFolderDigest(Path folderPath) {
+    final FolderNode folder = folders.get(folderPath);
+    return folder == null ? null : folder.digest;
+  }
+
+  /** Saves hash sums if they were changed since last save. */
+  synchronized void save() {
+    if (!modified) {
+      return;
+    }
+    modified = false;
+    final File tmp = new File(storage.getParentFile(), storage.getName() + ".tmp");
+    try {
+      Files.createDirectories(storage.getParentFile().toPath());
+      try (DataOutputStream out =
+          new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmp)))) {
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(hashFunction.toString());
+        final List<Map.Entry<Path, FileNode>> entries = new ArrayList<>(files.entrySet());
+        out.writeInt(entries.size());
+        for (Map.Entry<Path, FileNode> entry : entries) {
+          final FileNode file = entry.getValue();
+          out.writeUTF(entry.getKey().toString());
+          out.writeLong(file.size);
+          out.writeLong(file.modificationTime);
+          out.writeUTF(file.fileKey);
+          final byte[] hash = file.hash.asBytes();
+          out.writeShort(hash.length);
+          out.write(hash);
+        }
+      }
+      Files.move(tmp.toPath(), storage.toPath(), REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException e) {
+      modified = true;
+      LOG.warn("Unable save hash sums to {}: {}", storage, e.getMessage());
+    }
+  }
+
+  private void load() {
+    if (loaded) {
+      return;
+    }
+    synchronized (this) {
+      if (loaded) {
+        return;
+      }
+      loaded = true;
+      if (!storage.exists()) {
+        return;
+      }
+      try (DataInputStream in =
+          new DataInputStream(new BufferedInputStream(new FileInputStream(storage)))) {
+        if (in.readInt() != FORMAT_VERSION || !hashFunction.toString().equals(in.readUTF())) {
+          return;
+        }
+        final int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+          final Path path = Path.of(in.readUTF());
+          final long length = in.readLong();
+          final long modificationTime = in.readLong();
+          final String fileKey = in.readUTF();
+          final byte[] hash = new byte[in.readUnsignedShort()];
+          in.readFully(hash);
+          files.putIfAbsent(
+              path, new FileNode(length, modificationTime, fileKey, HashCode.fromBytes(hash)));
+        }
+      } catch (IOException e) {
+        files.clear();
+        LOG.warn("Unable load hash sums from {}: {}", storage, e.getMessage());
+      }
+    }
+  }
+
+  private void collectHashSums(FolderNode folder, Path relativeTo, List<Pair<String, String>> to) {
+    for (int i = 0; i < folder.names.length; i++) {
+      final Object child = folder.children[i];
+      if (child instanceof FileNode) {
+        final Path path = folder.path.newPath(folder.names[i]);
+        to.add(Pair.of(((FileNode) child).hash.toString(), path.subPath(relativeTo).toString()));
+      } else if (child instanceof FolderNode) {
+        collectHashSums((FolderNode) child, relativeTo, to);
+      }
+    }
+  }
+
+  private static boolean isStable(long modificationTime) {
+    return modificationTime < System.currentTimeMillis() - MODIFICATION_TIME_GRANULARITY;
+  }
+
+  private class FolderTask extends RecursiveTask<FolderNode> {
+    final File ioFolder;
+    final Path path;
+
+    FolderTask(File ioFolder, Path path) {
+      this.ioFolder = ioFolder;
+      this.path = path;
+    }
+
+    @Override
+    protected FolderNode compute() {
+      final long modificationTime = ioFolder.lastModified();
+      final FolderNode cached = folders.get(path);
+      final String[] names;
+      if (cached != null && cached.modificationTime == modificationTime) {
+        names = cached.names;
+      } else {
+        names = ioFolder.list(filter);
+        if (names == null) {
+          throw new UncheckedIOException(
+              new IOException(String.format("Unable get children of '%s'", path)));
+        }
+        Arrays.sort(names);
+      }
+
+      final Object[] children = new Object[names.length];
+      for (int i = 0; i < names.length; i++) {
+        final File ioChild = new File(ioFolder, names[i]);
+        final Path childPath = path.newPath(names[i]);
+        final BasicFileAttributes attributes;
+        try {
+          attributes = Files.readAttributes(ioChild.toPath(), BasicFileAttributes.class);
+        } catch (IOException e) {
+          // removed after folder was listed
+          continue;
+        }
+        if (attributes.isDirectory()) {
+          children[i] = new FolderTask(ioChild, childPath).fork();
+        } else if (attributes.isRegularFile()) {
+          final long size = attributes.size();
+          final long fileModificationTime = attributes.lastModifiedTime().toMillis();
+          final String fileKey = String.valueOf(attributes.fileKey());
+          final FileNode file = files.get(childPath);
+          if (file != null && file.isUpToDate(size, fileModificationTime, fileKey)) {
+            children[i] = file;
+          } else {
+            children[i] =
+                new FileTask(ioChild, childPath, size, fileModificationTime, fileKey).fork();
+          }
+        }
+      }
+      for (int i = 0; i < children.length; i++) {
+        if (children[i] instanceof ForkJoinTask) {
+          children[i] = ((ForkJoinTask<?>) children[i]).join();
+        }
+      }
+
+      final Hasher hasher = hashFunction.newHasher();
+      for (int i = 0; i < names.length; i++) {
+        if (children[i] instanceof FileNode) {
+          hasher.putByte((byte) 'f').putString(names[i], UTF_8);
+          hasher.putBytes(((FileNode) children[i]).hash.asBytes());
+        } else if (children[i] instanceof FolderNode) {
+          hasher.putByte((byte) 'd').putString(names[i], UTF_8);
+          hasher.putBytes(((FolderNode) children[i]).digest.asBytes());
+        }
+      }
+      final HashCode digest = hasher.hash();
+      if (cached != null && cached.digest.equals(digest) && cached.names == names) {
+        return cached;
+      }
+      final FolderNode folder =
+          new FolderNode(
+              path, isStable(modificationTime) ? modificationTime : -1, names, children, digest);
+      folders.put(path, folder);
+      if (cached != null) {
+        removeMissed(cached, names);
+      }
+      return folder;
+    }
+
+    /** Removes cached hash sums of files and folders which are not children of folder any more. */
+    private void removeMissed(FolderNode cached, String[] names) {
+      final Set<String> existed = new HashSet<>(Arrays.asList(names));
+      for (String name : cached.names) {
+        if (!existed.contains(name)) {
+          final Path childPath = path.newPath(name);
+          if (files.keySet().removeIf(p -> p.equals(childPath) || p.isChild(childPath))) {
+            modified = true;
+          }
+          folders.keySet().removeIf(p -> p.equals(childPath) || p.isChild(childPath));
+        }
+      }
+    }
+  }
+
+  private class FileTask extends RecursiveTask<FileNode> {
+    final File ioFile;
+    final Path path;
+    final long size;
+    final long modificationTime;
+    final String fileKey;
+
+    FileTask(File ioFile, Path path, long size, long modificationTime, String fileKey) {
+      this.ioFile = ioFile;
+      this.path = path;
+      this.size = size;
+      this.modificationTime = modificationTime;
+      this.fileKey = fileKey;
+    }
+
+    @Override
+    protected FileNode compute() {
+      final Hasher hasher = hashFunction.newHasher();
+      try (InputStream in = new FileInputStream(ioFile)) {
+        ByteStreams.copy(in, asOutputStream(hasher));
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+      final FileNode file = new FileNode(size, modificationTime, fileKey, hasher.hash());
+      if (isStable(modificationTime)) {
+        files.put(path, file);
+        modified = true;
+      } else {
+        files.remove(path);
+      }
+      return file;
+    }
+  }
+
+  private static class FileNode {
+    final long size;
+    final long modificationTime;
+    final String fileKey;
+    final HashCode hash;
+
+    FileNode(long size, long modificationTime, String fileKey, HashCode hash) {
+      this.size = size;
+      this.modificationTime = modificationTime;
+      this.fileKey = fileKey;
+      this.hash = hash;
+    }
+
+    boolean isUpToDate(long size, long modificationTime, String fileKey) {
+      return this.size == size
+          && this.modificationTime == modificationTime
+          && this.fileKey.equals(fileKey);
+    }
+  }
+
+  private static class FolderNode {
+    final Path path;
+    final long modificationTime;
+    final String[] names;
+    /** {@link FileNode} or {@link FolderNode} for each name, {@code null} for other items. */
+    final Object[] children;
+
+    final HashCode digest;
+
+    FolderNode(
+        Path path, long modificationTime, String[] names, Object[] children, HashCode digest) {
+      this.path = path;
+      this.modificationTime = modificationTime;
+      this.names = names;
+      this.children = children;
+      this.digest = digest;
+    }
+  }
+}
@@ -54,10 +54,9 @@ import org.eclipse.che.api.core.util.FileCleaner;
 import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.Archiver;
 import org.eclipse.che.api.vfs.ArchiverFactory;
-import org.eclipse.che.api.vfs.HashSumsCounter;
 import org.eclipse.che.api.vfs.LockedFileFinder;
 import org.eclipse.che.api.vfs.Path;
-import org.eclipse.che.api.vfs.PathLockFactory;
+import org.eclipse.che.api.vfs.PathLockManager;
 import org.eclipse.che.api.vfs.VirtualFile;
 import org.eclipse.che.api.vfs.VirtualFileFilter;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
@@ -81,7 +80,6 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   static final int MAX_BUFFER_SIZE = 200 * 1024; // 200k
 
   private static final long WAIT_FOR_FILE_LOCK_TIMEOUT = 60000; // 60 seconds
-  private static final int FILE_LOCK_MAX_THREADS = 1024;
 
   private static final String VFS_SERVICE_DIR = ".vfs";
   private static final String FILE_LOCKS_DIR = VFS_SERVICE_DIR + File.separatorChar + "locks";
@@ -89,6 +87,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private static final FileLock NO_LOCK = new FileLock("no_lock", 0);
   private static final String FILE_PROPERTIES_DIR = VFS_SERVICE_DIR + File.separatorChar + "props";
   private static final String PROPERTIES_FILE_SUFFIX = "_props";
+  private static final String HASH_SUMS_FILE = VFS_SERVICE_DIR + File.separatorChar + "md5sums";
 
   private static final FilenameFilter DOT_VFS_DIR_FILTER =
       (dir, name) -> !(VFS_SERVICE_DIR.equals(name));
@@ -131,7 +130,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   private final AbstractVirtualFileSystemProvider.CloseCallback closeCallback;
 
   /* NOTE -- This does not related to virtual file system locking in any kind. -- */
-  private final PathLockFactory pathLockFactory;
+  private final PathLockManager pathLockManager;
 
   private final LocalVirtualFile root;
 
@@ -140,6 +139,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
   private final FileMetadataSerializer metadataSerializer;
   private final LoadingCache<Path, Map<String, String>> metadataCache;
+  private final HashSumsCache md5SumsCache;
 
   @SuppressWarnings("unchecked")
   public LocalVirtualFileSystem(
@@ -153,7 +153,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     this.closeCallback = closeCallback;
 
     root = new LocalVirtualFile(ioRoot, Path.ROOT, this);
-    pathLockFactory = new PathLockFactory(FILE_LOCK_MAX_THREADS);
+    pathLockManager = new PathLockManager();
 
     locksSerializer = new FileLockSerializer();
     lockTokensCache =
@@ -170,6 +170,9 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             .maximumSize(256)
             .expireAfterAccess(10, MINUTES)
             .build(new FilePropertiesCacheLoader());
+
+    md5SumsCache =
+        new HashSumsCache(new File(ioRoot, HASH_SUMS_FILE), Hashing.md5(), DOT_VFS_DIR_FILTER);
   }
 
   @Override
@@ -219,11 +222,11 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   }
 
   /**
-   * Used in tests. Need this to check state of PathLockFactory. All locks MUST be released at the
+   * Used in tests. Need this to check state of PathLockManager. All locks MUST be released at the
    * end of request lifecycle.
    */
-  PathLockFactory getPathLockFactory() {
-    return pathLockFactory;
+  PathLockManager getPathLockManager() {
+    return pathLockManager;
   }
 
   LocalVirtualFile getParent(LocalVirtualFile virtualFile) {
@@ -512,8 +515,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
 
   InputStream getContent(LocalVirtualFile virtualFile) throws ForbiddenException, ServerException {
     if (virtualFile.isFile()) {
-      final PathLockFactory.PathLock lock =
-          pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock lock =
+          pathLockManager.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       File spoolFile = null;
       try {
         final File ioFile = virtualFile.toIoFile();
@@ -549,8 +552,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String.format(
                 "Unable update content of file '%s'. File is locked", virtualFile.getPath()));
       }
-      final PathLockFactory.PathLock lock =
-          pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock lock =
+          pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       try {
         doUpdateContent(virtualFile, content);
       } finally {
@@ -574,8 +577,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
             String.format(
                 "Unable update content of file '%s'. File is locked", virtualFile.getPath()));
       }
-      final PathLockFactory.PathLock lock =
-          pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock lock =
+          pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       try {
         File tempFile = createTempIoFile(virtualFile.getParent(), "edit", "tmp");
         try {
@@ -691,6 +694,20 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
   }
 
+  void zip(LocalVirtualFile folder, OutputStream output)
+      throws ForbiddenException, ServerException {
+    if (archiverFactory == null)
+      throw new ServerException(
+          "VFS: Could not create zip archiver. Archiver Factory is not properly configured (is null)");
+
+    if (folder.isFolder()) {
+      compress(archiverFactory.createArchiver(folder, "zip"), output);
+    } else {
+      throw new ForbiddenException(
+          String.format("Unable export to zip. Item '%s' is not a folder", folder.getPath()));
+    }
+  }
+
   void unzip(LocalVirtualFile parent, InputStream zipped, boolean overwrite, int stripNumber)
       throws ForbiddenException, ConflictException, ServerException {
     if (archiverFactory == null)
@@ -720,6 +737,21 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
   }
 
+  void tar(LocalVirtualFile folder, OutputStream output)
+      throws ForbiddenException, ServerException {
+    if (archiverFactory == null)
+      throw new ServerException(
+          "VFS: Could not create tar archiver. Archiver Factory is not properly configured (is null)");
+
+    if (folder.isFolder()) {
+      compress(archiverFactory.createArchiver(folder, "tar"), output);
+    } else {
+      throw new ForbiddenException(
+          String.format(
+              "Unable export to tar archive. Item '%s' is not a folder", folder.getPath()));
+    }
+  }
+
   void untar(LocalVirtualFile parent, InputStream tarArchive, boolean overwrite, int stripNumber)
       throws ForbiddenException, ConflictException, ServerException {
     if (archiverFactory == null)
@@ -751,6 +783,14 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     }
   }
 
+  private void compress(Archiver archiver, OutputStream output) throws ServerException {
+    try {
+      archiver.compress(output, dotGitFilter());
+    } catch (IOException e) {
+      throw new ServerException(e.getMessage(), e);
+    }
+  }
+
   private void extract(
       Archiver archiver, InputStream compressed, boolean overwrite, int stripNumber)
       throws ConflictException, ServerException, ForbiddenException {
@@ -764,8 +804,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   String lock(LocalVirtualFile virtualFile, long timeout)
       throws ForbiddenException, ConflictException, ServerException {
     if (virtualFile.isFile()) {
-      final PathLockFactory.PathLock pathLock =
-          pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+      final PathLockManager.PathLock pathLock =
+          pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
       try {
         return doLock(virtualFile, timeout);
       } finally {
@@ -831,8 +871,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
               "Unable unlock file '%s'. Lock token does not match", virtualFile.getPath()));
     }
 
-    final PathLockFactory.PathLock lockFilePathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock lockFilePathLock =
+        pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       doUnlock(virtualFile);
     } finally {
@@ -867,8 +907,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   }
 
   private FileLock getFileLock(LocalVirtualFile virtualFile) throws ServerException {
-    final PathLockFactory.PathLock lockFilePathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock lockFilePathLock =
+        pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       final FileLock lock;
       try {
@@ -910,8 +950,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
   }
 
   Map<String, String> getProperties(LocalVirtualFile virtualFile) throws ServerException {
-    final PathLockFactory.PathLock metadataFilePathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock metadataFilePathLock =
+        pathLockManager.getLock(virtualFile.getPath(), false).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       return newLinkedHashMap(metadataCache.get(virtualFile.getPath()));
     } catch (ExecutionException e) {
@@ -935,8 +975,8 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
           String.format(
               "Unable update properties of item '%s'. Item is locked", virtualFile.getPath()));
     }
-    final PathLockFactory.PathLock pathLock =
-        pathLockFactory.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
+    final PathLockManager.PathLock pathLock =
+        pathLockManager.getLock(virtualFile.getPath(), true).acquire(WAIT_FOR_FILE_LOCK_TIMEOUT);
     try {
       doUpdateProperties(virtualFile, updates);
     } finally {
@@ -1005,7 +1045,7 @@ public class LocalVirtualFileSystem implements VirtualFileSystem {
     if (virtualFile.isFile()) {
       return emptyList();
     }
-    return new HashSumsCounter(virtualFile, Hashing.md5()).countHashSums();
+    return md5SumsCache.countHashSums(virtualFile.toIoFile(), virtualFile.getPath());
   }
 
   private String toIoPath(Path vfsPath) {
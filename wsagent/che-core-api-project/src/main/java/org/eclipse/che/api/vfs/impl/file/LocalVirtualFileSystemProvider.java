@@ -10,9 +10,14 @@
  */
 package org.eclipse.che.api.vfs.impl.file;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
 import javax.inject.Inject;
 import javax.inject.Named;
 import javax.inject.Singleton;
@@ -21,11 +26,15 @@ import org.eclipse.che.api.vfs.AbstractVirtualFileSystemProvider;
 import org.eclipse.che.api.vfs.ArchiverFactory;
 import org.eclipse.che.api.vfs.VirtualFileSystem;
 import org.eclipse.che.api.vfs.search.SearcherProvider;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 
 @Singleton
 public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemProvider {
+  private static final int ARCHIVER_TASKS_PER_THREAD = 16;
+
   private final File rootDirectory;
   private final SearcherProvider searcherProvider;
+  private final ThreadPoolExecutor archiverExecutor;
 
   @Inject
   public LocalVirtualFileSystemProvider(
@@ -34,12 +43,34 @@ public class LocalVirtualFileSystemProvider extends AbstractVirtualFileSystemPro
     this.rootDirectory = rootDirectory;
     this.searcherProvider = searcherProvider;
     Files.createDirectories(rootDirectory.toPath());
+    final int threads = Runtime.getRuntime().availableProcessors();
+    archiverExecutor =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(threads * ARCHIVER_TASKS_PER_THREAD),
+            new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setNameFormat("VfsArchiver-%d")
+                .build(),
+            // archiver waits for each submitted task, so when the queue is full or the executor is
+            // shut down the task is run by the caller instead of being queued or discarded
+            (task, executor) -> task.run());
+    archiverExecutor.allowCoreThreadTimeOut(true);
+  }
+
+  @PreDestroy
+  void stop() {
+    archiverExecutor.shutdownNow();
   }
 
   @Override
   protected VirtualFileSystem createVirtualFileSystem(CloseCallback closeCallback)
       throws ServerException {
     return new LocalVirtualFileSystem(
-        rootDirectory, new ArchiverFactory(), searcherProvider, closeCallback);
+        rootDirectory, new ArchiverFactory(archiverExecutor), searcherProvider, closeCallback);
   }
 }
@@ -71,13 +71,8 @@ public final class ZipContent {
         while ((zipEntry = zip.getNextEntry()) != null) {
           if (!zipEntry.isDirectory()) {
             while (uncompressedDataCounter.read(buff) != -1) {
-              long uncompressedBytes = uncompressedDataCounter.getByteCount();
-              if (uncompressedBytes > ZIP_THRESHOLD) {
-                long compressedBytes = compressedDataCounter.getByteCount();
-                if (uncompressedBytes > (ZIP_RATIO * compressedBytes)) {
-                  throw new IOException("Zip bomb detected");
-                }
-              }
+              checkRatio(
+                  compressedDataCounter.getByteCount(), uncompressedDataCounter.getByteCount());
             }
           }
         }
@@ -90,6 +85,18 @@ public final class ZipContent {
     }
   }
 
+  /**
+   * Checks ratio between the number of bytes read from compressed stream and the number of bytes
+   * of uncompressed data.
+   *
+   * @throws IOException if compression ratio is more than {@link #ZIP_RATIO}
+   */
+  public static void checkRatio(long compressedBytes, long uncompressedBytes) throws IOException {
+    if (uncompressedBytes > ZIP_THRESHOLD && uncompressedBytes > (ZIP_RATIO * compressedBytes)) {
+      throw new IOException("Zip bomb detected");
+    }
+  }
+
   private final InputStream zipContent;
 
   private ZipContent(InputStream zipContent) {
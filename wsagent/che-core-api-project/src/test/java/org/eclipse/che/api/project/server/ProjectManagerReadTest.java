@@ -12,12 +12,16 @@ package org.eclipse.che.api.project.server;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.verify;
 import static org.testng.Assert.assertTrue;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.function.Consumer;
 import org.eclipse.che.api.core.model.project.ProjectConfig;
 import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
 import org.eclipse.che.api.project.server.type.BaseProjectType;
@@ -26,6 +30,7 @@ import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.dto.server.DtoFactory;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.ArgumentCaptor;
 
 /** @author gazarenkov */
 public class ProjectManagerReadTest extends WsAgentTestBase {
@@ -97,6 +102,30 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
     assertEquals(1, projectRegistry.getProject("/fromFolder").getProblems().size());
   }
 
+  @Test
+  public void shouldInitUnconfiguredProjectFromFolderCreatedOnRoot() throws Exception {
+    final Consumer<String> onRootItemCreated = captureRootItemCreatedConsumer();
+    new File(root, "/created").mkdir();
+
+    onRootItemCreated.accept("/created");
+
+    final RegisteredProject project = projectRegistry.getProject("/created");
+    assertTrue(project.isDetected());
+    assertEquals(1, project.getProblems().size());
+    assertEquals(5, projectRegistry.getProjects().size());
+  }
+
+  @Test
+  public void shouldNotInitProjectFromFileCreatedOnRoot() throws Exception {
+    final Consumer<String> onRootItemCreated = captureRootItemCreatedConsumer();
+    new File(root, "/created.txt").createNewFile();
+
+    onRootItemCreated.accept("/created.txt");
+
+    assertNull(projectRegistry.getProject("/created.txt"));
+    assertEquals(4, projectRegistry.getProjects().size());
+  }
+
   @Test
   public void testInitWithBadProject() throws Exception {
 
@@ -234,4 +263,14 @@ public class ProjectManagerReadTest extends WsAgentTestBase {
     assertEquals(
         "my constant", pm.getProject("/normal").getAttributeEntries().get("const1").getString());
   }
+
+  /** Registers the root watcher of the project manager and returns its item create consumer. */
+  @SuppressWarnings("unchecked")
+  private Consumer<String> captureRootItemCreatedConsumer() {
+    pm.postConstruct();
+    final ArgumentCaptor<Consumer> captor = ArgumentCaptor.forClass(Consumer.class);
+    verify(fileWatcherManager)
+        .registerByPath(anyString(), captor.capture(), any(Consumer.class), any(Consumer.class));
+    return captor.getValue();
+  }
 }
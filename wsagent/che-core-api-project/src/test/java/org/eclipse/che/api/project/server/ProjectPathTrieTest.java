@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.util.Arrays.asList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+import java.util.HashSet;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link ProjectPathTrie}. */
+public class ProjectPathTrieTest {
+
+  private ProjectPathTrie trie;
+  private RegisteredProject a;
+  private RegisteredProject ab;
+  private RegisteredProject abcd;
+  private RegisteredProject b;
+
+  @BeforeMethod
+  public void setUp() {
+    trie = new ProjectPathTrie();
+    a = put("/a");
+    ab = put("/a/b");
+    abcd = put("/a/b/c/d");
+    b = put("/b");
+  }
+
+  @Test
+  public void getsProjectByPath() {
+    assertEquals(trie.get("/a/b"), ab);
+    assertNull(trie.get("/a/b/c"));
+    assertNull(trie.get("/c"));
+  }
+
+  @Test
+  public void getsNearestParentProject() {
+    assertEquals(trie.getNearest("/a/b"), ab);
+    assertEquals(trie.getNearest("/a/b/c"), ab);
+    assertEquals(trie.getNearest("/a/b/c/d/e/f"), abcd);
+    assertEquals(trie.getNearest("/a/x"), a);
+    assertNull(trie.getNearest("/c/d"));
+  }
+
+  @Test
+  public void getsPathsOfInnerProjects() {
+    assertEquals(
+        new HashSet<>(trie.getInnerPaths("/a")), new HashSet<>(asList("/a/b", "/a/b/c/d")));
+    assertEquals(trie.getInnerPaths("/a/b/c"), asList("/a/b/c/d"));
+    assertTrue(trie.getInnerPaths("/b").isEmpty());
+    assertTrue(trie.getInnerPaths("/c").isEmpty());
+  }
+
+  @Test
+  public void getsAllProjects() {
+    assertEquals(new HashSet<>(trie.getAll()), new HashSet<>(asList(a, ab, abcd, b)));
+  }
+
+  @Test
+  public void removesProjectKeepingInnerProjects() {
+    assertEquals(trie.remove("/a/b"), ab);
+
+    assertNull(trie.get("/a/b"));
+    assertEquals(trie.get("/a/b/c/d"), abcd);
+    assertEquals(trie.getNearest("/a/b/c"), a);
+  }
+
+  @Test
+  public void removesProjectWithInnerProjects() {
+    assertEquals(new HashSet<>(trie.removeAll("/a/b")), new HashSet<>(asList(ab, abcd)));
+
+    assertEquals(new HashSet<>(trie.getAll()), new HashSet<>(asList(a, b)));
+    assertTrue(trie.getInnerPaths("/a").isEmpty());
+  }
+
+  @Test
+  public void doesNotReplaceExistingProjectWhenPuttingIfAbsent() {
+    assertFalse(trie.putIfAbsent("/a", project("/a")));
+    assertEquals(trie.get("/a"), a);
+
+    final RegisteredProject c = project("/c");
+    assertTrue(trie.putIfAbsent("/c", c));
+    assertEquals(trie.get("/c"), c);
+  }
+
+  private RegisteredProject put(String path) {
+    final RegisteredProject project = project(path);
+    trie.put(path, project);
+    return project;
+  }
+
+  private static RegisteredProject project(String path) {
+    final RegisteredProject project = mock(RegisteredProject.class);
+    when(project.getPath()).thenReturn(path);
+    return project;
+  }
+}
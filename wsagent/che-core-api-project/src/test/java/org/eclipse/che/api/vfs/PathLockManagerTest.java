@@ -0,0 +1,235 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class PathLockManagerTest {
+  private final Path path = Path.of("/a/b/c"); // Path not need to be real path on file system
+
+  private PathLockManager lockManager;
+  private ExecutorService executor;
+
+  @Before
+  public void setUp() throws Exception {
+    lockManager = new PathLockManager();
+    executor = Executors.newCachedThreadPool();
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    executor.shutdownNow();
+    lockManager.checkClean();
+  }
+
+  @Test
+  public void allowsConcurrentSharedLocks() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, false).acquire();
+    try {
+      assertTrue(acquireInOtherThread(path, false));
+    } finally {
+      lock.release();
+    }
+  }
+
+  @Test
+  public void exclusiveLockBlocksOtherThreads() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire();
+    try {
+      assertFalse(acquireInOtherThread(path, false));
+      assertFalse(acquireInOtherThread(path, true));
+    } finally {
+      lock.release();
+    }
+    assertTrue(acquireInOtherThread(path, true));
+  }
+
+  @Test
+  public void exclusiveLockOfParentBlocksLocksOfDescendants() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path.getParent(), true).acquire();
+    try {
+      assertFalse(acquireInOtherThread(path, false));
+      assertFalse(acquireInOtherThread(path.newPath("d"), true));
+    } finally {
+      lock.release();
+    }
+  }
+
+  @Test
+  public void lockOfDescendantBlocksExclusiveLockOfAncestor() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, false).acquire();
+    try {
+      assertFalse(acquireInOtherThread(Path.of("/a"), true));
+      assertTrue(acquireInOtherThread(Path.of("/a"), false));
+    } finally {
+      lock.release();
+    }
+  }
+
+  @Test
+  public void locksOfSiblingsDoNotConflict() throws Exception {
+    PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire();
+    try {
+      assertTrue(acquireInOtherThread(Path.of("/a/b/d"), true));
+    } finally {
+      lock.release();
+    }
+  }
+
+  @Test
+  public void locksAreReentrant() throws Exception {
+    PathLockManager.PathLock lock1 = lockManager.getLock(path, true).acquire();
+    PathLockManager.PathLock lock2 = lockManager.getLock(path, true).acquire(1000);
+    PathLockManager.PathLock parentLock =
+        lockManager.getLock(path.getParent(), true).acquire(1000);
+    PathLockManager.PathLock childLock =
+        lockManager.getLock(path.newPath("d"), false).acquire(1000);
+
+    childLock.release();
+    parentLock.release();
+    lock2.release();
+    assertFalse(acquireInOtherThread(path, false));
+    lock1.release();
+    assertTrue(acquireInOtherThread(path, false));
+  }
+
+  @Test
+  public void waiterAcquiresLockWhenItIsReleased() throws Exception {
+    final PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire();
+    final CountDownLatch started = new CountDownLatch(1);
+    final Future<?> waiter =
+        executor.submit(
+            () -> {
+              started.countDown();
+              lockManager.getLock(Path.of("/a"), true).acquire().release();
+            });
+    started.await();
+    try {
+      waiter.get(100, MILLISECONDS);
+      fail("Lock must not be acquired while descendant is locked");
+    } catch (TimeoutException ignored) {
+    }
+    lock.release();
+    waiter.get(5, SECONDS);
+  }
+
+  @Test(expected = RuntimeException.class)
+  public void throwsExceptionWhenLockTimeoutIsReached() throws Exception {
+    final CountDownLatch locked = new CountDownLatch(1);
+    final CountDownLatch done = new CountDownLatch(1);
+    final Future<?> holder =
+        executor.submit(
+            () -> {
+              PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire();
+              locked.countDown();
+              try {
+                done.await();
+              } catch (InterruptedException ignored) {
+              } finally {
+                lock.release();
+              }
+              return null;
+            });
+    locked.await();
+    try {
+      lockManager.getLock(path, true).acquire(100);
+    } finally {
+      done.countDown();
+      holder.get(5, SECONDS);
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void throwsExceptionWhenReleasingLockWhichIsNotHeld() throws Exception {
+    lockManager.getLock(path, true).release();
+  }
+
+  @Test
+  public void onlyOneThreadHoldsExclusiveLockAtTime() throws Exception {
+    final AtomicInteger holders = new AtomicInteger();
+    final AtomicInteger violations = new AtomicInteger();
+    final Path[] paths = {Path.of("/a"), Path.of("/a/b"), path, Path.of("/a/b/d")};
+    final CountDownLatch done = new CountDownLatch(8);
+    for (int t = 0; t < 8; t++) {
+      final int seed = t;
+      executor.submit(
+          () -> {
+            try {
+              for (int i = 0; i < 500; i++) {
+                Path p = paths[(seed + i) % paths.length];
+                boolean exclusive = p.equals(Path.of("/a"));
+                PathLockManager.PathLock lock = lockManager.getLock(p, exclusive).acquire();
+                try {
+                  if (exclusive && holders.incrementAndGet() != 1) {
+                    violations.incrementAndGet();
+                  } else if (!exclusive) {
+                    holders.addAndGet(2);
+                  }
+                } finally {
+                  holders.addAndGet(exclusive ? -1 : -2);
+                  lock.release();
+                }
+              }
+            } finally {
+              done.countDown();
+            }
+          });
+    }
+    assertTrue(done.await(30, SECONDS));
+    assertEquals(0, violations.get());
+    assertEquals(0, holders.get());
+  }
+
+  @Test
+  public void removesIdleNodesWhenTreeGrowsOverLimit() throws Exception {
+    lockManager = new PathLockManager(2);
+    PathLockManager.PathLock lock = lockManager.getLock(path, true).acquire();
+    try {
+      for (int i = 0; i < 100; i++) {
+        lockManager.getLock(Path.of("/x/" + i), i % 2 == 0).acquire().release();
+      }
+      assertFalse(acquireInOtherThread(path.getParent(), true));
+      assertTrue(acquireInOtherThread(Path.of("/x/1"), true));
+    } finally {
+      lock.release();
+    }
+    assertTrue(acquireInOtherThread(path.getParent(), true));
+  }
+
+  private boolean acquireInOtherThread(Path path, boolean exclusive) throws Exception {
+    return executor
+        .submit(
+            () -> {
+              try {
+                lockManager.getLock(path, exclusive).acquire(100).release();
+                return true;
+              } catch (RuntimeException timeout) {
+                return false;
+              }
+            })
+        .get(5, SECONDS);
+  }
+}
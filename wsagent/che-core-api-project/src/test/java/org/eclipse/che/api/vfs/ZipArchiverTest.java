@@ -13,8 +13,10 @@ package org.eclipse.che.api.vfs;
 import static com.google.common.collect.Lists.newArrayList;
 import static com.google.common.collect.Maps.newHashMap;
 import static java.util.stream.Collectors.toMap;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -23,11 +25,18 @@ import com.google.common.io.ByteStreams;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 import java.util.zip.ZipOutputStream;
 import org.eclipse.che.api.core.ConflictException;
@@ -111,6 +120,87 @@ public class ZipArchiverTest {
         new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
   }
 
+  @Test
+  public void compressesFolderToArchiveWithExecutorInWalkOrder() throws Exception {
+    VirtualFile folder = vfsRoot.createFolder("arc");
+    for (int i = 0; i < 5; i++) {
+      VirtualFile child = folder.createFolder("folder" + i);
+      for (int j = 0; j < 5; j++) {
+        child.createFolder("folder" + j).createFile("file.txt", TEST_CONTENT + i + j);
+        child.createFile("file" + j + ".txt", TEST_CONTENT + i + j);
+      }
+    }
+    List<String> expectedNames = new ArrayList<>();
+    for (VirtualFile item : getFileTreeAsList(folder)) {
+      expectedNames.add(getZipEntryName(folder, item));
+    }
+    Map<String, String> entries =
+        getFileTreeAsList(folder)
+            .stream()
+            .collect(toMap(f -> getZipEntryName(folder, f), this::readContentUnchecked));
+    ByteArrayOutputStream compressedFolder = new ByteArrayOutputStream();
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      new ZipArchiver(folder, executor).compress(compressedFolder);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    assertEquals(expectedNames, readArchiveEntryNames(compressedFolder.toByteArray()));
+    assertThatZipArchiveContainsAllEntries(
+        new ByteArrayInputStream(compressedFolder.toByteArray()), entries);
+  }
+
+  @Test
+  public void storesAlreadyCompressedFilesAndDeflatesOthers() throws Exception {
+    byte[] smallCompressed = new byte[1024];
+    byte[] largeCompressed = new byte[3 * 1024 * 1024];
+    new Random(1).nextBytes(smallCompressed);
+    new Random(2).nextBytes(largeCompressed);
+    byte[] largeText = new byte[3 * 1024 * 1024];
+    for (int i = 0; i < largeText.length; i++) {
+      largeText[i] = TEST_CONTENT_BYTES[i % TEST_CONTENT_BYTES.length];
+    }
+    VirtualFile folder = vfsRoot.createFolder("arc");
+    folder.createFile("small.png", new ByteArrayInputStream(smallCompressed));
+    folder.createFile("large.zip", new ByteArrayInputStream(largeCompressed));
+    folder.createFile("large.txt", new ByteArrayInputStream(largeText));
+    folder.createFile("small.txt", TEST_CONTENT);
+
+    File archive = new File(testDirectory, "archive.zip");
+    try (OutputStream output = new FileOutputStream(archive)) {
+      new ZipArchiver(folder).compress(output);
+    }
+
+    try (ZipFile zip = new ZipFile(archive)) {
+      assertEntry(zip, "small.png", ZipEntry.STORED, smallCompressed);
+      assertEntry(zip, "large.zip", ZipEntry.STORED, largeCompressed);
+      assertEntry(zip, "large.txt", ZipEntry.DEFLATED, largeText);
+      assertEntry(zip, "small.txt", ZipEntry.DEFLATED, TEST_CONTENT_BYTES);
+      assertTrue(zip.getEntry("large.txt").getCompressedSize() < largeText.length / 100);
+    }
+  }
+
+  @Test
+  public void extractsArchiveToFolderWithExecutor() throws Exception {
+    byte[] archive = createTestZipArchive();
+    VirtualFile folder = vfsRoot.createFolder("folder");
+
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      new ZipArchiver(folder, executor).extract(new ByteArrayInputStream(archive), false, 0);
+    } finally {
+      executor.shutdownNow();
+    }
+
+    Map<String, String> entries =
+        getFileTreeAsList(folder)
+            .stream()
+            .collect(toMap(f -> getZipEntryName(folder, f), this::readContentUnchecked));
+    assertEquals(readArchiveEntries(new ByteArrayInputStream(archive)), entries);
+  }
+
   @Test
   public void extractsArchiveToFolder() throws Exception {
     byte[] archive = createTestZipArchive();
@@ -196,6 +286,90 @@ public class ZipArchiverTest {
     }
   }
 
+  @Test
+  public void extractsArchiveWithLargeEntries() throws Exception {
+    byte[] largeContent = new byte[3 * 1024 * 1024];
+    new Random(1).nextBytes(largeContent);
+    ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+      zipOut.putNextEntry(new ZipEntry("arc/large.bin"));
+      zipOut.write(largeContent);
+      zipOut.putNextEntry(new ZipEntry("arc/small.txt"));
+      zipOut.write(TEST_CONTENT_BYTES);
+    }
+    VirtualFile folder = vfsRoot.createFolder("folder");
+    new ZipArchiver(folder).extract(new ByteArrayInputStream(byteOut.toByteArray()), false, 0);
+
+    assertArrayEquals(largeContent, folder.getChild(Path.of("arc/large.bin")).getContentAsBytes());
+    assertEquals(TEST_CONTENT, folder.getChild(Path.of("arc/small.txt")).getContentAsString());
+  }
+
+  @Test
+  public void failsExtractZipBombAndRemovesExtractedItems() throws Exception {
+    VirtualFile folder = vfsRoot.createFolder("folder");
+    VirtualFile existed = folder.createFolder("arc").createFile("existed.txt", "xxx");
+
+    try {
+      new ZipArchiver(folder)
+          .extract(new ByteArrayInputStream(createHighlyCompressedArchive()), false, 0);
+      fail("Zip bomb must be detected");
+    } catch (IOException expected) {
+      assertEquals("Zip bomb detected", expected.getMessage());
+    }
+
+    assertEquals(newArrayList(existed), folder.getChild(Path.of("arc")).getChildren());
+  }
+
+  @Test
+  public void failsExtractArchiveWhenSizeOfUnpackedContentExceedsLimit() throws Exception {
+    VirtualFile folder = vfsRoot.createFolder("folder");
+
+    try {
+      new ZipArchiver(folder, 1024)
+          .extract(new ByteArrayInputStream(createTestZipArchive()), false, 0);
+      new ZipArchiver(folder, 16)
+          .extract(new ByteArrayInputStream(createTestZipArchive()), true, 0);
+      fail("Extraction must fail when size of unpacked content exceeds limit");
+    } catch (IOException expected) {
+      assertEquals("Size of unpacked content exceeds limit of 16 bytes", expected.getMessage());
+    }
+  }
+
+  private byte[] createHighlyCompressedArchive() throws IOException {
+    ByteArrayOutputStream byteOut = new ByteArrayOutputStream();
+    try (ZipOutputStream zipOut = new ZipOutputStream(byteOut)) {
+      zipOut.putNextEntry(new ZipEntry("arc/a/_a.txt"));
+      zipOut.write(TEST_CONTENT_BYTES);
+      zipOut.putNextEntry(new ZipEntry("arc/b/zeros.bin"));
+      byte[] zeros = new byte[1024 * 1024];
+      for (int i = 0; i < 16; i++) {
+        zipOut.write(zeros);
+      }
+    }
+    return byteOut.toByteArray();
+  }
+
+  private void assertEntry(ZipFile zip, String name, int method, byte[] content)
+      throws Exception {
+    ZipEntry entry = zip.getEntry(name);
+    assertEquals(method, entry.getMethod());
+    assertEquals(content.length, entry.getSize());
+    try (InputStream in = zip.getInputStream(entry)) {
+      assertArrayEquals(content, ByteStreams.toByteArray(in));
+    }
+  }
+
+  private List<String> readArchiveEntryNames(byte[] archive) throws Exception {
+    List<String> names = new ArrayList<>();
+    try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(archive))) {
+      ZipEntry zipEntry;
+      while ((zipEntry = zip.getNextEntry()) != null) {
+        names.add(zipEntry.getName());
+      }
+    }
+    return names;
+  }
+
   private Map<String, String> readArchiveEntries(InputStream archive) throws Exception {
     Map<String, String> entries = newHashMap();
     try (ZipInputStream zip = new ZipInputStream(archive)) {
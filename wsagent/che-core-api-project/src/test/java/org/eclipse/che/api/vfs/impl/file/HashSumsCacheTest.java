@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import static com.google.common.collect.Sets.newHashSet;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.hash.HashCode;
+import com.google.common.hash.Hashing;
+import com.google.common.io.Files;
+import java.io.File;
+import java.io.FilenameFilter;
+import java.util.Set;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.eclipse.che.commons.lang.NameGenerator;
+import org.eclipse.che.commons.lang.Pair;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashSumsCacheTest {
+  private static final FilenameFilter SKIP_VFS = (dir, name) -> !".vfs".equals(name);
+  private static final long OLD = System.currentTimeMillis() - 60_000;
+
+  private File root;
+  private File storage;
+
+  @Before
+  public void setUp() throws Exception {
+    File targetDir =
+        new File(Thread.currentThread().getContextClassLoader().getResource(".").getPath())
+            .getParentFile();
+    root = new File(targetDir, NameGenerator.generate("hash-", 4));
+    assertTrue(root.mkdir());
+    storage = new File(root, ".vfs/md5sums");
+  }
+
+  @After
+  public void tearDown() throws Exception {
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Test
+  public void countsHashSumsOfAllFilesInFolder() throws Exception {
+    writeFile("a/file", "file1");
+    writeFile("a/b/file", "file2");
+    writeFile("c/file", "file3");
+
+    Set<Pair<String, String>> expected =
+        newHashSet(Pair.of(md5("file1"), "file"), Pair.of(md5("file2"), "b/file"));
+
+    assertEquals(expected, newHashSet(newCache().countHashSums(file("a"), Path.of("/a"))));
+  }
+
+  @Test
+  public void skipsFilteredItems() throws Exception {
+    writeFile("a/file", "file1");
+    writeFile("a/.vfs/file", "file2");
+
+    assertEquals(
+        newHashSet(Pair.of(md5("file1"), "file")),
+        newHashSet(newCache().countHashSums(file("a"), Path.of("/a"))));
+  }
+
+  @Test
+  public void reusesHashSumOfFileWhileSizeAndModificationTimeAreNotChanged() throws Exception {
+    File file = writeFile("a/file", "file1");
+    HashSumsCache cache = newCache();
+    cache.countHashSums(root, Path.ROOT);
+
+    Files.write("FILE1", file, UTF_8);
+    assertTrue(file.setLastModified(OLD));
+
+    assertEquals(md5("file1"), cache.countHashSums(root, Path.ROOT).get(0).first);
+  }
+
+  @Test
+  public void countsHashSumOfModifiedFile() throws Exception {
+    File file = writeFile("a/file", "file1");
+    HashSumsCache cache = newCache();
+    cache.countHashSums(root, Path.ROOT);
+    HashCode digest = cache.getFolderDigest(Path.of("/a"));
+
+    Files.write("file22", file, UTF_8);
+    assertTrue(file.setLastModified(OLD));
+
+    assertEquals(md5("file22"), cache.countHashSums(root, Path.ROOT).get(0).first);
+    assertNotEquals(digest, cache.getFolderDigest(Path.of("/a")));
+  }
+
+  @Test
+  public void restoresHashSumsSavedByOtherInstance() throws Exception {
+    File file = writeFile("a/file", "file1");
+    newCache().countHashSums(root, Path.ROOT);
+    assertTrue(storage.exists());
+
+    Files.write("FILE1", file, UTF_8);
+    assertTrue(file.setLastModified(OLD));
+
+    assertEquals(md5("file1"), newCache().countHashSums(root, Path.ROOT).get(0).first);
+  }
+
+  @Test
+  public void forgetsRemovedFiles() throws Exception {
+    writeFile("a/file", "file1");
+    File removed = writeFile("a/b/file", "file2");
+    HashSumsCache cache = newCache();
+    cache.countHashSums(root, Path.ROOT);
+    assertNotNull(cache.getFolderDigest(Path.of("/a/b")));
+
+    assertTrue(removed.delete());
+    assertTrue(removed.getParentFile().delete());
+
+    assertEquals(
+        newHashSet(Pair.of(md5("file1"), "file")),
+        newHashSet(cache.countHashSums(file("a"), Path.of("/a"))));
+    assertNull(cache.getFolderDigest(Path.of("/a/b")));
+  }
+
+  private HashSumsCache newCache() {
+    return new HashSumsCache(storage, Hashing.md5(), SKIP_VFS);
+  }
+
+  private File file(String relativePath) {
+    return new File(root, relativePath);
+  }
+
+  private File writeFile(String relativePath, String content) throws Exception {
+    File file = file(relativePath);
+    Files.createParentDirs(file);
+    Files.write(content, file, UTF_8);
+    assertTrue(file.setLastModified(OLD));
+    return file;
+  }
+
+  private String md5(String content) {
+    return Hashing.md5().hashString(content, UTF_8).toString();
+  }
+}
@@ -20,6 +20,7 @@ import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.same;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
@@ -101,7 +102,7 @@ public class LocalVirtualFileTest {
 
   @After
   public void tearDown() throws Exception {
-    fileSystem.getPathLockFactory().checkClean();
+    fileSystem.getPathLockManager().checkClean();
     IoUtil.deleteRecursive(testDirectory);
     FileCleaner.stop();
   }
@@ -1442,6 +1443,25 @@ public class LocalVirtualFileTest {
     file.zip();
   }
 
+  @Test
+  public void compressesFolderToZipArchiveStream() throws Exception {
+    VirtualFile folder = getRoot().createFolder(generateFolderName());
+    Archiver archiver = mock(Archiver.class);
+    when(archiverFactory.createArchiver(eq(folder), eq("zip"))).thenReturn(archiver);
+    OutputStream output = new ByteArrayOutputStream();
+    folder.zip(output);
+    verify(archiver).compress(same(output), any(VirtualFileFilter.class));
+  }
+
+  @Test
+  public void failsZipFileToStream() throws Exception {
+    VirtualFile file = getRoot().createFile(generateFileName(), DEFAULT_CONTENT);
+
+    thrown.expect(ForbiddenException.class);
+
+    file.zip(new ByteArrayOutputStream());
+  }
+
   @Test
   public void unzipsInFolder() throws Exception {
     VirtualFile folder = getRoot().createFolder(generateFolderName());
@@ -1476,6 +1496,16 @@ public class LocalVirtualFileTest {
     file.tar();
   }
 
+  @Test
+  public void compressesFolderToTarArchiveStream() throws Exception {
+    VirtualFile folder = getRoot().createFolder(generateFolderName());
+    Archiver archiver = mock(Archiver.class);
+    when(archiverFactory.createArchiver(eq(folder), eq("tar"))).thenReturn(archiver);
+    OutputStream output = new ByteArrayOutputStream();
+    folder.tar(output);
+    verify(archiver).compress(same(output), any(VirtualFileFilter.class));
+  }
+
   @Test
   public void untarsInFolder() throws Exception {
     VirtualFile folder = getRoot().createFolder(generateFolderName());
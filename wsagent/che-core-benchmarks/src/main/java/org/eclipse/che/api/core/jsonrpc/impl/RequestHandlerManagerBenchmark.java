@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.core.jsonrpc.impl;
+
+import static java.util.Collections.singletonList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonParser;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.jsonrpc.commons.JsonRpcException;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestDispatcher;
+import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerManager;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures handling of the JSON-RPC messages received from a WEB SOCKET: unmarshalling, dispatching
+ * to the handler registered in the {@link RequestHandlerManager}, composing of the DTO params and
+ * marshalling of the response, which is transmitted to nowhere.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class RequestHandlerManagerBenchmark {
+  private static final String ENDPOINT_ID = "endpoint";
+
+  private GsonJsonRpcUnmarshaller unmarshaller;
+  private RequestDispatcher dispatcher;
+  private String request;
+  private String notification;
+  private String transmitted;
+
+  @Setup
+  public void setUp() {
+    final JsonParser jsonParser = new JsonParser();
+    unmarshaller = new GsonJsonRpcUnmarshaller(jsonParser);
+    final RequestHandlerManager manager =
+        new RequestHandlerManager(
+            (endpointId, message) -> transmitted = message,
+            new GsonJsonRpcComposer(),
+            new GsonJsonRpcMarshaller(jsonParser, new Gson()));
+    // register a number of handlers as the real agent does
+    for (int i = 0; i < 50; i++) {
+      manager.registerOneToNone("method" + i, ProjectConfigDto.class, (endpointId, params) -> {});
+    }
+    manager.registerOneToOne(
+        "project/update",
+        ProjectConfigDto.class,
+        ProjectConfigDto.class,
+        (endpointId, project) -> project.withDescription("updated"));
+    manager.registerOneToNone(
+        "project/changed", ProjectConfigDto.class, (endpointId, project) -> {});
+    dispatcher = new RequestDispatcher(manager);
+
+    final String params = DtoFactory.getInstance().toJson(createProject());
+    request =
+        "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"project/update\",\"params\":"
+            + params
+            + "}";
+    notification = "{\"jsonrpc\":\"2.0\",\"method\":\"project/changed\",\"params\":" + params + "}";
+  }
+
+  @Benchmark
+  public String request() throws JsonRpcException {
+    dispatcher.dispatch(ENDPOINT_ID, unmarshaller.unmarshalRequest(request));
+    return transmitted;
+  }
+
+  @Benchmark
+  public void notification() throws JsonRpcException {
+    dispatcher.dispatch(ENDPOINT_ID, unmarshaller.unmarshalRequest(notification));
+  }
+
+  private static ProjectConfigDto createProject() {
+    final Map<String, List<String>> attributes = new HashMap<>();
+    for (int i = 0; i < 10; i++) {
+      attributes.put("attribute" + i, singletonList("value" + i));
+    }
+    return newDto(ProjectConfigDto.class)
+        .withName("project")
+        .withPath("/project")
+        .withType("maven")
+        .withDescription("project")
+        .withAttributes(attributes);
+  }
+}
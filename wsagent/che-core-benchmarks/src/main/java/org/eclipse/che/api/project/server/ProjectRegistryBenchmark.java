@@ -0,0 +1,145 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.project.server;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.model.project.ProjectConfig;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.project.server.handlers.ProjectHandlerRegistry;
+import org.eclipse.che.api.project.server.type.BaseProjectType;
+import org.eclipse.che.api.project.server.type.ProjectTypeRegistry;
+import org.eclipse.che.api.vfs.SyntheticTree;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystemProvider;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures lookups of the {@link ProjectRegistry} which are done for each file operation. Every
+ * project of the generated tree has modules, so the files belong to the nested projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ProjectRegistryBenchmark {
+
+  @Param({"10", "100"})
+  public int projects;
+
+  private File root;
+  private EventService eventService;
+  private ProjectRegistry registry;
+  private List<String> projectPaths;
+  private List<String> filePaths;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("project-registry-benchmark").toFile();
+    final SyntheticTree tree = SyntheticTree.create(root, projects, 4, 2, 10);
+    final List<ProjectConfig> configs = new ArrayList<>();
+    for (String project : tree.getProjects()) {
+      configs.add(config(project));
+    }
+    for (String folder : tree.getFolders()) {
+      configs.add(config(folder));
+    }
+    projectPaths = tree.getProjects();
+    filePaths = tree.getFiles();
+
+    eventService = new EventService();
+    registry =
+        new ProjectRegistry(
+            new ProjectsSyncer(configs),
+            new LocalVirtualFileSystemProvider(root, null),
+            new ProjectTypeRegistry(singleton(new BaseProjectType())),
+            new ProjectHandlerRegistry(emptySet()),
+            eventService);
+    registry.initProjects();
+  }
+
+  @TearDown
+  public void tearDown() {
+    eventService.shutdown();
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Benchmark
+  public RegisteredProject getProject() {
+    return registry.getProject(random(projectPaths));
+  }
+
+  @Benchmark
+  public RegisteredProject getParentProject() {
+    return registry.getParentProject(random(filePaths));
+  }
+
+  @Benchmark
+  public List<String> getInnerProjects() {
+    return registry.getProjects(random(projectPaths));
+  }
+
+  private static String random(List<String> paths) {
+    return paths.get(ThreadLocalRandom.current().nextInt(paths.size()));
+  }
+
+  private static ProjectConfig config(String path) {
+    return new NewProjectConfigImpl(
+        path, path.substring(path.lastIndexOf('/') + 1), BaseProjectType.ID, null);
+  }
+
+  private static class ProjectsSyncer extends WorkspaceProjectsSyncer {
+    private final List<ProjectConfig> projects;
+
+    ProjectsSyncer(List<ProjectConfig> projects) {
+      this.projects = projects;
+    }
+
+    @Override
+    public List<? extends ProjectConfig> getProjects() {
+      return projects;
+    }
+
+    @Override
+    public String getWorkspaceId() {
+      return "workspace";
+    }
+
+    @Override
+    protected void addProject(ProjectConfig project) {}
+
+    @Override
+    protected void updateProject(ProjectConfig project) {}
+
+    @Override
+    protected void removeProject(ProjectConfig project) {}
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures contention of the {@link PathLockFactory} and the {@link PathLockManager} which
+ * replaced it in the {@code LocalVirtualFileSystem}. Threads lock random files of a synthetic tree,
+ * a part of the locks is exclusive as content updates are, the locks are held for a short time to
+ * simulate the file access. Use '-t' to change the number of threads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(8)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@SuppressWarnings("deprecation")
+public class PathLockBenchmark {
+  private static final int HOLD_TOKENS = 200;
+
+  @Param({"10", "50"})
+  public int exclusivePercent;
+
+  private Path[] files;
+  private PathLockFactory factory;
+  private PathLockManager manager;
+
+  @Setup
+  public void setUp() {
+    files = new Path[1000];
+    for (int i = 0; i < files.length; i++) {
+      files[i] = Path.of("/project" + i / 100 + "/folder" + i / 10 % 10 + "/file" + i % 10);
+    }
+    factory = new PathLockFactory(1024);
+    manager = new PathLockManager();
+  }
+
+  @Benchmark
+  public void pathLockFactory() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final PathLockFactory.PathLock lock =
+        factory.getLock(files[random.nextInt(files.length)], isExclusive(random)).acquire();
+    try {
+      Blackhole.consumeCPU(HOLD_TOKENS);
+    } finally {
+      lock.release();
+    }
+  }
+
+  @Benchmark
+  public void pathLockManager() {
+    final ThreadLocalRandom random = ThreadLocalRandom.current();
+    final PathLockManager.PathLock lock =
+        manager.getLock(files[random.nextInt(files.length)], isExclusive(random)).acquire();
+    try {
+      Blackhole.consumeCPU(HOLD_TOKENS);
+    } finally {
+      lock.release();
+    }
+  }
+
+  private boolean isExclusive(ThreadLocalRandom random) {
+    return random.nextInt(100) < exclusivePercent;
+  }
+}
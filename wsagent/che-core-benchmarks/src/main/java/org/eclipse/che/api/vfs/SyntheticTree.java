@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates a tree of projects on the disk for the benchmarks. Each project contains the folders
+ * with source files of random words from the fixed vocabulary, the same seed gives the same tree.
+ */
+public final class SyntheticTree {
+  /** Words the files are made of, {@link #RARE_WORD} is written to every 100th file only. */
+  public static final String[] WORDS = {
+    "public", "class", "return", "import", "static", "final", "void", "string", "value", "list",
+    "workspace", "project", "machine", "server", "agent", "config", "path", "file", "folder", "lock"
+  };
+
+  public static final String RARE_WORD = "checkpoint";
+
+  private final File root;
+  private final List<String> projects = new ArrayList<>();
+  private final List<String> folders = new ArrayList<>();
+  private final List<String> files = new ArrayList<>();
+
+  private SyntheticTree(File root) {
+    this.root = root;
+  }
+
+  /**
+   * Creates the tree in the given directory.
+   *
+   * @param root directory to create the tree in
+   * @param projects number of projects
+   * @param foldersPerProject number of folders in each project
+   * @param filesPerFolder number of files in each folder
+   * @param wordsPerFile number of words in each file
+   */
+  public static SyntheticTree create(
+      File root, int projects, int foldersPerProject, int filesPerFolder, int wordsPerFile)
+      throws IOException {
+    final SyntheticTree tree = new SyntheticTree(root);
+    final Random random = new Random(42);
+    final StringBuilder content = new StringBuilder();
+    for (int p = 0; p < projects; p++) {
+      final String project = "/project" + p;
+      tree.projects.add(project);
+      for (int f = 0; f < foldersPerProject; f++) {
+        final String folder = project + "/src/main/java/org/eclipse/che/folder" + f;
+        tree.folders.add(folder);
+        Files.createDirectories(new File(root, folder).toPath());
+        for (int i = 0; i < filesPerFolder; i++) {
+          final String file = folder + "/File" + i + ".java";
+          content.setLength(0);
+          for (int w = 0; w < wordsPerFile; w++) {
+            content.append(WORDS[random.nextInt(WORDS.length)]).append(w % 10 == 9 ? '\n' : ' ');
+          }
+          if (tree.files.size() % 100 == 0) {
+            content.append(RARE_WORD).append('\n');
+          }
+          tree.files.add(file);
+          Files.write(new File(root, file).toPath(), content.toString().getBytes(UTF_8));
+        }
+      }
+    }
+    return tree;
+  }
+
+  /** Returns the directory of the tree. */
+  public File getRoot() {
+    return root;
+  }
+
+  /** Returns the paths of the projects relative to the root. */
+  public List<String> getProjects() {
+    return projects;
+  }
+
+  /** Returns the paths of the folders which contain files relative to the root. */
+  public List<String> getFolders() {
+    return folders;
+  }
+
+  /** Returns the paths of the files relative to the root. */
+  public List<String> getFiles() {
+    return files;
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.impl.file;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.Path;
+import org.eclipse.che.api.vfs.SyntheticTree;
+import org.eclipse.che.api.vfs.VirtualFile;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures listing of the folders and reading of the files of the {@link LocalVirtualFileSystem}
+ * on a generated tree, the files are looked up by the path from the root as the project service
+ * does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LocalVirtualFileSystemBenchmark {
+
+  @Param({"10", "100"})
+  public int filesPerFolder;
+
+  private File root;
+  private LocalVirtualFileSystem vfs;
+  private List<String> folders;
+  private List<String> files;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("vfs-benchmark").toFile();
+    final SyntheticTree tree = SyntheticTree.create(root, 5, 10, filesPerFolder, 200);
+    folders = tree.getFolders();
+    files = tree.getFiles();
+    vfs = new LocalVirtualFileSystem(root, new ArchiverFactory(), null, null);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    vfs.close();
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Benchmark
+  public List<VirtualFile> getChildren() throws Exception {
+    return vfs.getRoot().getChild(Path.of(random(folders))).getChildren();
+  }
+
+  @Benchmark
+  public String read() throws Exception {
+    return vfs.getRoot().getChild(Path.of(random(files))).getContentAsString();
+  }
+
+  private static String random(List<String> paths) {
+    return paths.get(ThreadLocalRandom.current().nextInt(paths.size()));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.vfs.search.impl;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.vfs.ArchiverFactory;
+import org.eclipse.che.api.vfs.SyntheticTree;
+import org.eclipse.che.api.vfs.impl.file.LocalVirtualFileSystem;
+import org.eclipse.che.api.vfs.search.QueryExpression;
+import org.eclipse.che.api.vfs.search.SearchResult;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures queries of the {@link FSLuceneSearcher} over the index of a generated tree. Frequent
+ * words match most of the files, so the cost of the result page dominates, the rare word matches
+ * few files.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class LuceneSearcherBenchmark {
+  private static final int MAX_ITEMS = 50;
+
+  @Param({"1000", "10000"})
+  public int files;
+
+  private File root;
+  private File indexDirectory;
+  private LocalVirtualFileSystem vfs;
+  private FSLuceneSearcher searcher;
+
+  @Setup
+  public void setUp() throws Exception {
+    root = Files.createTempDirectory("lucene-benchmark").toFile();
+    indexDirectory = Files.createTempDirectory("lucene-benchmark-index").toFile();
+    SyntheticTree.create(root, 10, 10, files / 100, 200);
+    vfs = new LocalVirtualFileSystem(root, new ArchiverFactory(), null, null);
+    searcher = new FSLuceneSearcher(indexDirectory, file -> false);
+    searcher.init(vfs);
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    searcher.close();
+    vfs.close();
+    IoUtil.deleteRecursive(indexDirectory);
+    IoUtil.deleteRecursive(root);
+  }
+
+  @Benchmark
+  public SearchResult searchFrequentWord() throws Exception {
+    return searcher.search(new QueryExpression().setText("workspace").setMaxItems(MAX_ITEMS));
+  }
+
+  @Benchmark
+  public SearchResult searchFrequentWordWithPositions() throws Exception {
+    return searcher.search(
+        new QueryExpression()
+            .setText("workspace")
+            .setMaxItems(MAX_ITEMS)
+            .setIncludePositions(true));
+  }
+
+  @Benchmark
+  public SearchResult searchRareWord() throws Exception {
+    return searcher.search(
+        new QueryExpression().setText(SyntheticTree.RARE_WORD).setMaxItems(MAX_ITEMS));
+  }
+
+  @Benchmark
+  public SearchResult searchWordInProject() throws Exception {
+    return searcher.search(
+        new QueryExpression().setPath("/project1").setText("agent").setMaxItems(MAX_ITEMS));
+  }
+
+  @Benchmark
+  public SearchResult searchName() throws Exception {
+    return searcher.search(new QueryExpression().setName("File1*").setMaxItems(MAX_ITEMS));
+  }
+}
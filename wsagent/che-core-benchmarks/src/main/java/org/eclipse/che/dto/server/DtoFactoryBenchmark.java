@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.dto.server;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.rest.shared.dto.Link;
+import org.eclipse.che.api.machine.shared.dto.CommandDto;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
+import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
+import org.eclipse.che.api.workspace.shared.dto.ExtendedMachineDto;
+import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.ServerConf2Dto;
+import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures JSON serialization and deserialization of the workspace DTOs by the {@link DtoFactory},
+ * the workspace is close to the ones returned by the workspace service: it has links, a multi
+ * machine environment, commands and the given number of projects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DtoFactoryBenchmark {
+
+  @Param({"10", "100"})
+  public int projects;
+
+  private DtoFactory dtoFactory;
+  private WorkspaceDto workspace;
+  private String json;
+
+  @Setup
+  public void setUp() {
+    dtoFactory = DtoFactory.getInstance();
+    workspace = createWorkspace(projects);
+    json = dtoFactory.toJson(workspace);
+  }
+
+  @Benchmark
+  public String toJson() {
+    return dtoFactory.toJson(workspace);
+  }
+
+  @Benchmark
+  public WorkspaceDto fromJson() {
+    return dtoFactory.createDtoFromJson(json, WorkspaceDto.class);
+  }
+
+  @Benchmark
+  public String roundTrip() {
+    return dtoFactory.toJson(dtoFactory.createDtoFromJson(json, WorkspaceDto.class));
+  }
+
+  private static WorkspaceDto createWorkspace(int projectsCount) {
+    final List<ProjectConfigDto> projects = new ArrayList<>(projectsCount);
+    for (int i = 0; i < projectsCount; i++) {
+      final Map<String, List<String>> attributes = new HashMap<>();
+      attributes.put("language", singletonList("java"));
+      attributes.put("maven.groupId", singletonList("org.eclipse.che"));
+      attributes.put("maven.artifactId", singletonList("project" + i));
+      attributes.put("maven.version", singletonList("1.0.0-SNAPSHOT"));
+      attributes.put("maven.source.folder", asList("src/main/java", "src/main/resources"));
+      attributes.put("maven.test.source.folder", asList("src/test/java", "src/test/resources"));
+      projects.add(
+          newDto(ProjectConfigDto.class)
+              .withName("project" + i)
+              .withPath("/project" + i)
+              .withType("maven")
+              .withDescription("Project number " + i)
+              .withMixins(singletonList("git"))
+              .withAttributes(attributes)
+              .withSource(
+                  newDto(SourceStorageDto.class)
+                      .withType("git")
+                      .withLocation("https://github.com/eclipse/project" + i + ".git")
+                      .withParameters(singletonMap("branch", "master")))
+              .withLinks(singletonList(link("/project/project" + i, "get project"))));
+    }
+
+    final List<CommandDto> commands = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      commands.add(
+          newDto(CommandDto.class)
+              .withName("build" + i)
+              .withType("mvn")
+              .withCommandLine("mvn clean install -f ${current.project.path}/module" + i)
+              .withAttributes(singletonMap("previewUrl", "http://${server.port.8080}/" + i)));
+    }
+
+    final Map<String, ExtendedMachineDto> machines = new HashMap<>();
+    for (int i = 0; i < 3; i++) {
+      final Map<String, ServerConf2Dto> servers = new HashMap<>();
+      servers.put(
+          "tomcat8",
+          newDto(ServerConf2Dto.class)
+              .withPort("8080/tcp")
+              .withProtocol("http")
+              .withProperties(singletonMap("path", "/")));
+      servers.put("debug", newDto(ServerConf2Dto.class).withPort("8000/tcp").withProtocol("http"));
+      machines.put(
+          "machine" + i,
+          newDto(ExtendedMachineDto.class)
+              .withAgents(asList("org.eclipse.che.terminal", "org.eclipse.che.exec"))
+              .withServers(servers)
+              .withAttributes(singletonMap("memoryLimitBytes", "2147483648")));
+    }
+    final StringBuilder compose = new StringBuilder("services:\n");
+    for (String machine : machines.keySet()) {
+      compose.append("  ").append(machine).append(":\n    image: eclipse/ubuntu_jdk8\n");
+    }
+    final EnvironmentDto environment =
+        newDto(EnvironmentDto.class)
+            .withRecipe(
+                newDto(EnvironmentRecipeDto.class)
+                    .withType("compose")
+                    .withContentType("application/x-yaml")
+                    .withContent(compose.toString()))
+            .withMachines(machines);
+
+    return newDto(WorkspaceDto.class)
+        .withId("workspace0123456789")
+        .withNamespace("user")
+        .withStatus(WorkspaceStatus.RUNNING)
+        .withAttributes(singletonMap("created", "1500000000000"))
+        .withConfig(
+            newDto(WorkspaceConfigDto.class)
+                .withName("benchmark")
+                .withDefaultEnv("default")
+                .withProjects(projects)
+                .withCommands(commands)
+                .withEnvironments(singletonMap("default", environment)))
+        .withLinks(
+            asList(link("/workspace/workspace0123456789", "self link"), link("/ide", "ide")));
+  }
+
+  private static Link link(String href, String rel) {
+    return newDto(Link.class)
+        .withHref("http://localhost:8080/api" + href)
+        .withRel(rel)
+        .withMethod("GET")
+        .withProduces("application/json");
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.plugin.maven.server.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.che.plugin.maven.server.core.project.MavenProject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures time of resolving synthetic multi-module reactor with {@link MavenTaskExecutor}
+ * depending on the number of maven workers. Resolution of each module is simulated with a pause,
+ * modules depend on the parent and on a few other modules.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+public class MavenTaskExecutorBenchmark {
+  private static final int DEPENDENCIES_PER_MODULE = 3;
+
+  @Param({"1", "2", "4", "8"})
+  public int workers;
+
+  @Param({"150"})
+  public int modules;
+
+  @Param({"20"})
+  public long resolveMillis;
+
+  private Map<MavenProject, List<MavenProject>> dependencies;
+  private List<MavenProjectTask> tasks;
+  private MavenExecutorService service;
+
+  @Setup
+  public void setUp() {
+    dependencies = new HashMap<>();
+    tasks = new ArrayList<>();
+    for (MavenProject project : createReactor()) {
+      tasks.add(
+          new MavenProjectTask() {
+            @Override
+            public void perform() {
+              try {
+                Thread.sleep(resolveMillis);
+              } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+              }
+            }
+
+            @Override
+            public MavenProject getMavenProject() {
+              return project;
+            }
+          });
+    }
+    service = new MavenExecutorService(workers);
+  }
+
+  @TearDown
+  public void tearDown() {
+    service.shutdown();
+  }
+
+  @Benchmark
+  public void resolveReactor() {
+    final MavenTaskExecutor executor =
+        new MavenTaskExecutor(
+            service,
+            new SilentProgressNotifier(),
+            project -> dependencies.getOrDefault(project, Collections.emptyList()));
+    executor.submitTasks(tasks);
+    executor.waitForEndAllTasks();
+  }
+
+  private List<MavenProject> createReactor() {
+    final List<MavenProject> reactor = new ArrayList<>();
+    final MavenProject parent = new MavenProject(null, null);
+    reactor.add(parent);
+    for (int i = 0; i < modules; i++) {
+      final MavenProject module = new MavenProject(null, null);
+      final List<MavenProject> moduleDependencies = new ArrayList<>();
+      moduleDependencies.add(parent);
+      for (int d = 1; d <= DEPENDENCIES_PER_MODULE && i - d * 7 >= 0; d++) {
+        moduleDependencies.add(reactor.get(1 + i - d * 7));
+      }
+      dependencies.put(module, moduleDependencies);
+      reactor.add(module);
+    }
+    return reactor;
+  }
+
+  private static class SilentProgressNotifier implements MavenProgressNotifier {
+    @Override
+    public void setText(String text) {}
+
+    @Override
+    public void setPercent(double percent) {}
+
+    @Override
+    public void setPercentUndefined(boolean undefined) {}
+
+    @Override
+    public boolean isCanceled() {
+      return false;
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void stop() {}
+  }
+}
@@ -31,6 +31,7 @@ public class WsAgentModule extends AbstractModule {
     install(new org.eclipse.che.security.oauth.OAuthAgentModule());
     install(new org.eclipse.che.api.core.rest.CoreRestModule());
     install(new org.eclipse.che.api.core.util.FileCleaner.FileCleanerModule());
+    install(new org.eclipse.che.api.core.metrics.MetricsModule());
     install(new org.eclipse.che.api.project.server.ProjectApiModule());
     install(new org.eclipse.che.commons.schedule.executor.ScheduleModule());
     install(new org.eclipse.che.plugin.ssh.key.SshModule());
@@ -25,6 +25,7 @@ import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
 
 /**
@@ -32,6 +33,7 @@ import org.eclipse.che.core.db.jpa.DuplicateKeyException;
  *
  * @author Sergii Leschenko
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaAccountDao implements AccountDao {
   private final Provider<EntityManager> managerProvider;
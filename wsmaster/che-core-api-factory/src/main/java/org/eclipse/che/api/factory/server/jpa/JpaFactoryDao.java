@@ -30,6 +30,7 @@ import javax.persistence.TypedQuery;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.factory.server.model.impl.FactoryImpl;
 import org.eclipse.che.api.factory.server.spi.FactoryDao;
@@ -43,6 +44,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /** @author Anton Korneta */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaFactoryDao implements FactoryDao {
   private static final Logger LOG = LoggerFactory.getLogger(JpaFactoryDao.class);
@@ -21,12 +21,16 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 
+/**
+ * Send machine events using JSON RPC to the clients. Events are sent asynchronously, so slow
+ * clients don't block the threads which start machines, events of one workspace are sent in order.
+ */
 @Singleton
-public class MachineStateJsonRpcMessenger implements EventSubscriber<MachineStatusEvent> {
+public class MachineStateJsonRpcMessenger implements AsyncEventSubscriber<MachineStatusEvent> {
   private final RequestTransmitter transmitter;
   private final EventService eventService;
 
@@ -56,6 +60,11 @@ public class MachineStateJsonRpcMessenger implements EventSubscriber<MachineStat
                     .sendAndSkipResult());
   }
 
+  @Override
+  public Object getOrderingKey(MachineStatusEvent event) {
+    return event.getWorkspaceId();
+  }
+
   @Inject
   private void configureSubscribeHandler(RequestHandlerConfigurator configurator) {
 
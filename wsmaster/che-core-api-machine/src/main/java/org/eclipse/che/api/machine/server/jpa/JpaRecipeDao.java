@@ -30,6 +30,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.machine.server.event.BeforeRecipeRemovedEvent;
 import org.eclipse.che.api.machine.server.event.RecipePersistedEvent;
@@ -43,6 +44,7 @@ import org.eclipse.che.core.db.jpa.IntegrityConstraintViolationException;
  *
  * @author Anton Korneta
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaRecipeDao implements RecipeDao {
 
@@ -22,6 +22,7 @@ import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import javax.persistence.NoResultException;
 import org.eclipse.che.api.core.NotFoundException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.machine.server.exception.SnapshotException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
@@ -32,6 +33,7 @@ import org.eclipse.che.core.db.jpa.DuplicateKeyException;
  *
  * @author Yevhenii Voevodin
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaSnapshotDao implements SnapshotDao {
 
@@ -24,6 +24,7 @@ import javax.persistence.EntityManager;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.ssh.server.model.impl.SshPairImpl;
 import org.eclipse.che.api.ssh.server.spi.SshDao;
@@ -37,6 +38,7 @@ import org.eclipse.che.core.db.jpa.DuplicateKeyException;
  * @author Mihail Kuznyetsov
  * @author Yevhenii Voevodin
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaSshDao implements SshDao {
 
@@ -22,6 +22,7 @@ import javax.inject.Provider;
 import javax.inject.Singleton;
 import javax.persistence.EntityManager;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.user.server.spi.PreferenceDao;
 
 /**
@@ -29,6 +30,7 @@ import org.eclipse.che.api.user.server.spi.PreferenceDao;
  *
  * @author Anton Korneta
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaPreferenceDao implements PreferenceDao {
 
@@ -27,6 +27,7 @@ import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.Page;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.user.server.model.impl.UserImpl;
 import org.eclipse.che.api.user.server.spi.UserDao;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
@@ -39,6 +40,7 @@ import org.eclipse.che.security.PasswordEncryptor;
  * @author Anton Korneta
  * @author Igor Vinokur
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaUserDao implements UserDao {
 
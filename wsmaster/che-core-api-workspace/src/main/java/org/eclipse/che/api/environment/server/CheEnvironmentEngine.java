@@ -12,6 +12,8 @@ package org.eclipse.che.api.environment.server;
 
 import static java.lang.String.format;
 import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.DIE;
 import static org.eclipse.che.api.machine.server.event.InstanceStateEvent.Type.OOM;
@@ -20,16 +22,30 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.File;
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.regex.Pattern;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
@@ -44,6 +60,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.model.machine.Machine;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.machine.MachineLogMessage;
@@ -83,6 +100,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -90,7 +108,9 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.lang.IoUtil;
 import org.eclipse.che.commons.lang.NameGenerator;
 import org.eclipse.che.commons.lang.Size;
+import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.StripedLocks;
+import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
 import org.eclipse.che.commons.lang.concurrent.Unlocker;
 import org.slf4j.Logger;
 
@@ -105,6 +125,7 @@ public class CheEnvironmentEngine {
 
   private static final NoOpStartedHandler NO_OP_HANDLER = new NoOpStartedHandler();
   private static final Logger LOG = getLogger(CheEnvironmentEngine.class);
+  private static final String TIMER = "che_environment_engine_seconds";
 
   private final Map<String, EnvironmentHolder> environments;
   private final StripedLocks stripedLocks;
@@ -122,6 +143,8 @@ public class CheEnvironmentEngine {
   private final ContainerNameGenerator containerNameGenerator;
   private final AgentRegistry agentRegistry;
   private final WorkspaceSharedPool sharedPool;
+  private final ExecutorService machinesStopExecutor;
+  private final int machinesStartParallelism;
 
   private volatile boolean isPreDestroyInvoked;
 
@@ -140,7 +163,8 @@ public class CheEnvironmentEngine {
       RecipeDownloader recipeDownloader,
       ContainerNameGenerator containerNameGenerator,
       AgentRegistry agentRegistry,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      @Named("che.workspace.environment.machines_start_parallelism") int machinesStartParallelism) {
     this.snapshotDao = snapshotDao;
     this.eventService = eventService;
     this.environmentParser = environmentParser;
@@ -150,6 +174,14 @@ public class CheEnvironmentEngine {
     this.recipeDownloader = recipeDownloader;
     this.agentRegistry = agentRegistry;
     this.sharedPool = sharedPool;
+    this.machinesStopExecutor =
+        Executors.newCachedThreadPool(
+            new ThreadFactoryBuilder()
+                .setNameFormat("EnvironmentMachinesStopper-%d")
+                .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+                .setDaemon(true)
+                .build());
+    this.machinesStartParallelism = Math.max(machinesStartParallelism, 1);
     this.environments = new ConcurrentHashMap<>();
     this.machineInstanceProviders = machineInstanceProviders;
     this.machineLogsDir = new File(machineLogsDir);
@@ -235,6 +267,7 @@ public class CheEnvironmentEngine {
    * @return list of running machines of this environment
    * @throws ServerException if other error occurs
    */
+  @Timed(TIMER)
   public List<Instance> start(
       String workspaceId,
       String envName,
@@ -297,6 +330,7 @@ public class CheEnvironmentEngine {
    * @throws EnvironmentNotRunningException when environment is not running
    * @throws ServerException if other error occurs
    */
+  @Timed(TIMER)
   public void stop(String workspaceId) throws EnvironmentNotRunningException, ServerException {
     List<Instance> machinesCopy;
     EnvironmentHolder environmentHolder;
@@ -318,7 +352,8 @@ public class CheEnvironmentEngine {
     }
 
     // long operation - perform out of lock
-    destroyEnvironment(environmentHolder.networkId, machinesCopy);
+    destroyEnvironment(
+        environmentHolder.networkId, machinesCopy, environmentHolder.servicesGroups);
 
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.writeLock(workspaceId)) {
@@ -337,6 +372,7 @@ public class CheEnvironmentEngine {
    * @throws ConflictException if machine with the same name already exists in the environment
    * @throws ServerException if any other error occurs
    */
+  @Timed(TIMER)
   public Instance startMachine(String workspaceId, MachineConfig machineConfig, List<String> agents)
       throws ServerException, NotFoundException, ConflictException, EnvironmentException {
 
@@ -427,6 +463,7 @@ public class CheEnvironmentEngine {
    * @throws ConflictException if stop of dev machine is requested
    * @throws ServerException if other error occurs
    */
+  @Timed(TIMER)
   public void stopMachine(String workspaceId, String machineId)
       throws NotFoundException, ServerException, ConflictException {
     Instance targetMachine = null;
@@ -470,6 +507,7 @@ public class CheEnvironmentEngine {
    * @throws NotFoundException if machine is not running
    * @throws ServerException if another error occurs
    */
+  @Timed(TIMER)
   public SnapshotImpl saveSnapshot(String workspaceId, String machineId)
       throws ServerException, NotFoundException {
     EnvironmentHolder environmentHolder;
@@ -548,13 +586,13 @@ public class CheEnvironmentEngine {
 
     normalize(ownerName, workspaceId, internalEnv);
 
-    List<String> servicesOrder = startStrategy.order(internalEnv);
+    List<List<String>> servicesGroups = startStrategy.orderByGroups(internalEnv);
 
     normalizeNames(internalEnv);
 
     EnvironmentHolder environmentHolder =
         new EnvironmentHolder(
-            servicesOrder,
+            servicesGroups,
             internalEnv,
             envConfig,
             messageConsumer,
@@ -706,9 +744,9 @@ public class CheEnvironmentEngine {
       boolean recover,
       MachineStartedHandler startedHandler)
       throws ServerException, AgentException, EnvironmentException {
-    // Starting all machines in environment one by one by getting configs
-    // from the corresponding starting queue.
-    // Config will be null only if there are no machines left in the queue
+    // Starting all machines in environment group by group by getting names
+    // from the corresponding starting queue, machines of a group are started in parallel.
+    // Group will be null only if there are no machines left in the queue
     String envName;
     MessageConsumer<MachineLogMessage> envLogger;
     String creator = EnvironmentContext.getCurrent().getSubject().getUserId();
@@ -725,90 +763,37 @@ public class CheEnvironmentEngine {
     try {
       machineProvider.createNetwork(networkId);
 
-      String machineName = queuePeekOrFail(workspaceId);
-      while (machineName != null) {
-        boolean isDev = devMachineName.equals(machineName);
-        // Environment start is failed when any machine start is failed, so if any error
-        // occurs during machine creation then environment start fail is reported and
-        // start resources such as queue and descriptor must be cleaned up
-
-        CheServiceImpl service;
-        @Nullable ExtendedMachine extendedMachine;
-        try (@SuppressWarnings("unused")
-            Unlocker u = stripedLocks.readLock(workspaceId)) {
-          EnvironmentHolder environmentHolder = environments.get(workspaceId);
-          if (environmentHolder == null) {
-            throw new EnvironmentStartInterruptedException(workspaceId, envName);
-          }
-          service = environmentHolder.environment.getServices().get(machineName);
-          extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
-        }
-        // should not happen
-        if (service == null) {
-          LOG.error(
-              "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
-              machineName,
-              workspaceId);
-          throw new ServerException(
-              format(
-                  "Environment of workspace with ID '%s' failed due to internal error",
-                  workspaceId));
-        }
-
-        final String finalMachineName = machineName;
-        // needed to reuse startInstance method and
-        // create machine instances by different implementation-specific providers
-        MachineStarter machineStarter =
-            (machineLogger, machineSource) -> {
-              CheServiceImpl serviceWithNormalizedSource =
-                  normalizeServiceSource(service, machineSource);
-              return machineProvider.startService(
+      EnvironmentMachineStarter machineStarter =
+          machineName ->
+              startEnvironmentMachine(
                   ownerName,
                   workspaceId,
                   envName,
-                  finalMachineName,
-                  isDev,
+                  envLogger,
+                  creator,
+                  devMachineName,
                   networkId,
-                  serviceWithNormalizedSource,
-                  machineLogger);
-            };
+                  recover,
+                  startedHandler,
+                  machineName);
 
-        MachineImpl machine =
-            MachineImpl.builder()
-                .setConfig(
-                    MachineConfigImpl.builder()
-                        .setDev(isDev)
-                        .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
-                        .setType("docker")
-                        .setName(machineName)
-                        .setEnvVariables(service.getEnvironment())
-                        .build())
-                .setId(service.getId())
-                .setWorkspaceId(workspaceId)
-                .setStatus(MachineStatus.CREATING)
-                .setEnvName(envName)
-                .setOwner(creator)
-                .build();
-
-        checkInterruption(workspaceId, envName);
-        Instance instance = startInstance(recover, envLogger, machine, machineStarter);
-        checkInterruption(workspaceId, envName);
-
-        startedHandler.started(instance, extendedMachine);
-        checkInterruption(workspaceId, envName);
+      List<String> machinesGroup = queuePeekOrFail(workspaceId);
+      while (machinesGroup != null) {
+        List<Instance> started =
+            startMachinesGroup(workspaceId, envName, machinesGroup, machineStarter);
 
         // Machine destroying is an expensive operation which must be
         // performed outside of the lock, this section checks if
         // the environment wasn't stopped while it is starting and sets
         // polled flag to true if the environment wasn't stopped.
-        // Also polls the proceeded machine configuration from the queue
+        // Also polls the proceeded group of machines from the queue
         boolean queuePolled = false;
         try (@SuppressWarnings("unused")
             Unlocker u = stripedLocks.writeLock(workspaceId)) {
           ensurePreDestroyIsNotExecuted();
           EnvironmentHolder environmentHolder = environments.get(workspaceId);
           if (environmentHolder != null) {
-            final Queue<String> queue = environmentHolder.startQueue;
+            final Queue<List<String>> queue = environmentHolder.startQueue;
             if (queue != null) {
               queue.poll();
               queuePolled = true;
@@ -816,32 +801,13 @@ public class CheEnvironmentEngine {
           }
         }
 
-        // If machine config is not polled from the queue
-        // then environment was stopped and newly created machine
+        // If machines group is not polled from the queue
+        // then environment was stopped and newly created machines
         // must be destroyed
         if (!queuePolled) {
-          try {
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYING)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-
-            instance.destroy();
-
+          for (Instance instance : started) {
+            destroyMachineQuietly(instance);
             removeMachine(workspaceId, instance.getId());
-
-            eventService.publish(
-                newDto(MachineStatusEvent.class)
-                    .withEventType(MachineStatusEvent.EventType.DESTROYED)
-                    .withDev(isDev)
-                    .withMachineName(machineName)
-                    .withMachineId(instance.getId())
-                    .withWorkspaceId(workspaceId));
-          } catch (MachineException e) {
-            LOG.error(e.getLocalizedMessage(), e);
           }
           throw new ServerException(
               "Workspace '"
@@ -849,7 +815,7 @@ public class CheEnvironmentEngine {
                   + "' start interrupted. Workspace stopped before all its machines started");
         }
 
-        machineName = queuePeekOrFail(workspaceId);
+        machinesGroup = queuePeekOrFail(workspaceId);
       }
     } catch (Exception e) {
       boolean interrupted = Thread.interrupted();
@@ -860,7 +826,7 @@ public class CheEnvironmentEngine {
       }
 
       try {
-        destroyEnvironment(env.networkId, env.machines);
+        destroyEnvironment(env.networkId, env.machines, env.servicesGroups);
       } catch (Exception remEx) {
         LOG.error(remEx.getLocalizedMessage(), remEx);
       }
@@ -878,6 +844,211 @@ public class CheEnvironmentEngine {
     }
   }
 
+  /** Starts a machine of the environment and notifies the handler about it. */
+  private Instance startEnvironmentMachine(
+      String ownerName,
+      String workspaceId,
+      String envName,
+      MessageConsumer<MachineLogMessage> envLogger,
+      String creator,
+      String devMachineName,
+      String networkId,
+      boolean recover,
+      MachineStartedHandler startedHandler,
+      String machineName)
+      throws ServerException, AgentException, EnvironmentException {
+    boolean isDev = devMachineName.equals(machineName);
+    // Environment start is failed when any machine start is failed, so if any error
+    // occurs during machine creation then environment start fail is reported and
+    // start resources such as queue and descriptor must be cleaned up
+
+    CheServiceImpl service;
+    @Nullable ExtendedMachine extendedMachine;
+    try (@SuppressWarnings("unused")
+        Unlocker u = stripedLocks.readLock(workspaceId)) {
+      EnvironmentHolder environmentHolder = environments.get(workspaceId);
+      if (environmentHolder == null) {
+        throw new EnvironmentStartInterruptedException(workspaceId, envName);
+      }
+      service = environmentHolder.environment.getServices().get(machineName);
+      extendedMachine = environmentHolder.environmentConfig.getMachines().get(machineName);
+    }
+    // should not happen
+    if (service == null) {
+      LOG.error(
+          "Start of machine with name {} in workspace {} failed. Machine not found in start queue",
+          machineName,
+          workspaceId);
+      throw new ServerException(
+          format(
+              "Environment of workspace with ID '%s' failed due to internal error",
+              workspaceId));
+    }
+
+    // needed to reuse startInstance method and
+    // create machine instances by different implementation-specific providers
+    MachineStarter machineStarter =
+        (machineLogger, machineSource) -> {
+          CheServiceImpl serviceWithNormalizedSource =
+              normalizeServiceSource(service, machineSource);
+          return machineProvider.startService(
+              ownerName,
+              workspaceId,
+              envName,
+              machineName,
+              isDev,
+              networkId,
+              serviceWithNormalizedSource,
+              machineLogger);
+        };
+
+    MachineImpl machine =
+        MachineImpl.builder()
+            .setConfig(
+                MachineConfigImpl.builder()
+                    .setDev(isDev)
+                    .setLimits(new MachineLimitsImpl(bytesToMB(service.getMemLimit())))
+                    .setType("docker")
+                    .setName(machineName)
+                    .setEnvVariables(service.getEnvironment())
+                    .build())
+            .setId(service.getId())
+            .setWorkspaceId(workspaceId)
+            .setStatus(MachineStatus.CREATING)
+            .setEnvName(envName)
+            .setOwner(creator)
+            .build();
+
+    checkInterruption(workspaceId, envName);
+    Instance instance = startInstance(recover, envLogger, machine, machineStarter);
+    checkInterruption(workspaceId, envName);
+
+    startedHandler.started(instance, extendedMachine);
+    checkInterruption(workspaceId, envName);
+    return instance;
+  }
+
+  /**
+   * Starts the group of machines which don't depend on each other, up to {@link
+   * #machinesStartParallelism} machines are started at the same time. The calling thread starts
+   * machines itself and the helpers are submitted to the {@link Lane#START start lane} of the
+   * shared pool, the helpers which didn't get a thread before the calling thread ran out of
+   * machines do nothing, so the start never waits for the lane which it occupies. If start of any
+   * machine fails or the calling thread is interrupted then starts of the other machines are
+   * interrupted. The method returns only when all the started helpers are finished, so the
+   * machines created by them are either destroyed or added to the environment.
+   *
+   * @return started machines
+   */
+  private List<Instance> startMachinesGroup(
+      String workspaceId,
+      String envName,
+      List<String> machinesGroup,
+      EnvironmentMachineStarter machineStarter)
+      throws ServerException, AgentException, EnvironmentException {
+    List<Instance> started = new CopyOnWriteArrayList<>();
+    int workersCount = Math.min(machinesStartParallelism, machinesGroup.size());
+    if (workersCount == 1) {
+      for (String machineName : machinesGroup) {
+        started.add(machineStarter.start(machineName));
+      }
+      return started;
+    }
+
+    Queue<String> pending = new ConcurrentLinkedQueue<>(machinesGroup);
+    Set<Thread> workers = new HashSet<>();
+    AtomicBoolean closed = new AtomicBoolean();
+    // the calling thread is the only party until helpers start
+    Phaser helpers = new Phaser(1);
+    AtomicReference<Exception> failure = new AtomicReference<>();
+    Runnable interruptWorkers =
+        () -> {
+          pending.clear();
+          synchronized (workers) {
+            workers.forEach(Thread::interrupt);
+          }
+        };
+    Runnable startPending =
+        () -> {
+          try {
+            String machineName;
+            while ((machineName = pending.poll()) != null) {
+              started.add(machineStarter.start(machineName));
+            }
+          } catch (Exception x) {
+            Exception cause =
+                Thread.interrupted()
+                    ? new EnvironmentStartInterruptedException(workspaceId, envName)
+                    : x;
+            if (failure.compareAndSet(null, cause)) {
+              interruptWorkers.run();
+            }
+          }
+        };
+    Runnable helper =
+        () -> {
+          synchronized (workers) {
+            if (closed.get()) {
+              return;
+            }
+            workers.add(Thread.currentThread());
+            helpers.register();
+          }
+          try {
+            startPending.run();
+          } finally {
+            synchronized (workers) {
+              workers.remove(Thread.currentThread());
+              // interruption must not affect the next task of the pooled thread
+              Thread.interrupted();
+            }
+            helpers.arriveAndDeregister();
+          }
+        };
+    for (int i = 1; i < workersCount; i++) {
+      try {
+        sharedPool.execute(Lane.START, helper);
+      } catch (RejectedExecutionException x) {
+        // start lane is full or shut down, the rest of machines is started by the calling thread
+        break;
+      }
+    }
+
+    synchronized (workers) {
+      workers.add(Thread.currentThread());
+    }
+    startPending.run();
+    boolean interrupted;
+    synchronized (workers) {
+      workers.remove(Thread.currentThread());
+      closed.set(true);
+      interrupted = Thread.interrupted();
+    }
+    int phase = helpers.arrive();
+    try {
+      if (interrupted && failure.get() == null) {
+        throw new InterruptedException();
+      }
+      helpers.awaitAdvanceInterruptibly(phase);
+    } catch (InterruptedException x) {
+      interruptWorkers.run();
+      helpers.awaitAdvance(phase);
+      throw new EnvironmentStartInterruptedException(workspaceId, envName);
+    }
+
+    Exception x = failure.get();
+    if (x == null) {
+      return started;
+    }
+    try {
+      throw x;
+    } catch (ServerException | EnvironmentException | AgentException | RuntimeException rethrow) {
+      throw rethrow;
+    } catch (Exception wrap) {
+      throw new ServerException(wrap.getMessage(), wrap);
+    }
+  }
+
   private void checkInterruption(String workspaceId, String envName)
       throws EnvironmentStartInterruptedException {
     if (Thread.interrupted()) {
@@ -1008,6 +1179,10 @@ public class CheEnvironmentEngine {
         throws ServerException, NotFoundException, EnvironmentException;
   }
 
+  private interface EnvironmentMachineStarter {
+    Instance start(String machineName) throws ServerException, AgentException, EnvironmentException;
+  }
+
   private CheServiceImpl normalizeServiceSource(CheServiceImpl service, MachineSource machineSource)
       throws ServerException {
     CheServiceImpl serviceWithNormalizedSource = service;
@@ -1111,18 +1286,18 @@ public class CheEnvironmentEngine {
   }
 
   /**
-   * Gets head config from the queue associated with the given {@code workspaceId}.
+   * Gets head group of machines from the queue associated with the given {@code workspaceId}.
    *
    * <p>Note that this method won't actually poll the queue.
    *
    * <p>Fails if environment start was interrupted by stop(queue doesn't exist).
    *
-   * @return machine config which is in the queue head, or null if there are no machine configs left
+   * @return names of machines which are in the queue head, or null if there are no machines left
    * @throws ServerException if queue doesn't exist which means that {@link #stop(String)} executed
    *     before all the machines started
    * @throws ServerException if pre destroy has been invoked before peek config retrieved
    */
-  private String queuePeekOrFail(String workspaceId) throws ServerException {
+  private List<String> queuePeekOrFail(String workspaceId) throws ServerException {
     try (@SuppressWarnings("unused")
         Unlocker u = stripedLocks.readLock(workspaceId)) {
       ensurePreDestroyIsNotExecuted();
@@ -1137,17 +1312,40 @@ public class CheEnvironmentEngine {
     }
   }
 
-  /** Destroys provided machines and associated network. */
-  private void destroyEnvironment(String networkId, List<Instance> machines) {
-    for (Instance machine : machines) {
-      try {
-        destroyMachine(machine);
-      } catch (RuntimeException | MachineException ex) {
-        LOG.error(
-            format(
-                "Could not destroy machine '%s' of workspace '%s'",
-                machine.getId(), machine.getWorkspaceId()),
-            ex);
+  /**
+   * Destroys provided machines and associated network. Machines are destroyed in reverse order of
+   * their start, the machines which don't depend on each other are destroyed at the same time.
+   *
+   * <p>Interruption of the caller doesn't stop the destroy, as the machines left running would
+   * block the network removal. The interrupted status is restored when everything is destroyed.
+   */
+  private void destroyEnvironment(
+      String networkId, List<Instance> machines, List<List<String>> servicesGroups) {
+    boolean interrupted = false;
+    for (List<Instance> group : groupMachinesForDestroy(machines, servicesGroups)) {
+      if (group.size() == 1) {
+        destroyMachineQuietly(group.get(0));
+        continue;
+      }
+      List<Future<?>> destroys = new ArrayList<>(group.size());
+      for (Instance machine : group) {
+        destroys.add(
+            machinesStopExecutor.submit(
+                ThreadLocalPropagateContext.wrap(() -> destroyMachineQuietly(machine))));
+      }
+      for (Future<?> destroy : destroys) {
+        // the group must be destroyed before the machines it depends on
+        while (true) {
+          try {
+            destroy.get();
+            break;
+          } catch (InterruptedException x) {
+            interrupted = true;
+          } catch (ExecutionException x) {
+            LOG.error(x.getCause().getLocalizedMessage(), x.getCause());
+            break;
+          }
+        }
       }
     }
     try {
@@ -1155,6 +1353,50 @@ public class CheEnvironmentEngine {
     } catch (RuntimeException | ServerException netExc) {
       LOG.error(netExc.getLocalizedMessage(), netExc);
     }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Groups machines so the machines of a group don't depend on each other and the machines of the
+   * next groups, machines which are not in the environment, e.g. started separately, go first.
+   *
+   * @param startGroups groups of machines in the order of start, resolved before names of linked
+   *     machines are replaced with names of containers
+   */
+  private List<List<Instance>> groupMachinesForDestroy(
+      List<Instance> machines, List<List<String>> startGroups) {
+    if (machines.size() < 2) {
+      return machines.isEmpty() ? emptyList() : singletonList(machines);
+    }
+    Map<String, Integer> groupIndexes = new HashMap<>();
+    for (int i = 0; i < startGroups.size(); i++) {
+      for (String machineName : startGroups.get(i)) {
+        groupIndexes.put(machineName, startGroups.size() - i);
+      }
+    }
+    return new ArrayList<>(
+        machines
+            .stream()
+            .collect(
+                groupingBy(
+                    machine -> groupIndexes.getOrDefault(machine.getConfig().getName(), 0),
+                    TreeMap::new,
+                    toList()))
+            .values());
+  }
+
+  private void destroyMachineQuietly(Instance machine) {
+    try {
+      destroyMachine(machine);
+    } catch (RuntimeException | MachineException ex) {
+      LOG.error(
+          format(
+              "Could not destroy machine '%s' of workspace '%s'",
+              machine.getId(), machine.getWorkspaceId()),
+          ex);
+    }
   }
 
   private void destroyMachine(Instance machine) throws MachineException {
@@ -1198,6 +1440,7 @@ public class CheEnvironmentEngine {
   @SuppressWarnings("unused")
   void cleanup() {
     isPreDestroyInvoked = true;
+    machinesStopExecutor.shutdown();
     final java.io.File[] files = machineLogsDir.listFiles();
     if (files != null && files.length > 0) {
       for (java.io.File f : files) {
@@ -1311,7 +1554,8 @@ public class CheEnvironmentEngine {
   }
 
   private static class EnvironmentHolder {
-    final Queue<String> startQueue;
+    final Queue<List<String>> startQueue;
+    final List<List<String>> servicesGroups;
     final CheServicesEnvironmentImpl environment;
     final MessageConsumer<MachineLogMessage> logger;
     final String name;
@@ -1322,14 +1566,15 @@ public class CheEnvironmentEngine {
     EnvStatus status;
 
     EnvironmentHolder(
-        List<String> startQueue,
+        List<List<String>> servicesGroups,
         CheServicesEnvironmentImpl environment,
         Environment environmentConfig,
         MessageConsumer<MachineLogMessage> envLogger,
         EnvStatus envStatus,
         String name,
         String networkId) {
-      this.startQueue = new ArrayDeque<>(startQueue);
+      this.startQueue = new ArrayDeque<>(servicesGroups);
+      this.servicesGroups = servicesGroups;
       this.machines = new CopyOnWriteArrayList<>();
       this.logger = envLogger;
       this.status = envStatus;
@@ -1370,6 +1615,7 @@ public class CheEnvironmentEngine {
       // cleanup machine if event about instance failure comes
       if ((eventType == OOM) || (eventType == DIE)) {
         sharedPool.execute(
+            Lane.BACKGROUND,
             () -> {
               Instance instance = removeMachineFromEnvironment(workspaceId, machineId);
               if (instance == null) {
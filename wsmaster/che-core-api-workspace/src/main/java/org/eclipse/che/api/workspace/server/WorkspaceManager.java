@@ -16,6 +16,7 @@ import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
 import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
 import static java.util.Objects.requireNonNull;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHOT;
@@ -24,11 +25,13 @@ import static org.eclipse.che.api.workspace.shared.Constants.WORKSPACE_STOPPED_B
 
 import com.google.inject.Inject;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
 import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.account.api.AccountManager;
@@ -39,6 +42,7 @@ import org.eclipse.che.api.core.BadRequestException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Workspace;
 import org.eclipse.che.api.core.model.workspace.WorkspaceConfig;
@@ -50,9 +54,11 @@ import org.eclipse.che.api.machine.server.exception.SourceNotFoundException;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.event.WorkspaceCreatedEvent;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
 import org.eclipse.che.commons.annotation.Nullable;
@@ -73,6 +79,7 @@ import org.slf4j.LoggerFactory;
 public class WorkspaceManager {
 
   private static final Logger LOG = LoggerFactory.getLogger(WorkspaceManager.class);
+  private static final String TIMER = "che_workspace_manager_seconds";
 
   /** This attribute describes time when workspace was created. */
   public static final String CREATED_ATTRIBUTE_NAME = "created";
@@ -123,6 +130,7 @@ public class WorkspaceManager {
    *     for {@code owner})
    * @throws ServerException when any other error occurs
    */
+  @Timed(TIMER)
   public WorkspaceImpl createWorkspace(WorkspaceConfig config, String namespace)
       throws ServerException, ConflictException, NotFoundException {
     requireNonNull(config, "Required non-null config");
@@ -147,6 +155,7 @@ public class WorkspaceManager {
    *     for {@code owner})
    * @throws ServerException when any other error occurs
    */
+  @Timed(TIMER)
   public WorkspaceImpl createWorkspace(
       WorkspaceConfig config, String namespace, Map<String, String> attributes)
       throws ServerException, NotFoundException, ConflictException {
@@ -286,6 +295,52 @@ public class WorkspaceManager {
     return workspaces;
   }
 
+  /**
+   * Gets a page of workspace summaries, which contain neither configurations nor runtimes of the
+   * workspaces. Status filter is applied by the storage, so only the requested page is loaded.
+   *
+   * @param user the id of the user, summaries of workspaces which user can read are returned when
+   *     {@code namespace} is null
+   * @param namespace the namespace to find workspaces, or null
+   * @param status the status of workspaces to find, or null to find workspaces with any status
+   * @param afterId identifier of the last workspace of the previous page, or null to get the first
+   *     page
+   * @param maxItems the maximum number of summaries to return
+   * @return the page of summaries ordered by workspaces identifiers
+   * @throws NullPointerException when {@code user} is null
+   * @throws ServerException when any server error occurs while getting summaries
+   */
+  public List<WorkspaceSummaryImpl> getSummaries(
+      String user,
+      @Nullable String namespace,
+      @Nullable WorkspaceStatus status,
+      @Nullable String afterId,
+      int maxItems)
+      throws ServerException {
+    requireNonNull(user, "Required non-null user id");
+    Set<String> ids = null;
+    Set<String> excludedIds = emptySet();
+    if (status == WorkspaceStatus.STOPPED) {
+      excludedIds = runtimes.getRuntimesIds();
+    } else if (status != null) {
+      ids = new HashSet<>();
+      for (String id : runtimes.getRuntimesIds()) {
+        if (runtimes.getStatus(id) == status) {
+          ids.add(id);
+        }
+      }
+      if (ids.isEmpty()) {
+        return new ArrayList<>();
+      }
+    }
+    final List<WorkspaceSummaryImpl> summaries =
+        workspaceDao.getSummaries(user, namespace, afterId, maxItems, ids, excludedIds);
+    for (WorkspaceSummaryImpl summary : summaries) {
+      summary.setStatus(runtimes.getStatus(summary.getId()));
+    }
+    return summaries;
+  }
+
   /**
    * Updates an existing workspace with a new configuration.
    *
@@ -300,6 +355,7 @@ public class WorkspaceManager {
    *     in {@code namespace})
    * @throws ServerException when any other error occurs
    */
+  @Timed(TIMER)
   public WorkspaceImpl updateWorkspace(String id, Workspace update)
       throws ConflictException, ServerException, NotFoundException {
     requireNonNull(id, "Required non-null workspace id");
@@ -325,6 +381,7 @@ public class WorkspaceManager {
    * @throws ServerException when any server error occurs
    * @throws NullPointerException when {@code workspaceId} is null
    */
+  @Timed(TIMER)
   public void removeWorkspace(String workspaceId) throws ConflictException, ServerException {
     requireNonNull(workspaceId, "Required non-null workspace id");
     if (runtimes.hasRuntime(workspaceId)) {
@@ -355,6 +412,7 @@ public class WorkspaceManager {
    * @throws NotFoundException when workspace with given {@code workspaceId} doesn't exist
    * @throws ServerException when any other error occurs during workspace start
    */
+  @Timed(TIMER)
   public WorkspaceImpl startWorkspace(
       String workspaceId, @Nullable String envName, @Nullable Boolean restore)
       throws NotFoundException, ServerException, ConflictException {
@@ -382,6 +440,7 @@ public class WorkspaceManager {
    * @throws NotFoundException when workspace with given {@code workspaceId} doesn't exist
    * @throws ServerException when any other error occurs during workspace start
    */
+  @Timed(TIMER)
   public WorkspaceImpl startWorkspace(WorkspaceConfig config, String namespace, boolean isTemporary)
       throws ServerException, NotFoundException, ConflictException {
     requireNonNull(config, "Required non-null configuration");
@@ -406,6 +465,7 @@ public class WorkspaceManager {
    * @throws BadRequestException if machine name is invalid
    * @throws ServerException if any other exception occurs during starting
    */
+  @Timed(TIMER)
   public void startMachine(MachineConfig machineConfig, String workspaceId)
       throws ServerException, ConflictException, BadRequestException, NotFoundException {
 
@@ -442,6 +502,7 @@ public class WorkspaceManager {
    * @throws NullPointerException when {@code workspaceId} is null
    * @throws NotFoundException when workspace {@code workspaceId} doesn't have runtime
    */
+  @Timed(TIMER)
   public void stopWorkspace(String workspaceId, @Nullable Boolean createSnapshot)
       throws ConflictException, NotFoundException, ServerException {
     requireNonNull(workspaceId, "Required non-null workspace id");
@@ -478,6 +539,7 @@ public class WorkspaceManager {
    * @throws ServerException when any other error occurs
    * @throws ConflictException when workspace is not running
    */
+  @Timed(TIMER)
   public void createSnapshot(String workspaceId)
       throws NotFoundException, ServerException, ConflictException {
     requireNonNull(workspaceId, "Required non-null workspace id");
@@ -528,7 +590,13 @@ public class WorkspaceManager {
       }
     }
     // binaries removal may take some time, do it asynchronously
-    sharedPool.execute(() -> runtimes.removeBinaries(removed));
+    try {
+      sharedPool.execute(Lane.BACKGROUND, () -> runtimes.removeBinaries(removed));
+    } catch (RejectedExecutionException x) {
+      LOG.warn(
+          "Couldn't schedule removal of the binaries of '{}' snapshots, the pool is busy",
+          removed.size());
+    }
   }
 
   /**
@@ -541,6 +609,7 @@ public class WorkspaceManager {
    * @throws ConflictException if machine stop is forbidden (e.g. machine is dev-machine)
    * @throws ServerException if other error occurs
    */
+  @Timed(TIMER)
   public void stopMachine(String workspaceId, String machineId)
       throws NotFoundException, ServerException, ConflictException {
     requireNonNull(workspaceId, "Required non-null workspace id");
@@ -694,6 +763,7 @@ public class WorkspaceManager {
       workspaceDao.update(workspace);
     }
     return sharedPool.runAsync(
+        Lane.STOP,
         () -> {
           final String stoppedBy =
               sessionUserNameOr(workspace.getAttributes().get(WORKSPACE_STOPPED_BY));
@@ -746,20 +816,29 @@ public class WorkspaceManager {
         });
   }
 
-  private void startAsync(MachineConfig machineConfig, String workspaceId) {
-    sharedPool.execute(
-        () -> {
-          try {
-            runtimes.startMachine(workspaceId, machineConfig);
-          } catch (AgentException e) {
-            // Agent start failed. User should fix that. No need to disturb an admin
-            LOG.warn(
-                "Error occurs on start of additional machine in workspace %s. Error: %s",
-                workspaceId, e.getLocalizedMessage());
-          } catch (ApiException | EnvironmentException e) {
-            LOG.error(e.getLocalizedMessage(), e);
-          }
-        });
+  private void startAsync(MachineConfig machineConfig, String workspaceId)
+      throws ServerException {
+    try {
+      sharedPool.execute(
+          Lane.START,
+          () -> {
+            try {
+              runtimes.startMachine(workspaceId, machineConfig);
+            } catch (AgentException e) {
+              // Agent start failed. User should fix that. No need to disturb an admin
+              LOG.warn(
+                  "Error occurs on start of additional machine in workspace %s. Error: %s",
+                  workspaceId, e.getLocalizedMessage());
+            } catch (ApiException | EnvironmentException e) {
+              LOG.error(e.getLocalizedMessage(), e);
+            }
+          });
+    } catch (RejectedExecutionException x) {
+      throw new ServerException(
+          format(
+              "Couldn't start machine in workspace '%s', too many machines are starting",
+              workspaceId));
+    }
   }
 
   private void checkWorkspaceIsRunning(WorkspaceImpl workspace, String operation)
@@ -38,10 +38,13 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import javax.inject.Inject;
+import javax.inject.Named;
 import javax.inject.Singleton;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
@@ -53,6 +56,7 @@ import org.eclipse.che.api.agent.shared.model.AgentKey;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.model.machine.MachineConfig;
 import org.eclipse.che.api.core.model.workspace.Environment;
 import org.eclipse.che.api.core.model.workspace.ExtendedMachine;
@@ -71,6 +75,7 @@ import org.eclipse.che.api.machine.server.model.impl.MachineImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
@@ -103,6 +108,7 @@ import org.slf4j.Logger;
 public class WorkspaceRuntimes {
 
   private static final Logger LOG = getLogger(WorkspaceRuntimes.class);
+  private static final String TIMER = "che_workspace_runtimes_seconds";
 
   private final ConcurrentMap<String, RuntimeState> states;
   private final EventService eventsService;
@@ -113,6 +119,9 @@ public class WorkspaceRuntimes {
   private final AgentRegistry agentRegistry;
   private final SnapshotDao snapshotDao;
   private final WorkspaceSharedPool sharedPool;
+  private final WorkspaceShutdownCheckpoint shutdownCheckpoint;
+  private final int shutdownParallelism;
+  private final long shutdownTimeoutSec;
 
   private final AtomicBoolean isShutdown = new AtomicBoolean(false);
   private final AtomicBoolean isStartRefused = new AtomicBoolean(false);
@@ -126,7 +135,10 @@ public class WorkspaceRuntimes {
       AgentLauncherFactory launcherFactory,
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
-      WorkspaceSharedPool sharedPool) {
+      WorkspaceSharedPool sharedPool,
+      WorkspaceShutdownCheckpoint shutdownCheckpoint,
+      @Named("che.workspace.shutdown.parallelism") int shutdownParallelism,
+      @Named("che.workspace.shutdown.timeout_sec") long shutdownTimeoutSec) {
     this(
         eventsService,
         envEngine,
@@ -135,6 +147,9 @@ public class WorkspaceRuntimes {
         agentRegistry,
         snapshotDao,
         sharedPool,
+        shutdownCheckpoint,
+        shutdownParallelism,
+        shutdownTimeoutSec,
         new ConcurrentHashMap<>());
   }
 
@@ -146,6 +161,9 @@ public class WorkspaceRuntimes {
       AgentRegistry agentRegistry,
       SnapshotDao snapshotDao,
       WorkspaceSharedPool sharedPool,
+      WorkspaceShutdownCheckpoint shutdownCheckpoint,
+      int shutdownParallelism,
+      long shutdownTimeoutSec,
       ConcurrentMap<String, RuntimeState> states) {
     this.eventsService = eventsService;
     this.envEngine = envEngine;
@@ -156,6 +174,12 @@ public class WorkspaceRuntimes {
     // 16 - experimental value for stripes count, it comes from default hash map size
     this.locks = new StripedLocks(16);
     this.sharedPool = sharedPool;
+    this.shutdownCheckpoint = shutdownCheckpoint;
+    this.shutdownParallelism =
+        shutdownParallelism > 0
+            ? shutdownParallelism
+            : 2 * Runtime.getRuntime().availableProcessors();
+    this.shutdownTimeoutSec = shutdownTimeoutSec;
     this.states = states;
   }
 
@@ -189,6 +213,7 @@ public class WorkspaceRuntimes {
    * @throws IllegalArgumentException when the workspace doesn't contain the environment
    * @throws NullPointerException when either {@code workspace} or {@code envName} is null
    */
+  @Timed(TIMER)
   public CompletableFuture<WorkspaceRuntimeImpl> startAsync(
       Workspace workspace, String envName, boolean recover)
       throws ConflictException, ServerException {
@@ -218,10 +243,19 @@ public class WorkspaceRuntimes {
       startTask =
           new StartTask(
               workspaceId, envName, environment, recover, cmpFuture = new CompletableFuture<>());
+      Future<WorkspaceRuntimeImpl> startFuture;
+      try {
+        startFuture = sharedPool.submit(Lane.START, startTask);
+      } catch (RejectedExecutionException x) {
+        throw new ServerException(
+            format(
+                "Could not start workspace '%s' because too many workspaces are starting, "
+                    + "try again later",
+                workspace.getConfig().getName()));
+      }
       states.put(
           workspaceId,
-          new RuntimeState(
-              WorkspaceStatus.STARTING, envName, startTask, sharedPool.submit(startTask)));
+          new RuntimeState(WorkspaceStatus.STARTING, envName, startTask, startFuture));
     }
 
     // publish event synchronously as the task may not be executed by
@@ -332,6 +366,7 @@ public class WorkspaceRuntimes {
    * @see CheEnvironmentEngine#stop(String)
    * @see WorkspaceStatus#STOPPING
    */
+  @Timed(TIMER)
   public void stop(String workspaceId)
       throws NotFoundException, ServerException, ConflictException, EnvironmentException {
     requireNonNull(workspaceId, "Required not-null workspace id");
@@ -392,6 +427,7 @@ public class WorkspaceRuntimes {
    * @throws ConflictException if environment was stopped during start of machine
    * @throws ServerException if any other error occurs
    */
+  @Timed(TIMER)
   public Instance startMachine(String workspaceId, MachineConfig machineConfig)
       throws ServerException, ConflictException, NotFoundException, AgentException,
           EnvironmentException {
@@ -441,6 +477,7 @@ public class WorkspaceRuntimes {
    *     WorkspaceStatus#RUNNING}
    * @throws ServerException when any other error occurs
    */
+  @Timed(TIMER)
   public void snapshot(String workspaceId)
       throws NotFoundException, ConflictException, ServerException {
     try (@SuppressWarnings("unused")
@@ -462,16 +499,32 @@ public class WorkspaceRuntimes {
         Unlocker u = locks.writeLock(workspaceId)) {
       getRunningState(workspaceId).status = SNAPSHOTTING;
     }
-    return sharedPool.submit(
-        () -> {
-          try {
-            snapshotAndUpdateStatus(workspaceId);
-          } catch (Exception x) {
-            LOG.error(format("Couldn't create a snapshot of workspace '%s'", workspaceId), x);
-            throw x;
-          }
-          return null;
-        });
+    try {
+      return sharedPool.submit(
+          Lane.BACKGROUND,
+          () -> {
+            try {
+              snapshotAndUpdateStatus(workspaceId);
+            } catch (Exception x) {
+              LOG.error(format("Couldn't create a snapshot of workspace '%s'", workspaceId), x);
+              throw x;
+            }
+            return null;
+          });
+    } catch (RejectedExecutionException x) {
+      try (@SuppressWarnings("unused")
+          Unlocker u = locks.writeLock(workspaceId)) {
+        RuntimeState state = states.get(workspaceId);
+        if (state != null && state.status == SNAPSHOTTING) {
+          state.status = RUNNING;
+        }
+      }
+      throw new ConflictException(
+          format(
+              "Could not snapshot workspace '%s' because too many snapshots are in progress, "
+                  + "try again later",
+              workspaceId));
+    }
   }
 
   /**
@@ -527,6 +580,7 @@ public class WorkspaceRuntimes {
    * @throws ConflictException if machine is dev and its stop is forbidden
    * @throws ServerException if any other error occurs
    */
+  @Timed(TIMER)
   public void stopMachine(String workspaceId, String machineId)
       throws NotFoundException, ServerException, ConflictException {
     try (@SuppressWarnings("unused")
@@ -572,11 +626,18 @@ public class WorkspaceRuntimes {
    * appropriate exception. All the running workspaces will continue running, unless stopped
    * directly.
    *
+   * <p>As refusal of the starts begins the shutdown, the workspaces which are running at this
+   * moment are tracked by {@link WorkspaceShutdownCheckpoint} until they are stopped.
+   *
    * @return true if this is the caller is the one who refused start, otherwise if start is being
    *     already refused returns false
    */
   public boolean refuseWorkspacesStart() {
-    return isStartRefused.compareAndSet(false, true);
+    if (!isStartRefused.compareAndSet(false, true)) {
+      return false;
+    }
+    shutdownCheckpoint.begin(getRuntimesIds());
+    return true;
   }
 
   /**
@@ -606,10 +667,15 @@ public class WorkspaceRuntimes {
     }
 
     if (!idsToStop.isEmpty()) {
-      LOG.info("Shutdown running environments, environments to stop: '{}'", idsToStop.size());
+      LOG.info(
+          "Shutdown running environments, environments to stop: '{}', parallelism: '{}'",
+          idsToStop.size(),
+          shutdownParallelism);
+      long startTime = System.currentTimeMillis();
+      AtomicInteger stopped = new AtomicInteger();
       ExecutorService executor =
           Executors.newFixedThreadPool(
-              2 * Runtime.getRuntime().availableProcessors(),
+              shutdownParallelism,
               new ThreadFactoryBuilder()
                   .setNameFormat("StopEnvironmentsPool-%d")
                   .setDaemon(false)
@@ -619,8 +685,11 @@ public class WorkspaceRuntimes {
             () -> {
               try {
                 envEngine.stop(id);
+                stopped.incrementAndGet();
+                shutdownCheckpoint.stopped(id);
               } catch (EnvironmentNotRunningException ignored) {
                 // might be already stopped
+                shutdownCheckpoint.stopped(id);
               } catch (Exception x) {
                 LOG.error(x.getMessage(), x);
               }
@@ -629,7 +698,7 @@ public class WorkspaceRuntimes {
 
       executor.shutdown();
       try {
-        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+        if (!executor.awaitTermination(shutdownTimeoutSec, TimeUnit.SECONDS)) {
           executor.shutdownNow();
           if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
             LOG.error("Unable to stop runtimes termination pool");
@@ -639,7 +708,15 @@ public class WorkspaceRuntimes {
         executor.shutdownNow();
         Thread.currentThread().interrupt();
       }
+      long duration = Math.max(System.currentTimeMillis() - startTime, 1);
+      LOG.info(
+          "Stopped '{}' of '{}' environments in '{}'ms, throughput: '{}' environments/s",
+          stopped.get(),
+          idsToStop.size(),
+          duration,
+          format("%.2f", stopped.get() * 1000D / duration));
     }
+    shutdownCheckpoint.finish();
   }
 
   private void checkIsNotTerminated(String operation) throws ServerException {
@@ -669,6 +746,7 @@ public class WorkspaceRuntimes {
     return state;
   }
 
+  @Timed(TIMER)
   protected void launchAgents(Instance instance, List<String> agents)
       throws ServerException, AgentException {
     for (AgentKey agentKey : agentSorter.sort(agents)) {
@@ -72,6 +72,7 @@ import org.eclipse.che.api.workspace.shared.dto.EnvironmentRecipeDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 
@@ -85,6 +86,9 @@ import org.eclipse.che.commons.env.EnvironmentContext;
 @Path("/workspace")
 public class WorkspaceService extends Service {
 
+  /** The maximum number of summaries in the page, greater 'maxItems' are reduced to it. */
+  static final int MAX_SUMMARIES_PER_PAGE = 100;
+
   private final WorkspaceManager workspaceManager;
   private final WorkspaceValidator validator;
   private final WsAgentHealthChecker agentHealthChecker;
@@ -225,6 +229,7 @@ public class WorkspaceService extends Service {
   )
   @ApiResponses({
     @ApiResponse(code = 200, message = "The workspaces successfully fetched"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
     @ApiResponse(code = 500, message = "Internal server error occurred during workspaces fetching")
   })
   public List<WorkspaceDto> getWorkspaces(
@@ -236,6 +241,8 @@ public class WorkspaceService extends Service {
           Integer maxItems,
       @ApiParam("Workspace status") @QueryParam("status") String status)
       throws ServerException, BadRequestException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    checkArgument(skipCount >= 0, "The number of items to skip can't be negative.");
     //TODO add maxItems & skipCount to manager
     return workspaceManager
         .getWorkspaces(EnvironmentContext.getCurrent().getSubject().getUserId(), false)
@@ -271,6 +278,49 @@ public class WorkspaceService extends Service {
         .collect(toList());
   }
 
+  @GET
+  @Path("/summary")
+  @Produces(APPLICATION_JSON)
+  @ApiOperation(
+    value = "Get the page of summaries of workspaces ordered by workspaces identifiers",
+    notes =
+        "This operation can be performed only by authorized user. "
+            + "Summaries don't contain configurations and runtimes of workspaces, "
+            + "to get the next page pass the identifier of the last workspace of the page "
+            + "as 'after' parameter",
+    response = WorkspaceSummaryDto.class,
+    responseContainer = "List"
+  )
+  @ApiResponses({
+    @ApiResponse(code = 200, message = "The summaries successfully fetched"),
+    @ApiResponse(code = 400, message = "Missed required parameters, parameters are not valid"),
+    @ApiResponse(code = 500, message = "Internal server error occurred during summaries fetching")
+  })
+  public List<WorkspaceSummaryDto> getSummaries(
+      @ApiParam("Workspace status") @QueryParam("status") String status,
+      @ApiParam("The namespace, workspaces which user can read are returned if not specified")
+          @QueryParam("namespace")
+          String namespace,
+      @ApiParam("The identifier of the last workspace of the previous page") @QueryParam("after")
+          String afterId,
+      @ApiParam("The limit of the items in the response, default is 30, maximum is 100")
+          @DefaultValue("30")
+          @QueryParam("maxItems")
+          Integer maxItems)
+      throws ServerException, BadRequestException {
+    checkArgument(maxItems >= 0, "The number of items to return can't be negative.");
+    return workspaceManager
+        .getSummaries(
+            EnvironmentContext.getCurrent().getSubject().getUserId(),
+            namespace,
+            parseStatus(status),
+            afterId,
+            Math.min(maxItems, MAX_SUMMARIES_PER_PAGE))
+        .stream()
+        .map(DtoConverter::asDto)
+        .collect(toList());
+  }
+
   @PUT
   @Path("/{id}")
   @Consumes(APPLICATION_JSON)
@@ -797,6 +847,23 @@ public class WorkspaceService extends Service {
         CHE_WORKSPACE_AUTO_START, Boolean.toString(cheWorkspaceAutoStart));
   }
 
+  private static void checkArgument(boolean expression, String message) throws BadRequestException {
+    if (!expression) {
+      throw new BadRequestException(message);
+    }
+  }
+
+  private static WorkspaceStatus parseStatus(String status) throws BadRequestException {
+    if (status == null) {
+      return null;
+    }
+    try {
+      return WorkspaceStatus.valueOf(status.toUpperCase());
+    } catch (IllegalArgumentException x) {
+      throw new BadRequestException("Workspace status '" + status + "' is not valid");
+    }
+  }
+
   private static Map<String, String> parseAttrs(List<String> attributes)
       throws BadRequestException {
     if (attributes == null) {
@@ -13,15 +13,27 @@ package org.eclipse.che.api.workspace.server;
 import com.google.common.primitives.Ints;
 import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.google.inject.Inject;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
 import javax.inject.Named;
 import javax.inject.Singleton;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.metrics.MetricsWriter;
 import org.eclipse.che.commons.annotation.Nullable;
 import org.eclipse.che.commons.lang.concurrent.LoggingUncaughtExceptionHandler;
 import org.eclipse.che.commons.lang.concurrent.ThreadLocalPropagateContext;
@@ -31,18 +43,46 @@ import org.slf4j.LoggerFactory;
 /**
  * Provides a single non-daemon {@link ExecutorService} instance for workspace components.
  *
+ * <p>Workspace starts, stops and background operations like snapshots and cleanups are executed
+ * in separate {@link Lane lanes}, so stops don't wait for the starts queued before them. Each lane
+ * has its own threads and bounded queue, tasks which don't fit the queue of the lane are rejected
+ * with {@link RejectedExecutionException}, except of the stops which are executed by the caller.
+ * Other asynchronous tasks are executed by the general executor.
+ *
  * @author Yevhenii Voevodin
  */
 @Singleton
 public class WorkspaceSharedPool {
 
+  /** Lanes of the workspace operations. */
+  public enum Lane {
+    /** Workspace and machine stops, never rejected. */
+    STOP,
+    /** Workspace and machine starts. */
+    START,
+    /** Snapshots and cleanups. */
+    BACKGROUND
+  }
+
   private final ExecutorService executor;
+  private final Map<Lane, LaneExecutor> lanes;
+
+  public WorkspaceSharedPool(
+      String poolType, @Nullable String exactSizeProp, @Nullable String coresMultiplierProp) {
+    this(poolType, exactSizeProp, coresMultiplierProp, 10, 1000, 10, 100, 2, 100);
+  }
 
   @Inject
   public WorkspaceSharedPool(
       @Named("che.workspace.pool.type") String poolType,
       @Named("che.workspace.pool.exact_size") @Nullable String exactSizeProp,
-      @Named("che.workspace.pool.cores_multiplier") @Nullable String coresMultiplierProp) {
+      @Named("che.workspace.pool.cores_multiplier") @Nullable String coresMultiplierProp,
+      @Named("che.workspace.pool.stop.threads") int stopThreads,
+      @Named("che.workspace.pool.stop.queue_capacity") int stopQueueCapacity,
+      @Named("che.workspace.pool.start.threads") int startThreads,
+      @Named("che.workspace.pool.start.queue_capacity") int startQueueCapacity,
+      @Named("che.workspace.pool.background.threads") int backgroundThreads,
+      @Named("che.workspace.pool.background.queue_capacity") int backgroundQueueCapacity) {
     ThreadFactory factory =
         new ThreadFactoryBuilder()
             .setNameFormat("WorkspaceSharedPool-%d")
@@ -72,6 +112,27 @@ public class WorkspaceSharedPool {
         throw new IllegalArgumentException(
             "The type of the pool '" + poolType + "' is not supported");
     }
+    lanes = new EnumMap<>(Lane.class);
+    lanes.put(
+        Lane.STOP,
+        new LaneExecutor(
+            Lane.STOP, stopThreads, stopQueueCapacity, new ThreadPoolExecutor.CallerRunsPolicy()));
+    lanes.put(
+        Lane.START,
+        new LaneExecutor(
+            Lane.START, startThreads, startQueueCapacity, new ThreadPoolExecutor.AbortPolicy()));
+    lanes.put(
+        Lane.BACKGROUND,
+        new LaneExecutor(
+            Lane.BACKGROUND,
+            backgroundThreads,
+            backgroundQueueCapacity,
+            new ThreadPoolExecutor.AbortPolicy()));
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.register(this::collectMetrics);
   }
 
   /** Returns an {@link ExecutorService} managed by this pool instance. */
@@ -106,25 +167,231 @@ public class WorkspaceSharedPool {
     return CompletableFuture.runAsync(ThreadLocalPropagateContext.wrap(runnable), executor);
   }
 
+  /**
+   * Executes the task in the given lane and propagates thread locals to it like defined by {@link
+   * ThreadLocalPropagateContext}.
+   *
+   * @throws RejectedExecutionException when the queue of the lane is full
+   */
+  public void execute(Lane lane, Runnable runnable) {
+    lanes.get(lane).execute(ThreadLocalPropagateContext.wrap(runnable));
+  }
+
+  /**
+   * Submits the task to the given lane and propagates thread locals to it like defined by {@link
+   * ThreadLocalPropagateContext}.
+   *
+   * @throws RejectedExecutionException when the queue of the lane is full
+   */
+  public <T> Future<T> submit(Lane lane, Callable<T> callable) {
+    return lanes.get(lane).submit(ThreadLocalPropagateContext.wrap(callable));
+  }
+
+  /**
+   * Asynchronously runs the task in the given lane wrapping it with {@link
+   * ThreadLocalPropagateContext#wrap(Runnable)}.
+   *
+   * @throws RejectedExecutionException when the queue of the lane is full
+   */
+  public CompletableFuture<Void> runAsync(Lane lane, Runnable runnable) {
+    return CompletableFuture.runAsync(ThreadLocalPropagateContext.wrap(runnable), lanes.get(lane));
+  }
+
+  /** Returns statistics of the given lane. */
+  public LaneStatistics getStatistics(Lane lane) {
+    return lanes.get(lane).statistics;
+  }
+
+  private void collectMetrics(MetricsWriter writer) {
+    for (Lane lane : Lane.values()) {
+      final LaneStatistics statistics = getStatistics(lane);
+      final String name = lane.name().toLowerCase();
+      writer
+          .gauge(
+              "che_workspace_pool_queue_depth",
+              "Tasks waiting in the queue of the workspace pool lane",
+              statistics.getQueueDepth(),
+              "lane",
+              name)
+          .gauge(
+              "che_workspace_pool_active_tasks",
+              "Tasks being executed by the workspace pool lane",
+              statistics.getActiveCount(),
+              "lane",
+              name)
+          .counter(
+              "che_workspace_pool_completed_total",
+              "Tasks completed by the workspace pool lane",
+              statistics.getCompletedCount(),
+              "lane",
+              name)
+          .counter(
+              "che_workspace_pool_rejected_total",
+              "Tasks rejected by the workspace pool lane",
+              statistics.getRejectedCount(),
+              "lane",
+              name)
+          .counter(
+              "che_workspace_pool_wait_seconds_total",
+              "Time tasks waited in the queue of the workspace pool lane",
+              statistics.getTotalWaitTime() / 1e3,
+              "lane",
+              name)
+          .gauge(
+              "che_workspace_pool_wait_seconds_max",
+              "The longest time a task waited in the queue of the workspace pool lane",
+              statistics.getMaxWaitTime() / 1e3,
+              "lane",
+              name)
+          .counter(
+              "che_workspace_pool_run_seconds_total",
+              "Time tasks were executed by the workspace pool lane",
+              statistics.getTotalRunTime() / 1e3,
+              "lane",
+              name)
+          .gauge(
+              "che_workspace_pool_run_seconds_max",
+              "The longest time a task was executed by the workspace pool lane",
+              statistics.getMaxRunTime() / 1e3,
+              "lane",
+              name);
+    }
+  }
+
   /** Terminates this pool if it's not terminated yet. */
   void shutdown() {
-    if (!executor.isShutdown()) {
-      Logger logger = LoggerFactory.getLogger(getClass());
-      executor.shutdown();
-      try {
-        logger.info("Shutdown workspace threads pool, wait 30s to stop normally");
-        if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
-          executor.shutdownNow();
-          logger.info("Interrupt workspace threads pool, wait 60s to stop");
-          if (!executor.awaitTermination(60, TimeUnit.SECONDS)) {
-            logger.error("Couldn't shutdown workspace threads pool");
-          }
+    List<ExecutorService> executors = new ArrayList<>(lanes.values());
+    executors.add(executor);
+    if (executors.stream().allMatch(ExecutorService::isShutdown)) {
+      return;
+    }
+    Logger logger = LoggerFactory.getLogger(getClass());
+    executors.forEach(ExecutorService::shutdown);
+    try {
+      logger.info("Shutdown workspace threads pool, wait 30s to stop normally");
+      if (!awaitTermination(executors, 30)) {
+        executors.forEach(ExecutorService::shutdownNow);
+        logger.info("Interrupt workspace threads pool, wait 60s to stop");
+        if (!awaitTermination(executors, 60)) {
+          logger.error("Couldn't shutdown workspace threads pool");
         }
-      } catch (InterruptedException x) {
-        executor.shutdownNow();
-        Thread.currentThread().interrupt();
       }
-      logger.info("Workspace threads pool is terminated");
+    } catch (InterruptedException x) {
+      executors.forEach(ExecutorService::shutdownNow);
+      Thread.currentThread().interrupt();
+    }
+    logger.info("Workspace threads pool is terminated");
+  }
+
+  private static boolean awaitTermination(List<ExecutorService> executors, long timeoutSec)
+      throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSec);
+    for (ExecutorService executor : executors) {
+      if (!executor.awaitTermination(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /** Statistics of a lane, times are in milliseconds. */
+  public static class LaneStatistics {
+    private final ThreadPoolExecutor executor;
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitTime = new LongAdder();
+    private final LongAccumulator maxWaitTime = new LongAccumulator(Long::max, 0);
+    private final LongAdder totalRunTime = new LongAdder();
+    private final LongAccumulator maxRunTime = new LongAccumulator(Long::max, 0);
+
+    private LaneStatistics(ThreadPoolExecutor executor) {
+      this.executor = executor;
+    }
+
+    /** Returns number of the tasks waiting in the queue of the lane. */
+    public int getQueueDepth() {
+      return executor.getQueue().size();
+    }
+
+    /** Returns number of the tasks being executed. */
+    public int getActiveCount() {
+      return executor.getActiveCount();
+    }
+
+    public long getCompletedCount() {
+      return completed.sum();
+    }
+
+    public long getRejectedCount() {
+      return rejected.sum();
+    }
+
+    public long getTotalWaitTime() {
+      return totalWaitTime.sum();
+    }
+
+    public long getMaxWaitTime() {
+      return maxWaitTime.get();
+    }
+
+    public long getTotalRunTime() {
+      return totalRunTime.sum();
+    }
+
+    public long getMaxRunTime() {
+      return maxRunTime.get();
+    }
+
+    private void recordWait(long millis) {
+      totalWaitTime.add(millis);
+      maxWaitTime.accumulate(millis);
+    }
+
+    private void recordRun(long millis) {
+      completed.increment();
+      totalRunTime.add(millis);
+      maxRunTime.accumulate(millis);
+    }
+  }
+
+  /** Executor of a lane which measures queueing and execution of its tasks. */
+  private static class LaneExecutor extends ThreadPoolExecutor {
+    private final LaneStatistics statistics;
+
+    LaneExecutor(Lane lane, int threads, int queueCapacity, RejectedExecutionHandler handler) {
+      super(
+          threads,
+          threads,
+          60,
+          TimeUnit.SECONDS,
+          new LinkedBlockingQueue<>(queueCapacity),
+          new ThreadFactoryBuilder()
+              .setNameFormat("WorkspaceSharedPool-" + lane.name().toLowerCase() + "-%d")
+              .setUncaughtExceptionHandler(LoggingUncaughtExceptionHandler.getInstance())
+              .setDaemon(false)
+              .build());
+      this.statistics = new LaneStatistics(this);
+      setRejectedExecutionHandler(
+          (runnable, executor) -> {
+            statistics.rejected.increment();
+            handler.rejectedExecution(runnable, executor);
+          });
+      allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+      long queuedAt = System.currentTimeMillis();
+      super.execute(
+          () -> {
+            long startedAt = System.currentTimeMillis();
+            statistics.recordWait(startedAt - queuedAt);
+            try {
+              command.run();
+            } finally {
+              statistics.recordRun(System.currentTimeMillis() - startedAt);
+            }
+          });
     }
   }
 }
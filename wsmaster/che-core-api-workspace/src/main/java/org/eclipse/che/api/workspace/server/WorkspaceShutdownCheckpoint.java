@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+import com.google.common.annotations.VisibleForTesting;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+import javax.inject.Named;
+import javax.inject.Singleton;
+import org.eclipse.che.api.core.metrics.MetricsRegistry;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent.EventType;
+import org.eclipse.che.commons.annotation.Nullable;
+import org.eclipse.che.dto.server.DtoFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps track of the workspaces which are stopped by the shutdown of the workspace service.
+ *
+ * <p>Identifiers of the workspaces which are not stopped yet are saved to the checkpoint file, so
+ * when the shutdown is not finished, e.g. the process is killed, the next start of the service
+ * reconciles the statuses of the remaining workspaces: {@link WorkspaceStatus#STOPPED} events are
+ * published for them, so the components which keep track of the running workspaces release their
+ * state. The checkpoint doesn't destroy the runtimes, the machines left by the interrupted
+ * shutdown are removed by the implementation specific cleanup of the abandoned resources.
+ */
+@Singleton
+public class WorkspaceShutdownCheckpoint {
+  private static final Logger LOG = LoggerFactory.getLogger(WorkspaceShutdownCheckpoint.class);
+
+  private final Path checkpointFile;
+  private final EventService eventService;
+  private final Set<String> pending;
+  private final AtomicInteger stopped;
+  private final EventSubscriber<WorkspaceStatusEvent> stopsSubscriber;
+
+  @Inject
+  public WorkspaceShutdownCheckpoint(
+      @Nullable @Named("che.workspace.shutdown.checkpoint_file") String checkpointFile,
+      EventService eventService) {
+    this.checkpointFile = checkpointFile == null ? null : Paths.get(checkpointFile);
+    this.eventService = eventService;
+    this.pending = ConcurrentHashMap.newKeySet();
+    this.stopped = new AtomicInteger();
+    this.stopsSubscriber =
+        event -> {
+          if (event.getStatus() == WorkspaceStatus.STOPPED) {
+            stopped(event.getWorkspaceId());
+          }
+        };
+  }
+
+  @Inject
+  private void registerMetrics(MetricsRegistry metricsRegistry) {
+    metricsRegistry.gauge(
+        "che_workspace_shutdown_stopped",
+        "Workspaces stopped since the shutdown began",
+        this::getStoppedCount);
+    metricsRegistry.gauge(
+        "che_workspace_shutdown_pending",
+        "Workspaces which are not stopped yet by the shutdown",
+        this::getPendingCount);
+  }
+
+  /** Starts tracking of the shutdown which is going to stop the given workspaces. */
+  public void begin(Collection<String> workspaceIds) {
+    pending.addAll(workspaceIds);
+    eventService.subscribe(stopsSubscriber, WorkspaceStatusEvent.class);
+    save();
+  }
+
+  /** Records that the workspace is stopped. */
+  public void stopped(String workspaceId) {
+    if (pending.remove(workspaceId)) {
+      stopped.incrementAndGet();
+      save();
+    }
+  }
+
+  /**
+   * Finishes tracking of the shutdown. The checkpoint is removed if all the workspaces are stopped.
+   */
+  public void finish() {
+    eventService.unsubscribe(stopsSubscriber, WorkspaceStatusEvent.class);
+    if (!pending.isEmpty()) {
+      LOG.warn("Shutdown didn't stop {} workspaces, they are kept in checkpoint", pending.size());
+    }
+    save();
+  }
+
+  /** Returns the number of workspaces which are stopped since the shutdown began. */
+  public int getStoppedCount() {
+    return stopped.get();
+  }
+
+  /** Returns the number of workspaces which are not stopped yet. */
+  public int getPendingCount() {
+    return pending.size();
+  }
+
+  /**
+   * Reconciles statuses of the workspaces which were not stopped by the previous run of the
+   * service, by publishing {@link WorkspaceStatus#STOPPED} events for them. Runtimes of the
+   * workspaces are not destroyed.
+   */
+  @PostConstruct
+  @VisibleForTesting
+  void reconcileStatuses() {
+    if (checkpointFile == null || !Files.exists(checkpointFile)) {
+      return;
+    }
+    List<String> notStopped;
+    try {
+      notStopped = Files.readAllLines(checkpointFile, UTF_8);
+    } catch (IOException x) {
+      LOG.error("Couldn't read workspaces shutdown checkpoint {}", checkpointFile, x);
+      return;
+    }
+    if (!notStopped.isEmpty()) {
+      LOG.warn(
+          "Previous shutdown didn't stop {} workspaces, publishing their stopped status",
+          notStopped.size());
+    }
+    for (String workspaceId : notStopped) {
+      eventService.publish(
+          DtoFactory.newDto(WorkspaceStatusEvent.class)
+              .withWorkspaceId(workspaceId)
+              .withPrevStatus(WorkspaceStatus.STOPPING)
+              .withEventType(EventType.STOPPED)
+              .withStatus(WorkspaceStatus.STOPPED));
+    }
+    try {
+      Files.deleteIfExists(checkpointFile);
+    } catch (IOException x) {
+      LOG.error("Couldn't remove workspaces shutdown checkpoint {}", checkpointFile, x);
+    }
+  }
+
+  private synchronized void save() {
+    if (checkpointFile == null) {
+      return;
+    }
+    try {
+      if (pending.isEmpty()) {
+        Files.deleteIfExists(checkpointFile);
+        return;
+      }
+      Files.createDirectories(checkpointFile.toAbsolutePath().getParent());
+      Path tmp = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+      Files.write(tmp, new ArrayList<>(pending), UTF_8);
+      Files.move(tmp, checkpointFile, REPLACE_EXISTING, ATOMIC_MOVE);
+    } catch (IOException x) {
+      LOG.warn("Couldn't save workspaces shutdown checkpoint. Error: {}", x.getMessage());
+    }
+  }
+}
@@ -21,13 +21,17 @@ import javax.inject.Inject;
 import javax.inject.Singleton;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestHandlerConfigurator;
 import org.eclipse.che.api.core.jsonrpc.commons.RequestTransmitter;
+import org.eclipse.che.api.core.notification.AsyncEventSubscriber;
 import org.eclipse.che.api.core.notification.EventService;
-import org.eclipse.che.api.core.notification.EventSubscriber;
 import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
 
-/** Send workspace events using JSON RPC to the clients */
+/**
+ * Send workspace events using JSON RPC to the clients. Events are sent asynchronously, so slow
+ * clients don't block the threads which change workspace statuses, events of one workspace are
+ * sent in order.
+ */
 @Singleton
-public class WorkspaceJsonRpcMessenger implements EventSubscriber<WorkspaceStatusEvent> {
+public class WorkspaceJsonRpcMessenger implements AsyncEventSubscriber<WorkspaceStatusEvent> {
   private final RequestTransmitter transmitter;
   private final EventService eventService;
 
@@ -57,6 +61,11 @@ public class WorkspaceJsonRpcMessenger implements EventSubscriber<WorkspaceStatu
                     .sendAndSkipResult());
   }
 
+  @Override
+  public Object getOrderingKey(WorkspaceStatusEvent event) {
+    return event.getWorkspaceId();
+  }
+
   @Inject
   private void configureSubscribeHandler(RequestHandlerConfigurator configurator) {
 
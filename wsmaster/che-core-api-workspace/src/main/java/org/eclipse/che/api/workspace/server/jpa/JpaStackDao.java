@@ -25,6 +25,7 @@ import org.eclipse.che.api.core.ApiException;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
+import org.eclipse.che.api.core.metrics.Timed;
 import org.eclipse.che.api.core.notification.EventService;
 import org.eclipse.che.api.workspace.server.event.BeforeStackRemovedEvent;
 import org.eclipse.che.api.workspace.server.event.StackPersistedEvent;
@@ -39,6 +40,7 @@ import org.eclipse.che.core.db.jpa.DuplicateKeyException;
  *
  * @author Yevhenii Voevodin
  */
+@Timed("che_jpa_dao_seconds")
 @Singleton
 public class JpaStackDao implements StackDao {
 
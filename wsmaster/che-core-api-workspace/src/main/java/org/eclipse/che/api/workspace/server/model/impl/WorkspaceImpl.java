@@ -64,6 +64,10 @@ import org.eclipse.persistence.descriptors.DescriptorEventAdapter;
   @NamedQuery(
     name = "Workspace.getByTemporary",
     query = "SELECT w FROM Workspace w WHERE w.isTemporary = :temporary"
+  ),
+  @NamedQuery(
+    name = "Workspace.getAttributes",
+    query = "SELECT w.id, KEY(a), VALUE(a) FROM Workspace w JOIN w.attributes a WHERE w.id IN :ids"
   )
 })
 @EntityListeners(WorkspaceImpl.SyncNameOnUpdateAndPersistEventListener.class)
@@ -10,11 +10,17 @@
  */
 package org.eclipse.che.api.workspace.server.spi;
 
+import static java.util.stream.Collectors.toList;
+
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import org.eclipse.che.api.core.ConflictException;
 import org.eclipse.che.api.core.NotFoundException;
 import org.eclipse.che.api.core.ServerException;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
+import org.eclipse.che.commons.annotation.Nullable;
 
 /**
  * Defines data access object contract for {@link WorkspaceImpl}.
@@ -129,4 +135,47 @@ public interface WorkspaceDao {
    */
   List<WorkspaceImpl> getWorkspaces(boolean isTemporary, int skipCount, int maxItems)
       throws ServerException;
+
+  /**
+   * Gets summaries of workspaces ordered by their identifiers, the page of summaries starts after
+   * the workspace with given identifier.
+   *
+   * <p>The default implementation loads complete workspaces and should be overridden by the
+   * implementations which are able to load summaries only.
+   *
+   * @param userId id of user, summaries of workspaces which user can read are returned when {@code
+   *     namespace} is null
+   * @param namespace namespace of workspaces, or null
+   * @param afterId identifier of the last workspace of the previous page, or null to get the first
+   *     page
+   * @param maxItems the maximum number of summaries to return
+   * @param ids if not null then only workspaces with these identifiers are returned
+   * @param excludedIds workspaces with these identifiers are not returned
+   * @return list of summaries or empty list if no workspaces were found
+   * @throws ServerException when any error occurs during workspaces fetching
+   * @throws IllegalArgumentException when {@code maxItems} is negative
+   */
+  default List<WorkspaceSummaryImpl> getSummaries(
+      String userId,
+      @Nullable String namespace,
+      @Nullable String afterId,
+      int maxItems,
+      @Nullable Set<String> ids,
+      Set<String> excludedIds)
+      throws ServerException {
+    if (maxItems < 0) {
+      throw new IllegalArgumentException("The number of items to return can't be negative.");
+    }
+    final List<WorkspaceImpl> workspaces =
+        namespace == null ? getWorkspaces(userId) : getByNamespace(namespace);
+    return workspaces
+        .stream()
+        .filter(w -> afterId == null || w.getId().compareTo(afterId) > 0)
+        .filter(w -> ids == null || ids.contains(w.getId()))
+        .filter(w -> !excludedIds.contains(w.getId()))
+        .sorted(Comparator.comparing(WorkspaceImpl::getId))
+        .limit(maxItems)
+        .map(WorkspaceSummaryImpl::new)
+        .collect(toList());
+  }
 }
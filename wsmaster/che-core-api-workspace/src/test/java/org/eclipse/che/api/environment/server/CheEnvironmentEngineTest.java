@@ -21,6 +21,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
@@ -33,6 +34,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertEqualsNoOrder;
 import static org.testng.Assert.assertNotEquals;
 import static org.testng.Assert.assertNull;
 import static org.testng.Assert.assertTrue;
@@ -45,6 +47,14 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.eclipse.che.api.agent.server.AgentRegistry;
 import org.eclipse.che.api.agent.server.exception.AgentException;
 import org.eclipse.che.api.agent.shared.model.Agent;
@@ -82,6 +92,7 @@ import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
 import org.eclipse.che.api.machine.shared.dto.event.MachineStatusEvent;
 import org.eclipse.che.api.workspace.server.WorkspaceSharedPool;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
@@ -107,6 +118,7 @@ import org.testng.annotations.Test;
 public class CheEnvironmentEngineTest {
   private static final int DEFAULT_MACHINE_MEM_LIMIT_MB = 256;
   private static final String API_ENDPOINT = "http://eclipse.che:8080/api";
+  private static final int MACHINES_START_PARALLELISM = 2;
 
   @Mock private MessageConsumer<MachineLogMessage> messageConsumer;
   @Mock private InstanceProvider instanceProvider;
@@ -145,7 +157,8 @@ public class CheEnvironmentEngineTest {
                 recipeDownloader,
                 containerNameGenerator,
                 agentRegistry,
-                sharedPool));
+                sharedPool,
+                MACHINES_START_PARALLELISM));
 
     when(machineInstanceProviders.getProvider("docker")).thenReturn(instanceProvider);
     when(instanceProvider.getRecipeTypes()).thenReturn(Collections.singleton("dockerfile"));
@@ -224,7 +237,7 @@ public class CheEnvironmentEngineTest {
     EnvironmentImpl env = createEnv();
     String envName = "env-1";
     String workspaceId = "wsId";
-    List<Instance> expectedMachines = new ArrayList<>();
+    List<Instance> expectedMachines = new CopyOnWriteArrayList<>();
     when(machineProvider.startService(
             anyString(),
             eq(workspaceId),
@@ -252,7 +265,7 @@ public class CheEnvironmentEngineTest {
         engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
 
     // then
-    assertEquals(machines, expectedMachines);
+    assertEqualsNoOrder(machines.toArray(), expectedMachines.toArray());
     for (Instance expectedMachine : expectedMachines) {
       verify(startedHandler).started(eq(expectedMachine), any(ExtendedMachine.class));
     }
@@ -265,8 +278,8 @@ public class CheEnvironmentEngineTest {
     String envName = "env-1";
     String workspaceId = "wsId";
 
-    int[] counter = new int[] {env.getMachines().size()};
-    ArrayList<Instance> created = new ArrayList<>();
+    AtomicInteger counter = new AtomicInteger(env.getMachines().size());
+    List<Instance> created = new CopyOnWriteArrayList<>();
     when(machineProvider.startService(
             anyString(),
             eq(workspaceId),
@@ -279,7 +292,7 @@ public class CheEnvironmentEngineTest {
         .thenAnswer(
             invocationOnMock -> {
               // interrupt when the last machine from environment is started
-              if (--counter[0] == 0) {
+              if (counter.decrementAndGet() == 0) {
                 Thread.currentThread().interrupt();
                 throw new ServerException("interrupted!");
               }
@@ -323,6 +336,118 @@ public class CheEnvironmentEngineTest {
     }
   }
 
+  @Test(timeOut = 30_000)
+  public void shouldStartIndependentMachinesInParallel() throws Exception {
+    // given
+    EnvironmentImpl env = createEnv();
+    CheServicesEnvironmentImpl cheServicesEnv = createIndependentMachinesEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    // each of the first starts waits for the others, so it passes only when they overlap
+    CountDownLatch overlapping = new CountDownLatch(MACHINES_START_PARALLELISM);
+    AtomicInteger starting = new AtomicInteger();
+    AtomicInteger maxStarting = new AtomicInteger();
+    List<String> starters = new CopyOnWriteArrayList<>();
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              maxStarting.accumulateAndGet(starting.incrementAndGet(), Math::max);
+              starters.add(Thread.currentThread().getName());
+              overlapping.countDown();
+              if (!overlapping.await(10, TimeUnit.SECONDS)) {
+                throw new ServerException("Machines are not started in parallel");
+              }
+              starting.decrementAndGet();
+              Object[] arguments = invocationOnMock.getArguments();
+              return new NoOpMachineInstance(
+                  createMachine(
+                      workspaceId,
+                      envName,
+                      (CheServiceImpl) arguments[6],
+                      (String) arguments[3],
+                      (boolean) arguments[4]));
+            });
+    when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+    ExecutorService startLane = Executors.newCachedThreadPool();
+    doAnswer(
+            invocationOnMock -> {
+              startLane.execute((Runnable) invocationOnMock.getArguments()[1]);
+              return null;
+            })
+        .when(sharedPool)
+        .execute(eq(Lane.START), any(Runnable.class));
+
+    // when
+    List<Instance> machines;
+    try {
+      machines = engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
+    } finally {
+      startLane.shutdownNow();
+    }
+
+    // then
+    assertEquals(machines.size(), 4);
+    assertEquals(machines.get(3).getConfig().getName(), "dev-machine");
+    assertEquals(maxStarting.get(), MACHINES_START_PARALLELISM);
+    assertTrue(starters.contains(Thread.currentThread().getName()));
+    verify(sharedPool, times(MACHINES_START_PARALLELISM - 1))
+        .execute(eq(Lane.START), any(Runnable.class));
+  }
+
+  @Test
+  public void shouldStartIndependentMachinesByCallingThreadWhenStartLaneIsFull() throws Exception {
+    // given
+    EnvironmentImpl env = createEnv();
+    CheServicesEnvironmentImpl cheServicesEnv = createIndependentMachinesEnv();
+    String envName = "env-1";
+    String workspaceId = "wsId";
+    List<String> starters = new CopyOnWriteArrayList<>();
+    when(machineProvider.startService(
+            anyString(),
+            eq(workspaceId),
+            eq(envName),
+            anyString(),
+            anyBoolean(),
+            anyString(),
+            any(CheServiceImpl.class),
+            any(LineConsumer.class)))
+        .thenAnswer(
+            invocationOnMock -> {
+              starters.add(Thread.currentThread().getName());
+              Object[] arguments = invocationOnMock.getArguments();
+              return new NoOpMachineInstance(
+                  createMachine(
+                      workspaceId,
+                      envName,
+                      (CheServiceImpl) arguments[6],
+                      (String) arguments[3],
+                      (boolean) arguments[4]));
+            });
+    when(environmentParser.parse(env)).thenReturn(cheServicesEnv);
+    doThrow(new RejectedExecutionException())
+        .when(sharedPool)
+        .execute(eq(Lane.START), any(Runnable.class));
+
+    // when
+    List<Instance> machines =
+        engine.start(workspaceId, envName, env, false, messageConsumer, startedHandler);
+
+    // then
+    assertEquals(machines.size(), 4);
+    assertEquals(
+        starters,
+        Collections.nCopies(4, Thread.currentThread().getName()),
+        "All the machines must be started by the calling thread");
+  }
+
   @Test
   public void shouldSetDefaultRamToMachinesWithoutRamOnEnvironmentStart() throws Exception {
     // given
@@ -897,9 +1022,105 @@ public class CheEnvironmentEngineTest {
     engine.stop(instance.getWorkspaceId());
 
     // then
-    InOrder inOrder = inOrder(instances.toArray());
     for (Instance instance1 : instances) {
-      inOrder.verify(instance1).destroy();
+      verify(instance1).destroy();
+    }
+  }
+
+  @Test
+  public void stopOfEnvironmentShouldDestroyMachinesInReverseOrderOfDependencies()
+      throws Exception {
+    // given
+    CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+    cheServicesEnv.getServices().get("machine2").setDependsOn(singletonList("dev-machine"));
+    List<Instance> instances = startEnv(createEnv(), cheServicesEnv);
+    Instance devMachine = instances.get(0);
+    Instance machine2 = instances.get(1);
+
+    // when
+    engine.stop(devMachine.getWorkspaceId());
+
+    // then
+    InOrder inOrder = inOrder(machine2, devMachine);
+    inOrder.verify(machine2).destroy();
+    inOrder.verify(devMachine).destroy();
+  }
+
+  @Test
+  public void stopOfEnvironmentShouldDestroyMachinesInReverseOrderOfLinksAndVolumesFrom()
+      throws Exception {
+    // given
+    CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+    Map<String, CheServiceImpl> services = cheServicesEnv.getServices();
+    services.get("machine2").setLinks(singletonList("dev-machine:dev"));
+    services.put(
+        "machine3",
+        new CheServiceImpl()
+            .withBuild(new CheServiceBuildContextImpl().withContext("image"))
+            .withVolumesFrom(singletonList("machine2")));
+    List<Instance> instances = startEnv(createEnv(), cheServicesEnv);
+    Map<String, Instance> machines = new HashMap<>();
+    for (Instance instance : instances) {
+      machines.put(instance.getConfig().getName(), instance);
+    }
+
+    // when
+    engine.stop(instances.get(0).getWorkspaceId());
+
+    // then
+    InOrder inOrder =
+        inOrder(machines.get("machine3"), machines.get("machine2"), machines.get("dev-machine"));
+    inOrder.verify(machines.get("machine3")).destroy();
+    inOrder.verify(machines.get("machine2")).destroy();
+    inOrder.verify(machines.get("dev-machine")).destroy();
+  }
+
+  @Test
+  public void stopOfEnvironmentShouldDestroyAllMachinesAndNetworkWhenCallerIsInterrupted()
+      throws Exception {
+    // given
+    List<Instance> instances = startEnv();
+    String workspaceId = instances.get(0).getWorkspaceId();
+    CountDownLatch destroying = new CountDownLatch(instances.size());
+    CountDownLatch release = new CountDownLatch(1);
+    for (Instance instance : instances) {
+      doAnswer(
+              invocation -> {
+                destroying.countDown();
+                release.await();
+                return null;
+              })
+          .when(instance)
+          .destroy();
+    }
+    AtomicBoolean interruptedAfterStop = new AtomicBoolean();
+    Thread stopper =
+        new Thread(
+            () -> {
+              try {
+                engine.stop(workspaceId);
+              } catch (Exception x) {
+                fail(x.getMessage());
+              }
+              interruptedAfterStop.set(Thread.currentThread().isInterrupted());
+            });
+
+    // when
+    stopper.start();
+    assertTrue(destroying.await(10, TimeUnit.SECONDS));
+    stopper.interrupt();
+    stopper.join(200);
+    assertTrue(stopper.isAlive(), "Stop must wait for the machines to be destroyed");
+    release.countDown();
+    stopper.join(10_000);
+
+    // then
+    assertTrue(interruptedAfterStop.get());
+    verify(machineProvider).destroyNetwork(anyString());
+    try {
+      engine.getMachines(workspaceId);
+      fail("environment must not be running");
+    } catch (EnvironmentNotRunningException expected) {
     }
   }
 
@@ -1287,7 +1508,7 @@ public class CheEnvironmentEngineTest {
     // when
     subscriber.onEvent(new InstanceStateEvent(machineId, workspaceId, InstanceStateEvent.Type.DIE));
     // catch event actor
-    verify(sharedPool).execute(runnableArgumentCaptor.capture());
+    verify(sharedPool).execute(eq(Lane.BACKGROUND), runnableArgumentCaptor.capture());
     Runnable eventActor = runnableArgumentCaptor.getValue();
     // run event actor to verify its behavior
     eventActor.run();
@@ -1323,7 +1544,7 @@ public class CheEnvironmentEngineTest {
     // when
     subscriber.onEvent(new InstanceStateEvent(machineId, workspaceId, InstanceStateEvent.Type.OOM));
     // catch event actor
-    verify(sharedPool).execute(runnableArgumentCaptor.capture());
+    verify(sharedPool).execute(eq(Lane.BACKGROUND), runnableArgumentCaptor.capture());
     Runnable eventActor = runnableArgumentCaptor.getValue();
     // run event actor to verify its behavior
     eventActor.run();
@@ -1596,6 +1817,19 @@ public class CheEnvironmentEngineTest {
     return cheServicesEnvironment;
   }
 
+  private CheServicesEnvironmentImpl createIndependentMachinesEnv() {
+    CheServicesEnvironmentImpl cheServicesEnv = createCheServicesEnv();
+    Map<String, CheServiceImpl> services = cheServicesEnv.getServices();
+    services.put(
+        "machine3",
+        new CheServiceImpl().withBuild(new CheServiceBuildContextImpl().withContext("image")));
+    services.put(
+        "machine4",
+        new CheServiceImpl().withBuild(new CheServiceBuildContextImpl().withContext("image")));
+    services.get("dev-machine").setDependsOn(asList("machine2", "machine3", "machine4"));
+    return cheServicesEnv;
+  }
+
   private static MachineImpl createMachine(
       String workspaceId,
       String envName,
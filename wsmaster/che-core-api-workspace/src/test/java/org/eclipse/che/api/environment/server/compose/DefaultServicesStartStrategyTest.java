@@ -56,6 +56,28 @@ public class DefaultServicesStartStrategyTest {
     assertEquals(actual, expected);
   }
 
+  @Test
+  public void shouldGroupServicesWhichDependOnlyOnPreviousGroups() throws Exception {
+    // given
+    CheServicesEnvironmentImpl composeEnvironment = new CheServicesEnvironmentImpl();
+    composeEnvironment.getServices().put("dev-machine", new CheServiceImpl());
+    composeEnvironment.getServices().put("db", new CheServiceImpl());
+    composeEnvironment
+        .getServices()
+        .put("web", new CheServiceImpl().withDependsOn(asList("db", "dev-machine")));
+    composeEnvironment
+        .getServices()
+        .put("cache", new CheServiceImpl().withDependsOn(singletonList("db")));
+
+    // when
+    List<List<String>> actual = strategy.orderByGroups(composeEnvironment);
+
+    // then
+    assertEquals(actual.size(), 2);
+    assertEqualsNoOrder(actual.get(0).toArray(), new String[] {"dev-machine", "db"});
+    assertEqualsNoOrder(actual.get(1).toArray(), new String[] {"web", "cache"});
+  }
+
   @Test
   public void shouldOrderServicesWithDependenciesWhereOrderIsStrict2() {
     // given
@@ -12,6 +12,7 @@ package org.eclipse.che.api.workspace.server;
 
 import static com.google.common.base.Strings.isNullOrEmpty;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.eclipse.che.api.core.model.workspace.WorkspaceStatus.RUNNING;
@@ -25,6 +26,7 @@ import static org.eclipse.che.api.workspace.shared.Constants.AUTO_CREATE_SNAPSHO
 import static org.eclipse.che.api.workspace.shared.Constants.AUTO_RESTORE_FROM_SNAPSHOT;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -43,6 +45,7 @@ import static org.testng.Assert.assertNotNull;
 import static org.testng.Assert.assertTrue;
 
 import com.google.common.collect.ImmutableSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -67,12 +70,14 @@ import org.eclipse.che.api.machine.server.model.impl.MachineRuntimeInfoImpl;
 import org.eclipse.che.api.machine.server.model.impl.MachineSourceImpl;
 import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.api.workspace.shared.Constants;
 import org.eclipse.che.commons.env.EnvironmentContext;
@@ -269,6 +274,51 @@ public class WorkspaceManagerTest {
     assertFalse(res2.isTemporary(), "Workspace must be permanent");
   }
 
+  @Test
+  public void shouldGetSummariesOfWorkspacesWithRuntimeStatus() throws Exception {
+    when(runtimes.getRuntimesIds()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    when(runtimes.getStatus("ws1")).thenReturn(RUNNING);
+    when(runtimes.getStatus("ws2")).thenReturn(STARTING);
+    when(workspaceDao.getSummaries(
+            "user123", NAMESPACE, "ws0", 30, singleton("ws1"), Collections.emptySet()))
+        .thenReturn(singletonList(new WorkspaceSummaryImpl("ws1", "name", NAMESPACE, false)));
+
+    final List<WorkspaceSummaryImpl> result =
+        workspaceManager.getSummaries("user123", NAMESPACE, RUNNING, "ws0", 30);
+
+    assertEquals(result.size(), 1);
+    assertEquals(result.get(0).getId(), "ws1");
+    assertEquals(result.get(0).getStatus(), RUNNING);
+  }
+
+  @Test
+  public void shouldExcludeWorkspacesWithRuntimesWhenGettingSummariesOfStoppedWorkspaces()
+      throws Exception {
+    when(runtimes.getRuntimesIds()).thenReturn(ImmutableSet.of("ws1", "ws2"));
+    when(runtimes.getStatus("ws3")).thenReturn(STOPPED);
+    when(workspaceDao.getSummaries("user123", null, null, 30, null, ImmutableSet.of("ws1", "ws2")))
+        .thenReturn(singletonList(new WorkspaceSummaryImpl("ws3", "name", NAMESPACE, false)));
+
+    final List<WorkspaceSummaryImpl> result =
+        workspaceManager.getSummaries("user123", null, STOPPED, null, 30);
+
+    assertEquals(result.size(), 1);
+    assertEquals(result.get(0).getStatus(), STOPPED);
+  }
+
+  @Test
+  public void shouldNotQueryStorageWhenNoRuntimeHasRequestedStatus() throws Exception {
+    when(runtimes.getRuntimesIds()).thenReturn(singleton("ws1"));
+    when(runtimes.getStatus("ws1")).thenReturn(RUNNING);
+
+    final List<WorkspaceSummaryImpl> result =
+        workspaceManager.getSummaries("user123", NAMESPACE, STOPPING, null, 30);
+
+    assertTrue(result.isEmpty());
+    verify(workspaceDao, never())
+        .getSummaries(anyString(), anyString(), anyString(), anyInt(), any(), any());
+  }
+
   @Test
   public void shouldBeAbleToGetWorkspacesByNamespace() throws Exception {
     // given
@@ -994,14 +1044,14 @@ public class WorkspaceManagerTest {
   }
 
   private void captureRunAsyncCallsAndRunSynchronously() {
-    verify(sharedPool, atLeastOnce()).runAsync(taskCaptor.capture());
+    verify(sharedPool, atLeastOnce()).runAsync(any(Lane.class), taskCaptor.capture());
     for (Runnable runnable : taskCaptor.getAllValues()) {
       runnable.run();
     }
   }
 
   private void captureExecuteCallsAndRunSynchronously() {
-    verify(sharedPool, atLeastOnce()).execute(taskCaptor.capture());
+    verify(sharedPool, atLeastOnce()).execute(any(Lane.class), taskCaptor.capture());
     for (Runnable runnable : taskCaptor.getAllValues()) {
       runnable.run();
     }
@@ -16,6 +16,7 @@ import static org.eclipse.che.dto.server.DtoFactory.newDto;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
 import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.timeout;
@@ -48,6 +49,7 @@ import org.eclipse.che.api.machine.server.model.impl.MachineConfigImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.machine.server.util.RecipeDownloader;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ExtendedMachineDto;
@@ -84,6 +86,7 @@ public class WorkspaceRuntimeIntegrationTest {
   @Mock private AgentSorter agentSorter;
   @Mock private AgentLauncherFactory launcherFactory;
   @Mock private WorkspaceSharedPool sharedPool;
+  @Mock private WorkspaceShutdownCheckpoint shutdownCheckpoint;
   @Mock private SnapshotDao snapshotDao;
   @Captor private ArgumentCaptor<Callable<WorkspaceRuntimeImpl>> taskCaptor;
 
@@ -107,7 +110,8 @@ public class WorkspaceRuntimeIntegrationTest {
             recipeDownloader,
             containerNameGenerator,
             agentRegistry,
-            sharedPool);
+            sharedPool,
+            1);
 
     runtimes =
         new WorkspaceRuntimes(
@@ -117,7 +121,10 @@ public class WorkspaceRuntimeIntegrationTest {
             launcherFactory,
             agentRegistry,
             snapshotDao,
-            sharedPool);
+            sharedPool,
+            shutdownCheckpoint,
+            0,
+            30);
 
     executor =
         Executors.newFixedThreadPool(
@@ -182,7 +189,7 @@ public class WorkspaceRuntimeIntegrationTest {
         .thenReturn(instance);
 
     runtimes.startAsync(workspace, ENV_NAME, false);
-    verify(sharedPool).submit(taskCaptor.capture());
+    verify(sharedPool).submit(eq(Lane.START), taskCaptor.capture());
     taskCaptor.getValue().call();
 
     WaitingAnswer<Void> waitingAnswer = new WaitingAnswer<>();
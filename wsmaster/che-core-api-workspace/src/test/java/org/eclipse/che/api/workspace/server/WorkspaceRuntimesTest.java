@@ -11,6 +11,7 @@
 package org.eclipse.che.api.workspace.server;
 
 import static java.lang.String.format;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
@@ -80,6 +81,7 @@ import org.eclipse.che.api.machine.server.model.impl.SnapshotImpl;
 import org.eclipse.che.api.machine.server.spi.Instance;
 import org.eclipse.che.api.machine.server.spi.SnapshotDao;
 import org.eclipse.che.api.workspace.server.WorkspaceRuntimes.RuntimeState;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
 import org.eclipse.che.api.workspace.server.model.impl.EnvironmentImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
@@ -111,6 +113,7 @@ public class WorkspaceRuntimesTest {
   @Mock private AgentLauncherFactory launcherFactory;
   @Mock private AgentRegistry agentRegistry;
   @Mock private WorkspaceSharedPool sharedPool;
+  @Mock private WorkspaceShutdownCheckpoint shutdownCheckpoint;
   @Mock private SnapshotDao snapshotDao;
   @Mock private Future<WorkspaceRuntimeImpl> runtimeFuture;
   @Mock private WorkspaceRuntimes.StartTask startTask;
@@ -134,6 +137,9 @@ public class WorkspaceRuntimesTest {
             agentRegistry,
             snapshotDao,
             sharedPool,
+            shutdownCheckpoint,
+            0,
+            30,
             runtimeStates = new ConcurrentHashMap<>());
   }
 
@@ -525,7 +531,7 @@ public class WorkspaceRuntimesTest {
   @Test
   public void cancellationOfPendingStartTask() throws Throwable {
     WorkspaceImpl workspace = newWorkspace("workspace", "env-name");
-    when(sharedPool.submit(any())).thenReturn(Futures.immediateFuture(null));
+    when(sharedPool.submit(eq(Lane.START), any())).thenReturn(Futures.immediateFuture(null));
 
     CompletableFuture<WorkspaceRuntimeImpl> cmpFuture =
         runtimes.startAsync(workspace, "env-name", false);
@@ -617,6 +623,18 @@ public class WorkspaceRuntimesTest {
 
     assertFalse(runtimes.hasRuntime("workspace"));
     verify(envEngine).stop("workspace");
+    verify(shutdownCheckpoint).stopped("workspace");
+    verify(shutdownCheckpoint).finish();
+  }
+
+  @Test
+  public void beginsShutdownCheckpointWhenStartIsRefused() throws Exception {
+    setRuntime("workspace", WorkspaceStatus.RUNNING, "env-name");
+
+    assertTrue(runtimes.refuseWorkspacesStart());
+    assertFalse(runtimes.refuseWorkspacesStart());
+
+    verify(shutdownCheckpoint).begin(singleton("workspace"));
   }
 
   @Test(
@@ -887,7 +905,7 @@ public class WorkspaceRuntimesTest {
   }
 
   private void captureAsyncTaskAndExecuteSynchronously() throws Exception {
-    verify(sharedPool).submit(taskCaptor.capture());
+    verify(sharedPool).submit(eq(Lane.START), taskCaptor.capture());
     taskCaptor.getValue().call();
   }
 
@@ -26,6 +26,7 @@ import static org.eclipse.che.api.machine.shared.Constants.LINK_REL_ENVIRONMENT_
 import static org.eclipse.che.api.machine.shared.Constants.LINK_REL_ENVIRONMENT_STATUS_CHANNEL;
 import static org.eclipse.che.api.machine.shared.Constants.WSAGENT_REFERENCE;
 import static org.eclipse.che.api.machine.shared.Constants.WSAGENT_WEBSOCKET_REFERENCE;
+import static org.eclipse.che.api.workspace.server.WorkspaceService.MAX_SUMMARIES_PER_PAGE;
 import static org.eclipse.che.api.workspace.shared.Constants.GET_ALL_USER_WORKSPACES;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_GET_SNAPSHOT;
 import static org.eclipse.che.api.workspace.shared.Constants.LINK_REL_GET_WORKSPACE_EVENTS_CHANNEL;
@@ -40,6 +41,7 @@ import static org.everrest.assured.JettyHttpServer.ADMIN_USER_PASSWORD;
 import static org.everrest.assured.JettyHttpServer.SECURE_PATH;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyBoolean;
+import static org.mockito.Matchers.anyInt;
 import static org.mockito.Matchers.anyObject;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.eq;
@@ -94,12 +96,14 @@ import org.eclipse.che.api.workspace.server.model.impl.EnvironmentRecipeImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ExtendedMachineImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceRuntimeImpl;
 import org.eclipse.che.api.workspace.shared.dto.EnvironmentDto;
 import org.eclipse.che.api.workspace.shared.dto.ProjectConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.SourceStorageDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceConfigDto;
 import org.eclipse.che.api.workspace.shared.dto.WorkspaceDto;
+import org.eclipse.che.api.workspace.shared.dto.WorkspaceSummaryDto;
 import org.eclipse.che.api.workspace.shared.dto.WsAgentHealthStateDto;
 import org.eclipse.che.commons.env.EnvironmentContext;
 import org.eclipse.che.commons.subject.SubjectImpl;
@@ -420,6 +424,86 @@ public class WorkspaceServiceTest {
         asList(workspace1, workspace2));
   }
 
+  @Test
+  public void shouldGetSummaries() throws Exception {
+    final WorkspaceSummaryImpl summary = new WorkspaceSummaryImpl("ws2", "name", NAMESPACE, false);
+    summary.setStatus(RUNNING);
+    summary.getAttributes().put("attr", "value");
+    when(wsManager.getSummaries(USER_ID, NAMESPACE, RUNNING, "ws1", 10))
+        .thenReturn(singletonList(summary));
+
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(
+                SECURE_PATH
+                    + "/workspace/summary?namespace="
+                    + NAMESPACE
+                    + "&status=running&after=ws1&maxItems=10");
+
+    assertEquals(response.getStatusCode(), 200);
+    final List<WorkspaceSummaryDto> summaries = unwrapDtoList(response, WorkspaceSummaryDto.class);
+    assertEquals(summaries.size(), 1);
+    assertEquals(summaries.get(0).getId(), "ws2");
+    assertEquals(summaries.get(0).getNamespace(), NAMESPACE);
+    assertEquals(summaries.get(0).getStatus(), RUNNING);
+    assertEquals(summaries.get(0).getAttributes(), singletonMap("attr", "value"));
+  }
+
+  @Test
+  public void shouldRespondBadRequestWhenGettingSummariesWithInvalidStatus() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?status=unknown");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never()).getSummaries(any(), any(), any(), any(), anyInt());
+  }
+
+  @Test
+  public void shouldReduceNumberOfSummariesToMaximumPageSize() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?maxItems=100000");
+
+    assertEquals(response.getStatusCode(), 200);
+    verify(wsManager).getSummaries(USER_ID, null, null, null, MAX_SUMMARIES_PER_PAGE);
+  }
+
+  @Test
+  public void shouldRespondBadRequestWhenGettingSummariesWithNegativeMaxItems() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace/summary?maxItems=-1");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never()).getSummaries(any(), any(), any(), any(), anyInt());
+  }
+
+  @Test
+  public void shouldRespondBadRequestWhenGettingWorkspacesWithNegativeSkipCount() throws Exception {
+    final Response response =
+        given()
+            .auth()
+            .basic(ADMIN_USER_NAME, ADMIN_USER_PASSWORD)
+            .when()
+            .get(SECURE_PATH + "/workspace?skipCount=-1");
+
+    assertEquals(response.getStatusCode(), 400);
+    verify(wsManager, never()).getWorkspaces(anyString(), anyBoolean());
+  }
+
   @Test
   public void shouldGetWorkspacesByStatus() throws Exception {
     final WorkspaceImpl workspace1 = createWorkspace(createConfigDto());
@@ -0,0 +1,117 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.Lane;
+import org.eclipse.che.api.workspace.server.WorkspaceSharedPool.LaneStatistics;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/** Tests {@link WorkspaceSharedPool}. */
+public class WorkspaceSharedPoolTest {
+
+  private WorkspaceSharedPool pool;
+  private CountDownLatch release;
+
+  @BeforeMethod
+  public void setUp() {
+    pool = new WorkspaceSharedPool("cached", null, null, 1, 1, 1, 1, 1, 1);
+    release = new CountDownLatch(1);
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    release.countDown();
+    pool.shutdown();
+  }
+
+  @Test
+  public void stopIsNotQueuedBehindStarts() throws Exception {
+    pool.execute(Lane.START, this::awaitRelease);
+    pool.execute(Lane.START, this::awaitRelease);
+
+    pool.runAsync(Lane.STOP, () -> {}).get(5, SECONDS);
+  }
+
+  @Test(expectedExceptions = RejectedExecutionException.class)
+  public void rejectsStartWhenStartQueueIsFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    pool.execute(
+        Lane.START,
+        () -> {
+          started.countDown();
+          awaitRelease();
+        });
+    assertTrue(started.await(5, SECONDS));
+    pool.execute(Lane.START, this::awaitRelease);
+
+    pool.execute(Lane.START, this::awaitRelease);
+  }
+
+  @Test
+  public void executesStopByCallerWhenStopQueueIsFull() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    pool.execute(
+        Lane.STOP,
+        () -> {
+          started.countDown();
+          awaitRelease();
+        });
+    assertTrue(started.await(5, SECONDS));
+    pool.execute(Lane.STOP, this::awaitRelease);
+
+    CompletableFuture<Thread> executor = new CompletableFuture<>();
+    pool.execute(Lane.STOP, () -> executor.complete(Thread.currentThread()));
+
+    assertEquals(executor.get(5, SECONDS), Thread.currentThread());
+    assertEquals(pool.getStatistics(Lane.STOP).getRejectedCount(), 1);
+  }
+
+  @Test
+  public void collectsLaneStatistics() throws Exception {
+    CountDownLatch started = new CountDownLatch(1);
+    pool.execute(
+        Lane.BACKGROUND,
+        () -> {
+          started.countDown();
+          awaitRelease();
+        });
+    assertTrue(started.await(5, SECONDS));
+    CompletableFuture<Void> queued = pool.runAsync(Lane.BACKGROUND, () -> {});
+
+    LaneStatistics statistics = pool.getStatistics(Lane.BACKGROUND);
+    assertEquals(statistics.getActiveCount(), 1);
+    assertEquals(statistics.getQueueDepth(), 1);
+
+    release.countDown();
+    queued.get(5, SECONDS);
+
+    assertEquals(statistics.getQueueDepth(), 0);
+    assertTrue(statistics.getMaxRunTime() >= 0);
+    assertEquals(pool.getStatistics(Lane.START).getCompletedCount(), 0);
+  }
+
+  private void awaitRelease() {
+    try {
+      release.await();
+    } catch (InterruptedException x) {
+      Thread.currentThread().interrupt();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2012-2017 Red Hat, Inc.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *   Red Hat, Inc. - initial API and implementation
+ */
+package org.eclipse.che.api.workspace.server;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.eclipse.che.dto.server.DtoFactory.newDto;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import org.eclipse.che.api.core.model.workspace.WorkspaceStatus;
+import org.eclipse.che.api.core.notification.EventService;
+import org.eclipse.che.api.core.notification.EventSubscriber;
+import org.eclipse.che.api.workspace.shared.dto.event.WorkspaceStatusEvent;
+import org.eclipse.che.commons.lang.IoUtil;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.testng.MockitoTestNGListener;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Listeners;
+import org.testng.annotations.Test;
+
+/** Tests {@link WorkspaceShutdownCheckpoint}. */
+@Listeners(MockitoTestNGListener.class)
+public class WorkspaceShutdownCheckpointTest {
+
+  @Mock private EventService eventService;
+  @Captor private ArgumentCaptor<WorkspaceStatusEvent> eventCaptor;
+  @Captor private ArgumentCaptor<EventSubscriber<WorkspaceStatusEvent>> subscriberCaptor;
+
+  private Path dir;
+  private Path file;
+
+  @BeforeMethod
+  public void setUp() throws Exception {
+    dir = Files.createTempDirectory("shutdown-checkpoint");
+    file = dir.resolve("workspace-shutdown.checkpoint");
+  }
+
+  @AfterMethod
+  public void tearDown() {
+    IoUtil.deleteRecursive(dir.toFile());
+  }
+
+  @Test
+  public void keepsNotStoppedWorkspacesInCheckpoint() throws Exception {
+    WorkspaceShutdownCheckpoint checkpoint =
+        new WorkspaceShutdownCheckpoint(file.toString(), eventService);
+
+    checkpoint.begin(asList("ws1", "ws2"));
+    checkpoint.stopped("ws1");
+    checkpoint.finish();
+
+    assertEquals(Files.readAllLines(file, UTF_8), asList("ws2"));
+    assertEquals(checkpoint.getStoppedCount(), 1);
+  }
+
+  @Test
+  public void removesCheckpointWhenAllWorkspacesAreStopped() throws Exception {
+    WorkspaceShutdownCheckpoint checkpoint =
+        new WorkspaceShutdownCheckpoint(file.toString(), eventService);
+
+    checkpoint.begin(asList("ws1", "ws2"));
+    checkpoint.stopped("ws1");
+    checkpoint.stopped("ws2");
+    checkpoint.finish();
+
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  public void publishesStoppedStatusOfWorkspacesNotStoppedByPreviousShutdown() throws Exception {
+    Files.write(file, asList("ws1", "ws2"), UTF_8);
+    WorkspaceShutdownCheckpoint checkpoint =
+        new WorkspaceShutdownCheckpoint(file.toString(), eventService);
+
+    checkpoint.reconcileStatuses();
+
+    verify(eventService, times(2)).publish(eventCaptor.capture());
+    List<WorkspaceStatusEvent> events = eventCaptor.getAllValues();
+    assertEquals(events.get(0).getWorkspaceId(), "ws1");
+    assertEquals(events.get(0).getStatus(), WorkspaceStatus.STOPPED);
+    assertEquals(events.get(1).getWorkspaceId(), "ws2");
+    assertFalse(Files.exists(file));
+  }
+
+  @Test
+  public void tracksWorkspacesStoppedNormally() throws Exception {
+    WorkspaceShutdownCheckpoint checkpoint = new WorkspaceShutdownCheckpoint(null, eventService);
+    checkpoint.begin(asList("ws1", "ws2"));
+    verify(eventService).subscribe(subscriberCaptor.capture(), eq(WorkspaceStatusEvent.class));
+
+    subscriberCaptor
+        .getValue()
+        .onEvent(
+            newDto(WorkspaceStatusEvent.class)
+                .withWorkspaceId("ws1")
+                .withStatus(WorkspaceStatus.STOPPED));
+
+    assertEquals(checkpoint.getStoppedCount(), 1);
+    assertEquals(checkpoint.getPendingCount(), 1);
+  }
+}
@@ -10,7 +10,10 @@
  */
 package org.eclipse.che.api.workspace.server.jpa;
 
+import static java.lang.String.format;
+import static java.util.Collections.emptySet;
 import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
 import static org.eclipse.che.api.workspace.server.spi.tck.WorkspaceDaoTest.createWorkspace;
 import static org.testng.Assert.assertEquals;
 
@@ -18,14 +21,19 @@ import com.google.inject.Guice;
 import com.google.inject.Injector;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import javax.persistence.EntityManager;
 import org.eclipse.che.account.spi.AccountImpl;
 import org.eclipse.che.api.workspace.server.model.impl.ProjectConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.commons.test.db.H2JpaCleaner;
 import org.eclipse.che.commons.test.tck.JpaCleaner;
 import org.eclipse.che.core.db.jpa.DuplicateKeyException;
+import org.eclipse.persistence.internal.sessions.AbstractSession;
+import org.eclipse.persistence.sessions.SessionEvent;
+import org.eclipse.persistence.sessions.SessionEventAdapter;
 import org.testng.annotations.AfterMethod;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -145,6 +153,76 @@ public class JpaWorkspaceDaoTest {
     assertEquals(result.getConfig().getProjects().get(0).getAttributes().size(), 3);
   }
 
+  @Test
+  public void shouldGetAllSummariesPageByPage() throws Exception {
+    final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+    final List<String> ids = new ArrayList<>();
+    manager.getTransaction().begin();
+    manager.persist(account);
+    for (int i = 0; i < 25; i++) {
+      final WorkspaceImpl workspace = createWorkspace(format("id-%02d", i), account, "name" + i);
+      workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
+      manager.persist(workspace);
+      ids.add(workspace.getId());
+    }
+    manager.getTransaction().commit();
+    manager.clear();
+
+    final List<WorkspaceSummaryImpl> fetched = new ArrayList<>();
+    List<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries("user", null, null, 10, null, emptySet());
+    while (!page.isEmpty()) {
+      fetched.addAll(page);
+      final String lastId = page.get(page.size() - 1).getId();
+      page = workspaceDao.getSummaries("user", null, lastId, 10, null, emptySet());
+    }
+
+    assertEquals(fetched.stream().map(WorkspaceSummaryImpl::getId).collect(toList()), ids);
+    for (WorkspaceSummaryImpl summary : fetched) {
+      assertEquals(summary.getNamespace(), "namespace");
+      assertEquals(summary.getAttributes().size(), 3);
+    }
+  }
+
+  @Test
+  public void shouldGetPageOfSummariesOutOfThousandWorkspacesByTwoStatements() throws Exception {
+    final AccountImpl account = new AccountImpl("accountId", "namespace", "test");
+    manager.getTransaction().begin();
+    manager.persist(account);
+    for (int i = 0; i < 1000; i++) {
+      final WorkspaceImpl workspace = createWorkspace(format("id-%04d", i), account, "name" + i);
+      workspace.getConfig().getProjects().forEach(ProjectConfigImpl::prePersistAttributes);
+      manager.persist(workspace);
+    }
+    manager.getTransaction().commit();
+    manager.clear();
+    final AtomicInteger statements = new AtomicInteger();
+    manager
+        .getEntityManagerFactory()
+        .unwrap(AbstractSession.class)
+        .getEventManager()
+        .addListener(
+            new SessionEventAdapter() {
+              @Override
+              public void postExecuteCall(SessionEvent event) {
+                statements.incrementAndGet();
+              }
+            });
+
+    final List<WorkspaceSummaryImpl> page =
+        workspaceDao.getSummaries("user", "namespace", "id-0499", 30, null, emptySet());
+    final int pageStatements = statements.getAndSet(0);
+    final List<WorkspaceSummaryImpl> all =
+        workspaceDao.getSummaries("user", "namespace", null, 1000, null, emptySet());
+
+    assertEquals(page.size(), 30);
+    assertEquals(page.get(0).getId(), "id-0500");
+    assertEquals(page.get(0).getAttributes().size(), 3);
+    assertEquals(pageStatements, 2, "Statements executed for a page of summaries");
+    assertEquals(all.size(), 1000);
+    assertEquals(statements.get(), 2, "Statements executed for all the summaries");
+  }
+
   private long asLong(String query) {
     return manager.createQuery(query, Long.class).getSingleResult();
   }
@@ -11,6 +11,8 @@
 package org.eclipse.che.api.workspace.server.spi.tck;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static java.util.stream.Collectors.toList;
@@ -24,6 +26,7 @@ import static org.testng.Assert.fail;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
@@ -49,6 +52,7 @@ import org.eclipse.che.api.workspace.server.model.impl.ServerConf2Impl;
 import org.eclipse.che.api.workspace.server.model.impl.SourceStorageImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceConfigImpl;
 import org.eclipse.che.api.workspace.server.model.impl.WorkspaceImpl;
+import org.eclipse.che.api.workspace.server.model.impl.WorkspaceSummaryImpl;
 import org.eclipse.che.api.workspace.server.spi.WorkspaceDao;
 import org.eclipse.che.commons.test.tck.TckListener;
 import org.eclipse.che.commons.test.tck.repository.TckRepository;
@@ -250,6 +254,66 @@ public class WorkspaceDaoTest {
     workspaceDao.getWorkspaces(true, -2, 0);
   }
 
+  @Test
+  public void shouldGetSummariesByNamespacePageByPage() throws Exception {
+    final WorkspaceImpl workspace1 = workspaces[0];
+    final WorkspaceImpl workspace2 = workspaces[1];
+
+    final List<WorkspaceSummaryImpl> firstPage =
+        workspaceDao.getSummaries("user", workspace1.getNamespace(), null, 1, null, emptySet());
+    final List<WorkspaceSummaryImpl> secondPage =
+        workspaceDao.getSummaries(
+            "user", workspace1.getNamespace(), firstPage.get(0).getId(), 1, null, emptySet());
+    final List<WorkspaceSummaryImpl> thirdPage =
+        workspaceDao.getSummaries(
+            "user", workspace1.getNamespace(), secondPage.get(0).getId(), 1, null, emptySet());
+
+    assertEquals(firstPage, singletonList(new WorkspaceSummaryImpl(workspace1)));
+    assertEquals(secondPage, singletonList(new WorkspaceSummaryImpl(workspace2)));
+    assertTrue(thirdPage.isEmpty());
+  }
+
+  @Test
+  public void shouldGetSummariesOfIncludedWorkspacesOnly() throws Exception {
+    final WorkspaceImpl workspace = workspaces[2];
+
+    final List<WorkspaceSummaryImpl> found =
+        workspaceDao.getSummaries(
+            "user",
+            workspace.getNamespace(),
+            null,
+            30,
+            ImmutableSet.of(workspace.getId(), workspaces[0].getId()),
+            emptySet());
+
+    assertEquals(found, singletonList(new WorkspaceSummaryImpl(workspace)));
+  }
+
+  @Test
+  public void shouldNotGetSummariesOfExcludedWorkspaces() throws Exception {
+    final WorkspaceImpl workspace = workspaces[2];
+
+    final List<WorkspaceSummaryImpl> found =
+        workspaceDao.getSummaries(
+            "user", workspace.getNamespace(), null, 30, null, singleton(workspace.getId()));
+
+    assertEquals(found, singletonList(new WorkspaceSummaryImpl(workspaces[3])));
+  }
+
+  @Test
+  public void shouldReturnEmptySummariesListWhenIncludedIdsAreEmpty() throws Exception {
+    final List<WorkspaceSummaryImpl> found =
+        workspaceDao.getSummaries(
+            "user", workspaces[0].getNamespace(), null, 30, emptySet(), emptySet());
+
+    assertTrue(found.isEmpty());
+  }
+
+  @Test(expectedExceptions = IllegalArgumentException.class)
+  public void shouldThrowIllegalArgumentExceptionOnNegativeSummariesLimit() throws Exception {
+    workspaceDao.getSummaries("user", workspaces[0].getNamespace(), null, -1, null, emptySet());
+  }
+
   @Test
   public void shouldPublicRemoveWorkspaceEventAfterRemoveWorkspace() throws Exception {
     final boolean[] isNotified = new boolean[] {false};